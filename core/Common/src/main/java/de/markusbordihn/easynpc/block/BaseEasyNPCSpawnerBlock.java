@@ -21,13 +21,18 @@ package de.markusbordihn.easynpc.block;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.block.entity.BaseEasyNPCSpawnerBlockEntity;
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
 import java.util.UUID;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BaseEntityBlock;
 import net.minecraft.world.level.block.RenderShape;
@@ -58,6 +63,16 @@ public class BaseEasyNPCSpawnerBlock extends BaseEntityBlock {
     }
   }
 
+  @Override
+  public BlockState getStateForPlacement(BlockPlaceContext blockPlaceContext) {
+    // Prevent placement, if the player reached the spawner quota.
+    if (blockPlaceContext.getPlayer() instanceof ServerPlayer serverPlayer
+        && !OwnerQuotaManager.checkQuota(serverPlayer, OwnerQuotaType.SPAWNERS, 1)) {
+      return null;
+    }
+    return super.getStateForPlacement(blockPlaceContext);
+  }
+
   @Override
   public void setPlacedBy(
       Level level,
@@ -77,6 +92,21 @@ public class BaseEasyNPCSpawnerBlock extends BaseEntityBlock {
     }
   }
 
+  @SuppressWarnings("deprecation")
+  @Override
+  public void onRemove(
+      BlockState blockState,
+      Level level,
+      BlockPos blockPos,
+      BlockState newBlockState,
+      boolean movedByPiston) {
+    // Only removed spawner blocks are released from the owner, unloaded spawners are kept.
+    if (!blockState.is(newBlockState.getBlock()) && level instanceof ServerLevel serverLevel) {
+      OwnerQuotaManager.removeSpawner(serverLevel, blockPos);
+    }
+    super.onRemove(blockState, level, blockPos, newBlockState, movedByPiston);
+  }
+
   @SuppressWarnings("deprecation")
   @Override
   public InteractionResult use(
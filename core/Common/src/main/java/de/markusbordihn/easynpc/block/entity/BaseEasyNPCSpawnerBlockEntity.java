@@ -138,6 +138,24 @@ public class BaseEasyNPCSpawnerBlockEntity extends BaseContainerBlockEntity {
     super(blockEntityType, blockPos, blockState);
   }
 
+  @Override
+  public void setLevel(Level level) {
+    super.setLevel(level);
+    SpawnerRegistry.registerSpawner(this);
+  }
+
+  @Override
+  public void setRemoved() {
+    SpawnerRegistry.unregisterSpawner(this);
+    super.setRemoved();
+  }
+
+  @Override
+  public void clearRemoved() {
+    super.clearRemoved();
+    SpawnerRegistry.registerSpawner(this);
+  }
+
   public static void clientTick(
       Level level,
       BlockPos blockPos,
@@ -340,6 +358,7 @@ public class BaseEasyNPCSpawnerBlockEntity extends BaseContainerBlockEntity {
   public void setOwner(LivingEntity livingEntity) {
     this.owner = livingEntity.getUUID();
     this.setChanged();
+    SpawnerRegistry.registerSpawner(this);
   }
 
   @Override
@@ -377,6 +396,7 @@ public class BaseEasyNPCSpawnerBlockEntity extends BaseContainerBlockEntity {
   public void setRequiredPlayerRange(int requiredPlayerRange) {
     this.dataAccess.set(REQUIRED_PLAYER_RANGE_DATA, Math.max(0, Math.min(64, requiredPlayerRange)));
     this.setChanged();
+    SpawnerRegistry.registerSpawner(this);
   }
 
   public int getDelay() {
@@ -489,6 +509,11 @@ public class BaseEasyNPCSpawnerBlockEntity extends BaseContainerBlockEntity {
     this.maxNearbyEntities = compoundTag.getInt(MAX_NEARBY_ENTITIES_TAG);
     this.numbersPerSpawnInterval = compoundTag.getInt(SPAWN_COUNT_TAG);
 
+    // Update the required player range for already registered spawners.
+    if (this.level != null && !this.isRemoved()) {
+      SpawnerRegistry.registerSpawner(this);
+    }
+
     // Load slot items
     this.items.clear();
     ContainerHelper.loadAllItems(compoundTag, this.items);
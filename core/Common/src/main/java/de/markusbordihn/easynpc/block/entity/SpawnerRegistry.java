@@ -0,0 +1,329 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.block.entity;
+
+import com.google.common.collect.MapMaker;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class SpawnerRegistry {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Spawner Registry]";
+
+  private static final Map<ServerLevel, SpawnerRegistry> spawnerRegistryMap =
+      new MapMaker().weakKeys().makeMap();
+
+  // Spawner registries are only used from the server thread of the level.
+  private final Map<BlockPos, Integer> spawnerMap = new HashMap<>();
+  private final Map<Long, Set<BlockPos>> chunkIndex = new HashMap<>();
+  private final Set<BlockPos> activeSpawners = new LinkedHashSet<>();
+  private final Map<UUID, Long> playerSections = new HashMap<>();
+  private final Map<BlockPos, UUID> spawnerOwnerMap = new HashMap<>();
+  private final Map<UUID, Integer> ownerSpawnerCount = new HashMap<>();
+  private final List<BlockPos> tickList = new ArrayList<>();
+
+  private int maxRequiredPlayerRange = 0;
+  private long numberOfActivations = 0;
+  private long numberOfDeactivations = 0;
+  private long numberOfSpawnerTicks = 0;
+
+  public SpawnerRegistry() {}
+
+  public static SpawnerRegistry get(ServerLevel serverLevel) {
+    return spawnerRegistryMap.computeIfAbsent(serverLevel, level -> new SpawnerRegistry());
+  }
+
+  public static void registerSpawner(BaseEasyNPCSpawnerBlockEntity blockEntity) {
+    if (blockEntity != null && blockEntity.getLevel() instanceof ServerLevel serverLevel) {
+      get(serverLevel)
+          .addSpawner(
+              blockEntity.getBlockPos(),
+              blockEntity.getRequiredPlayerRange(),
+              blockEntity.getOwner());
+      OwnerQuotaManager.updateSpawner(
+          serverLevel, blockEntity.getBlockPos(), blockEntity.getOwner());
+    }
+  }
+
+  public static void unregisterSpawner(BaseEasyNPCSpawnerBlockEntity blockEntity) {
+    if (blockEntity != null && blockEntity.getLevel() instanceof ServerLevel serverLevel) {
+      SpawnerRegistry spawnerRegistry = spawnerRegistryMap.get(serverLevel);
+      if (spawnerRegistry != null) {
+        spawnerRegistry.removeSpawner(blockEntity.getBlockPos());
+      }
+    }
+  }
+
+  public static void handleServerTick(MinecraftServer minecraftServer) {
+    for (ServerLevel serverLevel : minecraftServer.getAllLevels()) {
+      SpawnerRegistry spawnerRegistry = spawnerRegistryMap.get(serverLevel);
+      if (spawnerRegistry != null) {
+        spawnerRegistry.tick(serverLevel);
+      }
+    }
+  }
+
+  private static int distanceToSection(int value, int sectionMin) {
+    if (value < sectionMin) {
+      return sectionMin - value;
+    }
+    return Math.max(0, value - (sectionMin + SectionPos.SECTION_SIZE));
+  }
+
+  public static long distanceSqrToSection(BlockPos blockPos, long sectionPos) {
+    long distanceX =
+        distanceToSection(
+            blockPos.getX(), SectionPos.sectionToBlockCoord(SectionPos.x(sectionPos)));
+    long distanceY =
+        distanceToSection(
+            blockPos.getY(), SectionPos.sectionToBlockCoord(SectionPos.y(sectionPos)));
+    long distanceZ =
+        distanceToSection(
+            blockPos.getZ(), SectionPos.sectionToBlockCoord(SectionPos.z(sectionPos)));
+    return distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ;
+  }
+
+  public void addSpawner(BlockPos blockPos, int requiredPlayerRange) {
+    this.addSpawner(blockPos, requiredPlayerRange, null);
+  }
+
+  public void addSpawner(BlockPos blockPos, int requiredPlayerRange, UUID ownerUUID) {
+    BlockPos spawnerPos = blockPos.immutable();
+    this.updateSpawnerOwner(spawnerPos, ownerUUID);
+    Integer previousRange = this.spawnerMap.put(spawnerPos, requiredPlayerRange);
+    if (previousRange == null) {
+      this.chunkIndex
+          .computeIfAbsent(ChunkPos.asLong(spawnerPos), key -> new HashSet<>())
+          .add(spawnerPos);
+      log.debug("{} Register spawner at {}", LOG_PREFIX, spawnerPos);
+    }
+    this.maxRequiredPlayerRange = Math.max(this.maxRequiredPlayerRange, requiredPlayerRange);
+    this.updateSpawnerActivation(spawnerPos, requiredPlayerRange);
+  }
+
+  public void removeSpawner(BlockPos blockPos) {
+    if (this.spawnerMap.remove(blockPos) == null) {
+      return;
+    }
+    long chunkKey = ChunkPos.asLong(blockPos);
+    Set<BlockPos> chunkSpawners = this.chunkIndex.get(chunkKey);
+    if (chunkSpawners != null) {
+      chunkSpawners.remove(blockPos);
+      if (chunkSpawners.isEmpty()) {
+        this.chunkIndex.remove(chunkKey);
+      }
+    }
+    this.activeSpawners.remove(blockPos);
+    this.updateSpawnerOwner(blockPos, null);
+    log.debug("{} Unregister spawner at {}", LOG_PREFIX, blockPos);
+  }
+
+  private void updateSpawnerOwner(BlockPos blockPos, UUID ownerUUID) {
+    UUID previousOwnerUUID =
+        ownerUUID != null
+            ? this.spawnerOwnerMap.put(blockPos, ownerUUID)
+            : this.spawnerOwnerMap.remove(blockPos);
+    if (ownerUUID != null && ownerUUID.equals(previousOwnerUUID)) {
+      return;
+    }
+    if (previousOwnerUUID != null) {
+      this.ownerSpawnerCount.computeIfPresent(
+          previousOwnerUUID, (key, count) -> count > 1 ? count - 1 : null);
+    }
+    if (ownerUUID != null) {
+      this.ownerSpawnerCount.merge(ownerUUID, 1, Integer::sum);
+    }
+  }
+
+  public void updatePlayerSection(UUID playerUUID, long sectionPos) {
+    Long previousSectionPos = this.playerSections.get(playerUUID);
+    if (previousSectionPos != null && previousSectionPos == sectionPos) {
+      return;
+    }
+    this.playerSections.put(playerUUID, sectionPos);
+    if (previousSectionPos != null) {
+      this.updateSpawnersAround(previousSectionPos);
+    }
+    this.updateSpawnersAround(sectionPos);
+  }
+
+  public void removePlayer(UUID playerUUID) {
+    Long previousSectionPos = this.playerSections.remove(playerUUID);
+    if (previousSectionPos != null) {
+      this.updateSpawnersAround(previousSectionPos);
+    }
+  }
+
+  public void tick(ServerLevel serverLevel) {
+    // Dormant spawners are not ticked at all, only player section changes are tracked.
+    if (this.spawnerMap.isEmpty()) {
+      if (!this.playerSections.isEmpty()) {
+        this.playerSections.clear();
+      }
+      return;
+    }
+    this.updatePlayerSections(serverLevel);
+    if (this.activeSpawners.isEmpty()) {
+      return;
+    }
+
+    // Spawner ticks could add or remove spawners, so we are using a copy of the active spawners.
+    this.tickList.addAll(this.activeSpawners);
+    for (BlockPos blockPos : this.tickList) {
+      if (serverLevel.shouldTickBlocksAt(blockPos)
+          && serverLevel.getBlockEntity(blockPos)
+              instanceof BaseEasyNPCSpawnerBlockEntity blockEntity) {
+        BaseEasyNPCSpawnerBlockEntity.serverTick(
+            serverLevel, blockPos, blockEntity.getBlockState(), blockEntity);
+        this.numberOfSpawnerTicks++;
+      }
+    }
+    this.tickList.clear();
+  }
+
+  private void updatePlayerSections(ServerLevel serverLevel) {
+    List<ServerPlayer> players = serverLevel.players();
+    for (ServerPlayer serverPlayer : players) {
+      this.updatePlayerSection(serverPlayer.getUUID(), SectionPos.of(serverPlayer).asLong());
+    }
+
+    // Players which left the level, are no longer relevant for the spawner activation.
+    if (this.playerSections.size() > players.size()) {
+      Iterator<Map.Entry<UUID, Long>> iterator = this.playerSections.entrySet().iterator();
+      List<Long> removedSections = new ArrayList<>();
+      while (iterator.hasNext()) {
+        Map.Entry<UUID, Long> entry = iterator.next();
+        if (serverLevel.getPlayerByUUID(entry.getKey()) == null) {
+          removedSections.add(entry.getValue());
+          iterator.remove();
+        }
+      }
+      for (Long sectionPos : removedSections) {
+        this.updateSpawnersAround(sectionPos);
+      }
+    }
+  }
+
+  private void updateSpawnersAround(long sectionPos) {
+    int chunkX = SectionPos.x(sectionPos);
+    int chunkZ = SectionPos.z(sectionPos);
+    int chunkRadius = SectionPos.blockToSectionCoord(this.maxRequiredPlayerRange) + 1;
+    for (int x = chunkX - chunkRadius; x <= chunkX + chunkRadius; x++) {
+      for (int z = chunkZ - chunkRadius; z <= chunkZ + chunkRadius; z++) {
+        Set<BlockPos> chunkSpawners = this.chunkIndex.get(ChunkPos.asLong(x, z));
+        if (chunkSpawners != null) {
+          for (BlockPos blockPos : chunkSpawners) {
+            this.updateSpawnerActivation(blockPos, this.spawnerMap.get(blockPos));
+          }
+        }
+      }
+    }
+  }
+
+  private void updateSpawnerActivation(BlockPos blockPos, int requiredPlayerRange) {
+    if (this.isPlayerInRange(blockPos, requiredPlayerRange)) {
+      if (this.activeSpawners.add(blockPos)) {
+        this.numberOfActivations++;
+        log.debug("{} Activate spawner at {}", LOG_PREFIX, blockPos);
+      }
+    } else if (this.activeSpawners.remove(blockPos)) {
+      this.numberOfDeactivations++;
+      log.debug("{} Deactivate spawner at {}", LOG_PREFIX, blockPos);
+    }
+  }
+
+  private boolean isPlayerInRange(BlockPos blockPos, int requiredPlayerRange) {
+    // Spawners without a required player range are always active.
+    if (requiredPlayerRange <= 0) {
+      return true;
+    }
+
+    // Players are only tracked by their section, the exact distance is checked by the spawner.
+    long requiredPlayerRangeSqr = (long) requiredPlayerRange * requiredPlayerRange;
+    for (long sectionPos : this.playerSections.values()) {
+      if (distanceSqrToSection(blockPos, sectionPos) <= requiredPlayerRangeSqr) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean isActive(BlockPos blockPos) {
+    return this.activeSpawners.contains(blockPos);
+  }
+
+  public boolean hasSpawner(BlockPos blockPos) {
+    return this.spawnerMap.containsKey(blockPos);
+  }
+
+  public Map<BlockPos, Integer> getSpawners() {
+    return this.spawnerMap;
+  }
+
+  public int getNumberOfSpawners() {
+    return this.spawnerMap.size();
+  }
+
+  public int getNumberOfSpawnersByOwner(UUID ownerUUID) {
+    return ownerUUID != null ? this.ownerSpawnerCount.getOrDefault(ownerUUID, 0) : 0;
+  }
+
+  public int getNumberOfActiveSpawners() {
+    return this.activeSpawners.size();
+  }
+
+  public int getNumberOfDormantSpawners() {
+    return this.spawnerMap.size() - this.activeSpawners.size();
+  }
+
+  public int getNumberOfTrackedPlayers() {
+    return this.playerSections.size();
+  }
+
+  public long getNumberOfActivations() {
+    return this.numberOfActivations;
+  }
+
+  public long getNumberOfDeactivations() {
+    return this.numberOfDeactivations;
+  }
+
+  public long getNumberOfSpawnerTicks() {
+    return this.numberOfSpawnerTicks;
+  }
+}
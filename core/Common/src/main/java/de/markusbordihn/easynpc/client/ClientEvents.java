@@ -22,6 +22,7 @@ package de.markusbordihn.easynpc.client;
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.client.renderer.manager.EntityTypeManager;
 import de.markusbordihn.easynpc.io.DataFileHandler;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -40,4 +41,9 @@ public class ClientEvents {
     // Register entity type manager for server.
     EntityTypeManager.register();
   }
+
+  public static void handleClientTick() {
+    // Send queued data transfer chunks to the server.
+    DataTransferManager.getClientManager().tick();
+  }
 }
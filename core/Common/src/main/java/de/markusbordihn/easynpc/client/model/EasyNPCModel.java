@@ -20,6 +20,8 @@
 package de.markusbordihn.easynpc.client.model;
 
 import de.markusbordihn.easynpc.client.model.animation.HumanoidLegAnimation;
+import de.markusbordihn.easynpc.client.renderer.lod.RenderDetailLevel;
+import de.markusbordihn.easynpc.client.renderer.lod.RenderDetailManager;
 import de.markusbordihn.easynpc.data.model.ModelArmPose;
 import de.markusbordihn.easynpc.data.model.ModelPose;
 import de.markusbordihn.easynpc.data.position.CustomPosition;
@@ -597,7 +599,19 @@ public interface EasyNPCModel<E extends Entity> {
     boolean isCustomModelPose = modelPose == ModelPose.CUSTOM;
     boolean isDefaultModelPose = modelPose == ModelPose.DEFAULT;
     boolean hasAdjustedDefaultModelPose = false;
-    boolean hasSmartAnimations = modelData.useSmartAnimations();
+    RenderDetailLevel renderDetailLevel = RenderDetailManager.getRenderDetailLevel(entity);
+    boolean useSmartAnimations =
+        renderDetailLevel.hasSmartAnimations() && modelData.useSmartAnimations();
+    boolean hasSmartAnimations = useSmartAnimations;
+
+    // Very distant NPCs are using a static pose without any animations.
+    if (!renderDetailLevel.hasPoseAnimations()) {
+      if (isCustomModelPose) {
+        this.setupCustomModelPose(entity, modelPose, modelData, 0, 0, 0, 0, 0);
+      }
+      this.adjustDefaultModelParts(entity, easyNPC);
+      return true;
+    }
 
     if (isCustomModelPose) {
       // Handle custom model pose and animation.
@@ -627,7 +641,8 @@ public interface EasyNPCModel<E extends Entity> {
     }
 
     // Use smart animations for better performance, if enabled.
-    if (modelData.useSmartAnimations() || isCustomModelPose || hasAdjustedDefaultModelPose) {
+    if (renderDetailLevel.hasSmartAnimations()
+        && (useSmartAnimations || isCustomModelPose || hasAdjustedDefaultModelPose)) {
       hasSmartAnimations =
           this.handleSmartAnimations(
               entity,
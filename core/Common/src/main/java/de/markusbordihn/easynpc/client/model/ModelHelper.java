@@ -19,6 +19,7 @@
 
 package de.markusbordihn.easynpc.client.model;
 
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.data.position.CustomPosition;
 import de.markusbordihn.easynpc.data.rotation.CustomRotation;
 import net.minecraft.client.model.geom.ModelPart;
@@ -50,6 +51,20 @@ public class ModelHelper {
     modelPart.visible = visible;
   }
 
+  public static void setPositionRotationVisibility(
+      ModelPart modelPart, ModelPoseSnapshot modelPoseSnapshot, int modelPartIndex) {
+    boolean visible = modelPoseSnapshot.isVisible(modelPartIndex);
+    if (visible) {
+      modelPart.x += modelPoseSnapshot.getPositionX(modelPartIndex);
+      modelPart.y += modelPoseSnapshot.getPositionY(modelPartIndex);
+      modelPart.z += modelPoseSnapshot.getPositionZ(modelPartIndex);
+      modelPart.xRot += modelPoseSnapshot.getRotationX(modelPartIndex);
+      modelPart.yRot += modelPoseSnapshot.getRotationY(modelPartIndex);
+      modelPart.zRot += modelPoseSnapshot.getRotationZ(modelPartIndex);
+    }
+    modelPart.visible = visible;
+  }
+
   public static boolean hasModelPart(ModelPart parentModelPart, String name) {
     if (parentModelPart == null || name == null || name.isEmpty()) {
       return false;
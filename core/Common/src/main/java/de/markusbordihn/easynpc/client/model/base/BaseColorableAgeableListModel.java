@@ -24,6 +24,7 @@ import de.markusbordihn.easynpc.client.model.EasyNPCModel;
 import de.markusbordihn.easynpc.client.model.ModelHelper;
 import de.markusbordihn.easynpc.client.model.ModelPartType;
 import de.markusbordihn.easynpc.data.model.ModelPose;
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.data.position.CustomPosition;
 import de.markusbordihn.easynpc.data.rotation.CustomRotation;
 import de.markusbordihn.easynpc.entity.easynpc.data.AttackData;
@@ -111,36 +112,17 @@ public class BaseColorableAgeableListModel<E extends Entity> extends ColorableAg
       float ageInTicks,
       float netHeadYaw,
       float headPitch) {
+    ModelPoseSnapshot modelPoseSnapshot = modelData.getModelPoseSnapshot();
+    ModelHelper.setPositionRotationVisibility(this.head, modelPoseSnapshot, ModelPoseSnapshot.HEAD);
+    ModelHelper.setPositionRotationVisibility(this.body, modelPoseSnapshot, ModelPoseSnapshot.BODY);
     ModelHelper.setPositionRotationVisibility(
-        this.head,
-        modelData.getModelHeadPosition(),
-        modelData.getModelHeadRotation(),
-        modelData.isModelHeadVisible());
+        leftFrontLeg, modelPoseSnapshot, ModelPoseSnapshot.LEFT_ARM);
     ModelHelper.setPositionRotationVisibility(
-        this.body,
-        modelData.getModelBodyPosition(),
-        modelData.getModelBodyRotation(),
-        modelData.isModelBodyVisible());
-    ModelHelper.setPositionRotationVisibility(
-        leftFrontLeg,
-        modelData.getModelLeftArmPosition(),
-        modelData.getModelLeftArmRotation(),
-        modelData.isModelLeftArmVisible());
-    ModelHelper.setPositionRotationVisibility(
-        rightFrontLeg,
-        modelData.getModelRightArmPosition(),
-        modelData.getModelRightArmRotation(),
-        modelData.isModelRightArmVisible());
+        rightFrontLeg, modelPoseSnapshot, ModelPoseSnapshot.RIGHT_ARM);
     ModelHelper.setPositionRotationVisibility(
-        leftHindLeg,
-        modelData.getModelLeftLegPosition(),
-        modelData.getModelLeftLegRotation(),
-        modelData.isModelLeftLegVisible());
+        leftHindLeg, modelPoseSnapshot, ModelPoseSnapshot.LEFT_LEG);
     ModelHelper.setPositionRotationVisibility(
-        rightHindLeg,
-        modelData.getModelRightLegPosition(),
-        modelData.getModelRightLegRotation(),
-        modelData.isModelRightLegVisible());
+        rightHindLeg, modelPoseSnapshot, ModelPoseSnapshot.RIGHT_LEG);
   }
 
   @Override
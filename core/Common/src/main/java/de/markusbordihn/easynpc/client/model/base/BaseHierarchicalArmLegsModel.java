@@ -25,6 +25,7 @@ import de.markusbordihn.easynpc.client.model.EasyNPCModel;
 import de.markusbordihn.easynpc.client.model.ModelHelper;
 import de.markusbordihn.easynpc.client.model.ModelPartType;
 import de.markusbordihn.easynpc.data.model.ModelPose;
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.data.position.CustomPosition;
 import de.markusbordihn.easynpc.data.rotation.CustomRotation;
 import de.markusbordihn.easynpc.entity.easynpc.data.AttackData;
@@ -161,36 +162,17 @@ public class BaseHierarchicalArmLegsModel<E extends Mob> extends HierarchicalMod
       float ageInTicks,
       float netHeadYaw,
       float headPitch) {
+    ModelPoseSnapshot modelPoseSnapshot = modelData.getModelPoseSnapshot();
+    ModelHelper.setPositionRotationVisibility(this.head, modelPoseSnapshot, ModelPoseSnapshot.HEAD);
+    ModelHelper.setPositionRotationVisibility(this.body, modelPoseSnapshot, ModelPoseSnapshot.BODY);
     ModelHelper.setPositionRotationVisibility(
-        this.head,
-        modelData.getModelHeadPosition(),
-        modelData.getModelHeadRotation(),
-        modelData.isModelHeadVisible());
+        this.leftArm, modelPoseSnapshot, ModelPoseSnapshot.LEFT_ARM);
     ModelHelper.setPositionRotationVisibility(
-        this.body,
-        modelData.getModelBodyPosition(),
-        modelData.getModelBodyRotation(),
-        modelData.isModelBodyVisible());
+        this.rightArm, modelPoseSnapshot, ModelPoseSnapshot.RIGHT_ARM);
     ModelHelper.setPositionRotationVisibility(
-        this.leftArm,
-        modelData.getModelLeftArmPosition(),
-        modelData.getModelLeftArmRotation(),
-        modelData.isModelLeftArmVisible());
+        this.leftLeg, modelPoseSnapshot, ModelPoseSnapshot.LEFT_LEG);
     ModelHelper.setPositionRotationVisibility(
-        this.rightArm,
-        modelData.getModelRightArmPosition(),
-        modelData.getModelRightArmRotation(),
-        modelData.isModelRightArmVisible());
-    ModelHelper.setPositionRotationVisibility(
-        this.leftLeg,
-        modelData.getModelLeftLegPosition(),
-        modelData.getModelLeftLegRotation(),
-        modelData.isModelLeftLegVisible());
-    ModelHelper.setPositionRotationVisibility(
-        this.rightLeg,
-        modelData.getModelRightLegPosition(),
-        modelData.getModelRightLegRotation(),
-        modelData.isModelRightLegVisible());
+        this.rightLeg, modelPoseSnapshot, ModelPoseSnapshot.RIGHT_LEG);
   }
 
   @Override
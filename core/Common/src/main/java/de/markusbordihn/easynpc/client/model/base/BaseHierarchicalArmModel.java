@@ -27,6 +27,7 @@ import de.markusbordihn.easynpc.client.model.ModelPartType;
 import de.markusbordihn.easynpc.client.model.animation.HumanoidArmAnimation;
 import de.markusbordihn.easynpc.client.model.animation.HumanoidHeadAnimation;
 import de.markusbordihn.easynpc.data.model.ModelPose;
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.data.position.CustomPosition;
 import de.markusbordihn.easynpc.data.rotation.CustomRotation;
 import de.markusbordihn.easynpc.entity.easynpc.data.AttackData;
@@ -110,26 +111,13 @@ public class BaseHierarchicalArmModel<E extends Mob> extends HierarchicalModel<E
       float ageInTicks,
       float netHeadYaw,
       float headPitch) {
+    ModelPoseSnapshot modelPoseSnapshot = modelData.getModelPoseSnapshot();
+    ModelHelper.setPositionRotationVisibility(this.head, modelPoseSnapshot, ModelPoseSnapshot.HEAD);
+    ModelHelper.setPositionRotationVisibility(this.body, modelPoseSnapshot, ModelPoseSnapshot.BODY);
     ModelHelper.setPositionRotationVisibility(
-        this.head,
-        modelData.getModelHeadPosition(),
-        modelData.getModelHeadRotation(),
-        modelData.isModelHeadVisible());
+        this.leftArm, modelPoseSnapshot, ModelPoseSnapshot.LEFT_ARM);
     ModelHelper.setPositionRotationVisibility(
-        this.body,
-        modelData.getModelBodyPosition(),
-        modelData.getModelBodyRotation(),
-        modelData.isModelBodyVisible());
-    ModelHelper.setPositionRotationVisibility(
-        this.leftArm,
-        modelData.getModelLeftArmPosition(),
-        modelData.getModelLeftArmRotation(),
-        modelData.isModelLeftArmVisible());
-    ModelHelper.setPositionRotationVisibility(
-        this.rightArm,
-        modelData.getModelRightArmPosition(),
-        modelData.getModelRightArmRotation(),
-        modelData.isModelRightArmVisible());
+        this.rightArm, modelPoseSnapshot, ModelPoseSnapshot.RIGHT_ARM);
   }
 
   @Override
@@ -28,6 +28,7 @@ import de.markusbordihn.easynpc.client.model.animation.HumanoidHeadAnimation;
 import de.markusbordihn.easynpc.client.model.animation.HumanoidLegAnimation;
 import de.markusbordihn.easynpc.data.model.ModelArmPose;
 import de.markusbordihn.easynpc.data.model.ModelPose;
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.data.position.CustomPosition;
 import de.markusbordihn.easynpc.data.rotation.CustomRotation;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
@@ -108,36 +109,17 @@ public class BaseHumanoidModel<E extends LivingEntity> extends HumanoidModel<E>
       float ageInTicks,
       float netHeadYaw,
       float headPitch) {
+    ModelPoseSnapshot modelPoseSnapshot = modelData.getModelPoseSnapshot();
+    ModelHelper.setPositionRotationVisibility(this.head, modelPoseSnapshot, ModelPoseSnapshot.HEAD);
+    ModelHelper.setPositionRotationVisibility(this.body, modelPoseSnapshot, ModelPoseSnapshot.BODY);
     ModelHelper.setPositionRotationVisibility(
-        this.head,
-        modelData.getModelHeadPosition(),
-        modelData.getModelHeadRotation(),
-        modelData.isModelHeadVisible());
-    ModelHelper.setPositionRotationVisibility(
-        this.body,
-        modelData.getModelBodyPosition(),
-        modelData.getModelBodyRotation(),
-        modelData.isModelBodyVisible());
+        this.leftArm, modelPoseSnapshot, ModelPoseSnapshot.LEFT_ARM);
     ModelHelper.setPositionRotationVisibility(
-        this.leftArm,
-        modelData.getModelLeftArmPosition(),
-        modelData.getModelLeftArmRotation(),
-        modelData.isModelLeftArmVisible());
-    ModelHelper.setPositionRotationVisibility(
-        this.rightArm,
-        modelData.getModelRightArmPosition(),
-        modelData.getModelRightArmRotation(),
-        modelData.isModelRightArmVisible());
+        this.rightArm, modelPoseSnapshot, ModelPoseSnapshot.RIGHT_ARM);
     ModelHelper.setPositionRotationVisibility(
-        this.leftLeg,
-        modelData.getModelLeftLegPosition(),
-        modelData.getModelLeftLegRotation(),
-        modelData.isModelLeftLegVisible());
+        this.leftLeg, modelPoseSnapshot, ModelPoseSnapshot.LEFT_LEG);
     ModelHelper.setPositionRotationVisibility(
-        this.rightLeg,
-        modelData.getModelRightLegPosition(),
-        modelData.getModelRightLegRotation(),
-        modelData.isModelRightLegVisible());
+        this.rightLeg, modelPoseSnapshot, ModelPoseSnapshot.RIGHT_LEG);
   }
 
   @Override
@@ -24,7 +24,7 @@ import com.mojang.math.Axis;
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.data.display.DisplayAttributeType;
 import de.markusbordihn.easynpc.data.model.ModelPose;
-import de.markusbordihn.easynpc.data.rotation.CustomRotation;
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.entity.EasyNPCBaseModelEntity;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.ScaleData;
@@ -104,12 +104,12 @@ public interface EasyNPCModelRenderer<E extends EasyNPCBaseModelEntity<E>, M ext
   }
 
   static void renderEntityNameTag(EasyNPC<?> easyNPC, PoseStack poseStack) {
-    CustomRotation rootRotation = easyNPC.getEasyNPCModelData().getModelRootRotation();
-    if (rootRotation != null) {
+    ModelPoseSnapshot modelPoseSnapshot = easyNPC.getEasyNPCModelData().getModelPoseSnapshot();
+    if (modelPoseSnapshot.hasRootRotation()) {
       poseStack.translate(0, -1, 0);
-      poseStack.mulPose(Axis.XP.rotation(-rootRotation.x()));
-      poseStack.mulPose(Axis.YP.rotation(-rootRotation.y()));
-      poseStack.mulPose(Axis.ZP.rotation(-rootRotation.z()));
+      poseStack.mulPose(Axis.XP.rotation(-modelPoseSnapshot.getRootRotationX()));
+      poseStack.mulPose(Axis.YP.rotation(-modelPoseSnapshot.getRootRotationY()));
+      poseStack.mulPose(Axis.ZP.rotation(-modelPoseSnapshot.getRootRotationZ()));
       poseStack.translate(0, 1, 0);
     }
   }
@@ -146,12 +146,12 @@ public interface EasyNPCModelRenderer<E extends EasyNPCBaseModelEntity<E>, M ext
       int packedLight) {}
 
   default <N extends EasyNPC<E>> void rotateEntity(N easyNPC, PoseStack poseStack) {
-    CustomRotation rootRotation = easyNPC.getEasyNPCModelData().getModelRootRotation();
-    if (rootRotation != null) {
+    ModelPoseSnapshot modelPoseSnapshot = easyNPC.getEasyNPCModelData().getModelPoseSnapshot();
+    if (modelPoseSnapshot.hasRootRotation()) {
       poseStack.translate(0, 1, 0);
-      poseStack.mulPose(Axis.XP.rotation(rootRotation.x()));
-      poseStack.mulPose(Axis.YP.rotation(rootRotation.y()));
-      poseStack.mulPose(Axis.ZP.rotation(rootRotation.z()));
+      poseStack.mulPose(Axis.XP.rotation(modelPoseSnapshot.getRootRotationX()));
+      poseStack.mulPose(Axis.YP.rotation(modelPoseSnapshot.getRootRotationY()));
+      poseStack.mulPose(Axis.ZP.rotation(modelPoseSnapshot.getRootRotationZ()));
       poseStack.translate(0, -1, 0);
     }
   }
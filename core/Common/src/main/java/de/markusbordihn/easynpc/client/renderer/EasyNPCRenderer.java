@@ -21,11 +21,14 @@ package de.markusbordihn.easynpc.client.renderer;
 
 import com.mojang.blaze3d.vertex.PoseStack;
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.client.renderer.batch.EasyNPCRenderBatch;
 import de.markusbordihn.easynpc.client.renderer.manager.EntityTypeManager;
+import de.markusbordihn.easynpc.client.renderer.manager.RenderEntityProxy;
 import de.markusbordihn.easynpc.client.renderer.manager.RendererManager;
 import de.markusbordihn.easynpc.client.texture.CustomTextureManager;
 import de.markusbordihn.easynpc.client.texture.PlayerTextureManager;
 import de.markusbordihn.easynpc.client.texture.RemoteTextureManager;
+import de.markusbordihn.easynpc.client.texture.ServerTextureManager;
 import de.markusbordihn.easynpc.data.render.RenderType;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.RenderData;
@@ -70,12 +73,13 @@ public interface EasyNPCRenderer<E extends PathfinderMob, M extends EntityModel<
     EntityType<? extends Entity> renderEntityType =
         renderData.getRenderDataSet().getRenderEntityType();
 
-    // Get custom entity for render custom .
-    PathfinderMob customEntity =
-        EntityTypeManager.getPathfinderMob(renderEntityType, entity.level());
-    if (customEntity == null) {
+    // Get custom entity proxy for this specific entity, to keep the animation state separated.
+    RenderEntityProxy renderEntityProxy =
+        EntityTypeManager.getRenderEntityProxy(renderEntityType, entity);
+    if (renderEntityProxy == null) {
       return false;
     }
+    PathfinderMob customEntity = renderEntityProxy.getPathfinderMob();
 
     // Get entity type name.
     String entityTypeName = EntityTypeManager.getEntityTypeName(renderEntityType);
@@ -86,7 +90,7 @@ public interface EasyNPCRenderer<E extends PathfinderMob, M extends EntityModel<
             RendererManager.getLivingEntityRenderer(renderEntityType, customEntity);
     if (livingEntityRenderer != null) {
       try {
-        RendererManager.copyCustomLivingEntityData(entity, customEntity, entityTypeName);
+        RendererManager.copyCustomLivingEntityData(entity, renderEntityProxy, entityTypeName);
         livingEntityRenderer.render(
             (E) customEntity, entityYaw, partialTicks, poseStack, buffer, packedLight);
         return true;
@@ -106,7 +110,7 @@ public interface EasyNPCRenderer<E extends PathfinderMob, M extends EntityModel<
         (EntityRenderer<E>) RendererManager.getEntityRenderer(renderEntityType, customEntity);
     if (entityRenderer != null) {
       try {
-        RendererManager.copyCustomLivingEntityData(entity, customEntity, entityTypeName);
+        RendererManager.copyCustomLivingEntityData(entity, renderEntityProxy, entityTypeName);
         entityRenderer.render(
             (E) customEntity, entityYaw, partialTicks, poseStack, buffer, packedLight);
         return true;
@@ -142,23 +146,37 @@ public interface EasyNPCRenderer<E extends PathfinderMob, M extends EntityModel<
     return RemoteTextureManager.getOrCreateTextureWithDefault(entity, getDefaultTexture());
   }
 
+  default ResourceLocation getServerTexture(SkinData<?> entity) {
+    return ServerTextureManager.getOrCreateTextureWithDefault(entity, getDefaultTexture());
+  }
+
   default <N extends EasyNPC<E>> ResourceLocation getEntityTexture(N easyNPC) {
+    ResourceLocation batchTexture = EasyNPCRenderBatch.getBatchTexture(easyNPC.getEntity());
+    if (batchTexture != null) {
+      return batchTexture;
+    }
     SkinData<?> skinData = easyNPC.getEasyNPCSkinData();
     return switch (skinData.getSkinType()) {
       case NONE -> Constants.BLANK_ENTITY_TEXTURE;
       case CUSTOM -> getCustomTexture(skinData);
       case SECURE_REMOTE_URL, INSECURE_REMOTE_URL -> getRemoteTexture(skinData);
+      case SERVER_SKIN -> getServerTexture(skinData);
       default -> getTextureByVariant(easyNPC.getEasyNPCVariantData().getVariant());
     };
   }
 
   default <N extends EasyNPC<E>> ResourceLocation getEntityPlayerTexture(N easyNPC) {
+    ResourceLocation batchTexture = EasyNPCRenderBatch.getBatchTexture(easyNPC.getEntity());
+    if (batchTexture != null) {
+      return batchTexture;
+    }
     SkinData<?> skinData = easyNPC.getEasyNPCSkinData();
     return switch (easyNPC.getEasyNPCSkinData().getSkinType()) {
       case NONE -> Constants.BLANK_ENTITY_TEXTURE;
       case CUSTOM -> getCustomTexture(skinData);
       case PLAYER_SKIN -> getPlayerTexture(skinData);
       case SECURE_REMOTE_URL, INSECURE_REMOTE_URL -> getRemoteTexture(skinData);
+      case SERVER_SKIN -> getServerTexture(skinData);
       default -> getTextureByVariant(easyNPC.getEasyNPCVariantData().getVariant());
     };
   }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.renderer.batch;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.RenderBatchConfig;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.entity.EntityRenderer;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+
+public class EasyNPCRenderBatch {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Render Batch]";
+
+  // Render batches are only used from the render thread.
+  private static final RenderBatchGroups<RenderBatchKey, RenderBatchEntry> renderBatchGroups =
+      new RenderBatchGroups<>();
+  private static final PoseStack batchPoseStack = new PoseStack();
+
+  private static boolean isCollecting = false;
+  private static boolean isDisabled = false;
+  private static boolean isFlushing = false;
+  private static Entity batchEntity;
+  private static ResourceLocation batchTexture;
+
+  private static int numberOfBatchedEntities = 0;
+  private static int numberOfBatchGroups = 0;
+  private static long numberOfFallbacks = 0;
+
+  private EasyNPCRenderBatch() {}
+
+  public static void begin() {
+    // Batched NPCs would be invisible, if the render pipeline is not flushing the render batch.
+    if (isCollecting && !isDisabled) {
+      log.warn(
+          "{} Render batch was not flushed, disable render batch for {} entities!",
+          LOG_PREFIX,
+          renderBatchGroups.getNumberOfEntries());
+      renderBatchGroups.clear();
+      isDisabled = true;
+    }
+    isCollecting = !isDisabled && RenderBatchConfig.isEnabled();
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <E extends Entity> boolean enqueue(
+      EntityRenderer<E> entityRenderer,
+      E entity,
+      float entityYaw,
+      float partialTicks,
+      PoseStack poseStack,
+      MultiBufferSource buffer,
+      int packedLight) {
+    if (!isCollecting || isFlushing || !(entity instanceof EasyNPC<?> easyNPC)) {
+      return false;
+    }
+
+    // Only the main buffer of the level is shared, e.g. outlines are using their own buffer.
+    if (buffer != Minecraft.getInstance().renderBuffers().bufferSource()
+        || !RenderBatchKey.isBatchable(easyNPC)) {
+      numberOfFallbacks++;
+      return false;
+    }
+
+    PoseStack.Pose pose = poseStack.last();
+    renderBatchGroups.add(
+        new RenderBatchKey(
+            entityRenderer,
+            entityRenderer.getTextureLocation(entity),
+            easyNPC.getEasyNPCModelData().getModelPoseSnapshot()),
+        new RenderBatchEntry(
+            (EntityRenderer<Entity>) entityRenderer,
+            entity,
+            new Matrix4f(pose.pose()),
+            new Matrix3f(pose.normal()),
+            entityYaw,
+            partialTicks,
+            buffer,
+            packedLight));
+    return true;
+  }
+
+  public static void flush() {
+    isCollecting = false;
+    if (renderBatchGroups.isEmpty()) {
+      numberOfBatchedEntities = 0;
+      numberOfBatchGroups = 0;
+      return;
+    }
+
+    // Render all NPCs of a group one after another, so they are sharing the same vertex consumer.
+    isFlushing = true;
+    try {
+      for (Map.Entry<RenderBatchKey, List<RenderBatchEntry>> group :
+          renderBatchGroups.getGroups().entrySet()) {
+        batchTexture = group.getKey().texture();
+        for (RenderBatchEntry renderBatchEntry : group.getValue()) {
+          render(renderBatchEntry);
+        }
+      }
+      Minecraft.getInstance().renderBuffers().bufferSource().endLastBatch();
+    } finally {
+      numberOfBatchedEntities = renderBatchGroups.getNumberOfEntries();
+      numberOfBatchGroups = renderBatchGroups.getNumberOfGroups();
+      renderBatchGroups.clear();
+      batchEntity = null;
+      batchTexture = null;
+      isFlushing = false;
+    }
+  }
+
+  private static void render(RenderBatchEntry renderBatchEntry) {
+    Entity entity = renderBatchEntry.entity();
+    if (entity.isRemoved()) {
+      return;
+    }
+    batchPoseStack.pushPose();
+    batchPoseStack.last().pose().set(renderBatchEntry.pose());
+    batchPoseStack.last().normal().set(renderBatchEntry.normal());
+    batchEntity = entity;
+    try {
+      renderBatchEntry
+          .entityRenderer()
+          .render(
+              entity,
+              renderBatchEntry.entityYaw(),
+              renderBatchEntry.partialTicks(),
+              batchPoseStack,
+              renderBatchEntry.buffer(),
+              renderBatchEntry.packedLight());
+    } catch (Exception exception) {
+      log.error("{} Failed to render batched entity {}:", LOG_PREFIX, entity, exception);
+    } finally {
+      batchEntity = null;
+      batchPoseStack.popPose();
+    }
+  }
+
+  public static ResourceLocation getBatchTexture(Entity entity) {
+    return isFlushing && entity != null && entity == batchEntity ? batchTexture : null;
+  }
+
+  public static int getNumberOfBatchedEntities() {
+    return numberOfBatchedEntities;
+  }
+
+  public static int getNumberOfBatchGroups() {
+    return numberOfBatchGroups;
+  }
+
+  public static long getNumberOfFallbacks() {
+    return numberOfFallbacks;
+  }
+
+  private record RenderBatchEntry(
+      EntityRenderer<Entity> entityRenderer,
+      Entity entity,
+      Matrix4f pose,
+      Matrix3f normal,
+      float entityYaw,
+      float partialTicks,
+      MultiBufferSource buffer,
+      int packedLight) {}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.renderer.batch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RenderBatchGroups<K, E> {
+
+  // Groups are kept in the order of their first entry to keep the render order stable.
+  private final Map<K, List<E>> groups = new LinkedHashMap<>();
+  private final List<List<E>> unusedGroupLists = new ArrayList<>();
+  private int numberOfEntries = 0;
+
+  public void add(K key, E entry) {
+    this.groups.computeIfAbsent(key, groupKey -> this.createGroupList()).add(entry);
+    this.numberOfEntries++;
+  }
+
+  private List<E> createGroupList() {
+    return this.unusedGroupLists.isEmpty()
+        ? new ArrayList<>()
+        : this.unusedGroupLists.remove(this.unusedGroupLists.size() - 1);
+  }
+
+  public Map<K, List<E>> getGroups() {
+    return this.groups;
+  }
+
+  public List<E> getGroup(K key) {
+    return this.groups.getOrDefault(key, List.of());
+  }
+
+  public int getNumberOfGroups() {
+    return this.groups.size();
+  }
+
+  public int getNumberOfEntries() {
+    return this.numberOfEntries;
+  }
+
+  public boolean isEmpty() {
+    return this.numberOfEntries == 0;
+  }
+
+  public void clear() {
+    // Group lists are reused for the next frame to avoid allocations.
+    for (List<E> groupList : this.groups.values()) {
+      groupList.clear();
+      this.unusedGroupLists.add(groupList);
+    }
+    this.groups.clear();
+    this.numberOfEntries = 0;
+  }
+}
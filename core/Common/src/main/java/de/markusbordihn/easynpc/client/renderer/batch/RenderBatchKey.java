@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.renderer.batch;
+
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
+import de.markusbordihn.easynpc.data.render.RenderType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.RenderData;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+
+public record RenderBatchKey(
+    Object modelType, ResourceLocation texture, ModelPoseSnapshot modelPoseSnapshot) {
+
+  public static boolean isBatchable(EasyNPC<?> easyNPC) {
+    if (easyNPC == null) {
+      return false;
+    }
+
+    // Translucent and glowing NPCs are using different render types and buffers.
+    Entity entity = easyNPC.getEntity();
+    if (entity == null
+        || entity.isRemoved()
+        || entity.isInvisible()
+        || entity.isCurrentlyGlowing()) {
+      return false;
+    }
+
+    // Custom render entities are rendered by their own renderer.
+    RenderData<?> renderData = easyNPC.getEasyNPCRenderData();
+    return renderData == null
+        || renderData.getRenderDataSet() == null
+        || renderData.getRenderDataSet().getRenderType() != RenderType.CUSTOM_ENTITY;
+  }
+}
@@ -22,6 +22,10 @@ package de.markusbordihn.easynpc.client.renderer.entity.base;
 import com.mojang.blaze3d.vertex.PoseStack;
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.client.renderer.EasyNPCModelRenderer;
+import de.markusbordihn.easynpc.client.renderer.batch.EasyNPCRenderBatch;
+import de.markusbordihn.easynpc.client.renderer.lod.RenderDetailLayer;
+import de.markusbordihn.easynpc.client.renderer.lod.RenderDetailLevel;
+import de.markusbordihn.easynpc.client.renderer.lod.RenderDetailManager;
 import de.markusbordihn.easynpc.entity.EasyNPCBaseModelEntity;
 import java.util.Map;
 import net.minecraft.client.Minecraft;
@@ -40,6 +44,7 @@ public class BaseMobModelRenderer<E extends EasyNPCBaseModelEntity<E>, V, M exte
   protected final Map<V, ResourceLocation> textures;
   protected final Map<V, ResourceLocation> texturesOverlay;
   protected final ResourceLocation defaultTexture;
+  private boolean hasWrappedRenderLayers = false;
 
   public BaseMobModelRenderer(
       EntityRendererProvider.Context context,
@@ -107,6 +112,9 @@ public class BaseMobModelRenderer<E extends EasyNPCBaseModelEntity<E>, V, M exte
       PoseStack poseStack,
       MultiBufferSource multiBufferSource,
       int color) {
+    if (!RenderDetailManager.shouldRender(entity, RenderDetailLayer.NAME_TAG)) {
+      return;
+    }
     EasyNPCModelRenderer.renderEntityNameTag(entity, poseStack);
     super.renderNameTag(entity, component, poseStack, multiBufferSource, color);
   }
@@ -133,13 +141,32 @@ public class BaseMobModelRenderer<E extends EasyNPCBaseModelEntity<E>, V, M exte
       return;
     }
 
+    // Defer rendering to the render batch, which is grouping NPCs with shared render state.
+    if (EasyNPCRenderBatch.enqueue(
+        this, entity, entityYaw, partialTicks, poseStack, buffer, packedLight)) {
+      return;
+    }
+
+    // Distant NPCs are rendered with less details and are only updated once per tick.
+    RenderDetailLevel renderDetailLevel =
+        RenderDetailManager.updateRenderDetailLevel(
+            entity, this.entityRenderDispatcher.distanceToSqr(entity));
+
+    // Layers are added after construction, so they are wrapped once with the first render.
+    if (!this.hasWrappedRenderLayers) {
+      RenderDetailManager.wrapRenderLayers(this, this.layers);
+      this.hasWrappedRenderLayers = true;
+    }
+    float renderPartialTicks = renderDetailLevel.hasFramePoseUpdates() ? partialTicks : 0F;
+
     // Render model specific pose.
     this.renderModel(
-        entity, this.getModel(), entityYaw, partialTicks, poseStack, buffer, packedLight);
+        entity, this.getModel(), entityYaw, renderPartialTicks, poseStack, buffer, packedLight);
 
     // Render entity with optional custom renderer or default renderer.
-    if (!this.renderEntity(entity, entityYaw, partialTicks, poseStack, buffer, packedLight)) {
-      super.render(entity, entityYaw, partialTicks, poseStack, buffer, packedLight);
+    if (!this.renderEntity(
+        entity, entityYaw, renderPartialTicks, poseStack, buffer, packedLight)) {
+      super.render(entity, entityYaw, renderPartialTicks, poseStack, buffer, packedLight);
     }
   }
 
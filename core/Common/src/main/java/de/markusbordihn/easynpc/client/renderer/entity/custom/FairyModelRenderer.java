@@ -24,7 +24,7 @@ import com.mojang.math.Axis;
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.client.model.custom.FairyModel;
 import de.markusbordihn.easynpc.client.renderer.entity.base.BaseHumanoidMobModelRenderer;
-import de.markusbordihn.easynpc.data.rotation.CustomRotation;
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.npc.Fairy;
 import de.markusbordihn.easynpc.entity.easynpc.npc.Fairy.Variant;
@@ -69,12 +69,12 @@ public class FairyModelRenderer
 
   @Override
   public <N extends EasyNPC<Fairy>> void rotateEntity(N easyNPC, PoseStack poseStack) {
-    CustomRotation rootRotation = easyNPC.getEasyNPCModelData().getModelRootRotation();
-    if (rootRotation != null) {
+    ModelPoseSnapshot modelPoseSnapshot = easyNPC.getEasyNPCModelData().getModelPoseSnapshot();
+    if (modelPoseSnapshot.hasRootRotation()) {
       poseStack.translate(0, 0.5, 0);
-      poseStack.mulPose(Axis.XP.rotation(rootRotation.x()));
-      poseStack.mulPose(Axis.YP.rotation(rootRotation.y()));
-      poseStack.mulPose(Axis.ZP.rotation(rootRotation.z()));
+      poseStack.mulPose(Axis.XP.rotation(modelPoseSnapshot.getRootRotationX()));
+      poseStack.mulPose(Axis.YP.rotation(modelPoseSnapshot.getRootRotationY()));
+      poseStack.mulPose(Axis.ZP.rotation(modelPoseSnapshot.getRootRotationZ()));
       poseStack.translate(0, -0.5, 0);
     }
   }
@@ -22,6 +22,7 @@ package de.markusbordihn.easynpc.client.renderer.entity.raw;
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.client.texture.CustomTextureManager;
 import de.markusbordihn.easynpc.client.texture.RemoteTextureManager;
+import de.markusbordihn.easynpc.client.texture.ServerTextureManager;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.SkinData;
 import de.markusbordihn.easynpc.entity.easynpc.raw.PiglinRaw.Variant;
@@ -84,6 +85,10 @@ public class PiglinRawRenderer extends PiglinRenderer {
     return RemoteTextureManager.getOrCreateTextureWithDefault(entity, getDefaultTexture());
   }
 
+  public ResourceLocation getServerTexture(SkinData<?> entity) {
+    return ServerTextureManager.getOrCreateTextureWithDefault(entity, getDefaultTexture());
+  }
+
   public ResourceLocation getTextureByVariant(Enum<?> variant) {
     return TEXTURE_BY_VARIANT != null
         ? TEXTURE_BY_VARIANT.getOrDefault(variant, DEFAULT_TEXTURE)
@@ -96,6 +101,7 @@ public class PiglinRawRenderer extends PiglinRenderer {
       case NONE -> Constants.BLANK_ENTITY_TEXTURE;
       case CUSTOM -> getCustomTexture(skinData);
       case SECURE_REMOTE_URL, INSECURE_REMOTE_URL -> getRemoteTexture(skinData);
+      case SERVER_SKIN -> getServerTexture(skinData);
       default -> getTextureByVariant(easyNPC.getEasyNPCVariantData().getVariant());
     };
   }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.renderer.lod;
+
+public enum RenderDetailLevel {
+  // Full detail with all layers, name tags and smart animations.
+  FULL,
+  // Distant NPCs without overlays, held items and name tags, the pose is updated once per tick.
+  REDUCED,
+  // Very distant NPCs are rendered as simplified body with a static pose and without any layers.
+  MINIMAL;
+
+  public boolean shouldRender(RenderDetailLayer renderDetailLayer) {
+    return switch (this) {
+      case FULL -> true;
+      case REDUCED -> renderDetailLayer == RenderDetailLayer.ARMOR;
+      case MINIMAL -> false;
+    };
+  }
+
+  public boolean hasSmartAnimations() {
+    return this == FULL;
+  }
+
+  public boolean hasFramePoseUpdates() {
+    return this == FULL;
+  }
+
+  public boolean hasPoseAnimations() {
+    return this != MINIMAL;
+  }
+}
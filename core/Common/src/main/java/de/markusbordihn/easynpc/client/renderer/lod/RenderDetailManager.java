@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.renderer.lod;
+
+import com.google.common.collect.MapMaker;
+import de.markusbordihn.easynpc.config.RenderDetailConfig;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.client.model.EntityModel;
+import net.minecraft.client.renderer.entity.RenderLayerParent;
+import net.minecraft.client.renderer.entity.layers.RenderLayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+
+public class RenderDetailManager {
+
+  // Render detail levels are only used from the render thread.
+  private static final Map<Entity, RenderDetailLevel> renderDetailLevelMap =
+      new MapMaker().weakKeys().makeMap();
+
+  private RenderDetailManager() {}
+
+  public static RenderDetailLevel updateRenderDetailLevel(Entity entity, double distanceSqr) {
+    if (!RenderDetailConfig.isEnabled()) {
+      return RenderDetailLevel.FULL;
+    }
+    RenderDetailLevel currentRenderDetailLevel = getRenderDetailLevel(entity);
+    RenderDetailLevel renderDetailLevel =
+        RenderDetailSelector.getRenderDetailLevel(
+            Math.sqrt(distanceSqr),
+            currentRenderDetailLevel,
+            RenderDetailConfig.getReducedDistance(),
+            RenderDetailConfig.getMinimalDistance(),
+            RenderDetailConfig.getHysteresis());
+    if (renderDetailLevel != currentRenderDetailLevel) {
+      renderDetailLevelMap.put(entity, renderDetailLevel);
+    }
+    return renderDetailLevel;
+  }
+
+  public static RenderDetailLevel getRenderDetailLevel(Entity entity) {
+    if (entity == null || !RenderDetailConfig.isEnabled()) {
+      return RenderDetailLevel.FULL;
+    }
+    return renderDetailLevelMap.getOrDefault(entity, RenderDetailLevel.FULL);
+  }
+
+  public static boolean shouldRender(Entity entity, RenderDetailLayer renderDetailLayer) {
+    return getRenderDetailLevel(entity).shouldRender(renderDetailLayer);
+  }
+
+  public static <T extends LivingEntity, M extends EntityModel<T>> void wrapRenderLayers(
+      RenderLayerParent<T, M> renderLayerParent, List<RenderLayer<T, M>> renderLayers) {
+    for (int i = 0; i < renderLayers.size(); i++) {
+      RenderLayer<T, M> renderLayer = renderLayers.get(i);
+      if (!(renderLayer instanceof RenderDetailRenderLayer<?, ?>)) {
+        renderLayers.set(i, new RenderDetailRenderLayer<>(renderLayerParent, renderLayer));
+      }
+    }
+  }
+}
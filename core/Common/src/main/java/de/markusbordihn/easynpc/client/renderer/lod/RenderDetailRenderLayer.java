@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.renderer.lod;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import de.markusbordihn.easynpc.client.renderer.entity.layers.HeldItemLayer;
+import net.minecraft.client.model.EntityModel;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.entity.RenderLayerParent;
+import net.minecraft.client.renderer.entity.layers.HumanoidArmorLayer;
+import net.minecraft.client.renderer.entity.layers.ItemInHandLayer;
+import net.minecraft.client.renderer.entity.layers.RenderLayer;
+import net.minecraft.world.entity.LivingEntity;
+
+public class RenderDetailRenderLayer<T extends LivingEntity, M extends EntityModel<T>>
+    extends RenderLayer<T, M> {
+
+  private final RenderLayer<T, M> renderLayer;
+  private final RenderDetailLayer renderDetailLayer;
+
+  public RenderDetailRenderLayer(
+      RenderLayerParent<T, M> renderLayerParent, RenderLayer<T, M> renderLayer) {
+    super(renderLayerParent);
+    this.renderLayer = renderLayer;
+    this.renderDetailLayer = getRenderDetailLayer(renderLayer);
+  }
+
+  private static RenderDetailLayer getRenderDetailLayer(RenderLayer<?, ?> renderLayer) {
+    if (renderLayer instanceof HumanoidArmorLayer<?, ?, ?>) {
+      return RenderDetailLayer.ARMOR;
+    }
+    if (renderLayer instanceof ItemInHandLayer<?, ?>
+        || renderLayer instanceof HeldItemLayer<?, ?>) {
+      return RenderDetailLayer.HELD_ITEM;
+    }
+    return RenderDetailLayer.OVERLAY;
+  }
+
+  public RenderLayer<T, M> getRenderLayer() {
+    return this.renderLayer;
+  }
+
+  @Override
+  public void render(
+      PoseStack poseStack,
+      MultiBufferSource buffer,
+      int packedLight,
+      T livingEntity,
+      float limbSwing,
+      float limbSwingAmount,
+      float partialTicks,
+      float ageInTicks,
+      float netHeadYaw,
+      float headPitch) {
+    if (RenderDetailManager.shouldRender(livingEntity, this.renderDetailLayer)) {
+      this.renderLayer.render(
+          poseStack,
+          buffer,
+          packedLight,
+          livingEntity,
+          limbSwing,
+          limbSwingAmount,
+          partialTicks,
+          ageInTicks,
+          netHeadYaw,
+          headPitch);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.renderer.lod;
+
+public class RenderDetailSelector {
+
+  private RenderDetailSelector() {}
+
+  public static RenderDetailLevel getRenderDetailLevel(
+      double distance,
+      RenderDetailLevel currentRenderDetailLevel,
+      double reducedDistance,
+      double minimalDistance,
+      double hysteresis) {
+    // The current level is kept within the hysteresis, to avoid flickering at the level borders.
+    boolean isReduced =
+        reducedDistance > 0
+            && distance
+                >= (currentRenderDetailLevel == RenderDetailLevel.FULL
+                    ? reducedDistance + hysteresis
+                    : reducedDistance - hysteresis);
+    boolean isMinimal =
+        minimalDistance > 0
+            && distance
+                >= (currentRenderDetailLevel == RenderDetailLevel.MINIMAL
+                    ? minimalDistance - hysteresis
+                    : minimalDistance + hysteresis);
+    if (isMinimal) {
+      return RenderDetailLevel.MINIMAL;
+    }
+    return isReduced ? RenderDetailLevel.REDUCED : RenderDetailLevel.FULL;
+  }
+}
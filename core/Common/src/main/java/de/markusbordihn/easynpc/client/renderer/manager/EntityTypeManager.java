@@ -24,9 +24,12 @@ import de.markusbordihn.easynpc.config.RenderEntityTypeSupportConfig;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.world.entity.Entity;
@@ -41,6 +44,9 @@ public class EntityTypeManager {
 
   private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
   private static final String LOG_PREFIX = "[Entity Type Manager]";
+  private static final int MAX_RENDER_ENTITY_PROXIES_PER_TYPE = 32;
+  private static final int RENDER_ENTITY_PROXY_IDLE_TICKS = 20 * 30;
+  private static final int RENDER_ENTITY_PROXY_EVICTION_TICKS = 20 * 5;
 
   private static final Set<EntityType<? extends Entity>> unknownEntityTypes = new HashSet<>();
   private static final Set<EntityType<? extends Entity>> supportedEntityTypes = new HashSet<>();
@@ -51,6 +57,11 @@ public class EntityTypeManager {
       new ConcurrentHashMap<>();
   private static final Map<EntityType<? extends Entity>, String> entityTypeNameMap =
       new ConcurrentHashMap<>();
+  private static final Map<EntityType<? extends Entity>, LinkedHashMap<UUID, RenderEntityProxy>>
+      renderEntityProxyMap = new ConcurrentHashMap<>();
+  private static Field levelField;
+  private static boolean levelFieldResolved = false;
+  private static long lastRenderEntityProxyEviction = 0;
 
   private EntityTypeManager() {}
 
@@ -192,13 +203,7 @@ public class EntityTypeManager {
       if (pathfinderMob.isAlive()) {
         // Update level if it has changed to avoid dimension issues.
         if (pathfinderMob.level() != level) {
-          try {
-            Field levelField = Entity.class.getDeclaredField("level");
-            levelField.setAccessible(true);
-            levelField.set(pathfinderMob, level);
-          } catch (Exception e) {
-            log.error("{} Failed to update level for PathfinderMob {}", LOG_PREFIX, pathfinderMob);
-          }
+          updateLevel(pathfinderMob, level);
         }
         return pathfinderMob;
       } else {
@@ -207,39 +212,129 @@ public class EntityTypeManager {
       }
     }
 
-    // Check if entity type is supported and created entity is a PathfinderMob.
-    if (!isUnsupportedEntityType(entityType)) {
-      Entity entity = entityType.create(level);
-      if (entity instanceof PathfinderMob newPathfinderMob) {
-        log.debug(
-            "{} Registering PathfinderMob {} for {}", LOG_PREFIX, newPathfinderMob, entityType);
-
-        // For better performance we disable AI, sound and physics for the fake entity.
-        newPathfinderMob.setNoAi(true);
-        newPathfinderMob.setSilent(true);
-        newPathfinderMob.noPhysics = true;
-
-        // Register new PathfinderMob for entity type.
-        pathfinderMobMap.put(entityType, newPathfinderMob);
-
-        // Make sure to add supported entity type if it was unknown before.
-        if (!isSupportedEntityType(entityType)) {
-          addSupportedEntityType(entityType);
-        }
-        return newPathfinderMob;
-      } else {
-        log.error(
-            "{} Invalid Entity type {} is not extending PathfinderMob!", LOG_PREFIX, entityType);
-        if (entity != null) {
-          entity.discard();
+    // Register new PathfinderMob for entity type.
+    PathfinderMob newPathfinderMob = createPathfinderMob(entityType, level);
+    if (newPathfinderMob != null) {
+      pathfinderMobMap.put(entityType, newPathfinderMob);
+    }
+    return newPathfinderMob;
+  }
+
+  public static RenderEntityProxy getRenderEntityProxy(EntityType<?> entityType, Entity entity) {
+    if (entityType == null || entity == null || isUnsupportedEntityType(entityType)) {
+      return null;
+    }
+
+    // Remove idle proxies from time to time, to avoid keeping unused entities in memory.
+    Level level = entity.level();
+    long gameTime = level.getGameTime();
+    if (Math.abs(gameTime - lastRenderEntityProxyEviction) >= RENDER_ENTITY_PROXY_EVICTION_TICKS) {
+      evictIdleRenderEntityProxies(gameTime);
+      lastRenderEntityProxyEviction = gameTime;
+    }
+
+    // Proxies are only accessed from the render thread, so the access ordered map is sufficient.
+    LinkedHashMap<UUID, RenderEntityProxy> renderEntityProxies =
+        renderEntityProxyMap.computeIfAbsent(
+            entityType, key -> new LinkedHashMap<>(16, 0.75f, true));
+
+    // Re-use existing proxy for the entity, if it's still valid.
+    UUID uuid = entity.getUUID();
+    RenderEntityProxy renderEntityProxy = renderEntityProxies.get(uuid);
+    if (renderEntityProxy != null) {
+      if (renderEntityProxy.isValid(level)) {
+        renderEntityProxy.setLastUsedTick(gameTime);
+        return renderEntityProxy;
+      }
+      renderEntityProxies.remove(uuid);
+      renderEntityProxy.discard();
+    }
+
+    // Create new proxy for the entity.
+    PathfinderMob pathfinderMob = createPathfinderMob(entityType, level);
+    if (pathfinderMob == null) {
+      return null;
+    }
+
+    // Make room for the new proxy by removing the least recently used one.
+    if (renderEntityProxies.size() >= MAX_RENDER_ENTITY_PROXIES_PER_TYPE) {
+      Iterator<RenderEntityProxy> iterator = renderEntityProxies.values().iterator();
+      RenderEntityProxy eldestRenderEntityProxy = iterator.next();
+      iterator.remove();
+      eldestRenderEntityProxy.discard();
+    }
+
+    renderEntityProxy = new RenderEntityProxy(pathfinderMob, gameTime);
+    renderEntityProxies.put(uuid, renderEntityProxy);
+    return renderEntityProxy;
+  }
+
+  public static void evictIdleRenderEntityProxies(long gameTime) {
+    for (LinkedHashMap<UUID, RenderEntityProxy> renderEntityProxies :
+        renderEntityProxyMap.values()) {
+      Iterator<RenderEntityProxy> iterator = renderEntityProxies.values().iterator();
+      while (iterator.hasNext()) {
+        RenderEntityProxy renderEntityProxy = iterator.next();
+        if (Math.abs(gameTime - renderEntityProxy.getLastUsedTick())
+            > RENDER_ENTITY_PROXY_IDLE_TICKS) {
+          log.debug("{} Evict idle render entity proxy {}", LOG_PREFIX, renderEntityProxy);
+          iterator.remove();
+          renderEntityProxy.discard();
         }
-        addUnsupportedEntityType(entityType);
       }
     }
+  }
+
+  private static PathfinderMob createPathfinderMob(EntityType<?> entityType, Level level) {
+    // Check if entity type is supported and created entity is a PathfinderMob.
+    if (isUnsupportedEntityType(entityType)) {
+      return null;
+    }
+    Entity entity = entityType.create(level);
+    if (entity instanceof PathfinderMob newPathfinderMob) {
+      log.debug("{} Creating PathfinderMob {} for {}", LOG_PREFIX, newPathfinderMob, entityType);
+
+      // For better performance we disable AI, sound and physics for the fake entity.
+      newPathfinderMob.setNoAi(true);
+      newPathfinderMob.setSilent(true);
+      newPathfinderMob.noPhysics = true;
+
+      // Make sure to add supported entity type if it was unknown before.
+      if (!isSupportedEntityType(entityType)) {
+        addSupportedEntityType(entityType);
+      }
+      return newPathfinderMob;
+    }
 
+    log.error("{} Invalid Entity type {} is not extending PathfinderMob!", LOG_PREFIX, entityType);
+    if (entity != null) {
+      entity.discard();
+    }
+    addUnsupportedEntityType(entityType);
     return null;
   }
 
+  private static void updateLevel(PathfinderMob pathfinderMob, Level level) {
+    // Resolve the level field only once, instead of for every update.
+    if (!levelFieldResolved) {
+      levelFieldResolved = true;
+      try {
+        levelField = Entity.class.getDeclaredField("level");
+        levelField.setAccessible(true);
+      } catch (Exception e) {
+        log.error("{} Failed to resolve level field for {}", LOG_PREFIX, Entity.class);
+      }
+    }
+    if (levelField == null) {
+      return;
+    }
+    try {
+      levelField.set(pathfinderMob, level);
+    } catch (Exception e) {
+      log.error("{} Failed to update level for PathfinderMob {}", LOG_PREFIX, pathfinderMob);
+    }
+  }
+
   public static float getScaleFactor(EntityType<? extends Entity> entityType) {
     return scaleFactorMap.getOrDefault(entityType, 1.0f);
   }
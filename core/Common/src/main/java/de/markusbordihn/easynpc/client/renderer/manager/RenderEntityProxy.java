@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.renderer.manager;
+
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.level.Level;
+
+public class RenderEntityProxy {
+
+  private final PathfinderMob pathfinderMob;
+  private long lastUsedTick;
+  private int lastSyncedTickCount = -1;
+
+  public RenderEntityProxy(PathfinderMob pathfinderMob, long lastUsedTick) {
+    this.pathfinderMob = pathfinderMob;
+    this.lastUsedTick = lastUsedTick;
+  }
+
+  public PathfinderMob getPathfinderMob() {
+    return this.pathfinderMob;
+  }
+
+  public long getLastUsedTick() {
+    return this.lastUsedTick;
+  }
+
+  public void setLastUsedTick(long lastUsedTick) {
+    this.lastUsedTick = lastUsedTick;
+  }
+
+  public boolean isSynced(int tickCount) {
+    return this.lastSyncedTickCount == tickCount;
+  }
+
+  public void setSynced(int tickCount) {
+    this.lastSyncedTickCount = tickCount;
+  }
+
+  public boolean isValid(Level level) {
+    return this.pathfinderMob.isAlive() && this.pathfinderMob.level() == level;
+  }
+
+  public void discard() {
+    this.pathfinderMob.discard();
+  }
+
+  @Override
+  public String toString() {
+    return "RenderEntityProxy [pathfinderMob="
+        + this.pathfinderMob
+        + ", lastUsedTick="
+        + this.lastUsedTick
+        + ", lastSyncedTickCount="
+        + this.lastSyncedTickCount
+        + "]";
+  }
+}
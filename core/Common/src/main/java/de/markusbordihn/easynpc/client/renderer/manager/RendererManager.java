@@ -236,4 +236,23 @@ public class RendererManager {
       targetEntity.setItemInHand(InteractionHand.OFF_HAND, sourceEntity.getOffhandItem());
     }
   }
+
+  public static void copyCustomLivingEntityData(
+      PathfinderMob sourceEntity, RenderEntityProxy renderEntityProxy, String entityTypeName) {
+    if (sourceEntity == null || renderEntityProxy == null) {
+      return;
+    }
+
+    // Entity data only changes once per tick, so there is no need to copy it for every frame.
+    if (renderEntityProxy.isSynced(sourceEntity.tickCount)) {
+      return;
+    }
+    PathfinderMob targetEntity = renderEntityProxy.getPathfinderMob();
+    copyCustomLivingEntityData(sourceEntity, targetEntity, entityTypeName);
+
+    // Advance the own walk animation of the proxy, instead of sharing it with other entities.
+    targetEntity.walkAnimation.update(sourceEntity.walkAnimation.speed(), 1.0F);
+
+    renderEntityProxy.setSynced(sourceEntity.tickCount);
+  }
 }
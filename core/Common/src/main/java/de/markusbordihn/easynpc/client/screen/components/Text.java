@@ -21,6 +21,7 @@ package de.markusbordihn.easynpc.client.screen.components;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.network.components.TextComponent;
+import de.markusbordihn.easynpc.network.transfer.DataTransferProgress;
 import java.util.List;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
@@ -135,4 +136,29 @@ public class Text {
         y,
         color);
   }
+
+  public static void drawDataTransferProgress(
+      GuiGraphics guiGraphics, Font font, DataTransferProgress progress, int x, int y) {
+    if (progress == null) {
+      return;
+    }
+    switch (progress.state()) {
+      case RUNNING ->
+          drawString(
+              guiGraphics,
+              font,
+              TextComponent.getTranslatedConfigText(
+                  "preset_transfer_progress",
+                  progress.getPercentage(),
+                  (progress.totalSize() + 1023) / 1024),
+              x,
+              y);
+      case COMPLETE ->
+          drawConfigString(
+              guiGraphics, font, "preset_transfer_complete", x, y, Constants.FONT_COLOR_DARK_GREEN);
+      case FAILED ->
+          drawConfigString(
+              guiGraphics, font, "preset_transfer_failed", x, y, Constants.FONT_COLOR_RED);
+    }
+  }
 }
@@ -375,7 +375,7 @@ public class MainConfigurationScreen<T extends ConfigurationMenu> extends Config
                       NetworkMessageHandlerManager.getServerHandler()
                           .openConfiguration(this.getEasyNPCUUID(), ConfigurationType.PLAYER_SKIN);
                       break;
-                    case SECURE_REMOTE_URL, INSECURE_REMOTE_URL:
+                    case SECURE_REMOTE_URL, INSECURE_REMOTE_URL, SERVER_SKIN:
                       NetworkMessageHandlerManager.getServerHandler()
                           .openConfiguration(this.getEasyNPCUUID(), ConfigurationType.URL_SKIN);
                       break;
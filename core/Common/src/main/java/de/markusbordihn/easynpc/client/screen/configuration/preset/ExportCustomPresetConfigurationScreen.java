@@ -26,6 +26,9 @@ import de.markusbordihn.easynpc.io.CustomPresetDataFiles;
 import de.markusbordihn.easynpc.menu.configuration.ConfigurationMenu;
 import de.markusbordihn.easynpc.network.NetworkMessageHandlerManager;
 import de.markusbordihn.easynpc.network.components.TextComponent;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferProgress;
+import de.markusbordihn.easynpc.network.transfer.DataTransferType;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
@@ -77,6 +80,13 @@ public class ExportCustomPresetConfigurationScreen<T extends ConfigurationMenu>
     // Default button stats
     this.customExportPresetButton.active = false;
 
+    // Reset the progress of a previous export, running transfers are still shown.
+    DataTransferProgress progress =
+        DataTransferManager.getClientManager().getProgress(DataTransferType.PRESET_EXPORT);
+    if (progress != null && !progress.isRunning()) {
+      DataTransferManager.getClientManager().clearProgress(DataTransferType.PRESET_EXPORT);
+    }
+
     // Preset file
     customPresetFile = CustomPresetDataFiles.getPresetFile(getSkinModel(), getEasyNPCUUID());
     customPresetFileName = customPresetFile.getName();
@@ -138,5 +148,13 @@ public class ExportCustomPresetConfigurationScreen<T extends ConfigurationMenu>
             topPos + 45 + (line * (font.lineHeight + 2)));
       }
     }
+
+    // Export progress, large presets are received over several ticks.
+    Text.drawDataTransferProgress(
+        guiGraphics,
+        this.font,
+        DataTransferManager.getClientManager().getProgress(DataTransferType.PRESET_EXPORT),
+        leftPos + 15,
+        topPos + 45 + ((this.numberOfTextLines + 1) * (font.lineHeight + 2)));
   }
 }
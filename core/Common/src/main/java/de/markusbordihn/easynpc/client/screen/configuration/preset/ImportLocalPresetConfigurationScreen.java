@@ -19,11 +19,16 @@
 
 package de.markusbordihn.easynpc.client.screen.configuration.preset;
 
+import de.markusbordihn.easynpc.client.screen.components.Text;
 import de.markusbordihn.easynpc.io.CustomPresetDataFiles;
 import de.markusbordihn.easynpc.menu.configuration.ConfigurationMenu;
 import de.markusbordihn.easynpc.network.NetworkMessageHandlerManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferProgress;
+import de.markusbordihn.easynpc.network.transfer.DataTransferType;
 import java.nio.file.Path;
 import java.util.List;
+import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.nbt.NbtIo;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -61,8 +66,28 @@ public class ImportLocalPresetConfigurationScreen<T extends ConfigurationMenu>
     // Default button stats
     this.localImportPresetButton.active = false;
 
+    // Reset the progress of a previous import, running transfers are still shown.
+    DataTransferProgress progress =
+        DataTransferManager.getClientManager().getProgress(DataTransferType.PRESET_IMPORT);
+    if (progress != null && !progress.isRunning()) {
+      DataTransferManager.getClientManager().clearProgress(DataTransferType.PRESET_IMPORT);
+    }
+
     // Update local presets
     updatePresets(this.localPresets);
     this.presetSelectionList.updatePresets();
   }
+
+  @Override
+  public void render(GuiGraphics guiGraphics, int x, int y, float partialTicks) {
+    super.render(guiGraphics, x, y, partialTicks);
+
+    // Import progress, large presets are uploaded over several ticks.
+    Text.drawDataTransferProgress(
+        guiGraphics,
+        this.font,
+        DataTransferManager.getClientManager().getProgress(DataTransferType.PRESET_IMPORT),
+        this.contentLeftPos + 5,
+        this.bottomPos - 52);
+  }
 }
@@ -41,6 +41,7 @@ import de.markusbordihn.easynpc.validator.NameValidator;
 import java.util.ArrayList;
 import java.util.Set;
 import java.util.UUID;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.components.EditBox;
@@ -159,26 +160,33 @@ public class PlayerSkinConfigurationScreen<T extends ConfigurationMenu>
         return;
       }
 
-      // Validate player UUID
-      UUID playerUUID = PlayersUtils.getUserUUID(textureSkinLocationValue);
-      if (playerUUID == null) {
-        this.errorMessage = "invalid_player_uuid";
-        return;
-      }
-
-      // Send texture skin location to server.
-      log.debug("Setting player texture to {} with UUID {}", textureSkinLocationValue, playerUUID);
-      TextureManager.clearLastErrorMessage();
-      this.errorMessage = "";
-      NetworkMessageHandlerManager.getServerHandler()
-          .setPlayerSkin(this.getEasyNPCUUID(), textureSkinLocationValue, playerUUID);
-
+      // Resolve player UUID in the background and send texture skin location to server.
       this.addTextureSettingsButton.active = false;
       this.formerTextureSkinLocation = textureSkinLocationValue;
       updateNextTextureSkinLocationChange();
+      PlayersUtils.getUserUUIDAsync(textureSkinLocationValue)
+          .thenAcceptAsync(
+              playerUUID -> setPlayerSkin(textureSkinLocationValue, playerUUID),
+              Minecraft.getInstance());
     }
   }
 
+  private void setPlayerSkin(String playerName, UUID playerUUID) {
+    // Validate player UUID
+    if (playerUUID == null) {
+      this.errorMessage = "invalid_player_uuid";
+      this.formerTextureSkinLocation = "";
+      return;
+    }
+
+    // Send texture skin location to server.
+    log.debug("Setting player texture to {} with UUID {}", playerName, playerUUID);
+    TextureManager.clearLastErrorMessage();
+    this.errorMessage = "";
+    NetworkMessageHandlerManager.getServerHandler()
+        .setPlayerSkin(this.getEasyNPCUUID(), playerName, playerUUID);
+  }
+
   private void validateTextureSkinLocation() {
     String textureSkinLocationValue = this.textureSkinLocationBox.getValue();
 
@@ -81,7 +81,8 @@ public class CustomTextureManager {
 
     // Check if there is already any cached resource location.
     TextureModelKey textureModelKey = new TextureModelKey(skinUUID, skinData.getSkinModel());
-    ResourceLocation resourceLocation = textureCache.get(textureModelKey);
+    ResourceLocation resourceLocation =
+        TextureManager.getCachedTextureLocation(textureCache, textureModelKey);
     if (resourceLocation != null) {
       return resourceLocation;
     }
@@ -77,7 +77,8 @@ public class PlayerTextureManager {
 
     // Check if there is already any cached resource location.
     TextureModelKey textureModelKey = new TextureModelKey(skinUUID, skinData.getSkinModel());
-    ResourceLocation resourceLocation = textureCache.get(textureModelKey);
+    ResourceLocation resourceLocation =
+        TextureManager.getCachedTextureLocation(textureCache, textureModelKey);
     if (resourceLocation != null) {
       // Return resource location and update reference, if needed.
       if (!hasTextureSkinData(textureModelKey)) {
@@ -115,19 +116,47 @@ public class PlayerTextureManager {
       return localTextureCache;
     }
 
-    // Get skin texture location based on the player UUID.
-    String playerSkinUrl = PlayersUtils.getUserTexture(playerUUID);
+    // Get skin texture location based on the player UUID, without blocking the render thread.
+    SkinType skinType = skinData.getSkinType();
+    PlayersUtils.getUserTextureAsync(playerUUID)
+        .thenAcceptAsync(
+            playerSkinUrl ->
+                addPlayerTexture(
+                    textureModelKey, skinType, playerUUID, playerSkinUrl, textureDataFolder),
+            Minecraft.getInstance());
+    return null;
+  }
 
-    // Validate the skin URL and perform some basic sanity checks and
-    // process the remote texture.
-    ResourceLocation resourceLocation =
-        TextureManager.addRemoteTexture(textureModelKey, playerSkinUrl, textureDataFolder);
-    if (resourceLocation != null) {
-      textureCache.put(textureModelKey, resourceLocation);
-      textureSkinTypeCache.put(textureModelKey, skinData.getSkinType());
-      return resourceLocation;
+  private static void addPlayerTexture(
+      TextureModelKey textureModelKey,
+      SkinType skinType,
+      UUID playerUUID,
+      String playerSkinUrl,
+      Path textureDataFolder) {
+    if (playerSkinUrl == null) {
+      addPlayerTextureError(textureModelKey, playerUUID, null, textureDataFolder);
+      return;
     }
 
+    // Download the remote texture on the worker, the texture is registered on the client thread.
+    TextureManager.addRemoteTextureAsync(textureModelKey, playerSkinUrl, textureDataFolder)
+        .thenAccept(
+            resourceLocation -> {
+              if (resourceLocation != null) {
+                textureCache.put(textureModelKey, resourceLocation);
+                textureSkinTypeCache.put(textureModelKey, skinType);
+                return;
+              }
+              addPlayerTextureError(textureModelKey, playerUUID, playerSkinUrl, textureDataFolder);
+            });
+  }
+
+  private static void addPlayerTextureError(
+      TextureModelKey textureModelKey,
+      UUID playerUUID,
+      String playerSkinUrl,
+      Path textureDataFolder) {
+
     // Log error if texture could not be loaded.
     log.error(
         "{} Unable to load player {} texture {} from {}!",
@@ -150,8 +179,6 @@ public class PlayerTextureManager {
                       + playerSkinUrl)
               .withStyle(ChatFormatting.RED));
     }
-
-    return null;
   }
 
   public static void registerTexture(SkinModel skinModel, File textureFile) {
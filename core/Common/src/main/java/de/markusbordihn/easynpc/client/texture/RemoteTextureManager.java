@@ -82,7 +82,8 @@ public class RemoteTextureManager {
 
     // Check if there is already any cached resource location.
     TextureModelKey textureModelKey = new TextureModelKey(skinUUID, skinData.getSkinModel());
-    ResourceLocation resourceLocation = textureCache.get(textureModelKey);
+    ResourceLocation resourceLocation =
+        TextureManager.getCachedTextureLocation(textureCache, textureModelKey);
     String skinURL = skinData.getSkinURL();
     if (resourceLocation != null) {
       if (!hasTextureSkinData(textureModelKey)) {
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.texture;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.SkinCacheConfig;
+import de.markusbordihn.easynpc.data.skin.SkinChunkAssembler;
+import de.markusbordihn.easynpc.entity.easynpc.data.SkinData;
+import de.markusbordihn.easynpc.io.DataFileHandler;
+import de.markusbordihn.easynpc.io.SkinCache;
+import de.markusbordihn.easynpc.network.NetworkMessageHandlerManager;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.resources.ResourceLocation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class ServerTextureManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final HashMap<TextureModelKey, ResourceLocation> textureCache = new HashMap<>();
+  private static final HashMap<String, SkinChunkAssembler> skinChunkAssemblers = new HashMap<>();
+  private static final HashSet<String> requestedSkins = new HashSet<>();
+  private static final HashSet<String> invalidSkins = new HashSet<>();
+  private static final String LOG_PREFIX = "[Server Texture Manager]";
+  private static final String DATA_FOLDER_NAME = "server_skin_client";
+
+  private ServerTextureManager() {}
+
+  public static ResourceLocation getOrCreateTextureWithDefault(
+      SkinData<?> skinData, ResourceLocation defaultResourceLocation) {
+    // Server skins are identified by their content hash, which is set after the download.
+    String contentHash = skinData.getSkinContent();
+    if (!SkinCache.isValidContentHash(contentHash)) {
+      return defaultResourceLocation;
+    }
+
+    // Check if there is already any cached resource location.
+    TextureModelKey textureModelKey =
+        new TextureModelKey(
+            UUID.nameUUIDFromBytes(contentHash.getBytes(StandardCharsets.UTF_8)),
+            skinData.getSkinModel());
+    ResourceLocation resourceLocation =
+        TextureManager.getCachedTextureLocation(textureCache, textureModelKey);
+    if (resourceLocation != null) {
+      return resourceLocation;
+    }
+
+    // Check the local skin cache, which is filled by the server.
+    Path textureDataFolder = DataFileHandler.getOrCreateCacheFolder(DATA_FOLDER_NAME);
+    if (textureDataFolder == null
+        || invalidSkins.contains(contentHash)
+        || TextureManager.isFailedTexture(textureModelKey)) {
+      return defaultResourceLocation;
+    }
+    SkinCache skinCache = TextureManager.getSkinCache(textureDataFolder);
+    if (skinCache.hasCachedFile(contentHash)) {
+      // The cached file is verified by the skin processor, invalid files end as failed texture.
+      ResourceLocation createdResourceLocation =
+          TextureManager.addCachedTexture(textureModelKey, skinCache, contentHash);
+      textureCache.put(textureModelKey, createdResourceLocation);
+      return createdResourceLocation;
+    }
+
+    // Request the skin from the server only once per session.
+    if (requestedSkins.add(contentHash)) {
+      log.debug("{} Requesting server skin {} for {}", LOG_PREFIX, contentHash, skinData);
+      NetworkMessageHandlerManager.getServerHandler()
+          .requestServerSkin(skinData.getUUID(), contentHash);
+    }
+    return defaultResourceLocation;
+  }
+
+  public static void handleSkinData(
+      String contentHash, int chunkIndex, int numberOfChunks, int totalSize, byte[] data) {
+    if (!requestedSkins.contains(contentHash)
+        || invalidSkins.contains(contentHash)
+        || !SkinChunkAssembler.isValidTransfer(
+            numberOfChunks, totalSize, SkinCacheConfig.getMaxImageSize() * 1024)) {
+      log.warn("{} Ignoring unexpected server skin data for {}", LOG_PREFIX, contentHash);
+      return;
+    }
+
+    // Collect the chunks until the skin is complete.
+    SkinChunkAssembler skinChunkAssembler =
+        skinChunkAssemblers.computeIfAbsent(
+            contentHash, key -> new SkinChunkAssembler(key, numberOfChunks, totalSize));
+    if (!skinChunkAssembler.matches(numberOfChunks, totalSize)
+        || !skinChunkAssembler.accept(chunkIndex, data)) {
+      handleInvalidSkin(contentHash, "invalid chunk " + chunkIndex);
+      return;
+    }
+    if (!skinChunkAssembler.isComplete()) {
+      return;
+    }
+    skinChunkAssemblers.remove(contentHash);
+
+    // Verify the received data before it is stored in the local skin cache.
+    byte[] skinData = skinChunkAssembler.getData();
+    if (!skinChunkAssembler.isValid(skinData)) {
+      handleInvalidSkin(contentHash, "content hash mismatch");
+      return;
+    }
+    Path textureDataFolder = DataFileHandler.getOrCreateCacheFolder(DATA_FOLDER_NAME);
+    if (textureDataFolder == null
+        || TextureManager.getSkinCache(textureDataFolder).store(contentHash, skinData) == null) {
+      handleInvalidSkin(contentHash, "unable to store skin");
+      return;
+    }
+    log.debug(
+        "{} Received server skin {} with {} bytes in {} chunks",
+        LOG_PREFIX,
+        contentHash,
+        totalSize,
+        numberOfChunks);
+  }
+
+  private static void handleInvalidSkin(String contentHash, String reason) {
+    log.error("{} Unable to receive server skin {}: {}", LOG_PREFIX, contentHash, reason);
+    skinChunkAssemblers.remove(contentHash);
+    invalidSkins.add(contentHash);
+  }
+
+  public static Set<String> getRequestedSkins() {
+    return requestedSkins;
+  }
+
+  public static void clearTextureCache() {
+    textureCache.clear();
+    skinChunkAssemblers.clear();
+    requestedSkins.clear();
+    invalidSkins.clear();
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.client.texture;
+
+import java.awt.image.BufferedImage;
+
+public class SkinImageProcessor {
+
+  public static final int SKIN_SIZE = 64;
+
+  // Regions of the 64x32 legacy layout, which are mirrored to the left arm and leg of the 64x64
+  // layout as x, y, delta x, delta y, width and height like the vanilla player skins.
+  private static final int[][] LEGACY_REGIONS = {
+    {4, 16, 16, 32, 4, 4},
+    {8, 16, 16, 32, 4, 4},
+    {0, 20, 24, 32, 4, 12},
+    {4, 20, 16, 32, 4, 12},
+    {8, 20, 8, 32, 4, 12},
+    {12, 20, 16, 32, 4, 12},
+    {44, 16, -8, 32, 4, 4},
+    {48, 16, -8, 32, 4, 4},
+    {40, 20, 0, 32, 4, 12},
+    {44, 20, -8, 32, 4, 12},
+    {48, 20, -16, 32, 4, 12},
+    {52, 20, -8, 32, 4, 12}
+  };
+
+  private SkinImageProcessor() {}
+
+  public static Format getFormat(int width, int height) {
+    if (width < SKIN_SIZE || width % SKIN_SIZE != 0) {
+      return Format.UNKNOWN;
+    }
+    if (width == height * 2) {
+      return Format.LEGACY;
+    }
+    return width == height ? Format.MODERN : Format.UNKNOWN;
+  }
+
+  public static BufferedImage process(BufferedImage image, int maxSkinSize, boolean alphaFix) {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+    Format format = getFormat(width, height);
+    if (format == Format.UNKNOWN) {
+      return createImage(pixels, width, height);
+    }
+
+    // Legacy skins are converted to the square layout, HD skins are using a scaled layout.
+    int scale = width / SKIN_SIZE;
+    if (format == Format.LEGACY) {
+      pixels = convertLegacyPixels(pixels, width, scale);
+      height = width;
+    }
+    if (alphaFix) {
+      fixAlpha(pixels, width, scale, format == Format.LEGACY);
+    }
+
+    // Oversized HD skins are scaled down by an integer factor to keep the layout aligned.
+    int factor = getScaleFactor(width, maxSkinSize);
+    if (factor > 1) {
+      pixels = downscalePixels(pixels, width, height, factor);
+      width /= factor;
+      height /= factor;
+    }
+    return createImage(pixels, width, height);
+  }
+
+  private static int[] convertLegacyPixels(int[] legacyPixels, int size, int scale) {
+    // Upper half is kept as it is, lower half is filled with the mirrored arm and leg.
+    int[] pixels = new int[size * size];
+    System.arraycopy(legacyPixels, 0, pixels, 0, legacyPixels.length);
+    for (int[] region : LEGACY_REGIONS) {
+      copyMirroredRect(
+          pixels,
+          size,
+          region[0] * scale,
+          region[1] * scale,
+          region[2] * scale,
+          region[3] * scale,
+          region[4] * scale,
+          region[5] * scale);
+    }
+    return pixels;
+  }
+
+  private static void copyMirroredRect(
+      int[] pixels, int size, int x, int y, int deltaX, int deltaY, int width, int height) {
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        pixels[(y + deltaY + row) * size + x + deltaX + width - 1 - column] =
+            pixels[(y + row) * size + x + column];
+      }
+    }
+  }
+
+  private static void fixAlpha(int[] pixels, int size, int scale, boolean legacy) {
+    setNoAlpha(pixels, size, 0, 0, 32 * scale, 16 * scale);
+    if (legacy) {
+      clearOpaqueAlpha(pixels, size, 32 * scale, 0, 64 * scale, 32 * scale);
+    }
+    setNoAlpha(pixels, size, 0, 16 * scale, 64 * scale, 32 * scale);
+    setNoAlpha(pixels, size, 16 * scale, 48 * scale, 48 * scale, 64 * scale);
+  }
+
+  private static void setNoAlpha(int[] pixels, int size, int x1, int y1, int x2, int y2) {
+    for (int y = y1; y < y2; y++) {
+      for (int x = x1; x < x2; x++) {
+        pixels[y * size + x] |= 0xFF000000;
+      }
+    }
+  }
+
+  private static void clearOpaqueAlpha(int[] pixels, int size, int x1, int y1, int x2, int y2) {
+    // Legacy skins without any transparency in the hat layer would cover the whole head.
+    for (int y = y1; y < y2; y++) {
+      for (int x = x1; x < x2; x++) {
+        if ((pixels[y * size + x] >>> 24) < 128) {
+          return;
+        }
+      }
+    }
+    for (int y = y1; y < y2; y++) {
+      for (int x = x1; x < x2; x++) {
+        pixels[y * size + x] &= 0x00FFFFFF;
+      }
+    }
+  }
+
+  private static int getScaleFactor(int size, int maxSkinSize) {
+    int factor = 1;
+    while (size / factor > maxSkinSize && size / factor > SKIN_SIZE) {
+      factor++;
+      while (size % factor != 0 || (size / factor) % SKIN_SIZE != 0) {
+        factor++;
+      }
+    }
+    return factor;
+  }
+
+  private static int[] downscalePixels(int[] pixels, int width, int height, int factor) {
+    // Colors are weighted by their alpha to avoid dark borders around transparent pixels.
+    int scaledWidth = width / factor;
+    int scaledHeight = height / factor;
+    int[] scaledPixels = new int[scaledWidth * scaledHeight];
+    int numberOfPixels = factor * factor;
+    for (int scaledY = 0; scaledY < scaledHeight; scaledY++) {
+      for (int scaledX = 0; scaledX < scaledWidth; scaledX++) {
+        long alpha = 0;
+        long red = 0;
+        long green = 0;
+        long blue = 0;
+        for (int y = scaledY * factor; y < (scaledY + 1) * factor; y++) {
+          for (int x = scaledX * factor; x < (scaledX + 1) * factor; x++) {
+            int pixel = pixels[y * width + x];
+            int pixelAlpha = pixel >>> 24;
+            alpha += pixelAlpha;
+            red += (long) ((pixel >> 16) & 0xFF) * pixelAlpha;
+            green += (long) ((pixel >> 8) & 0xFF) * pixelAlpha;
+            blue += (long) (pixel & 0xFF) * pixelAlpha;
+          }
+        }
+        scaledPixels[scaledY * scaledWidth + scaledX] =
+            alpha == 0
+                ? 0
+                : (int) ((alpha + numberOfPixels / 2) / numberOfPixels) << 24
+                    | (int) ((red + alpha / 2) / alpha) << 16
+                    | (int) ((green + alpha / 2) / alpha) << 8
+                    | (int) ((blue + alpha / 2) / alpha);
+      }
+    }
+    return scaledPixels;
+  }
+
+  private static BufferedImage createImage(int[] pixels, int width, int height) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    image.setRGB(0, 0, width, height, pixels, 0, width);
+    return image;
+  }
+
+  public enum Format {
+    LEGACY,
+    MODERN,
+    UNKNOWN
+  }
+}
@@ -21,21 +21,30 @@ package de.markusbordihn.easynpc.client.texture;
 
 import com.mojang.blaze3d.platform.NativeImage;
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.SkinTextureConfig;
 import de.markusbordihn.easynpc.data.skin.SkinModel;
+import de.markusbordihn.easynpc.io.DataFileHandler;
+import de.markusbordihn.easynpc.io.SkinCache;
 import de.markusbordihn.easynpc.validator.ImageValidator;
 import de.markusbordihn.easynpc.validator.UrlValidator;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import javax.imageio.ImageIO;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.texture.DynamicTexture;
@@ -49,8 +58,15 @@ public class TextureManager {
 
   private static final String TEXTURE_PREFIX = Constants.MOD_ID + "_client_texture_";
   private static final String LOG_PREFIX = "[Texture Manager]";
+  private static final String PROCESSED_SKIN_FOLDER_NAME = "processed_skin";
   private static final Map<TextureModelKey, String> errorMessageMap = new HashMap<>();
+  private static final Set<TextureModelKey> failedTextures = new HashSet<>();
+  private static final Map<Path, SkinCache> skinCacheMap = new ConcurrentHashMap<>();
+  private static final Map<Path, Map<UUID, File>> textureFileIndexMap =
+      new ConcurrentHashMap<>();
   private static String lastErrorMessage;
+  private static ExecutorService executor;
+  private static ExecutorService downloadExecutor;
 
   private TextureManager() {}
 
@@ -67,22 +83,8 @@ public class TextureManager {
       return null;
     }
 
-    // Try to load the image from file.
-    BufferedImage image;
-    try {
-      image = ImageIO.read(file);
-    } catch (IllegalArgumentException | IOException exception) {
-      log.error(
-          "{} Unable to load Texture file {} for {} because of:",
-          LOG_PREFIX,
-          file,
-          textureModelKey,
-          exception);
-      return null;
-    }
-
-    // Verify the image data to make sure we got a valid image!
-    if (!ImageValidator.isValidImage(image)) {
+    // Verify the image header to make sure we got a valid image!
+    if (!ImageValidator.isValidImage(file)) {
       log.error(
           "{} Unable to get any valid texture from file {} for {}!",
           LOG_PREFIX,
@@ -96,43 +98,81 @@ public class TextureManager {
   }
 
   private static ResourceLocation registerTexture(TextureModelKey textureModelKey, File file) {
+    return registerTexture(textureModelKey, () -> file);
+  }
+
+  private static ResourceLocation registerTexture(
+      TextureModelKey textureModelKey, Supplier<File> fileSupplier) {
     // Using client Texture Manager
     Minecraft client = Minecraft.getInstance();
     net.minecraft.client.renderer.texture.TextureManager textureManager =
         client.getTextureManager();
 
-    // Creative native image from file.
-    NativeImage nativeImage =
-        textureModelKey.getSkinModel() == SkinModel.HUMANOID
-                || textureModelKey.getSkinModel() == SkinModel.HUMANOID_SLIM
-            ? getNativePlayerImage(file)
-            : getNativeImage(file);
+    // Register an empty texture first like the vanilla player skins. The image is decoded and
+    // processed by the worker thread, so the render thread only uploads the prepared pixels.
+    String resourceName = getResourceName(textureModelKey);
+    failedTextures.remove(textureModelKey);
+    ResourceLocation resourceLocation =
+        textureManager.register(resourceName, new DynamicTexture(1, 1, true));
+    boolean playerSkin = isPlayerSkinModel(textureModelKey.getSkinModel());
+    CompletableFuture.supplyAsync(
+            () -> {
+              // Cached files are looked up and verified by the worker thread as well.
+              File file = fileSupplier.get();
+              return new ProcessedTexture(
+                  file, file != null ? getNativeImage(file, playerSkin) : null);
+            },
+            getExecutor())
+        .thenAcceptAsync(
+            processedTexture ->
+                uploadTexture(
+                    textureModelKey,
+                    processedTexture.file(),
+                    resourceLocation,
+                    processedTexture.nativeImage()),
+            client);
+    return resourceLocation;
+  }
+
+  private static void uploadTexture(
+      TextureModelKey textureModelKey,
+      File file,
+      ResourceLocation resourceLocation,
+      NativeImage nativeImage) {
+    if (file == null) {
+      log.error(
+          "{} Unable to find valid cached texture file for {}.", LOG_PREFIX, textureModelKey);
+      addErrorMessage(textureModelKey, "Unable to find valid cached texture file");
+      releaseTexture(textureModelKey, resourceLocation);
+      return;
+    }
     if (nativeImage == null) {
       log.error(
           "{} Unable to create native image for file {} for {}.",
           LOG_PREFIX,
           file,
           textureModelKey);
-      return null;
+      addErrorMessage(textureModelKey, "Unable to process texture file " + file.getName());
+      releaseTexture(textureModelKey, resourceLocation);
+      return;
     }
 
-    // Creative dynamic texture from native image.
-    DynamicTexture dynamicTexture;
+    // Replace the empty texture with the dynamic texture of the native image.
     try {
-      dynamicTexture = new DynamicTexture(nativeImage);
+      Minecraft.getInstance()
+          .getTextureManager()
+          .register(resourceLocation, new DynamicTexture(nativeImage));
     } catch (Exception exception) {
+      nativeImage.close();
       log.error(
           "{} Unable to create dynamic texture for file {} for {}:",
           LOG_PREFIX,
           file,
           textureModelKey,
           exception);
-      return null;
+      releaseTexture(textureModelKey, resourceLocation);
+      return;
     }
-
-    // Register dynamic texture under resource location.
-    String resourceName = getResourceName(textureModelKey);
-    ResourceLocation resourceLocation = textureManager.register(resourceName, dynamicTexture);
     log.info(
         "{} Registered file {} with image {} for texture {} with {}.",
         LOG_PREFIX,
@@ -140,10 +180,44 @@ public class TextureManager {
         nativeImage,
         textureModelKey,
         resourceLocation);
+  }
 
+  private static void releaseTexture(
+      TextureModelKey textureModelKey, ResourceLocation resourceLocation) {
+    // Release the empty texture, the texture managers drop their cached location on next access.
+    Minecraft.getInstance().getTextureManager().release(resourceLocation);
+    failedTextures.add(textureModelKey);
+  }
+
+  public static boolean isFailedTexture(TextureModelKey textureModelKey) {
+    return failedTextures.contains(textureModelKey);
+  }
+
+  public static ResourceLocation getCachedTextureLocation(
+      Map<TextureModelKey, ResourceLocation> textureCache, TextureModelKey textureModelKey) {
+    ResourceLocation resourceLocation = textureCache.get(textureModelKey);
+    if (resourceLocation != null
+        && !failedTextures.isEmpty()
+        && failedTextures.contains(textureModelKey)) {
+      textureCache.remove(textureModelKey);
+      return null;
+    }
     return resourceLocation;
   }
 
+  private static synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      executor =
+          Executors.newSingleThreadExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "Easy NPC Skin Processor");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return executor;
+  }
+
   public static ResourceLocation addRemoteTexture(
       TextureModelKey textureModelKey, String remoteUrl, Path targetDirectory) {
     if (!UrlValidator.isValidUrl(remoteUrl)) {
@@ -162,50 +236,14 @@ public class TextureManager {
       return cachedTexture;
     }
 
-    // Verify URL and follow redirect for 301 and 302, if needed.
-    try {
-      URL remoteImageURL = new URL(remoteUrl);
-      HttpURLConnection connection = (HttpURLConnection) remoteImageURL.openConnection();
-      if (connection.getResponseCode() == HttpURLConnection.HTTP_MOVED_PERM
-          || connection.getResponseCode() == HttpURLConnection.HTTP_MOVED_TEMP) {
-        String redirectUrl = connection.getHeaderField("Location");
-        log.info("{} Following redirect from {} > {}", LOG_PREFIX, remoteUrl, redirectUrl);
-        remoteUrl = redirectUrl;
-      } else if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
-        urlLoadErrorMessage(textureModelKey, remoteUrl, connection.getResponseMessage());
-        return null;
-      }
-    } catch (IllegalArgumentException | IOException exception) {
-      urlLoadErrorMessage(textureModelKey, remoteUrl, exception.getMessage());
-      return null;
-    }
-
-    // Download URL to memory
-    BufferedImage image;
-    try {
-      image = ImageIO.read(new URL(remoteUrl));
-    } catch (IllegalArgumentException | IOException exception) {
-      processingErrorMessage(textureModelKey, remoteUrl, exception.getMessage());
-      return null;
-    }
-
-    // Verify the image data to make sure we got a valid image!
-    if (!ImageValidator.isValidImage(image)) {
-      processingErrorMessage(textureModelKey, remoteUrl, "Unable to get any valid texture");
-      return null;
-    }
-
-    // Storing file to cache.
-    UUID uuid = textureModelKey.getUUID();
-    File file = targetDirectory.resolve(getFileName(uuid)).toFile();
-    try {
-      ImageIO.write(image, "png", file);
-    } catch (IllegalArgumentException | IOException exception) {
-      processingErrorMessage(textureModelKey, remoteUrl, exception.getMessage());
+    // Download or revalidate the texture over the skin cache, which also validates the image.
+    File file = getSkinCache(targetDirectory).fetch(getCacheKey(textureModelKey), remoteUrl);
+    if (file == null) {
+      urlLoadErrorMessage(textureModelKey, remoteUrl, "Unable to get any valid texture");
       return null;
     }
     log.info(
-        "{} Downloaded texture from {} and stored it as {} for {}",
+        "{} Loaded texture from {} as cached file {} for {}",
         LOG_PREFIX,
         remoteUrl,
         file,
@@ -215,6 +253,48 @@ public class TextureManager {
     return registerTexture(textureModelKey, file);
   }
 
+  private static synchronized ExecutorService getDownloadExecutor() {
+    if (downloadExecutor == null) {
+      downloadExecutor =
+          Executors.newSingleThreadExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "Easy NPC Skin Download");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return downloadExecutor;
+  }
+
+  public static CompletableFuture<ResourceLocation> addRemoteTextureAsync(
+      TextureModelKey textureModelKey, String remoteUrl, Path targetDirectory) {
+    if (!UrlValidator.isValidUrl(remoteUrl)) {
+      urlLoadErrorMessage(textureModelKey, remoteUrl, "Invalid URL");
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Download or revalidate the texture on the worker, only the registration needs the client.
+    SkinCache skinCache = getSkinCache(targetDirectory);
+    String cacheKey = getCacheKey(textureModelKey);
+    return CompletableFuture.supplyAsync(
+            () -> skinCache.fetch(cacheKey, remoteUrl), getDownloadExecutor())
+        .thenApplyAsync(
+            file -> {
+              if (file == null) {
+                urlLoadErrorMessage(textureModelKey, remoteUrl, "Unable to get any valid texture");
+                return null;
+              }
+              log.info(
+                  "{} Loaded texture from {} as cached file {} for {}",
+                  LOG_PREFIX,
+                  remoteUrl,
+                  file,
+                  textureModelKey);
+              return registerTexture(textureModelKey, file);
+            },
+            Minecraft.getInstance());
+  }
+
   public static String getResourceName(TextureModelKey textureModelKey) {
     return getResourceName(textureModelKey.getUUID().toString(), textureModelKey.getSubType());
   }
@@ -232,54 +312,73 @@ public class TextureManager {
     return name.replaceAll("[^a-zA-Z0-9_.-]", "") + ".png";
   }
 
+  public static SkinCache getSkinCache(Path targetDirectory) {
+    return skinCacheMap.computeIfAbsent(targetDirectory, SkinCache::fromConfig);
+  }
+
+  public static String getCacheKey(TextureModelKey textureModelKey) {
+    return textureModelKey.getUUID().toString();
+  }
+
   public static ResourceLocation getCachedTexture(
       TextureModelKey textureModelKey, Path targetDirectory) {
-    String fileName = String.format("%s.png", textureModelKey.getUUID());
-    File file = targetDirectory.resolve(fileName).toFile();
-    if (file.exists()) {
+    SkinCache skinCache = getSkinCache(targetDirectory);
+    String cacheKey = getCacheKey(textureModelKey);
+
+    // Outdated textures are returned by addRemoteTexture after they are revalidated.
+    if (skinCache.hasCachedFile(cacheKey)) {
+      return skinCache.needsRevalidation(cacheKey)
+          ? null
+          : addCachedTexture(textureModelKey, skinCache, cacheKey);
+    }
+
+    // Import texture files from the former cache layout, which are stored by their UUID.
+    File legacyFile = targetDirectory.resolve(getFileName(textureModelKey.getUUID())).toFile();
+    if (legacyFile.exists()) {
       log.info(
-          "{} Found texture file in cache, will re-used file {} for {}",
+          "{} Found legacy texture file {}, will import it for {}",
           LOG_PREFIX,
-          file,
+          legacyFile,
           textureModelKey);
-      return registerTexture(textureModelKey, file);
+      return registerTexture(
+          textureModelKey, () -> skinCache.importFile(cacheKey, legacyFile, null));
     }
     return null;
   }
 
+  public static ResourceLocation addCachedTexture(
+      TextureModelKey textureModelKey, SkinCache skinCache, String cacheKey) {
+    // The cached file is only verified once per session, but this includes a full image decode,
+    // so the render thread registers the empty texture and leaves the lookup to the worker.
+    log.info(
+        "{} Found texture file in cache, will re-used cache entry {} for {}",
+        LOG_PREFIX,
+        cacheKey,
+        textureModelKey);
+    return registerTexture(textureModelKey, () -> skinCache.getCachedFile(cacheKey));
+  }
+
   public static ResourceLocation searchCachedTexture(
       TextureModelKey textureModelKey, Path targetDirectory) {
-    // Check for cached textured and return if found.
-    ResourceLocation resourceLocation = getCachedTexture(textureModelKey, targetDirectory);
-    if (resourceLocation != null) {
-      return resourceLocation;
-    }
-
-    // Search for a matching texture file in cache directory.
-    UUID textureUUID = textureModelKey.getUUID();
-    for (File file : targetDirectory.toFile().listFiles()) {
-      if (file != null) {
-        String filename = file.getName();
-        UUID uuid = getUUIDFromFilename(filename);
-        if (textureUUID.equals(uuid)) {
-          ResourceLocation textureResourceLocation = registerTexture(textureModelKey, file);
-          if (textureResourceLocation != null) {
-            log.info(
-                "{} Registered cached texture file {} for {} with {}",
-                LOG_PREFIX,
-                file,
-                textureModelKey,
-                textureResourceLocation);
-          } else {
-            log.error(
-                "{} Unable to register cached texture file {} for {}",
-                LOG_PREFIX,
-                file,
-                textureModelKey);
-          }
-          return textureResourceLocation;
-        }
+    // Search for a matching texture file in the texture file index.
+    File file = getIndexedTextureFile(textureModelKey.getUUID(), targetDirectory);
+    if (file != null) {
+      ResourceLocation textureResourceLocation = registerTexture(textureModelKey, file);
+      if (textureResourceLocation != null) {
+        log.info(
+            "{} Registered cached texture file {} for {} with {}",
+            LOG_PREFIX,
+            file,
+            textureModelKey,
+            textureResourceLocation);
+      } else {
+        log.error(
+            "{} Unable to register cached texture file {} for {}",
+            LOG_PREFIX,
+            file,
+            textureModelKey);
       }
+      return textureResourceLocation;
     }
     log.warn(
         "{} Unable to find any cached texture file for {} in {}",
@@ -289,52 +388,84 @@ public class TextureManager {
     return null;
   }
 
-  public static NativeImage getNativeImage(File file) {
-    return getNativeImage(file, false);
+  private static File getIndexedTextureFile(UUID textureUUID, Path targetDirectory) {
+    Map<UUID, File> textureFileIndex = textureFileIndexMap.get(targetDirectory);
+    File file = textureFileIndex != null ? textureFileIndex.get(textureUUID) : null;
+    if (file != null && file.exists()) {
+      return file;
+    }
+
+    // The directory is only listed again for unknown textures, e.g. for newly added files.
+    textureFileIndex = new HashMap<>();
+    File[] files = targetDirectory.toFile().listFiles();
+    if (files != null) {
+      for (File textureFile : files) {
+        UUID uuid = textureFile.isFile() ? getUUIDFromFilename(textureFile.getName()) : null;
+        if (uuid != null) {
+          textureFileIndex.putIfAbsent(uuid, textureFile);
+        }
+      }
+    }
+    textureFileIndexMap.put(targetDirectory, textureFileIndex);
+    return textureFileIndex.get(textureUUID);
   }
 
-  public static NativeImage getNativePlayerImage(File file) {
-    return getNativeImage(file, true);
+  public static boolean isPlayerSkinModel(SkinModel skinModel) {
+    return skinModel == SkinModel.HUMANOID || skinModel == SkinModel.HUMANOID_SLIM;
   }
 
-  public static NativeImage getNativeImage(File file, boolean legacySupport) {
-    NativeImage nativeImage;
+  public static NativeImage getNativeImage(File file, boolean playerSkin) {
     try {
-      InputStream inputStream = new FileInputStream(file);
-      nativeImage = NativeImage.read(inputStream);
-      inputStream.close();
+      byte[] imageData = Files.readAllBytes(file.toPath());
+      if (playerSkin) {
+        imageData = getProcessedSkinImageData(file, imageData);
+      }
+      return imageData != null ? NativeImage.read(new ByteArrayInputStream(imageData)) : null;
     } catch (Exception exception) {
       log.error(
           "{} Unable to get native image for file {} because of:", LOG_PREFIX, file, exception);
       return null;
     }
+  }
 
-    if (legacySupport && nativeImage.getWidth() == 64 && nativeImage.getHeight() == 32) {
-      log.info("{} Processing legacy image {} from 64x32 to 64x64 ...", LOG_PREFIX, nativeImage);
-      nativeImage = getNativeImageFromLegacyImage(nativeImage);
+  private static byte[] getProcessedSkinImageData(File file, byte[] imageData)
+      throws IOException {
+    // Processed skins are cached by the content hash of the source image and the used settings.
+    int maxSkinSize = SkinTextureConfig.getMaxSkinSize();
+    boolean alphaFix = SkinTextureConfig.isAlphaFix();
+    String cacheKey =
+        SkinCache.getContentHash(imageData) + "_" + maxSkinSize + (alphaFix ? "_alpha" : "");
+    Path cacheFolder = DataFileHandler.getOrCreateCacheFolder(PROCESSED_SKIN_FOLDER_NAME);
+    SkinCache skinCache = cacheFolder != null ? getSkinCache(cacheFolder) : null;
+    File cachedFile = skinCache != null ? skinCache.getCachedFile(cacheKey) : null;
+    if (cachedFile != null) {
+      return Files.readAllBytes(cachedFile.toPath());
     }
 
-    return nativeImage;
-  }
-
-  public static NativeImage getNativeImageFromLegacyImage(NativeImage legacyNativeImage) {
-    NativeImage nativeImage = new NativeImage(64, 64, true);
-    nativeImage.copyFrom(legacyNativeImage);
-    legacyNativeImage.close();
-    nativeImage.fillRect(0, 32, 64, 32, 0);
-    nativeImage.copyRect(4, 16, 16, 32, 4, 4, true, false);
-    nativeImage.copyRect(8, 16, 16, 32, 4, 4, true, false);
-    nativeImage.copyRect(0, 20, 24, 32, 4, 12, true, false);
-    nativeImage.copyRect(4, 20, 16, 32, 4, 12, true, false);
-    nativeImage.copyRect(8, 20, 8, 32, 4, 12, true, false);
-    nativeImage.copyRect(12, 20, 16, 32, 4, 12, true, false);
-    nativeImage.copyRect(44, 16, -8, 32, 4, 4, true, false);
-    nativeImage.copyRect(48, 16, -8, 32, 4, 4, true, false);
-    nativeImage.copyRect(40, 20, 0, 32, 4, 12, true, false);
-    nativeImage.copyRect(44, 20, -8, 32, 4, 12, true, false);
-    nativeImage.copyRect(48, 20, -16, 32, 4, 12, true, false);
-    nativeImage.copyRect(52, 20, -8, 32, 4, 12, true, false);
-    return nativeImage;
+    // Convert legacy skins, fix the alpha and scale down oversized HD skins.
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageData));
+    if (!ImageValidator.isValidImage(image)) {
+      return null;
+    }
+    BufferedImage processedImage = SkinImageProcessor.process(image, maxSkinSize, alphaFix);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(imageData.length);
+    if (!ImageIO.write(processedImage, "png", outputStream)) {
+      return null;
+    }
+    byte[] processedImageData = outputStream.toByteArray();
+    if (skinCache != null) {
+      skinCache.store(cacheKey, processedImageData);
+    }
+    log.debug(
+        "{} Processed {} skin {} from {}x{} to {}x{}",
+        LOG_PREFIX,
+        SkinImageProcessor.getFormat(image.getWidth(), image.getHeight()),
+        file,
+        image.getWidth(),
+        image.getHeight(),
+        processedImage.getWidth(),
+        processedImage.getHeight());
+    return processedImageData;
   }
 
   public static TextureModelKey getTextureModelKey(SkinModel skinModel, File textureFile) {
@@ -363,13 +494,6 @@ public class TextureManager {
     }
   }
 
-  private static void processingErrorMessage(
-      TextureModelKey textureModelKey, String remoteUrl, String reason) {
-    String errorMessage = String.format("Unable to process texture from %s: %s", remoteUrl, reason);
-    log.error("{} {}", LOG_PREFIX, errorMessage);
-    addErrorMessage(textureModelKey, errorMessage);
-  }
-
   private static void urlLoadErrorMessage(
       TextureModelKey textureModelKey, String remoteUrl, String reason) {
     String errorMessage = String.format("Unable to load texture from %s: %s", remoteUrl, reason);
@@ -393,4 +517,6 @@ public class TextureManager {
   public static void clearLastErrorMessage() {
     lastErrorMessage = null;
   }
+
+  private record ProcessedTexture(File file, NativeImage nativeImage) {}
 }
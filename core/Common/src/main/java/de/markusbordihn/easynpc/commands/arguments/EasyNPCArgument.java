@@ -28,6 +28,8 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.access.AccessManager;
+import de.markusbordihn.easynpc.commands.selector.EasyNPCSelector;
+import de.markusbordihn.easynpc.commands.selector.EasyNPCSelectorCompiler;
 import de.markusbordihn.easynpc.commands.selector.EasyNPCSelectorParser;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.network.NetworkMessageHandlerManager;
@@ -117,8 +119,15 @@ public class EasyNPCArgument implements ArgumentType<EntitySelector> {
   public static Collection<? extends EasyNPC<?>> getOptionalEntities(
       final CommandContext<CommandSourceStack> context, final String name)
       throws CommandSyntaxException {
-    Collection<? extends Entity> entities =
-        context.getArgument(name, EntitySelector.class).findEntities(context.getSource());
+    EntitySelector entitySelector = context.getArgument(name, EntitySelector.class);
+
+    // Use the compiled selector with the registry indexes, if the selector is supported.
+    EasyNPCSelector easyNPCSelector = EasyNPCSelectorCompiler.get(entitySelector);
+    if (easyNPCSelector != null) {
+      return easyNPCSelector.findEasyNPCs(context.getSource());
+    }
+
+    Collection<? extends Entity> entities = entitySelector.findEntities(context.getSource());
     Collection<EasyNPC<?>> easyNPCs = new ArrayList<>();
     for (Entity entity : entities) {
       if (entity instanceof EasyNPC<?> easyNPC) {
@@ -142,7 +151,11 @@ public class EasyNPCArgument implements ArgumentType<EntitySelector> {
       }
     }
 
-    return entitySelectorParser.parse();
+    int start = stringReader.getCursor();
+    EntitySelector entitySelector = entitySelectorParser.parse();
+    EasyNPCSelectorCompiler.register(
+        entitySelector, stringReader.getString().substring(start, stringReader.getCursor()));
+    return entitySelector;
   }
 
   @Override
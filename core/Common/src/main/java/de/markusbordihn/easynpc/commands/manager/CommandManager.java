@@ -26,6 +26,7 @@ import de.markusbordihn.easynpc.server.commands.DebugCommand;
 import de.markusbordihn.easynpc.server.commands.DeleteCommand;
 import de.markusbordihn.easynpc.server.commands.DialogCommand;
 import de.markusbordihn.easynpc.server.commands.EquipmentCommand;
+import de.markusbordihn.easynpc.server.commands.FactionCommand;
 import de.markusbordihn.easynpc.server.commands.InteractCommand;
 import de.markusbordihn.easynpc.server.commands.NavigationCommand;
 import de.markusbordihn.easynpc.server.commands.ObjectiveCommand;
@@ -36,6 +37,7 @@ import de.markusbordihn.easynpc.server.commands.RenderCommand;
 import de.markusbordihn.easynpc.server.commands.RespawnCommand;
 import de.markusbordihn.easynpc.server.commands.SkinCommand;
 import de.markusbordihn.easynpc.server.commands.SoundCommand;
+import de.markusbordihn.easynpc.server.commands.SpawnManyCommand;
 import de.markusbordihn.easynpc.server.commands.TradingCommand;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
@@ -63,6 +65,7 @@ public class CommandManager {
             .then(DeleteCommand.register())
             .then(DialogCommand.register())
             .then(EquipmentCommand.register(context))
+            .then(FactionCommand.register())
             .then(InteractCommand.register())
             .then(NavigationCommand.register())
             .then(ObjectiveCommand.register())
@@ -73,6 +76,7 @@ public class CommandManager {
             .then(RespawnCommand.register())
             .then(SkinCommand.register())
             .then(SoundCommand.register())
+            .then(SpawnManyCommand.register())
             .then(TradingCommand.register()));
   }
 }
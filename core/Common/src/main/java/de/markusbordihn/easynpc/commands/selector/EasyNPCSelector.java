@@ -0,0 +1,181 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.commands.selector;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import de.markusbordihn.easynpc.entity.EasyNPCRegistry;
+import de.markusbordihn.easynpc.entity.LivingEntityManager;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
+import de.markusbordihn.easynpc.utils.PlayersUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import net.minecraft.advancements.critereon.MinMaxBounds;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+public record EasyNPCSelector(
+    UUID entityUUID,
+    EntityType<?> entityType,
+    UUID ownerUUID,
+    String ownerName,
+    Predicate<Entity> predicate,
+    MinMaxBounds.Doubles distance,
+    Double x,
+    Double y,
+    Double z,
+    int maxResults,
+    Order order,
+    boolean usesSelector) {
+
+  public boolean isWorldLimited() {
+    return !this.distance.isAny() || this.x != null || this.y != null || this.z != null;
+  }
+
+  public List<EasyNPC<?>> findEasyNPCs(CommandSourceStack commandSourceStack)
+      throws CommandSyntaxException {
+    if (this.usesSelector && !commandSourceStack.hasPermission(2)) {
+      throw EntityArgument.ERROR_SELECTORS_NOT_ALLOWED.create();
+    }
+
+    // UUIDs are resolved directly from the registry.
+    EasyNPCRegistry easyNPCRegistry = LivingEntityManager.getServerRegistry();
+    if (this.entityUUID != null) {
+      EasyNPC<?> easyNPC = easyNPCRegistry.get(this.entityUUID);
+      return easyNPC != null ? List.of(easyNPC) : List.of();
+    }
+
+    // Owner names are resolved over the known player profiles, without any remote lookup.
+    UUID owner = this.ownerUUID;
+    if (owner == null && this.ownerName != null) {
+      owner = PlayersUtils.getUserUUID(commandSourceStack.getServer(), this.ownerName);
+      if (owner == null) {
+        return List.of();
+      }
+    }
+
+    // Use the smallest index for the candidates and filter them afterward.
+    ResourceKey<Level> levelKey =
+        this.isWorldLimited() ? commandSourceStack.getLevel().dimension() : null;
+    Vec3 sourcePosition = commandSourceStack.getPosition();
+    Vec3 position =
+        new Vec3(
+            this.x != null ? this.x : sourcePosition.x,
+            this.y != null ? this.y : sourcePosition.y,
+            this.z != null ? this.z : sourcePosition.z);
+    Collection<EasyNPC<?>> candidates =
+        this.getCandidates(
+            easyNPCRegistry, commandSourceStack.getLevel(), levelKey, owner, position);
+    List<EasyNPC<?>> easyNPCs = new ArrayList<>();
+    for (EasyNPC<?> easyNPC : candidates) {
+      Entity entity = easyNPC.getEntity();
+      if (entity != null
+          && (levelKey == null || entity.level().dimension() == levelKey)
+          && (this.entityType == null || entity.getType() == this.entityType)
+          && (owner == null || owner.equals(getOwnerUUID(easyNPC)))
+          && this.predicate.test(entity)
+          && (this.distance.isAny() || this.distance.matchesSqr(entity.distanceToSqr(position)))) {
+        easyNPCs.add(easyNPC);
+      }
+    }
+
+    // Sort and limit the results like the vanilla entity selector.
+    switch (this.order) {
+      case NEAREST ->
+          easyNPCs.sort(
+              Comparator.comparingDouble(easyNPC -> easyNPC.getEntity().distanceToSqr(position)));
+      case FURTHEST ->
+          easyNPCs.sort(
+              Comparator.comparingDouble(
+                  easyNPC -> -easyNPC.getEntity().distanceToSqr(position)));
+      case RANDOM -> Collections.shuffle(easyNPCs);
+      default -> {
+        // Keep the arbitrary order of the registry.
+      }
+    }
+    return easyNPCs.size() > this.maxResults ? easyNPCs.subList(0, this.maxResults) : easyNPCs;
+  }
+
+  private static UUID getOwnerUUID(EasyNPC<?> easyNPC) {
+    OwnerData<?> ownerData = easyNPC.getEasyNPCOwnerData();
+    return ownerData != null ? ownerData.getOwnerUUID() : null;
+  }
+
+  private Collection<EasyNPC<?>> getCandidates(
+      EasyNPCRegistry easyNPCRegistry,
+      ServerLevel serverLevel,
+      ResourceKey<Level> levelKey,
+      UUID owner,
+      Vec3 position) {
+
+    // Limited distances are resolved over the entity sections around the position.
+    Double maxDistance = this.distance.getMax();
+    if (maxDistance != null && serverLevel != null) {
+      List<EasyNPC<?>> easyNPCs = new ArrayList<>();
+      for (Entity entity :
+          serverLevel.getEntities(
+              (Entity) null,
+              new AABB(position, position).inflate(maxDistance),
+              EasyNPC.class::isInstance)) {
+        easyNPCs.add((EasyNPC<?>) entity);
+      }
+      return easyNPCs;
+    }
+
+    // Otherwise use the smallest matching registry index.
+    Collection<EasyNPC<?>> candidates = null;
+    if (owner != null) {
+      candidates = easyNPCRegistry.getEntitiesByOwner(owner);
+    }
+    if (this.entityType != null) {
+      candidates = getSmallest(candidates, easyNPCRegistry.getEntities(this.entityType));
+    }
+    if (levelKey != null) {
+      candidates = getSmallest(candidates, easyNPCRegistry.getEntities(levelKey));
+    }
+    return candidates != null ? candidates : easyNPCRegistry.getEntities();
+  }
+
+  private static Collection<EasyNPC<?>> getSmallest(
+      Collection<EasyNPC<?>> candidates, Collection<EasyNPC<?>> otherCandidates) {
+    return candidates == null || otherCandidates.size() < candidates.size()
+        ? otherCandidates
+        : candidates;
+  }
+
+  public enum Order {
+    ARBITRARY,
+    NEAREST,
+    FURTHEST,
+    RANDOM
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.commands.selector;
+
+import com.google.common.collect.MapMaker;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.utils.UUIDUtils;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import net.minecraft.advancements.critereon.MinMaxBounds;
+import net.minecraft.commands.arguments.selector.EntitySelector;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class EasyNPCSelectorCompiler {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final int MAX_CACHED_SELECTORS = 256;
+
+  // Compiled selectors by input, unsupported selectors are cached as empty value.
+  private static final Map<String, Optional<EasyNPCSelector>> compiledSelectorCache =
+      new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Optional<EasyNPCSelector>> eldest) {
+          return size() > MAX_CACHED_SELECTORS;
+        }
+      };
+
+  // Parsed vanilla selectors, e.g. from functions, keep their compiled selector.
+  private static final Map<EntitySelector, EasyNPCSelector> entitySelectorMap =
+      new MapMaker().weakKeys().makeMap();
+
+  private static long numberOfCompiledSelectors = 0;
+  private static long numberOfCachedSelectors = 0;
+  private static long numberOfUnsupportedSelectors = 0;
+
+  private EasyNPCSelectorCompiler() {}
+
+  public static void register(EntitySelector entitySelector, String input) {
+    if (entitySelector == null) {
+      return;
+    }
+    EasyNPCSelector easyNPCSelector = compile(input);
+    if (easyNPCSelector != null) {
+      entitySelectorMap.put(entitySelector, easyNPCSelector);
+    }
+  }
+
+  public static EasyNPCSelector get(EntitySelector entitySelector) {
+    return entitySelector != null ? entitySelectorMap.get(entitySelector) : null;
+  }
+
+  public static EasyNPCSelector compile(String input) {
+    if (input == null || input.isBlank()) {
+      return null;
+    }
+    synchronized (compiledSelectorCache) {
+      Optional<EasyNPCSelector> cachedSelector = compiledSelectorCache.get(input);
+      if (cachedSelector != null) {
+        numberOfCachedSelectors++;
+        return cachedSelector.orElse(null);
+      }
+      EasyNPCSelector easyNPCSelector = compileSelector(input.trim());
+      if (easyNPCSelector != null) {
+        numberOfCompiledSelectors++;
+      } else {
+        numberOfUnsupportedSelectors++;
+        log.debug("Selector {} is not supported by the compiled selector.", input);
+      }
+      compiledSelectorCache.put(input, Optional.ofNullable(easyNPCSelector));
+      return easyNPCSelector;
+    }
+  }
+
+  private static EasyNPCSelector compileSelector(String input) {
+    // UUIDs and plain names, which are not supported by the vanilla selector for non-players.
+    if (!input.startsWith("@")) {
+      UUID uuid = UUIDUtils.parseUUID(input);
+      if (uuid != null) {
+        return new EasyNPCSelector(
+            uuid,
+            null,
+            null,
+            null,
+            entity -> true,
+            MinMaxBounds.Doubles.ANY,
+            null,
+            null,
+            null,
+            1,
+            EasyNPCSelector.Order.ARBITRARY,
+            false);
+      }
+      if (input
+          .chars()
+          .allMatch(character -> StringReader.isAllowedInUnquotedString((char) character))) {
+        return new EasyNPCSelector(
+            null,
+            null,
+            null,
+            null,
+            entity -> entity.isAlive() && input.equals(entity.getName().getString()),
+            MinMaxBounds.Doubles.ANY,
+            null,
+            null,
+            null,
+            1,
+            EasyNPCSelector.Order.ARBITRARY,
+            false);
+      }
+      return null;
+    }
+
+    // Only @e is supported, other selectors are player specific or use the source entity.
+    if (!input.startsWith("@e")) {
+      return null;
+    }
+    String options = input.substring(2);
+    if (options.isEmpty()) {
+      return new EasyNPCSelector(
+          null,
+          null,
+          null,
+          null,
+          Entity::isAlive,
+          MinMaxBounds.Doubles.ANY,
+          null,
+          null,
+          null,
+          Integer.MAX_VALUE,
+          EasyNPCSelector.Order.ARBITRARY,
+          true);
+    }
+    if (!options.startsWith("[") || !options.endsWith("]")) {
+      return null;
+    }
+    try {
+      return compileOptions(new StringReader(options.substring(1, options.length() - 1)));
+    } catch (CommandSyntaxException | IllegalArgumentException exception) {
+      return null;
+    }
+  }
+
+  private static EasyNPCSelector compileOptions(StringReader reader)
+      throws CommandSyntaxException {
+    EntityType<?> entityType = null;
+    UUID ownerUUID = null;
+    String ownerName = null;
+    Predicate<Entity> predicate = Entity::isAlive;
+    MinMaxBounds.Doubles distance = MinMaxBounds.Doubles.ANY;
+    Double x = null;
+    Double y = null;
+    Double z = null;
+    int maxResults = Integer.MAX_VALUE;
+    EasyNPCSelector.Order order = EasyNPCSelector.Order.ARBITRARY;
+
+    while (reader.canRead()) {
+      reader.skipWhitespace();
+      String option = reader.readUnquotedString();
+      if (!isSupportedOption(option)) {
+        return null;
+      }
+      reader.skipWhitespace();
+      reader.expect('=');
+      reader.skipWhitespace();
+      boolean inverted = reader.canRead() && reader.peek() == '!';
+      if (inverted) {
+        reader.skip();
+        reader.skipWhitespace();
+      }
+      String value = readOptionValue(reader);
+      reader.skipWhitespace();
+      if (reader.canRead()) {
+        reader.expect(',');
+      }
+
+      switch (option) {
+        case "type" -> {
+          if (value.startsWith("#")) {
+            return null;
+          }
+          EntityType<?> optionEntityType =
+              BuiltInRegistries.ENTITY_TYPE
+                  .getOptional(ResourceLocation.tryParse(value))
+                  .orElse(null);
+          if (optionEntityType == null || (!inverted && entityType != null)) {
+            return null;
+          }
+          if (inverted) {
+            predicate = predicate.and(entity -> entity.getType() != optionEntityType);
+          } else {
+            entityType = optionEntityType;
+          }
+        }
+        case "owner" -> {
+          // Owners are resolved over the owner index, which is not usable for inverted options.
+          if (inverted || value.isEmpty() || ownerUUID != null || ownerName != null) {
+            return null;
+          }
+          ownerUUID = UUIDUtils.parseUUID(value);
+          if (ownerUUID == null) {
+            ownerName = value;
+          }
+        }
+        case "name" ->
+            predicate =
+                predicate.and(
+                    entity -> value.equals(entity.getName().getString()) != inverted);
+        case "tag" ->
+            predicate =
+                predicate.and(
+                    entity ->
+                        (value.isEmpty()
+                                ? entity.getTags().isEmpty()
+                                : entity.getTags().contains(value))
+                            != inverted);
+        case "distance" -> {
+          if (inverted) {
+            return null;
+          }
+          distance = MinMaxBounds.Doubles.fromReader(new StringReader(value));
+        }
+        case "x" -> x = Double.parseDouble(value);
+        case "y" -> y = Double.parseDouble(value);
+        case "z" -> z = Double.parseDouble(value);
+        case "limit" -> {
+          maxResults = Integer.parseInt(value);
+          if (inverted || maxResults < 1) {
+            return null;
+          }
+        }
+        case "sort" -> {
+          if (inverted) {
+            return null;
+          }
+          order = getOrder(value);
+          if (order == null) {
+            return null;
+          }
+        }
+        default -> {
+          return null;
+        }
+      }
+    }
+    return new EasyNPCSelector(
+        null,
+        entityType,
+        ownerUUID,
+        ownerName,
+        predicate,
+        distance,
+        x,
+        y,
+        z,
+        maxResults,
+        order,
+        true);
+  }
+
+  private static boolean isSupportedOption(String option) {
+    // The owner option is removed by the selector parser, before the vanilla options are parsed.
+    return switch (option) {
+      case "type", "owner", "name", "tag", "distance", "x", "y", "z", "limit", "sort" -> true;
+      default -> false;
+    };
+  }
+
+  private static String readOptionValue(StringReader reader) throws CommandSyntaxException {
+    if (reader.canRead() && StringReader.isQuotedStringStart(reader.peek())) {
+      return reader.readQuotedString();
+    }
+    int start = reader.getCursor();
+    while (reader.canRead() && reader.peek() != ',') {
+      reader.skip();
+    }
+    return reader.getString().substring(start, reader.getCursor()).trim();
+  }
+
+  private static EasyNPCSelector.Order getOrder(String value) {
+    return switch (value) {
+      case "nearest" -> EasyNPCSelector.Order.NEAREST;
+      case "furthest" -> EasyNPCSelector.Order.FURTHEST;
+      case "random" -> EasyNPCSelector.Order.RANDOM;
+      case "arbitrary" -> EasyNPCSelector.Order.ARBITRARY;
+      default -> null;
+    };
+  }
+
+  public static long getNumberOfCompiledSelectors() {
+    return numberOfCompiledSelectors;
+  }
+
+  public static long getNumberOfCachedSelectors() {
+    return numberOfCachedSelectors;
+  }
+
+  public static long getNumberOfUnsupportedSelectors() {
+    return numberOfUnsupportedSelectors;
+  }
+}
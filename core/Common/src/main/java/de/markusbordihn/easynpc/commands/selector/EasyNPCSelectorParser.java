@@ -21,24 +21,36 @@ package de.markusbordihn.easynpc.commands.selector;
 
 import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.context.StringRange;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
 import com.mojang.brigadier.suggestion.Suggestion;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.commands.suggestion.EasyNPCSuggestions;
+import de.markusbordihn.easynpc.network.components.TextComponent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import net.minecraft.commands.arguments.selector.EntitySelector;
 import net.minecraft.commands.arguments.selector.EntitySelectorParser;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public class EasyNPCSelectorParser extends EntitySelectorParser {
 
+  public static final DynamicCommandExceptionType ERROR_UNSUPPORTED_OPTION =
+      new DynamicCommandExceptionType(
+          option -> TextComponent.getText("Option " + option + " is not supported here!"));
   private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final Set<String> CUSTOM_OPTIONS = Set.of("owner");
+  private static final String ENTITY_SELECTOR_PREFIX = "@e[";
+
+  private final StringReader stringReader;
+  private final boolean allowSelectors;
 
   public EasyNPCSelectorParser(StringReader stringReader) {
     this(stringReader, true);
@@ -46,35 +58,87 @@ public class EasyNPCSelectorParser extends EntitySelectorParser {
 
   public EasyNPCSelectorParser(StringReader stringReader, boolean allowSelectors) {
     super(stringReader, allowSelectors);
+    this.stringReader = stringReader;
+    this.allowSelectors = allowSelectors;
   }
 
-  @Override
-  public CompletableFuture<Suggestions> fillSuggestions(
-      SuggestionsBuilder suggestionsBuilder, Consumer<SuggestionsBuilder> consumer) {
+  private static int getSelectorEnd(String input) {
+    if (!input.startsWith(ENTITY_SELECTOR_PREFIX)) {
+      return -1;
+    }
+    int depth = 0;
+    char quote = 0;
+    for (int i = ENTITY_SELECTOR_PREFIX.length(); i < input.length(); i++) {
+      char character = input.charAt(i);
+      if (quote != 0) {
+        if (character == '\\') {
+          i++;
+        } else if (character == quote) {
+          quote = 0;
+        }
+      } else if (StringReader.isQuotedStringStart(character)) {
+        quote = character;
+      } else if (character == '[' || character == '{') {
+        depth++;
+      } else if (character == ']' || character == '}') {
+        if (depth == 0) {
+          return character == ']' ? i + 1 : -1;
+        }
+        depth--;
+      }
+    }
+    return -1;
+  }
 
-    // Define suggestion string range
-    StringRange stringRange =
-        StringRange.between(suggestionsBuilder.getStart(), suggestionsBuilder.getInput().length());
+  private static List<String> getOptions(String options) {
+    List<String> optionList = new ArrayList<>();
+    int depth = 0;
+    int start = 0;
+    char quote = 0;
+    for (int i = 0; i < options.length(); i++) {
+      char character = options.charAt(i);
+      if (quote != 0) {
+        if (character == '\\') {
+          i++;
+        } else if (character == quote) {
+          quote = 0;
+        }
+      } else if (StringReader.isQuotedStringStart(character)) {
+        quote = character;
+      } else if (character == '[' || character == '{') {
+        depth++;
+      } else if (character == ']' || character == '}') {
+        depth--;
+      } else if (character == ',' && depth == 0) {
+        optionList.add(options.substring(start, i));
+        start = i + 1;
+      }
+    }
+    if (start < options.length()) {
+      optionList.add(options.substring(start));
+    }
+    return optionList;
+  }
+
+  private static String getOptionName(String option) {
+    int separator = option.indexOf('=');
+    return separator > 0 ? option.substring(0, separator).trim() : option.trim();
+  }
+
+  private static Suggestions combineSuggestions(
+      SuggestionsBuilder suggestionsBuilder, Suggestions originalSuggestions) {
 
     // Filter out player selectors like @p, @a, @r and @s.
     List<Suggestion> suggestionsList = new ArrayList<>();
-    try {
-      CompletableFuture<Suggestions> suggestionsOriginal =
-          super.fillSuggestions(suggestionsBuilder, consumer);
-      List<Suggestion> originalSuggestionsList = suggestionsOriginal.get().getList();
-      stringRange = suggestionsOriginal.get().getRange();
-      originalSuggestionsList.stream()
-          .filter(suggestion -> !suggestion.getText().matches("@[pars]"))
-          .forEach(
-              suggestion -> {
-                if (suggestion.getText().startsWith("@")) {
-                  suggestionsList.add(suggestion);
-                } else {
-                  suggestionsList.add(0, suggestion);
-                }
-              });
-    } catch (InterruptedException | ExecutionException e) {
-      log.error("Failed to get suggestions:", e);
+    for (Suggestion suggestion : originalSuggestions.getList()) {
+      if (suggestion.getText().matches("@[pars]")) {
+        continue;
+      }
+      if (suggestion.getText().startsWith("@")) {
+        suggestionsList.add(suggestion);
+      } else {
+        suggestionsList.add(0, suggestion);
+      }
     }
 
     // Add known UUIDs to suggestions
@@ -82,6 +146,9 @@ public class EasyNPCSelectorParser extends EntitySelectorParser {
     if (argument != null && !argument.isEmpty() && !argument.startsWith("@")) {
       Stream<String> possibleUUIDs = EasyNPCSuggestions.suggestUUID(argument);
       if (possibleUUIDs != null) {
+        StringRange uuidRange =
+            StringRange.between(
+                suggestionsBuilder.getStart(), suggestionsBuilder.getInput().length());
         possibleUUIDs.forEach(
             uuid -> {
               for (Suggestion suggestion : suggestionsList) {
@@ -89,18 +156,64 @@ public class EasyNPCSelectorParser extends EntitySelectorParser {
                   return;
                 }
               }
-              suggestionsList.add(
-                  new Suggestion(
-                      StringRange.between(
-                          suggestionsBuilder.getStart(), suggestionsBuilder.getInput().length()),
-                      uuid));
+              suggestionsList.add(new Suggestion(uuidRange, uuid));
             });
       }
     }
 
-    // Build new suggestions with the combined list.
+    return new Suggestions(originalSuggestions.getRange(), suggestionsList);
+  }
+
+  @Override
+  public EntitySelector parse() throws CommandSyntaxException {
+    // Custom options are unknown to the vanilla parser and are only handled by the compiler.
+    int start = this.stringReader.getCursor();
+    String remaining = this.stringReader.getRemaining();
+    int selectorEnd = getSelectorEnd(remaining);
+    if (selectorEnd < 0) {
+      return super.parse();
+    }
+    String input = remaining.substring(0, selectorEnd);
+    List<String> vanillaOptions = new ArrayList<>();
+    String customOption = null;
+    for (String option :
+        getOptions(input.substring(ENTITY_SELECTOR_PREFIX.length(), input.length() - 1))) {
+      if (CUSTOM_OPTIONS.contains(getOptionName(option))) {
+        customOption = getOptionName(option);
+      } else {
+        vanillaOptions.add(option);
+      }
+    }
+    if (customOption == null) {
+      return super.parse();
+    }
+
+    // Without the compiled selector, the custom options would be silently ignored.
+    if (EasyNPCSelectorCompiler.compile(input) == null) {
+      throw ERROR_UNSUPPORTED_OPTION.createWithContext(this.stringReader, customOption);
+    }
+    StringReader vanillaReader =
+        new StringReader(ENTITY_SELECTOR_PREFIX + String.join(",", vanillaOptions) + "]");
+    EntitySelector entitySelector =
+        new EntitySelectorParser(vanillaReader, this.allowSelectors).parse();
+    this.stringReader.setCursor(start + selectorEnd);
+    return entitySelector;
+  }
+
+  @Override
+  public CompletableFuture<Suggestions> fillSuggestions(
+      SuggestionsBuilder suggestionsBuilder, Consumer<SuggestionsBuilder> consumer) {
+
+    // Combine the suggestions once the original suggestions are available, without blocking.
     CompletableFuture<Suggestions> suggestions =
-        CompletableFuture.completedFuture(new Suggestions(stringRange, suggestionsList));
+        super.fillSuggestions(suggestionsBuilder, consumer)
+            .thenApply(
+                originalSuggestions -> combineSuggestions(suggestionsBuilder, originalSuggestions))
+            .exceptionally(
+                exception -> {
+                  log.error("Failed to get suggestions:", exception);
+                  return Suggestions.empty().join();
+                });
     this.setSuggestions((suggestionsBuilder1, consumer1) -> suggestions);
     return suggestions;
   }
@@ -27,6 +27,7 @@ import de.markusbordihn.easynpc.io.DataPresetDataFiles;
 import de.markusbordihn.easynpc.io.DefaultPresetDataFiles;
 import de.markusbordihn.easynpc.io.WorldPresetDataFiles;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.SharedSuggestionProvider;
 
@@ -40,6 +41,20 @@ public class PresetSuggestions {
         WorldPresetDataFiles.getPresetResourceLocations(), build);
   }
 
+  public static CompletableFuture<Suggestions> suggestAll(
+      CommandContext<CommandSourceStack> context, SuggestionsBuilder build) {
+    return SharedSuggestionProvider.suggestResource(
+        Stream.of(
+                WorldPresetDataFiles.getPresetResourceLocations(),
+                CustomPresetDataFiles.getPresetResourceLocations(),
+                DataPresetDataFiles.getPresetResourceLocations(context.getSource().getServer()),
+                DefaultPresetDataFiles.getPresetResourceLocations(
+                    context.getSource().getServer()))
+            .flatMap(stream -> stream)
+            .distinct(),
+        build);
+  }
+
   public static CompletableFuture<Suggestions> suggestCustom(
       CommandContext<CommandSourceStack> context, SuggestionsBuilder build) {
     return SharedSuggestionProvider.suggestResource(
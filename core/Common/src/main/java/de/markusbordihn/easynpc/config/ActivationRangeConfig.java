@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import de.markusbordihn.easynpc.data.activation.ActivationTier;
+import java.io.File;
+import java.util.Properties;
+
+public class ActivationRangeConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "activation_range.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Activation Range Configuration
+
+ NPCs which are far away from any player are ticked with a reduced frequency or put to sleep.
+ The ranges are measured in blocks to the nearest player, tick intervals are measured in ticks.
+ NPCs are woken up immediately, if they are hurt, interacted with or get a target.
+""";
+
+  private static boolean enabled = true;
+  private static int activeRange = 32;
+  private static int reducedRange = 64;
+  private static int idleRange = 128;
+  private static int reducedTickInterval = 2;
+  private static int idleTickInterval = 10;
+  private static int wakeUpTicks = 200;
+  private static boolean exemptFollowObjectives = true;
+  private static boolean exemptAttackObjectives = true;
+  private static boolean exemptSpawnerNPCs = false;
+  private static boolean exemptPendingActions = true;
+
+  protected ActivationRangeConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    enabled = parseConfigValue(properties, "enabled", enabled);
+    activeRange = Math.max(0, parseConfigValue(properties, "active_range", activeRange));
+    reducedRange =
+        Math.max(activeRange, parseConfigValue(properties, "reduced_range", reducedRange));
+    idleRange = Math.max(reducedRange, parseConfigValue(properties, "idle_range", idleRange));
+    reducedTickInterval =
+        Math.max(1, parseConfigValue(properties, "reduced_tick_interval", reducedTickInterval));
+    idleTickInterval =
+        Math.max(1, parseConfigValue(properties, "idle_tick_interval", idleTickInterval));
+    wakeUpTicks = Math.max(0, parseConfigValue(properties, "wake_up_ticks", wakeUpTicks));
+    exemptFollowObjectives =
+        parseConfigValue(properties, "exempt_follow_objectives", exemptFollowObjectives);
+    exemptAttackObjectives =
+        parseConfigValue(properties, "exempt_attack_objectives", exemptAttackObjectives);
+    exemptSpawnerNPCs = parseConfigValue(properties, "exempt_spawner_npcs", exemptSpawnerNPCs);
+    exemptPendingActions =
+        parseConfigValue(properties, "exempt_pending_actions", exemptPendingActions);
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static ActivationTier getActivationTier(double distanceSqr) {
+    if (!enabled || distanceSqr <= (double) activeRange * activeRange) {
+      return ActivationTier.ACTIVE;
+    } else if (distanceSqr <= (double) reducedRange * reducedRange) {
+      return ActivationTier.REDUCED;
+    } else if (distanceSqr <= (double) idleRange * idleRange) {
+      return ActivationTier.IDLE;
+    }
+    return ActivationTier.SLEEP;
+  }
+
+  public static int getTickInterval(ActivationTier activationTier) {
+    return switch (activationTier) {
+      case ACTIVE -> 1;
+      case REDUCED -> reducedTickInterval;
+      case IDLE -> idleTickInterval;
+      case SLEEP -> 0;
+    };
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static int getIdleRange() {
+    return idleRange;
+  }
+
+  public static int getWakeUpTicks() {
+    return wakeUpTicks;
+  }
+
+  public static boolean isExemptFollowObjectives() {
+    return exemptFollowObjectives;
+  }
+
+  public static boolean isExemptAttackObjectives() {
+    return exemptAttackObjectives;
+  }
+
+  public static boolean isExemptSpawnerNPCs() {
+    return exemptSpawnerNPCs;
+  }
+
+  public static boolean isExemptPendingActions() {
+    return exemptPendingActions;
+  }
+}
@@ -53,10 +53,22 @@ public class Config {
   public static void registerCommonConfig() {
     log.info("{} Registering common configuration ...", LOG_PREFIX);
     RenderEntityTypeSupportConfig.registerConfig();
+    ActivationRangeConfig.registerConfig();
+    PlayerProfileConfig.registerConfig();
+    PathServiceConfig.registerConfig();
+    FactionTargetConfig.registerConfig();
+    SoundBudgetConfig.registerConfig();
+    SkinCacheConfig.registerConfig();
+    ServerSkinConfig.registerConfig();
+    OwnerQuotaConfig.registerConfig();
+    DataTransferConfig.registerConfig();
   }
 
   public static void registerClientConfig() {
     log.info("{} Registering client configuration ...", LOG_PREFIX);
+    RenderBatchConfig.registerConfig();
+    RenderDetailConfig.registerConfig();
+    SkinTextureConfig.registerConfig();
   }
 
   public static void registerServerConfig() {
@@ -183,6 +195,18 @@ public class Config {
     return defaultValue;
   }
 
+  protected static String parseConfigValue(
+      final Properties properties, final String key, final String defaultValue) {
+    if (properties.containsKey(key)) {
+      String value = properties.getProperty(key).trim();
+      if (!value.isEmpty()) {
+        return value;
+      }
+    }
+    properties.setProperty(key, defaultValue);
+    return defaultValue;
+  }
+
   protected static Set<String> parseConfigValue(
       final Properties properties, final String key, final Set<String> defaultValue) {
     if (properties.containsKey(key)) {
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import java.io.File;
+import java.util.Properties;
+
+public class DataTransferConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "data_transfer.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Data Transfer Configuration
+
+ Large data like preset exports and imports are split into CRC checked chunks (size in bytes)
+ which are sent between client and server. Each connection could only send the configured number
+ of bytes per tick and only the configured number of chunks could wait for their confirmation.
+ Failed or lost chunks are sent again up to the max number of retries, before the transfer fails.
+ Transfers without any progress for the timeout (in ticks) are resumed or dropped.
+""";
+
+  // Client to server packets are limited to 32767 bytes, including the chunk header and metadata.
+  public static final int MIN_CHUNK_SIZE = 1024;
+  public static final int MAX_CHUNK_SIZE = 24 * 1024;
+
+  private static int chunkSize = 16 * 1024;
+  private static int maxBytesPerTick = 64 * 1024;
+  private static int maxChunksInFlight = 8;
+  private static int maxTransferSize = 8 * 1024 * 1024;
+  private static int maxRetries = 3;
+  private static int timeout = 200;
+
+  protected DataTransferConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    chunkSize =
+        Math.max(
+            MIN_CHUNK_SIZE,
+            Math.min(MAX_CHUNK_SIZE, parseConfigValue(properties, "chunk_size", chunkSize)));
+    maxBytesPerTick =
+        Math.max(1024, parseConfigValue(properties, "max_bytes_per_tick", maxBytesPerTick));
+    maxChunksInFlight =
+        Math.max(1, parseConfigValue(properties, "max_chunks_in_flight", maxChunksInFlight));
+    maxTransferSize =
+        Math.max(chunkSize, parseConfigValue(properties, "max_transfer_size", maxTransferSize));
+    maxRetries = Math.max(0, parseConfigValue(properties, "max_retries", maxRetries));
+    timeout = Math.max(20, parseConfigValue(properties, "timeout", timeout));
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static int getChunkSize() {
+    return chunkSize;
+  }
+
+  public static int getMaxBytesPerTick() {
+    return maxBytesPerTick;
+  }
+
+  public static int getMaxChunksInFlight() {
+    return maxChunksInFlight;
+  }
+
+  public static int getMaxTransferSize() {
+    return maxTransferSize;
+  }
+
+  public static int getMaxRetries() {
+    return maxRetries;
+  }
+
+  public static int getTimeout() {
+    return timeout;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import java.io.File;
+import java.util.Properties;
+
+public class FactionTargetConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "faction_target.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Faction Target Configuration
+
+ NPCs with the hostile faction objective get their targets from a shared spatial pass per level,
+ instead of scanning their surroundings on their own. The scan interval is measured in ticks,
+ the target range and the cell size of the spatial grid are measured in blocks.
+""";
+
+  private static int scanInterval = 10;
+  private static int targetRange = 24;
+  private static int cellSize = 16;
+
+  protected FactionTargetConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    scanInterval = Math.max(1, parseConfigValue(properties, "scan_interval", scanInterval));
+    targetRange = Math.max(1, parseConfigValue(properties, "target_range", targetRange));
+    cellSize = Math.max(4, parseConfigValue(properties, "cell_size", cellSize));
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static int getScanInterval() {
+    return scanInterval;
+  }
+
+  public static int getTargetRange() {
+    return targetRange;
+  }
+
+  public static int getCellSize() {
+    return cellSize;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
+import java.io.File;
+import java.util.EnumMap;
+import java.util.Properties;
+
+public class OwnerQuotaConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "owner_quota.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Owner Quota Configuration
+
+ Limits the number of NPCs, URL skins, objectives and spawners per owner and per scoreboard team
+ of the owner. Quotas are checked when NPCs are spawned or imported, when URL skins or objectives
+ are configured and when spawners are placed. Only loaded NPCs and spawners are counted.
+ The standard look objectives of every NPC are not counted as objectives.
+ A quota of 0 disables the limit, players with the bypass permission level are not limited.
+""";
+
+  private static final EnumMap<OwnerQuotaType, Integer> playerQuotaMap =
+      new EnumMap<>(OwnerQuotaType.class);
+  private static final EnumMap<OwnerQuotaType, Integer> teamQuotaMap =
+      new EnumMap<>(OwnerQuotaType.class);
+
+  private static boolean enabled = true;
+  private static int bypassPermissionLevel = 2;
+
+  static {
+    for (OwnerQuotaType ownerQuotaType : OwnerQuotaType.values()) {
+      playerQuotaMap.put(ownerQuotaType, 0);
+      teamQuotaMap.put(ownerQuotaType, 0);
+    }
+  }
+
+  protected OwnerQuotaConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    enabled = parseConfigValue(properties, "enabled", enabled);
+    bypassPermissionLevel =
+        Math.max(
+            0,
+            Math.min(
+                4,
+                parseConfigValue(properties, "bypass_permission_level", bypassPermissionLevel)));
+    for (OwnerQuotaType ownerQuotaType : OwnerQuotaType.values()) {
+      playerQuotaMap.put(
+          ownerQuotaType,
+          Math.max(
+              0,
+              parseConfigValue(
+                  properties,
+                  "max_" + ownerQuotaType.getConfigName() + "_per_player",
+                  getPlayerQuota(ownerQuotaType))));
+      teamQuotaMap.put(
+          ownerQuotaType,
+          Math.max(
+              0,
+              parseConfigValue(
+                  properties,
+                  "max_" + ownerQuotaType.getConfigName() + "_per_team",
+                  getTeamQuota(ownerQuotaType))));
+    }
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static int getBypassPermissionLevel() {
+    return bypassPermissionLevel;
+  }
+
+  public static int getPlayerQuota(OwnerQuotaType ownerQuotaType) {
+    return playerQuotaMap.getOrDefault(ownerQuotaType, 0);
+  }
+
+  public static int getTeamQuota(OwnerQuotaType ownerQuotaType) {
+    return teamQuotaMap.getOrDefault(ownerQuotaType, 0);
+  }
+}
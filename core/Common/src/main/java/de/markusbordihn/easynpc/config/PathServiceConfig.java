@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import java.io.File;
+import java.util.Properties;
+
+public class PathServiceConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "path_service.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Path Service Configuration
+
+ Paths for following NPCs and NPCs moving back to their home are shared and cached per level.
+ A cached path is reused, if the target moved less than the reuse distance (in blocks) and the
+ path is not older than the max path age (in ticks). The node budget limits the number of path
+ nodes which are computed per level and tick, further path requests are deferred to the next tick.
+""";
+
+  private static boolean enabled = true;
+  private static int nodeBudgetPerTick = 2048;
+  private static int requestCost = 32;
+  private static int reuseDistance = 2;
+  private static int joinDistance = 4;
+  private static int maxPathAge = 40;
+
+  protected PathServiceConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    enabled = parseConfigValue(properties, "enabled", enabled);
+    nodeBudgetPerTick =
+        Math.max(1, parseConfigValue(properties, "node_budget_per_tick", nodeBudgetPerTick));
+    requestCost = Math.max(0, parseConfigValue(properties, "request_cost", requestCost));
+    reuseDistance = Math.max(0, parseConfigValue(properties, "reuse_distance", reuseDistance));
+    joinDistance = Math.max(0, parseConfigValue(properties, "join_distance", joinDistance));
+    maxPathAge = Math.max(0, parseConfigValue(properties, "max_path_age", maxPathAge));
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static int getNodeBudgetPerTick() {
+    return nodeBudgetPerTick;
+  }
+
+  public static int getRequestCost() {
+    return requestCost;
+  }
+
+  public static int getReuseDistance() {
+    return reuseDistance;
+  }
+
+  public static int getJoinDistance() {
+    return joinDistance;
+  }
+
+  public static int getMaxPathAge() {
+    return maxPathAge;
+  }
+}
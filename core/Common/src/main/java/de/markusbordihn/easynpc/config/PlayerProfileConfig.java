@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import java.io.File;
+import java.util.Properties;
+
+public class PlayerProfileConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "player_profile.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Player Profile Configuration
+
+ Player names are resolved to UUIDs and skin textures by checking the server profile cache and the
+ local profile cache first. Only unknown players are looked up over the configured endpoints.
+ Remote lookups are performed asynchronously, are limited in number and are rate limited.
+ Failed lookups are cached for the configured number of seconds to avoid repeated requests.
+ The endpoints need to contain a single %s placeholder for the player name or player UUID.
+""";
+
+  private static boolean remoteLookupsEnabled = true;
+  private static String apiProfileUrl = "https://api.mojang.com/users/profiles/minecraft/%s";
+  private static String sessionProfileUrl =
+      "https://sessionserver.mojang.com/session/minecraft/profile/%s";
+  private static int connectTimeout = 2000;
+  private static int readTimeout = 4000;
+  private static int maxConcurrentLookups = 2;
+  private static int maxQueuedLookups = 32;
+  private static int maxLookupsPerMinute = 30;
+  private static int maxCacheEntries = 1024;
+  private static int cacheExpirationDays = 30;
+  private static int negativeCacheExpirationSeconds = 600;
+
+  protected PlayerProfileConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    remoteLookupsEnabled =
+        parseConfigValue(properties, "remote_lookups_enabled", remoteLookupsEnabled);
+    apiProfileUrl = parseConfigValue(properties, "api_profile_url", apiProfileUrl);
+    sessionProfileUrl = parseConfigValue(properties, "session_profile_url", sessionProfileUrl);
+    connectTimeout = Math.max(100, parseConfigValue(properties, "connect_timeout", connectTimeout));
+    readTimeout = Math.max(100, parseConfigValue(properties, "read_timeout", readTimeout));
+    maxConcurrentLookups =
+        Math.max(1, parseConfigValue(properties, "max_concurrent_lookups", maxConcurrentLookups));
+    maxQueuedLookups =
+        Math.max(1, parseConfigValue(properties, "max_queued_lookups", maxQueuedLookups));
+    maxLookupsPerMinute =
+        Math.max(1, parseConfigValue(properties, "max_lookups_per_minute", maxLookupsPerMinute));
+    maxCacheEntries =
+        Math.max(16, parseConfigValue(properties, "max_cache_entries", maxCacheEntries));
+    cacheExpirationDays =
+        Math.max(1, parseConfigValue(properties, "cache_expiration_days", cacheExpirationDays));
+    negativeCacheExpirationSeconds =
+        Math.max(
+            0,
+            parseConfigValue(
+                properties, "negative_cache_expiration_seconds", negativeCacheExpirationSeconds));
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static boolean isRemoteLookupsEnabled() {
+    return remoteLookupsEnabled;
+  }
+
+  public static String getApiProfileUrl() {
+    return apiProfileUrl;
+  }
+
+  public static String getSessionProfileUrl() {
+    return sessionProfileUrl;
+  }
+
+  public static int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public static int getReadTimeout() {
+    return readTimeout;
+  }
+
+  public static int getMaxConcurrentLookups() {
+    return maxConcurrentLookups;
+  }
+
+  public static int getMaxQueuedLookups() {
+    return maxQueuedLookups;
+  }
+
+  public static int getMaxLookupsPerMinute() {
+    return maxLookupsPerMinute;
+  }
+
+  public static int getMaxCacheEntries() {
+    return maxCacheEntries;
+  }
+
+  public static int getCacheExpirationDays() {
+    return cacheExpirationDays;
+  }
+
+  public static int getNegativeCacheExpirationSeconds() {
+    return negativeCacheExpirationSeconds;
+  }
+}
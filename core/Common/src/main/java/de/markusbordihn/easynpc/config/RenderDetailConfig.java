@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import java.io.File;
+import java.util.Properties;
+
+public class RenderDetailConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "render_detail.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Render Detail Configuration
+
+ Distant NPCs are rendered with less details. NPCs behind the reduced distance (in blocks) are
+ rendered without overlays, held items, name tags and smart animations and their pose is only
+ updated once per tick. NPCs behind the minimal distance are rendered as simplified body with a
+ static pose and without any layers. A distance of 0 disables the level. The hysteresis (in
+ blocks) avoids flickering of NPCs which are moving around the distance borders.
+""";
+
+  private static boolean enabled = true;
+  private static int reducedDistance = 32;
+  private static int minimalDistance = 64;
+  private static int hysteresis = 4;
+
+  protected RenderDetailConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    enabled = parseConfigValue(properties, "enabled", enabled);
+    reducedDistance =
+        Math.max(0, parseConfigValue(properties, "reduced_distance", reducedDistance));
+    minimalDistance =
+        Math.max(0, parseConfigValue(properties, "minimal_distance", minimalDistance));
+    hysteresis = Math.max(0, parseConfigValue(properties, "hysteresis", hysteresis));
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static int getReducedDistance() {
+    return reducedDistance;
+  }
+
+  public static int getMinimalDistance() {
+    return minimalDistance;
+  }
+
+  public static int getHysteresis() {
+    return hysteresis;
+  }
+}
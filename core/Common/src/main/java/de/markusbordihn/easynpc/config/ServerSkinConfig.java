@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.Set;
+
+public class ServerSkinConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "server_skin.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Server Skin Configuration
+
+ Server skins are downloaded, validated and cached once by the server and are distributed to the
+ clients over the mod network channel, so clients never contact the skin hosts themselves.
+ If enforce server skins is enabled, remote URL and player skins are stored as server skins.
+ Skins are sent in chunks (size in bytes) and only the configured number of chunks is sent per
+ server tick over all players.
+ Skin hosts are resolved before every request and redirect, private, loopback and link-local
+ addresses are rejected unless private addresses are allowed. If allowed hosts is not empty, only
+ these hosts (comma separated, including their subdomains) are used for server skins.
+ Player skins require their texture host, e.g. textures.minecraft.net, in the allowed hosts.
+""";
+
+  public static final int MAX_CHUNK_SIZE = 512 * 1024;
+
+  private static boolean enforceServerSkins = false;
+  private static int chunkSize = 16 * 1024;
+  private static int maxChunksPerTick = 8;
+  private static int maxConcurrentDownloads = 2;
+  private static Set<String> allowedHosts = Set.of();
+  private static boolean allowPrivateAddresses = false;
+
+  protected ServerSkinConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    enforceServerSkins = parseConfigValue(properties, "enforce_server_skins", enforceServerSkins);
+    chunkSize =
+        Math.max(
+            1024, Math.min(MAX_CHUNK_SIZE, parseConfigValue(properties, "chunk_size", chunkSize)));
+    maxChunksPerTick =
+        Math.max(1, parseConfigValue(properties, "max_chunks_per_tick", maxChunksPerTick));
+    maxConcurrentDownloads =
+        Math.max(
+            1, parseConfigValue(properties, "max_concurrent_downloads", maxConcurrentDownloads));
+    allowedHosts = parseConfigValue(properties, "allowed_hosts", allowedHosts);
+    allowPrivateAddresses =
+        parseConfigValue(properties, "allow_private_addresses", allowPrivateAddresses);
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static boolean isEnforceServerSkins() {
+    return enforceServerSkins;
+  }
+
+  public static int getChunkSize() {
+    return chunkSize;
+  }
+
+  public static int getMaxChunksPerTick() {
+    return maxChunksPerTick;
+  }
+
+  public static int getMaxConcurrentDownloads() {
+    return maxConcurrentDownloads;
+  }
+
+  public static Set<String> getAllowedHosts() {
+    return allowedHosts;
+  }
+
+  public static boolean isAllowPrivateAddresses() {
+    return allowPrivateAddresses;
+  }
+}
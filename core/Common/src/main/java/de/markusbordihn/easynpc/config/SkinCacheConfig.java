@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import java.io.File;
+import java.util.Properties;
+
+public class SkinCacheConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "skin_cache.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Skin Cache Configuration
+
+ Downloaded remote and player skins are stored by their content hash and are indexed by their
+ source, so the same image is only stored once. Cached skins are revalidated with the remote
+ server (ETag / Last-Modified) after the configured number of hours and are removed if they were
+ not used for the configured number of days or if the cache size (in MB) is exceeded.
+ Images larger than the max. image size (in KB) are rejected.
+""";
+
+  private static int maxCacheSize = 128;
+  private static int maxImageSize = 1024;
+  private static int revalidationHours = 24;
+  private static int maxAgeDays = 60;
+  private static int connectTimeout = 2000;
+  private static int readTimeout = 4000;
+
+  protected SkinCacheConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    maxCacheSize = Math.max(1, parseConfigValue(properties, "max_cache_size", maxCacheSize));
+    maxImageSize = Math.max(16, parseConfigValue(properties, "max_image_size", maxImageSize));
+    revalidationHours =
+        Math.max(0, parseConfigValue(properties, "revalidation_hours", revalidationHours));
+    maxAgeDays = Math.max(1, parseConfigValue(properties, "max_age_days", maxAgeDays));
+    connectTimeout = Math.max(100, parseConfigValue(properties, "connect_timeout", connectTimeout));
+    readTimeout = Math.max(100, parseConfigValue(properties, "read_timeout", readTimeout));
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static int getMaxCacheSize() {
+    return maxCacheSize;
+  }
+
+  public static int getMaxImageSize() {
+    return maxImageSize;
+  }
+
+  public static int getRevalidationHours() {
+    return revalidationHours;
+  }
+
+  public static int getMaxAgeDays() {
+    return maxAgeDays;
+  }
+
+  public static int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public static int getReadTimeout() {
+    return readTimeout;
+  }
+}
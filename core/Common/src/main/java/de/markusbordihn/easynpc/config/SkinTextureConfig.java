@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import java.io.File;
+import java.util.Properties;
+
+public class SkinTextureConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "skin_texture.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Skin Texture Configuration
+
+ Player skins are processed in the background before they are uploaded as texture. Legacy 64x32
+ skins are converted to the 64x64 layout and HD skins larger than the max skin size (in pixels,
+ multiple of 64) are scaled down. The alpha fix makes the base layer opaque and removes fully
+ opaque hat layers of legacy skins, like the vanilla player skins.
+""";
+
+  private static int maxSkinSize = 256;
+  private static boolean alphaFix = true;
+
+  protected SkinTextureConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    maxSkinSize = Math.max(64, parseConfigValue(properties, "max_skin_size", maxSkinSize));
+    maxSkinSize -= maxSkinSize % 64;
+    alphaFix = parseConfigValue(properties, "alpha_fix", alphaFix);
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static int getMaxSkinSize() {
+    return maxSkinSize;
+  }
+
+  public static boolean isAlphaFix() {
+    return alphaFix;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.config;
+
+import de.markusbordihn.easynpc.data.sound.SoundType;
+import java.io.File;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Properties;
+
+public class SoundBudgetConfig extends Config {
+
+  public static final String CONFIG_FILE_NAME = "sound_budget.cfg";
+  public static final String CONFIG_FILE_HEADER =
+      """
+Sound Budget Configuration
+
+ Limits how many NPC sounds of the same sound type could start per second within a cluster of
+ chunk sections. The cluster size is measured in chunk sections. NPCs closer to a player are
+ preferred, NPCs without any player in hearing range are skipped and the same sound within a
+ cluster and tick is only played once. A budget of 0 disables the limit for the sound type.
+""";
+
+  private static final EnumMap<SoundType, Integer> soundBudgetMap = new EnumMap<>(SoundType.class);
+
+  private static boolean enabled = true;
+  private static int clusterSize = 2;
+
+  static {
+    soundBudgetMap.put(SoundType.AMBIENT, 4);
+    soundBudgetMap.put(SoundType.AMBIENT_STRAY, 4);
+    soundBudgetMap.put(SoundType.AMBIENT_TAMED, 4);
+    soundBudgetMap.put(SoundType.STEP, 8);
+    soundBudgetMap.put(SoundType.SWIM, 8);
+  }
+
+  protected SoundBudgetConfig() {}
+
+  public static void registerConfig() {
+    registerConfigFile(CONFIG_FILE_NAME, CONFIG_FILE_HEADER);
+    parseConfigFile();
+  }
+
+  public static void parseConfigFile() {
+    File configFile = getConfigFile(CONFIG_FILE_NAME);
+    Properties properties = readConfigFile(configFile);
+    Properties unmodifiedProperties = (Properties) properties.clone();
+
+    enabled = parseConfigValue(properties, "enabled", enabled);
+    clusterSize = Math.max(1, parseConfigValue(properties, "cluster_size", clusterSize));
+    for (SoundType soundType : SoundType.values()) {
+      soundBudgetMap.put(
+          soundType,
+          Math.max(
+              0,
+              parseConfigValue(
+                  properties,
+                  "budget_" + soundType.name().toLowerCase(Locale.ROOT),
+                  getBudget(soundType))));
+    }
+
+    // Update config file if needed
+    updateConfigFileIfChanged(configFile, CONFIG_FILE_HEADER, properties, unmodifiedProperties);
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static int getClusterSize() {
+    return clusterSize;
+  }
+
+  public static int getBudget(SoundType soundType) {
+    return soundBudgetMap.getOrDefault(soundType, 0);
+  }
+
+  public static boolean hasBudget(SoundType soundType) {
+    return enabled && getBudget(soundType) > 0;
+  }
+}
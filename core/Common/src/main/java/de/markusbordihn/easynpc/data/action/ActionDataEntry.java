@@ -59,9 +59,7 @@ public record ActionDataEntry(
   public ActionDataEntry(CompoundTag compoundTag) {
     this(
         ActionDataType.get(compoundTag.getString(DATA_TYPE_TAG)),
-        compoundTag.contains(ConditionDataSet.CONDITION_DATA_SET_TAG)
-            ? new ConditionDataSet(compoundTag.getCompound(ConditionDataSet.CONDITION_DATA_SET_TAG))
-            : new ConditionDataSet(),
+        new ConditionDataSet(compoundTag),
         compoundTag.contains(DATA_COMMAND_TAG)
             ? compoundTag.getString(DATA_COMMAND_TAG)
             : DEFAULT_COMMAND,
@@ -154,6 +152,16 @@ public record ActionDataEntry(
     return this.command != null && !this.command.isEmpty();
   }
 
+  public boolean hasConditions() {
+    return this.conditionDataSet != null && !this.conditionDataSet.isEmpty();
+  }
+
+  public boolean conditionsMet(ServerPlayer serverPlayer, LivingEntity livingEntity) {
+    return this.conditionDataSet == null
+        || this.conditionDataSet.isEmpty()
+        || this.conditionDataSet.evaluate(serverPlayer, livingEntity);
+  }
+
   public boolean hasBlockPos() {
     return this.blockPos != null && this.blockPos != BlockPos.ZERO;
   }
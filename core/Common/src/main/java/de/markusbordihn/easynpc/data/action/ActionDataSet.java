@@ -42,6 +42,13 @@ public final class ActionDataSet {
     this.load(compoundTag, listName);
   }
 
+  public ActionDataSet copy() {
+    // Action data entries are immutable and are therefore shared with the copy.
+    ActionDataSet actionDataSet = new ActionDataSet();
+    actionDataSet.actionDataEntries.addAll(this.actionDataEntries);
+    return actionDataSet;
+  }
+
   public void add(ActionDataEntry actionDataEntry) {
     if (actionDataEntry != null) {
       this.actionDataEntries.add(actionDataEntry);
@@ -36,6 +36,15 @@ public class ActionEventSet {
     this.load(compoundTag);
   }
 
+  public ActionEventSet copy() {
+    ActionEventSet actionEventSet = new ActionEventSet();
+    for (Entry<ActionEventType, ActionDataSet> entry : this.actionsMap.entrySet()) {
+      actionEventSet.actionsMap.put(entry.getKey(), entry.getValue().copy());
+    }
+    actionEventSet.hasDistanceActionEvent = this.hasDistanceActionEvent;
+    return actionEventSet;
+  }
+
   public void setActionEvent(ActionEventType actionEventType, ActionDataSet actionDataSet) {
     if (actionEventType != null
         && actionEventType != ActionEventType.NONE
@@ -65,6 +65,22 @@ public class ActionManager {
     return playerList.contains(serverPlayer);
   }
 
+  public static boolean hasPendingActions(Mob mob) {
+    if (mob == null) {
+      return false;
+    }
+    EnumMap<ActionGroup, HashSet<ServerPlayer>> actionGroupPlayer = actionGroupPlayerMap.get(mob);
+    if (actionGroupPlayer == null) {
+      return false;
+    }
+    for (HashSet<ServerPlayer> playerList : actionGroupPlayer.values()) {
+      if (playerList != null && !playerList.isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public static void removePlayer(Mob mob, ActionGroup actionGroup, ServerPlayer serverPlayer) {
     if (mob == null || actionGroup == null || serverPlayer == null) {
       return;
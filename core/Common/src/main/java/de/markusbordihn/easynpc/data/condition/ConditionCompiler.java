@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.condition;
+
+import de.markusbordihn.easynpc.Constants;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.scores.Objective;
+import net.minecraft.world.scores.Scoreboard;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class ConditionCompiler {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Condition Compiler]";
+  private static final int TICKS_PER_DAY = 24000;
+
+  private ConditionCompiler() {}
+
+  public static ConditionEvaluator compile(Collection<ConditionDataEntry> conditionDataEntries) {
+    if (conditionDataEntries == null || conditionDataEntries.isEmpty()) {
+      return ConditionEvaluator.ALWAYS;
+    }
+
+    // Evaluate cheap conditions first, random chances are only rolled if everything else passed.
+    List<ConditionDataEntry> sortedConditionDataEntries = new ArrayList<>();
+    for (ConditionDataEntry conditionDataEntry : conditionDataEntries) {
+      if (conditionDataEntry != null && conditionDataEntry.conditionType() != ConditionType.NONE) {
+        sortedConditionDataEntries.add(conditionDataEntry);
+      }
+    }
+    sortedConditionDataEntries.sort(
+        Comparator.comparingInt(entry -> entry.conditionType().getEvaluationOrder()));
+
+    List<ConditionEvaluator> conditionEvaluators = new ArrayList<>();
+    for (ConditionDataEntry conditionDataEntry : sortedConditionDataEntries) {
+      ConditionEvaluator conditionEvaluator = compile(conditionDataEntry);
+      if (conditionEvaluator == ConditionEvaluator.NEVER) {
+        return ConditionEvaluator.NEVER;
+      } else if (conditionEvaluator != ConditionEvaluator.ALWAYS) {
+        conditionEvaluators.add(conditionEvaluator);
+      }
+    }
+    return ConditionEvaluator.allOf(conditionEvaluators);
+  }
+
+  public static ConditionEvaluator compile(ConditionDataEntry conditionDataEntry) {
+    String name = conditionDataEntry.name();
+    ConditionOperation operation = conditionDataEntry.operation();
+    int value = conditionDataEntry.value();
+    return switch (conditionDataEntry.conditionType()) {
+      case NONE -> ConditionEvaluator.ALWAYS;
+      case PERMISSION_LEVEL ->
+          (serverPlayer, livingEntity) -> operation.test(getPermissionLevel(serverPlayer), value);
+      case TIME_OF_DAY ->
+          (serverPlayer, livingEntity) ->
+              operation.test((int) (serverPlayer.level().getDayTime() % TICKS_PER_DAY), value);
+      case TAG -> compileTagCondition(name, operation);
+      case SCOREBOARD -> compileScoreboardCondition(name, operation, value);
+      case ITEM -> compileItemCondition(name, operation, value);
+      case RANDOM_CHANCE -> compileRandomChanceCondition(value);
+    };
+  }
+
+  private static ConditionEvaluator compileTagCondition(
+      String tag, ConditionOperation operation) {
+    if (tag.isEmpty()) {
+      log.warn("{} Ignoring tag condition without tag name!", LOG_PREFIX);
+      return ConditionEvaluator.ALWAYS;
+    }
+    boolean expectTag = operation != ConditionOperation.NOT_EQUAL;
+    return (serverPlayer, livingEntity) -> serverPlayer.getTags().contains(tag) == expectTag;
+  }
+
+  private static ConditionEvaluator compileScoreboardCondition(
+      String objectiveName, ConditionOperation operation, int value) {
+    if (objectiveName.isEmpty()) {
+      log.warn("{} Scoreboard condition without objective name will never pass!", LOG_PREFIX);
+      return ConditionEvaluator.NEVER;
+    }
+
+    // Objectives could be added or removed at any time, so they are resolved on evaluation.
+    return (serverPlayer, livingEntity) -> {
+      Scoreboard scoreboard = serverPlayer.getScoreboard();
+      Objective objective = scoreboard.getObjective(objectiveName);
+      String scoreboardName = serverPlayer.getScoreboardName();
+      return objective != null
+          && scoreboard.hasPlayerScore(scoreboardName, objective)
+          && operation.test(
+              scoreboard.getOrCreatePlayerScore(scoreboardName, objective).getScore(), value);
+    };
+  }
+
+  private static ConditionEvaluator compileItemCondition(
+      String itemName, ConditionOperation operation, int value) {
+    ResourceLocation itemLocation = ResourceLocation.tryParse(itemName);
+    Item item =
+        itemLocation != null ? BuiltInRegistries.ITEM.getOptional(itemLocation).orElse(null) : null;
+    if (item == null) {
+      log.warn("{} Item condition with unknown item {} will never pass!", LOG_PREFIX, itemName);
+      return ConditionEvaluator.NEVER;
+    }
+    return (serverPlayer, livingEntity) ->
+        operation.test(serverPlayer.getInventory().countItem(item), value);
+  }
+
+  private static ConditionEvaluator compileRandomChanceCondition(int percentage) {
+    if (percentage >= 100) {
+      return ConditionEvaluator.ALWAYS;
+    } else if (percentage <= 0) {
+      return ConditionEvaluator.NEVER;
+    }
+    return (serverPlayer, livingEntity) ->
+        (livingEntity != null ? livingEntity.getRandom() : serverPlayer.getRandom()).nextInt(100)
+            < percentage;
+  }
+
+  private static int getPermissionLevel(ServerPlayer serverPlayer) {
+    MinecraftServer minecraftServer = serverPlayer.getServer();
+    return minecraftServer != null
+        ? minecraftServer.getProfilePermissions(serverPlayer.getGameProfile())
+        : 0;
+  }
+}
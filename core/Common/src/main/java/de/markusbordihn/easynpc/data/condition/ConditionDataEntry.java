@@ -21,19 +21,51 @@ package de.markusbordihn.easynpc.data.condition;
 
 import net.minecraft.nbt.CompoundTag;
 
-public record ConditionDataEntry(ConditionType conditionType) {
+public record ConditionDataEntry(
+    ConditionType conditionType, String name, ConditionOperation operation, int value) {
 
-  public static final ConditionDataEntry EMPTY =
-      new ConditionDataEntry(de.markusbordihn.easynpc.data.condition.ConditionType.NONE);
+  public static final ConditionDataEntry EMPTY = new ConditionDataEntry(ConditionType.NONE);
+  public static final String DATA_NAME_TAG = "Name";
+  public static final String DATA_OPERATION_TAG = "Op";
   public static final String DATA_TYPE_TAG = "Type";
+  public static final String DATA_VALUE_TAG = "Value";
+  private static final String DEFAULT_NAME = "";
 
   public ConditionDataEntry(CompoundTag compoundTag) {
-    this(ConditionType.get(compoundTag.getString(DATA_TYPE_TAG)));
+    this(
+        ConditionType.get(compoundTag.getString(DATA_TYPE_TAG)),
+        compoundTag.contains(DATA_NAME_TAG) ? compoundTag.getString(DATA_NAME_TAG) : DEFAULT_NAME,
+        ConditionOperation.get(compoundTag.getString(DATA_OPERATION_TAG)),
+        compoundTag.getInt(DATA_VALUE_TAG));
+  }
+
+  public ConditionDataEntry(ConditionType conditionType) {
+    this(conditionType, DEFAULT_NAME, ConditionOperation.EQUAL, 0);
+  }
+
+  public ConditionDataEntry(ConditionType conditionType, ConditionOperation operation, int value) {
+    this(conditionType, DEFAULT_NAME, operation, value);
+  }
+
+  public ConditionDataEntry {
+    name = name != null ? name.trim() : DEFAULT_NAME;
+    operation = operation != null ? operation : ConditionOperation.EQUAL;
   }
 
   public CompoundTag create(CompoundTag compoundTag) {
     compoundTag.putString(DATA_TYPE_TAG, this.conditionType.name());
 
+    // Only save name, operation and value if they are different from default.
+    if (!this.name.isEmpty()) {
+      compoundTag.putString(DATA_NAME_TAG, this.name);
+    }
+    if (this.operation != ConditionOperation.EQUAL) {
+      compoundTag.putString(DATA_OPERATION_TAG, this.operation.name());
+    }
+    if (this.value != 0) {
+      compoundTag.putInt(DATA_VALUE_TAG, this.value);
+    }
+
     return compoundTag;
   }
 
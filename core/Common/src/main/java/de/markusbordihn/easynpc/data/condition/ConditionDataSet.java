@@ -19,16 +19,20 @@
 
 package de.markusbordihn.easynpc.data.condition;
 
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
 
 public class ConditionDataSet {
 
   public static final ConditionDataSet EMPTY = new ConditionDataSet();
   public static final String CONDITION_DATA_SET_TAG = "ConditionDataSet";
   private final Set<ConditionDataEntry> conditionDataEntries = new LinkedHashSet<>();
+  private ConditionEvaluator conditionEvaluator = ConditionEvaluator.ALWAYS;
 
   public ConditionDataSet() {}
 
@@ -44,20 +48,60 @@ public class ConditionDataSet {
     return this.conditionDataEntries.size();
   }
 
+  public Set<ConditionDataEntry> getEntries() {
+    return Collections.unmodifiableSet(this.conditionDataEntries);
+  }
+
+  public void add(ConditionDataEntry conditionDataEntry) {
+    if (conditionDataEntry != null && this.conditionDataEntries.add(conditionDataEntry)) {
+      this.compile();
+    }
+  }
+
+  public void remove(ConditionDataEntry conditionDataEntry) {
+    if (conditionDataEntry != null && this.conditionDataEntries.remove(conditionDataEntry)) {
+      this.compile();
+    }
+  }
+
+  public void clear() {
+    this.conditionDataEntries.clear();
+    this.compile();
+  }
+
+  public boolean evaluate(ServerPlayer serverPlayer, LivingEntity livingEntity) {
+    // Conditions are checked against the player, so only conditions which always pass could pass
+    // without a player, e.g. for actions which are triggered by the NPC itself.
+    if (serverPlayer == null) {
+      return this.conditionEvaluator == ConditionEvaluator.ALWAYS;
+    }
+    return this.conditionEvaluator.evaluate(serverPlayer, livingEntity);
+  }
+
+  public ConditionEvaluator getConditionEvaluator() {
+    return this.conditionEvaluator;
+  }
+
+  private void compile() {
+    this.conditionEvaluator = ConditionCompiler.compile(this.conditionDataEntries);
+  }
+
   public void load(CompoundTag compoundTag) {
     if (compoundTag == null || !compoundTag.contains(CONDITION_DATA_SET_TAG)) {
       return;
     }
-    CompoundTag conditionDataSetTag = compoundTag.getCompound(CONDITION_DATA_SET_TAG);
 
     // Load condition data entries
     this.conditionDataEntries.clear();
-    ListTag conditionDataEntriesTag = conditionDataSetTag.getList(CONDITION_DATA_SET_TAG, 10);
+    ListTag conditionDataEntriesTag = compoundTag.getList(CONDITION_DATA_SET_TAG, 10);
     for (int i = 0; i < conditionDataEntriesTag.size(); i++) {
       CompoundTag conditionDataEntryTag = conditionDataEntriesTag.getCompound(i);
       ConditionDataEntry conditionDataEntry = new ConditionDataEntry(conditionDataEntryTag);
       this.conditionDataEntries.add(conditionDataEntry);
     }
+
+    // Compile conditions once, instead of interpreting them on every evaluation.
+    this.compile();
   }
 
   public CompoundTag save(CompoundTag compoundTag) {
@@ -77,6 +121,22 @@ public class ConditionDataSet {
     return compoundTag;
   }
 
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (object instanceof ConditionDataSet conditionDataSet) {
+      return this.conditionDataEntries.equals(conditionDataSet.conditionDataEntries);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.conditionDataEntries.hashCode();
+  }
+
   public String toString() {
     return this.conditionDataEntries.toString();
   }
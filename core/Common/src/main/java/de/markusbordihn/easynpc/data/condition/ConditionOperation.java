@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.condition;
+
+public enum ConditionOperation {
+  EQUAL,
+  NOT_EQUAL,
+  LESS,
+  LESS_OR_EQUAL,
+  GREATER,
+  GREATER_OR_EQUAL;
+
+  public static ConditionOperation get(String conditionOperation) {
+    if (conditionOperation == null || conditionOperation.isEmpty()) {
+      return ConditionOperation.EQUAL;
+    }
+    try {
+      return ConditionOperation.valueOf(conditionOperation);
+    } catch (IllegalArgumentException e) {
+      return ConditionOperation.EQUAL;
+    }
+  }
+
+  public boolean test(int value, int expectedValue) {
+    return switch (this) {
+      case EQUAL -> value == expectedValue;
+      case NOT_EQUAL -> value != expectedValue;
+      case LESS -> value < expectedValue;
+      case LESS_OR_EQUAL -> value <= expectedValue;
+      case GREATER -> value > expectedValue;
+      case GREATER_OR_EQUAL -> value >= expectedValue;
+    };
+  }
+}
@@ -20,7 +20,20 @@
 package de.markusbordihn.easynpc.data.condition;
 
 public enum ConditionType {
-  NONE;
+  NONE(0),
+  PERMISSION_LEVEL(1),
+  TIME_OF_DAY(1),
+  TAG(2),
+  SCOREBOARD(3),
+  ITEM(4),
+  RANDOM_CHANCE(5);
+
+  // Relative evaluation order, cheaper conditions are evaluated first.
+  private final int evaluationOrder;
+
+  ConditionType(int evaluationOrder) {
+    this.evaluationOrder = evaluationOrder;
+  }
 
   public static ConditionType get(String conditionType) {
     if (conditionType == null || conditionType.isEmpty()) {
@@ -32,4 +45,8 @@ public enum ConditionType {
       return ConditionType.NONE;
     }
   }
+
+  public int getEvaluationOrder() {
+    return this.evaluationOrder;
+  }
 }
@@ -20,23 +20,25 @@
 package de.markusbordihn.easynpc.data.configuration;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.screen.AdditionalScreenDataSection;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.network.components.TextComponent;
 import java.util.Locale;
+import java.util.Set;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 
 public enum ConfigurationType {
   NONE,
   ABILITIES_ATTRIBUTE,
-  ADVANCED_DIALOG,
+  ADVANCED_DIALOG(AdditionalScreenDataSection.DIALOG_DATA_SET),
   ADVANCED_POSE,
   ADVANCED_TRADING,
-  ATTACK_OBJECTIVE,
-  BASE_ATTRIBUTE,
-  BASIC_ACTION,
-  BASIC_DIALOG,
-  BASIC_OBJECTIVE,
+  ATTACK_OBJECTIVE(AdditionalScreenDataSection.OBJECTIVE_DATA_SET),
+  BASE_ATTRIBUTE(AdditionalScreenDataSection.BASE_ATTRIBUTES),
+  BASIC_ACTION(AdditionalScreenDataSection.ACTION_EVENT_SET),
+  BASIC_DIALOG(AdditionalScreenDataSection.DIALOG_DATA_SET),
+  BASIC_OBJECTIVE(AdditionalScreenDataSection.OBJECTIVE_DATA_SET),
   BASIC_TRADING,
   CUSTOM_MODEL,
   CUSTOM_POSE,
@@ -51,15 +53,15 @@ public enum ConfigurationType {
   DEFAULT_ROTATION,
   DEFAULT_SKIN,
   DIALOG(true),
-  DIALOG_ACTION,
+  DIALOG_ACTION(AdditionalScreenDataSection.ACTION_EVENT_SET),
   DISPLAY_ATTRIBUTE,
-  DISTANCE_ACTION,
+  DISTANCE_ACTION(AdditionalScreenDataSection.ACTION_EVENT_SET),
   EQUIPMENT,
-  FOLLOW_OBJECTIVE,
+  FOLLOW_OBJECTIVE(AdditionalScreenDataSection.OBJECTIVE_DATA_SET),
   LOCAL_PRESET_IMPORT,
-  LOOK_OBJECTIVE,
+  LOOK_OBJECTIVE(AdditionalScreenDataSection.OBJECTIVE_DATA_SET),
   MAIN,
-  NONE_DIALOG,
+  NONE_DIALOG(AdditionalScreenDataSection.DIALOG_DATA_SET),
   NONE_SKIN,
   NONE_TRADING,
   PLAYER_SKIN,
@@ -70,16 +72,25 @@ public enum ConfigurationType {
   URL_SKIN,
   WORLD_PRESET_EXPORT,
   WORLD_PRESET_IMPORT,
-  YES_NO_DIALOG;
+  YES_NO_DIALOG(AdditionalScreenDataSection.DIALOG_DATA_SET);
 
+  private final Set<AdditionalScreenDataSection> additionalScreenDataSections;
   private boolean isAlias = false;
 
-  ConfigurationType() {}
+  ConfigurationType() {
+    this.additionalScreenDataSections = AdditionalScreenDataSection.of();
+  }
 
   ConfigurationType(boolean isAlias) {
+    this();
     this.isAlias = isAlias;
   }
 
+  ConfigurationType(AdditionalScreenDataSection... additionalScreenDataSections) {
+    this.additionalScreenDataSections =
+        AdditionalScreenDataSection.of(additionalScreenDataSections);
+  }
+
   public static ConfigurationType get(String configurationType) {
     if (configurationType == null || configurationType.isEmpty()) {
       return ConfigurationType.NONE;
@@ -95,6 +106,10 @@ public enum ConfigurationType {
     return isAlias;
   }
 
+  public Set<AdditionalScreenDataSection> getAdditionalScreenDataSections() {
+    return this.additionalScreenDataSections;
+  }
+
   public ResourceLocation getId() {
     return new ResourceLocation(
         Constants.MOD_ID, this.name().toLowerCase(Locale.ROOT) + "_configuration");
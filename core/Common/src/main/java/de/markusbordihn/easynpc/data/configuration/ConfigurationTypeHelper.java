@@ -50,7 +50,7 @@ public class ConfigurationTypeHelper {
       return switch (skinData.getSkinType()) {
         case NONE -> ConfigurationType.NONE_SKIN;
         case PLAYER_SKIN -> ConfigurationType.PLAYER_SKIN;
-        case SECURE_REMOTE_URL, INSECURE_REMOTE_URL -> ConfigurationType.URL_SKIN;
+        case SECURE_REMOTE_URL, INSECURE_REMOTE_URL, SERVER_SKIN -> ConfigurationType.URL_SKIN;
         case CUSTOM -> ConfigurationType.CUSTOM_SKIN;
         default -> ConfigurationType.DEFAULT_SKIN;
       };
@@ -20,6 +20,7 @@
 package de.markusbordihn.easynpc.data.dialog;
 
 import de.markusbordihn.easynpc.data.action.ActionDataSet;
+import de.markusbordihn.easynpc.data.condition.ConditionDataSet;
 import de.markusbordihn.easynpc.network.components.TextComponent;
 import de.markusbordihn.easynpc.utils.TextUtils;
 import de.markusbordihn.easynpc.utils.UUIDUtils;
@@ -27,6 +28,8 @@ import java.util.Objects;
 import java.util.UUID;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
 
 public record DialogButtonEntry(
     UUID id,
@@ -34,6 +37,7 @@ public record DialogButtonEntry(
     String label,
     DialogButtonType type,
     ActionDataSet actionDataSet,
+    ConditionDataSet conditionDataSet,
     boolean isTranslationKey) {
 
   public static final String DATA_ACTIONS_TAG = "Actions";
@@ -47,7 +51,8 @@ public record DialogButtonEntry(
         compoundTag.getString(DATA_BUTTON_NAME_TAG),
         compoundTag.getString(DATA_LABEL_TAG),
         DialogButtonType.get(compoundTag.getString(DATA_TYPE_TAG)),
-        new ActionDataSet(compoundTag, DATA_ACTIONS_TAG));
+        new ActionDataSet(compoundTag, DATA_ACTIONS_TAG),
+        new ConditionDataSet(compoundTag));
   }
 
   public DialogButtonEntry(String name, String label, ActionDataSet actionDataSet) {
@@ -60,6 +65,15 @@ public record DialogButtonEntry(
 
   public DialogButtonEntry(
       String name, String label, DialogButtonType type, ActionDataSet actionDataSet) {
+    this(name, label, type, actionDataSet, new ConditionDataSet());
+  }
+
+  public DialogButtonEntry(
+      String name,
+      String label,
+      DialogButtonType type,
+      ActionDataSet actionDataSet,
+      ConditionDataSet conditionDataSet) {
     this(
         UUIDUtils.textToUUID(
             label != null && !label.isEmpty() ? label : DialogUtils.generateButtonLabel(name)),
@@ -67,6 +81,7 @@ public record DialogButtonEntry(
         label != null && !label.isEmpty() ? label : DialogUtils.generateButtonLabel(name),
         type,
         actionDataSet != null ? actionDataSet : new ActionDataSet(),
+        conditionDataSet != null ? conditionDataSet : new ConditionDataSet(),
         TextUtils.isTranslationKey(name));
   }
 
@@ -82,9 +97,21 @@ public record DialogButtonEntry(
     return actionDataSet != null && actionDataSet.hasActionData();
   }
 
+  public boolean conditionsMet(ServerPlayer serverPlayer, LivingEntity livingEntity) {
+    return this.conditionDataSet == null
+        || this.conditionDataSet.isEmpty()
+        || this.conditionDataSet.evaluate(serverPlayer, livingEntity);
+  }
+
   public DialogButtonEntry withName(String name) {
     return new DialogButtonEntry(
-        this.id, name, this.label, this.type, this.actionDataSet, TextUtils.isTranslationKey(name));
+        this.id,
+        name,
+        this.label,
+        this.type,
+        this.actionDataSet,
+        this.conditionDataSet,
+        TextUtils.isTranslationKey(name));
   }
 
   public DialogButtonEntry withLabel(String label) {
@@ -94,6 +121,7 @@ public record DialogButtonEntry(
         label,
         this.type,
         this.actionDataSet,
+        this.conditionDataSet,
         this.isTranslationKey);
   }
 
@@ -104,6 +132,18 @@ public record DialogButtonEntry(
         this.label,
         this.type,
         actionDataSet != null ? actionDataSet : new ActionDataSet(),
+        this.conditionDataSet,
+        this.isTranslationKey);
+  }
+
+  public DialogButtonEntry withConditionDataSet(ConditionDataSet conditionDataSet) {
+    return new DialogButtonEntry(
+        this.id,
+        this.name,
+        this.label,
+        this.type,
+        this.actionDataSet,
+        conditionDataSet != null ? conditionDataSet : new ConditionDataSet(),
         this.isTranslationKey);
   }
 
@@ -119,6 +159,11 @@ public record DialogButtonEntry(
     // Save action data
     this.actionDataSet.save(compoundTag, DATA_ACTIONS_TAG);
 
+    // Save condition data, if any.
+    if (!this.conditionDataSet.isEmpty()) {
+      this.conditionDataSet.save(compoundTag);
+    }
+
     return compoundTag;
   }
 
@@ -140,6 +185,7 @@ public record DialogButtonEntry(
         + this.isTranslationKey
         + ", actionDataSet="
         + this.actionDataSet
+        + (!this.conditionDataSet.isEmpty() ? ", conditions=" + this.conditionDataSet : "")
         + "]";
   }
 }
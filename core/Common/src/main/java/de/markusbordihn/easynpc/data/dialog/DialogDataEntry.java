@@ -68,6 +68,19 @@ public final class DialogDataEntry {
     this.dialogTexts.add(new DialogTextData(text));
   }
 
+  private DialogDataEntry(DialogDataEntry dialogDataEntry) {
+    // Dialog buttons and texts are immutable and are therefore shared with the copy.
+    this.dialogButtons = new LinkedHashSet<>(dialogDataEntry.dialogButtons);
+    this.dialogTexts = new LinkedHashSet<>(dialogDataEntry.dialogTexts);
+    this.id = dialogDataEntry.id;
+    this.label = dialogDataEntry.label;
+    this.name = dialogDataEntry.name;
+  }
+
+  public DialogDataEntry copy() {
+    return new DialogDataEntry(this);
+  }
+
   public UUID getId() {
     return this.id;
   }
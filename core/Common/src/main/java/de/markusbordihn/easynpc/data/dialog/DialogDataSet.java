@@ -22,6 +22,7 @@ package de.markusbordihn.easynpc.data.dialog;
 import de.markusbordihn.easynpc.Constants;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -51,6 +52,22 @@ public class DialogDataSet {
     this.load(compoundTag);
   }
 
+  public DialogDataSet copy() {
+    // Both maps usually reference the same entries, which should be copied only once.
+    DialogDataSet dialogDataSet = new DialogDataSet(this.dialogType);
+    Map<DialogDataEntry, DialogDataEntry> copiedDialogs = new IdentityHashMap<>();
+    for (Map.Entry<String, DialogDataEntry> entry : this.dialogByLabelMap.entrySet()) {
+      dialogDataSet.dialogByLabelMap.put(
+          entry.getKey(), copiedDialogs.computeIfAbsent(entry.getValue(), DialogDataEntry::copy));
+    }
+    for (Map.Entry<UUID, DialogDataEntry> entry : this.dialogByIdMap.entrySet()) {
+      dialogDataSet.dialogByIdMap.put(
+          entry.getKey(), copiedDialogs.computeIfAbsent(entry.getValue(), DialogDataEntry::copy));
+    }
+    dialogDataSet.defaultDialogLabel = this.defaultDialogLabel;
+    return dialogDataSet;
+  }
+
   public void addDefaultDialog(DialogDataEntry dialogData) {
     if (this.addDialog(dialogData)) {
       this.setDefaultDialog(dialogData);
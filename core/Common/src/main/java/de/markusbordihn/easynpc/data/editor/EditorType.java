@@ -20,19 +20,30 @@
 package de.markusbordihn.easynpc.data.editor;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.screen.AdditionalScreenDataSection;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.network.components.TextComponent;
 import java.util.Locale;
+import java.util.Set;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 
 public enum EditorType {
   NONE,
-  ACTION_DATA,
-  ACTION_DATA_ENTRY,
-  DIALOG,
-  DIALOG_BUTTON,
-  DIALOG_TEXT;
+  ACTION_DATA(
+      AdditionalScreenDataSection.ACTION_EVENT_SET, AdditionalScreenDataSection.DIALOG_DATA_SET),
+  ACTION_DATA_ENTRY(
+      AdditionalScreenDataSection.ACTION_EVENT_SET, AdditionalScreenDataSection.DIALOG_DATA_SET),
+  DIALOG(AdditionalScreenDataSection.DIALOG_DATA_SET),
+  DIALOG_BUTTON(AdditionalScreenDataSection.DIALOG_DATA_SET),
+  DIALOG_TEXT(AdditionalScreenDataSection.DIALOG_DATA_SET);
+
+  private final Set<AdditionalScreenDataSection> additionalScreenDataSections;
+
+  EditorType(AdditionalScreenDataSection... additionalScreenDataSections) {
+    this.additionalScreenDataSections =
+        AdditionalScreenDataSection.of(additionalScreenDataSections);
+  }
 
   public static EditorType get(String editorType) {
     if (editorType == null || editorType.isEmpty()) {
@@ -45,6 +56,10 @@ public enum EditorType {
     }
   }
 
+  public Set<AdditionalScreenDataSection> getAdditionalScreenDataSections() {
+    return this.additionalScreenDataSections;
+  }
+
   public ResourceLocation getId() {
     return new ResourceLocation(Constants.MOD_ID, this.name().toLowerCase(Locale.ROOT) + "_editor");
   }
@@ -19,10 +19,27 @@
 
 package de.markusbordihn.easynpc.data.faction;
 
+import java.util.Locale;
+
 public enum FactionRelationType {
   NEUTRAL,
   FRIENDLY,
   HOSTILE,
   ALLY,
-  ENEMY
+  ENEMY;
+
+  public static FactionRelationType get(String factionRelationType) {
+    if (factionRelationType == null || factionRelationType.isEmpty()) {
+      return FactionRelationType.NEUTRAL;
+    }
+    try {
+      return FactionRelationType.valueOf(factionRelationType.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      return FactionRelationType.NEUTRAL;
+    }
+  }
+
+  public boolean isHostile() {
+    return this == HOSTILE || this == ENEMY;
+  }
 }
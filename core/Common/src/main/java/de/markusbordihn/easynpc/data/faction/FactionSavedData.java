@@ -0,0 +1,225 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.faction;
+
+import de.markusbordihn.easynpc.Constants;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+
+public class FactionSavedData extends SavedData {
+
+  public static final String DATA_NAME = Constants.MOD_ID + "_factions";
+  public static final String DATA_FACTION_TAG = "Faction";
+  public static final String DATA_MEMBERS_TAG = "Members";
+  public static final String DATA_OTHER_FACTION_TAG = "OtherFaction";
+  public static final String DATA_RELATION_TAG = "Relation";
+  public static final String DATA_RELATIONS_TAG = "Relations";
+  public static final String DATA_UUID_TAG = "UUID";
+
+  private final Map<UUID, String> memberMap = new HashMap<>();
+  private final Map<String, Map<String, FactionRelationType>> relationMap = new HashMap<>();
+  private int version = 0;
+
+  public FactionSavedData() {}
+
+  public static FactionSavedData load(CompoundTag compoundTag) {
+    FactionSavedData factionSavedData = new FactionSavedData();
+
+    ListTag membersTag = compoundTag.getList(DATA_MEMBERS_TAG, 10);
+    for (int i = 0; i < membersTag.size(); i++) {
+      CompoundTag memberTag = membersTag.getCompound(i);
+      if (memberTag.hasUUID(DATA_UUID_TAG)) {
+        factionSavedData.memberMap.put(
+            memberTag.getUUID(DATA_UUID_TAG), memberTag.getString(DATA_FACTION_TAG));
+      }
+    }
+
+    ListTag relationsTag = compoundTag.getList(DATA_RELATIONS_TAG, 10);
+    for (int i = 0; i < relationsTag.size(); i++) {
+      CompoundTag relationTag = relationsTag.getCompound(i);
+      factionSavedData.putRelation(
+          relationTag.getString(DATA_FACTION_TAG),
+          relationTag.getString(DATA_OTHER_FACTION_TAG),
+          FactionRelationType.get(relationTag.getString(DATA_RELATION_TAG)));
+    }
+    return factionSavedData;
+  }
+
+  public static FactionSavedData get(MinecraftServer minecraftServer) {
+    // Factions are shared between all levels and stored with the overworld data.
+    return minecraftServer
+        .overworld()
+        .getDataStorage()
+        .computeIfAbsent(FactionSavedData::load, FactionSavedData::new, DATA_NAME);
+  }
+
+  public static String normalizeFactionName(String faction) {
+    return faction != null ? faction.trim().toLowerCase(Locale.ROOT) : "";
+  }
+
+  public String getFaction(UUID uuid) {
+    return uuid != null ? this.memberMap.get(uuid) : null;
+  }
+
+  public boolean hasFaction(UUID uuid) {
+    return uuid != null && this.memberMap.containsKey(uuid);
+  }
+
+  public void setFaction(UUID uuid, String faction) {
+    String factionName = normalizeFactionName(faction);
+    if (uuid == null || factionName.isEmpty()) {
+      return;
+    }
+    if (!factionName.equals(this.memberMap.put(uuid, factionName))) {
+      this.markChanged();
+    }
+  }
+
+  public boolean removeFaction(UUID uuid) {
+    if (uuid != null && this.memberMap.remove(uuid) != null) {
+      this.markChanged();
+      return true;
+    }
+    return false;
+  }
+
+  public Map<UUID, String> getMembers() {
+    return Collections.unmodifiableMap(this.memberMap);
+  }
+
+  public Set<String> getFactions() {
+    Set<String> factions = new TreeSet<>(this.memberMap.values());
+    factions.addAll(this.relationMap.keySet());
+    return factions;
+  }
+
+  public FactionRelationType getRelation(String faction, String otherFaction) {
+    if (faction == null || otherFaction == null) {
+      return FactionRelationType.NEUTRAL;
+    } else if (faction.equals(otherFaction)) {
+      return FactionRelationType.ALLY;
+    }
+    Map<String, FactionRelationType> relations = this.relationMap.get(faction);
+    FactionRelationType relation = relations != null ? relations.get(otherFaction) : null;
+    return relation != null ? relation : FactionRelationType.NEUTRAL;
+  }
+
+  public FactionRelationType getRelation(UUID uuid, UUID otherUUID) {
+    return this.getRelation(this.getFaction(uuid), this.getFaction(otherUUID));
+  }
+
+  public boolean hasHostileRelations(String faction) {
+    Map<String, FactionRelationType> relations =
+        faction != null ? this.relationMap.get(faction) : null;
+    if (relations != null) {
+      for (FactionRelationType relation : relations.values()) {
+        if (relation.isHostile()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  public boolean isHostile(UUID uuid, UUID otherUUID) {
+    return this.getRelation(uuid, otherUUID).isHostile();
+  }
+
+  public void setRelation(String faction, String otherFaction, FactionRelationType relation) {
+    String factionName = normalizeFactionName(faction);
+    String otherFactionName = normalizeFactionName(otherFaction);
+    if (factionName.isEmpty()
+        || otherFactionName.isEmpty()
+        || factionName.equals(otherFactionName)) {
+      return;
+    }
+    this.putRelation(factionName, otherFactionName, relation);
+    this.markChanged();
+  }
+
+  public int getVersion() {
+    return this.version;
+  }
+
+  private void putRelation(String faction, String otherFaction, FactionRelationType relation) {
+    // Relations are symmetric, neutral relations are not stored at all.
+    if (relation == null || relation == FactionRelationType.NEUTRAL) {
+      this.removeRelation(faction, otherFaction);
+      this.removeRelation(otherFaction, faction);
+      return;
+    }
+    this.relationMap.computeIfAbsent(faction, key -> new HashMap<>()).put(otherFaction, relation);
+    this.relationMap.computeIfAbsent(otherFaction, key -> new HashMap<>()).put(faction, relation);
+  }
+
+  private void removeRelation(String faction, String otherFaction) {
+    Map<String, FactionRelationType> relations = this.relationMap.get(faction);
+    if (relations != null) {
+      relations.remove(otherFaction);
+      if (relations.isEmpty()) {
+        this.relationMap.remove(faction);
+      }
+    }
+  }
+
+  private void markChanged() {
+    this.version++;
+    this.setDirty();
+  }
+
+  @Override
+  public CompoundTag save(CompoundTag compoundTag) {
+    ListTag membersTag = new ListTag();
+    for (Map.Entry<UUID, String> member : this.memberMap.entrySet()) {
+      CompoundTag memberTag = new CompoundTag();
+      memberTag.putUUID(DATA_UUID_TAG, member.getKey());
+      memberTag.putString(DATA_FACTION_TAG, member.getValue());
+      membersTag.add(memberTag);
+    }
+    compoundTag.put(DATA_MEMBERS_TAG, membersTag);
+
+    // Store each symmetric relation only once.
+    ListTag relationsTag = new ListTag();
+    for (Map.Entry<String, Map<String, FactionRelationType>> relations :
+        this.relationMap.entrySet()) {
+      for (Map.Entry<String, FactionRelationType> relation : relations.getValue().entrySet()) {
+        if (relations.getKey().compareTo(relation.getKey()) < 0) {
+          CompoundTag relationTag = new CompoundTag();
+          relationTag.putString(DATA_FACTION_TAG, relations.getKey());
+          relationTag.putString(DATA_OTHER_FACTION_TAG, relation.getKey());
+          relationTag.putString(DATA_RELATION_TAG, relation.getValue().name());
+          relationsTag.add(relationTag);
+        }
+      }
+    }
+    compoundTag.put(DATA_RELATIONS_TAG, relationsTag);
+
+    return compoundTag;
+  }
+}
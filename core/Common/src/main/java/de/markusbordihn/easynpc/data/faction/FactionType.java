@@ -23,5 +23,5 @@ public enum FactionType {
   ANIMAL,
   ILLAGER,
   UNDEAD,
-  VIILLAGER,
+  VILLAGER,
 }
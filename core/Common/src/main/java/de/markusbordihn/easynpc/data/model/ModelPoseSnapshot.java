@@ -0,0 +1,230 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.model;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import de.markusbordihn.easynpc.data.position.CustomPosition;
+import de.markusbordihn.easynpc.data.rotation.CustomRotation;
+import de.markusbordihn.easynpc.data.scale.CustomScale;
+import de.markusbordihn.easynpc.entity.easynpc.data.ModelData;
+import java.util.Arrays;
+
+public final class ModelPoseSnapshot {
+
+  public static final int HEAD = 0;
+  public static final int BODY = 1;
+  public static final int ARMS = 2;
+  public static final int LEFT_ARM = 3;
+  public static final int RIGHT_ARM = 4;
+  public static final int LEFT_LEG = 5;
+  public static final int RIGHT_LEG = 6;
+  public static final int ROOT = 7;
+
+  private static final ModelPart[] MODEL_PARTS = {
+    ModelPart.HEAD,
+    ModelPart.BODY,
+    ModelPart.ARMS,
+    ModelPart.LEFT_ARM,
+    ModelPart.RIGHT_ARM,
+    ModelPart.LEFT_LEG,
+    ModelPart.RIGHT_LEG,
+    ModelPart.ROOT
+  };
+
+  // NPCs with the same pose, e.g. from the same preset, are sharing the same snapshot instance.
+  private static final Interner<ModelPoseSnapshot> snapshotInterner = Interners.newWeakInterner();
+
+  private static long numberOfCreatedSnapshots = 0;
+  private static long numberOfSharedSnapshots = 0;
+
+  private final ModelPose modelPose;
+  private final float[] positions;
+  private final float[] rotations;
+  private final float[] scales;
+  private final int visibleModelParts;
+  private final boolean hasRootRotation;
+  private final int hashCode;
+
+  private ModelPoseSnapshot(
+      ModelPose modelPose,
+      float[] positions,
+      float[] rotations,
+      float[] scales,
+      int visibleModelParts,
+      boolean hasRootRotation) {
+    this.modelPose = modelPose;
+    this.positions = positions;
+    this.rotations = rotations;
+    this.scales = scales;
+    this.visibleModelParts = visibleModelParts;
+    this.hasRootRotation = hasRootRotation;
+    this.hashCode = this.calculateHashCode();
+  }
+
+  public static ModelPoseSnapshot create(ModelData<?> modelData) {
+    float[] positions = new float[MODEL_PARTS.length * 3];
+    float[] rotations = new float[MODEL_PARTS.length * 3];
+    float[] scales = new float[MODEL_PARTS.length * 3];
+    int visibleModelParts = 0;
+    for (int index = 0; index < MODEL_PARTS.length; index++) {
+      ModelPart modelPart = MODEL_PARTS[index];
+      CustomPosition position =
+          modelPart == ModelPart.ROOT ? null : modelData.getModelPartPosition(modelPart);
+      if (position != null) {
+        positions[index * 3] = position.x();
+        positions[index * 3 + 1] = position.y();
+        positions[index * 3 + 2] = position.z();
+      }
+      CustomRotation rotation =
+          modelPart == ModelPart.ROOT
+              ? modelData.getModelRootRotation()
+              : modelData.getModelPartRotation(modelPart);
+      if (rotation != null) {
+        rotations[index * 3] = rotation.x();
+        rotations[index * 3 + 1] = rotation.y();
+        rotations[index * 3 + 2] = rotation.z();
+      }
+      CustomScale scale = modelData.getModelPartScale(modelPart);
+      scales[index * 3] = scale != null ? scale.x() : 1.0F;
+      scales[index * 3 + 1] = scale != null ? scale.y() : 1.0F;
+      scales[index * 3 + 2] = scale != null ? scale.z() : 1.0F;
+      if (modelPart == ModelPart.ROOT || modelData.isModelPartVisible(modelPart)) {
+        visibleModelParts |= 1 << index;
+      }
+    }
+    ModelPoseSnapshot modelPoseSnapshot =
+        new ModelPoseSnapshot(
+            modelData.getModelPose(),
+            positions,
+            rotations,
+            scales,
+            visibleModelParts,
+            modelData.getModelRootRotation() != null);
+    ModelPoseSnapshot sharedModelPoseSnapshot = snapshotInterner.intern(modelPoseSnapshot);
+    if (sharedModelPoseSnapshot == modelPoseSnapshot) {
+      numberOfCreatedSnapshots++;
+    } else {
+      numberOfSharedSnapshots++;
+    }
+    return sharedModelPoseSnapshot;
+  }
+
+  public static long getNumberOfCreatedSnapshots() {
+    return numberOfCreatedSnapshots;
+  }
+
+  public static long getNumberOfSharedSnapshots() {
+    return numberOfSharedSnapshots;
+  }
+
+  public ModelPose getModelPose() {
+    return this.modelPose;
+  }
+
+  public float getPositionX(int modelPartIndex) {
+    return this.positions[modelPartIndex * 3];
+  }
+
+  public float getPositionY(int modelPartIndex) {
+    return this.positions[modelPartIndex * 3 + 1];
+  }
+
+  public float getPositionZ(int modelPartIndex) {
+    return this.positions[modelPartIndex * 3 + 2];
+  }
+
+  public float getRotationX(int modelPartIndex) {
+    return this.rotations[modelPartIndex * 3];
+  }
+
+  public float getRotationY(int modelPartIndex) {
+    return this.rotations[modelPartIndex * 3 + 1];
+  }
+
+  public float getRotationZ(int modelPartIndex) {
+    return this.rotations[modelPartIndex * 3 + 2];
+  }
+
+  public float getScaleX(int modelPartIndex) {
+    return this.scales[modelPartIndex * 3];
+  }
+
+  public float getScaleY(int modelPartIndex) {
+    return this.scales[modelPartIndex * 3 + 1];
+  }
+
+  public float getScaleZ(int modelPartIndex) {
+    return this.scales[modelPartIndex * 3 + 2];
+  }
+
+  public boolean isVisible(int modelPartIndex) {
+    return (this.visibleModelParts & (1 << modelPartIndex)) != 0;
+  }
+
+  public boolean hasRootRotation() {
+    return this.hasRootRotation;
+  }
+
+  public float getRootRotationX() {
+    return this.rotations[ROOT * 3];
+  }
+
+  public float getRootRotationY() {
+    return this.rotations[ROOT * 3 + 1];
+  }
+
+  public float getRootRotationZ() {
+    return this.rotations[ROOT * 3 + 2];
+  }
+
+  private int calculateHashCode() {
+    int result = 16;
+    result = 31 * result + (this.modelPose != null ? this.modelPose.hashCode() : 0);
+    result = 31 * result + Arrays.hashCode(this.positions);
+    result = 31 * result + Arrays.hashCode(this.rotations);
+    result = 31 * result + Arrays.hashCode(this.scales);
+    result = 31 * result + this.visibleModelParts;
+    result = 31 * result + Boolean.hashCode(this.hasRootRotation);
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (object instanceof ModelPoseSnapshot modelPoseSnapshot) {
+      return this.hashCode == modelPoseSnapshot.hashCode
+          && this.modelPose == modelPoseSnapshot.modelPose
+          && this.visibleModelParts == modelPoseSnapshot.visibleModelParts
+          && this.hasRootRotation == modelPoseSnapshot.hasRootRotation
+          && Arrays.equals(this.positions, modelPoseSnapshot.positions)
+          && Arrays.equals(this.rotations, modelPoseSnapshot.rotations)
+          && Arrays.equals(this.scales, modelPoseSnapshot.scales);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hashCode;
+  }
+}
@@ -60,7 +60,9 @@ public final class ObjectiveDataEntry {
   private String id = UUID.randomUUID().toString();
   private int interval = 10;
   // Cache
+  private boolean isGoalRegistered = false;
   private boolean isRegistered = false;
+  private boolean isTargetRegistered = false;
   private float lookDistance = 15.0F;
   private boolean mustReachTarget = true;
   // Objective Data
@@ -68,6 +70,7 @@ public final class ObjectiveDataEntry {
   private ObjectiveType objectiveType = ObjectiveType.NONE;
   private boolean onlyAtNight = false;
   private int priority = 1;
+  private int registeredPriority = -1;
   private float probability = 1.0F;
   private double speedModifier = 0.7D;
   private float startDistance = 16.0F;
@@ -93,6 +96,31 @@ public final class ObjectiveDataEntry {
     this.load(compoundTag);
   }
 
+  public ObjectiveDataEntry copy() {
+    // Goals and their registration state belong to a single entity and are not copied.
+    ObjectiveDataEntry objectiveDataEntry = new ObjectiveDataEntry();
+    objectiveDataEntry.attackInterval = this.attackInterval;
+    objectiveDataEntry.attackRadius = this.attackRadius;
+    objectiveDataEntry.canDealWithDoors = this.canDealWithDoors;
+    objectiveDataEntry.distanceToPoi = this.distanceToPoi;
+    objectiveDataEntry.id = this.id;
+    objectiveDataEntry.interval = this.interval;
+    objectiveDataEntry.lookDistance = this.lookDistance;
+    objectiveDataEntry.mustReachTarget = this.mustReachTarget;
+    objectiveDataEntry.mustSeeTarget = this.mustSeeTarget;
+    objectiveDataEntry.objectiveType = this.objectiveType;
+    objectiveDataEntry.onlyAtNight = this.onlyAtNight;
+    objectiveDataEntry.priority = this.priority;
+    objectiveDataEntry.probability = this.probability;
+    objectiveDataEntry.speedModifier = this.speedModifier;
+    objectiveDataEntry.startDistance = this.startDistance;
+    objectiveDataEntry.stopDistance = this.stopDistance;
+    objectiveDataEntry.targetEntityUUID = this.targetEntityUUID;
+    objectiveDataEntry.targetOwnerUUID = this.targetOwnerUUID;
+    objectiveDataEntry.targetPlayerName = this.targetPlayerName;
+    return objectiveDataEntry;
+  }
+
   public ObjectiveType getType() {
     return this.objectiveType;
   }
@@ -161,6 +189,35 @@ public final class ObjectiveDataEntry {
     this.isRegistered = isRegistered;
   }
 
+  public boolean isGoalRegistered() {
+    return this.isGoalRegistered;
+  }
+
+  public void setGoalRegistered(boolean isGoalRegistered) {
+    this.isGoalRegistered = isGoalRegistered;
+  }
+
+  public boolean isTargetRegistered() {
+    return this.isTargetRegistered;
+  }
+
+  public void setTargetRegistered(boolean isTargetRegistered) {
+    this.isTargetRegistered = isTargetRegistered;
+  }
+
+  public int getRegisteredPriority() {
+    return this.registeredPriority;
+  }
+
+  public void setRegisteredPriority(int registeredPriority) {
+    this.registeredPriority = registeredPriority;
+  }
+
+  public boolean hasSameParameters(ObjectiveDataEntry objectiveDataEntry) {
+    return objectiveDataEntry != null
+        && (objectiveDataEntry == this || this.createTag().equals(objectiveDataEntry.createTag()));
+  }
+
   public String getTargetPlayerName() {
     return this.targetPlayerName;
   }
@@ -21,8 +21,13 @@ package de.markusbordihn.easynpc.data.objective;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import net.minecraft.nbt.CompoundTag;
@@ -36,14 +41,23 @@ public class ObjectiveDataSet {
   public static final String DATA_OBJECTIVE_DATA_SET_TAG = "ObjectiveDataSet";
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
   private final HashMap<String, ObjectiveDataEntry> objectives = new HashMap<>();
-  private final HashSet<String> targetedPlayerSet = new HashSet<>();
-  private final HashSet<UUID> targetedEntitySet = new HashSet<>();
-  private boolean hasEntityTarget = false;
-  private boolean hasObjectives = false;
-  private boolean hasOwnerTarget = false;
-  // Data
-  private boolean hasPlayerTarget = false;
-  private boolean hasTravelTarget = false;
+  private final HashMap<String, IndexEntry> objectiveIndex = new HashMap<>();
+
+  // Index of objectives by type and reverse maps from targets to objectives.
+  private final EnumMap<ObjectiveType, Map<String, ObjectiveDataEntry>> objectivesByType =
+      new EnumMap<>(ObjectiveType.class);
+  private final HashMap<String, Map<String, ObjectiveDataEntry>> targetedPlayerMap =
+      new HashMap<>();
+  private final HashMap<UUID, Map<String, ObjectiveDataEntry>> targetedEntityMap =
+      new HashMap<>();
+  private final HashMap<String, ObjectiveDataEntry> targetObjectives = new HashMap<>();
+  private int numberOfEntityTargets = 0;
+  private int numberOfOwnerTargets = 0;
+  private int numberOfPlayerTargets = 0;
+  private int numberOfTravelTargets = 0;
+
+  // Cached immutable snapshot, which is reset on every change.
+  private Set<ObjectiveDataEntry> objectivesSnapshot;
 
   public ObjectiveDataSet() {}
 
@@ -51,8 +65,56 @@ public class ObjectiveDataSet {
     this.load(compoundTag);
   }
 
+  private static <K> void addToIndex(
+      Map<K, Map<String, ObjectiveDataEntry>> indexMap, K key, ObjectiveDataEntry entry) {
+    indexMap.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(entry.getId(), entry);
+  }
+
+  private static <K> void removeFromIndex(
+      Map<K, Map<String, ObjectiveDataEntry>> indexMap, K key, String objectiveId) {
+    Map<String, ObjectiveDataEntry> entries = indexMap.get(key);
+    if (entries != null) {
+      entries.remove(objectiveId);
+      if (entries.isEmpty()) {
+        indexMap.remove(key);
+      }
+    }
+  }
+
+  private static Collection<ObjectiveDataEntry> snapshotOf(
+      Map<String, ObjectiveDataEntry> entries) {
+    return entries != null ? List.copyOf(entries.values()) : List.of();
+  }
+
+  public ObjectiveDataSet copy() {
+    ObjectiveDataSet objectiveDataSet = new ObjectiveDataSet();
+    for (ObjectiveDataEntry objectiveDataEntry : this.objectives.values()) {
+      objectiveDataSet.addObjective(objectiveDataEntry.copy());
+    }
+    return objectiveDataSet;
+  }
+
   public Set<ObjectiveDataEntry> getObjectives() {
-    return new HashSet<>(this.objectives.values());
+    if (this.objectivesSnapshot == null) {
+      this.objectivesSnapshot = Set.copyOf(this.objectives.values());
+    }
+    return this.objectivesSnapshot;
+  }
+
+  public Collection<ObjectiveDataEntry> getObjectiveEntries() {
+    return Collections.unmodifiableCollection(this.objectives.values());
+  }
+
+  public Collection<ObjectiveDataEntry> getObjectives(ObjectiveType objectiveType) {
+    return snapshotOf(this.objectivesByType.get(objectiveType));
+  }
+
+  public Collection<ObjectiveDataEntry> getObjectivesByTargetPlayer(String playerName) {
+    return playerName != null ? snapshotOf(this.targetedPlayerMap.get(playerName)) : List.of();
+  }
+
+  public Collection<ObjectiveDataEntry> getObjectivesByTargetEntity(UUID entityUUID) {
+    return entityUUID != null ? snapshotOf(this.targetedEntityMap.get(entityUUID)) : List.of();
   }
 
   public ObjectiveDataEntry getOrCreateObjective(ObjectiveType objectiveType) {
@@ -92,12 +154,12 @@ public class ObjectiveDataSet {
   }
 
   public boolean hasObjectives() {
-    return this.hasObjectives;
+    return !this.objectives.isEmpty();
   }
 
   public boolean hasObjectives(Set<ObjectiveType> objectiveTypes) {
     for (ObjectiveType objectiveType : objectiveTypes) {
-      if (this.hasObjective(objectiveType)) {
+      if (this.objectivesByType.containsKey(objectiveType)) {
         return true;
       }
     }
@@ -109,7 +171,20 @@ public class ObjectiveDataSet {
       return;
     }
     this.objectives.put(objectiveDataEntry.getId(), objectiveDataEntry);
-    this.updateTargetFlags();
+    this.updateIndex(objectiveDataEntry.getId(), objectiveDataEntry);
+  }
+
+  public void updateObjective(ObjectiveDataEntry objectiveDataEntry) {
+    // Re-index an objective after its target or type was changed.
+    if (objectiveDataEntry == null
+        || this.objectives.get(objectiveDataEntry.getId()) != objectiveDataEntry) {
+      return;
+    }
+    if (objectiveDataEntry.getType() == ObjectiveType.NONE) {
+      this.removeObjective(objectiveDataEntry.getId());
+      return;
+    }
+    this.updateIndex(objectiveDataEntry.getId(), objectiveDataEntry);
   }
 
   public boolean removeObjective(ObjectiveType objectiveType) {
@@ -123,42 +198,40 @@ public class ObjectiveDataSet {
   public boolean removeObjective(String objectiveId) {
     boolean removed = this.objectives.remove(objectiveId) != null;
     if (removed) {
-      this.updateTargetFlags();
+      this.updateIndex(objectiveId, null);
     }
     return removed;
   }
 
   public boolean hasTravelTarget() {
-    return this.hasTravelTarget;
+    return this.numberOfTravelTargets > 0;
   }
 
   public boolean hasPlayerTarget() {
-    return this.hasPlayerTarget;
+    return this.numberOfPlayerTargets > 0;
   }
 
   public boolean hasEntityTarget() {
-    return this.hasEntityTarget;
+    return this.numberOfEntityTargets > 0;
   }
 
   public boolean hasOwnerTarget() {
-    return this.hasOwnerTarget;
+    return this.numberOfOwnerTargets > 0;
   }
 
   public boolean isTargetedPlayer(String playerName) {
     return playerName != null
-        && playerName.isEmpty()
-        && this.targetedPlayerSet.contains(playerName);
+        && !playerName.isEmpty()
+        && this.targetedPlayerMap.containsKey(playerName);
   }
 
   public boolean isTargetedEntity(UUID entityUUID) {
-    return entityUUID != null && this.targetedEntitySet.contains(entityUUID);
+    return entityUUID != null && this.targetedEntityMap.containsKey(entityUUID);
   }
 
   public boolean hasValidTarget(EasyNPC<?> easyNPC) {
-    for (ObjectiveDataEntry objectiveDataEntry : this.objectives.values()) {
-      if (objectiveDataEntry == null || objectiveDataEntry.getType() == ObjectiveType.NONE) {
-        continue;
-      }
+    // Objectives without owner, player or entity target are always valid.
+    for (ObjectiveDataEntry objectiveDataEntry : this.targetObjectives.values()) {
       if (!objectiveDataEntry.hasValidTarget(easyNPC)) {
         return false;
       }
@@ -168,46 +241,70 @@ public class ObjectiveDataSet {
 
   public void clear() {
     this.objectives.clear();
-    this.hasObjectives = false;
+    this.objectiveIndex.clear();
+    this.objectivesByType.clear();
+    this.targetedPlayerMap.clear();
+    this.targetedEntityMap.clear();
+    this.targetObjectives.clear();
+    this.numberOfEntityTargets = 0;
+    this.numberOfOwnerTargets = 0;
+    this.numberOfPlayerTargets = 0;
+    this.numberOfTravelTargets = 0;
+    this.objectivesSnapshot = null;
   }
 
-  private void updateTargetFlags() {
-    // Clear existing target sets
-    this.targetedPlayerSet.clear();
-    this.targetedEntitySet.clear();
+  private void updateIndex(String objectiveId, ObjectiveDataEntry objectiveDataEntry) {
+    // Only update the index of the changed objective, instead of all objectives.
+    IndexEntry indexEntry = objectiveDataEntry != null ? IndexEntry.of(objectiveDataEntry) : null;
+    IndexEntry formerIndexEntry =
+        indexEntry != null
+            ? this.objectiveIndex.put(objectiveId, indexEntry)
+            : this.objectiveIndex.remove(objectiveId);
+    if (formerIndexEntry != null) {
+      this.applyIndexEntry(objectiveId, formerIndexEntry, null);
+    }
+    if (indexEntry != null) {
+      this.applyIndexEntry(objectiveId, indexEntry, objectiveDataEntry);
+    }
+    this.objectivesSnapshot = null;
+  }
 
-    boolean hasTravelObjectives = false;
-    boolean hasPlayerTargetObjective = false;
-    boolean hasEntityTargetObjective = false;
-    boolean hasOwnerTargetObjective = false;
-    for (ObjectiveDataEntry objectiveDataEntry : this.objectives.values()) {
-      if (objectiveDataEntry == null || objectiveDataEntry.getType() == ObjectiveType.NONE) {
-        continue;
+  private void applyIndexEntry(
+      String objectiveId, IndexEntry indexEntry, ObjectiveDataEntry objectiveDataEntry) {
+    boolean add = objectiveDataEntry != null;
+    int delta = add ? 1 : -1;
+    if (add) {
+      addToIndex(this.objectivesByType, indexEntry.objectiveType(), objectiveDataEntry);
+    } else {
+      removeFromIndex(this.objectivesByType, indexEntry.objectiveType(), objectiveId);
+    }
+    if (indexEntry.travelTarget()) {
+      this.numberOfTravelTargets += delta;
+    }
+    if (indexEntry.targetPlayerName() != null) {
+      if (add) {
+        addToIndex(this.targetedPlayerMap, indexEntry.targetPlayerName(), objectiveDataEntry);
+      } else {
+        removeFromIndex(this.targetedPlayerMap, indexEntry.targetPlayerName(), objectiveId);
       }
-
-      // Check if we have any travel objectives
-      if (objectiveDataEntry.hasTravelObjective()) {
-        hasTravelObjectives = true;
+      this.numberOfPlayerTargets += delta;
+    } else if (indexEntry.targetEntityUUID() != null) {
+      if (add) {
+        addToIndex(this.targetedEntityMap, indexEntry.targetEntityUUID(), objectiveDataEntry);
+      } else {
+        removeFromIndex(this.targetedEntityMap, indexEntry.targetEntityUUID(), objectiveId);
       }
-
-      // Check if we have any object with a targeted player or entity.
-      if (objectiveDataEntry.hasPlayerTarget()) {
-        targetedPlayerSet.add(objectiveDataEntry.getTargetPlayerName());
-        hasPlayerTargetObjective = true;
-      } else if (objectiveDataEntry.hasEntityTarget()) {
-        targetedEntitySet.add(objectiveDataEntry.getTargetEntityUUID());
-        hasEntityTargetObjective = true;
-      } else if (objectiveDataEntry.hasOwnerTarget()) {
-        hasOwnerTargetObjective = true;
+      this.numberOfEntityTargets += delta;
+    } else if (indexEntry.ownerTarget()) {
+      this.numberOfOwnerTargets += delta;
+    }
+    if (indexEntry.hasTarget()) {
+      if (add) {
+        this.targetObjectives.put(objectiveId, objectiveDataEntry);
+      } else {
+        this.targetObjectives.remove(objectiveId);
       }
     }
-
-    // Update target flags
-    this.hasTravelTarget = hasTravelObjectives;
-    this.hasPlayerTarget = hasPlayerTargetObjective;
-    this.hasEntityTarget = hasEntityTargetObjective;
-    this.hasOwnerTarget = hasOwnerTargetObjective;
-    this.hasObjectives = !this.objectives.isEmpty();
   }
 
   public void load(CompoundTag compoundTag) {
@@ -247,21 +344,42 @@ public class ObjectiveDataSet {
   @Override
   public String toString() {
     return "ObjectiveDataSet [ hasObjectives="
-        + this.hasObjectives
+        + this.hasObjectives()
         + ", hasTravelTarget="
-        + this.hasTravelTarget
+        + this.hasTravelTarget()
         + ", hasOwnerTarget="
-        + this.hasOwnerTarget
+        + this.hasOwnerTarget()
         + ", hasEntityTarget="
-        + this.hasEntityTarget
+        + this.hasEntityTarget()
         + ", hasPlayerTarget="
-        + this.hasPlayerTarget
+        + this.hasPlayerTarget()
         + ", targetedEntitySet="
-        + this.targetedEntitySet
+        + this.targetedEntityMap.keySet()
         + ", targetedPlayerSet="
-        + this.targetedPlayerSet
+        + this.targetedPlayerMap.keySet()
         + ", data="
         + this.objectives
         + "]";
   }
+
+  private record IndexEntry(
+      ObjectiveType objectiveType,
+      boolean travelTarget,
+      String targetPlayerName,
+      UUID targetEntityUUID,
+      boolean ownerTarget) {
+
+    private static IndexEntry of(ObjectiveDataEntry objectiveDataEntry) {
+      return new IndexEntry(
+          objectiveDataEntry.getType(),
+          objectiveDataEntry.hasTravelObjective(),
+          objectiveDataEntry.hasPlayerTarget() ? objectiveDataEntry.getTargetPlayerName() : null,
+          objectiveDataEntry.hasEntityTarget() ? objectiveDataEntry.getTargetEntityUUID() : null,
+          objectiveDataEntry.hasOwnerTarget());
+    }
+
+    private boolean hasTarget() {
+      return this.targetPlayerName != null || this.targetEntityUUID != null || this.ownerTarget;
+    }
+  }
 }
@@ -44,6 +44,7 @@ public class ObjectiveGroup {
           ObjectiveType.ATTACK_PLAYER_WITHOUT_OWNER,
           ObjectiveType.ATTACK_VILLAGER,
           ObjectiveType.ATTACK_ANIMAL,
+          ObjectiveType.ATTACK_HOSTILE_FACTION,
           ObjectiveType.ATTACK_MONSTER,
           ObjectiveType.ATTACK_MOB,
           ObjectiveType.ATTACK_MOB_WITHOUT_CREEPER);
@@ -25,6 +25,7 @@ import de.markusbordihn.easynpc.entity.easynpc.ai.goal.BowAttackGoal;
 import de.markusbordihn.easynpc.entity.easynpc.ai.goal.CrossbowAttackGoal;
 import de.markusbordihn.easynpc.entity.easynpc.ai.goal.CustomLookAtPlayerGoal;
 import de.markusbordihn.easynpc.entity.easynpc.ai.goal.CustomMeleeAttackGoal;
+import de.markusbordihn.easynpc.entity.easynpc.ai.goal.FactionTargetGoal;
 import de.markusbordihn.easynpc.entity.easynpc.ai.goal.FollowLivingEntityGoal;
 import de.markusbordihn.easynpc.entity.easynpc.ai.goal.GunAttackGoal;
 import de.markusbordihn.easynpc.entity.easynpc.ai.goal.MoveBackToHomeGoal;
@@ -213,6 +214,11 @@ public class ObjectiveUtils {
       case ATTACK_ANIMAL ->
           new NearestAttackableTargetGoal<>(
               pathfinderMob, Animal.class, objectiveDataEntry.isMustSeeTarget());
+      case ATTACK_HOSTILE_FACTION ->
+          new FactionTargetGoal<>(
+              easyNPC,
+              objectiveDataEntry.isMustSeeTarget(),
+              objectiveDataEntry.isMustReachTarget());
       case ATTACK_PLAYER ->
           new NearestAttackableTargetGoal<>(
               pathfinderMob, Player.class, objectiveDataEntry.isMustSeeTarget());
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.owner;
+
+import de.markusbordihn.easynpc.Constants;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.saveddata.SavedData;
+
+public class OwnerSavedData extends SavedData {
+
+  public static final String DATA_NAME = Constants.MOD_ID + "_owners";
+  public static final String DATA_ENTITIES_TAG = "Entities";
+  public static final String DATA_OBJECTIVES_TAG = "Objectives";
+  public static final String DATA_OWNER_TAG = "Owner";
+  public static final String DATA_SPAWNER_TAG = "Spawner";
+  public static final String DATA_SPAWNERS_TAG = "Spawners";
+  public static final String DATA_URL_SKIN_TAG = "UrlSkin";
+  public static final String DATA_UUID_TAG = "UUID";
+
+  // Owned entities and spawners are stored with their last known state, also if not loaded.
+  private final Map<UUID, OwnedEntity> entityMap = new HashMap<>();
+  private final Map<String, UUID> spawnerMap = new HashMap<>();
+  private final Map<UUID, EnumMap<OwnerQuotaType, Integer>> ownerUsageMap = new HashMap<>();
+
+  public OwnerSavedData() {}
+
+  public static OwnerSavedData load(CompoundTag compoundTag) {
+    OwnerSavedData ownerSavedData = new OwnerSavedData();
+
+    ListTag entitiesTag = compoundTag.getList(DATA_ENTITIES_TAG, 10);
+    for (int i = 0; i < entitiesTag.size(); i++) {
+      CompoundTag entityTag = entitiesTag.getCompound(i);
+      if (entityTag.hasUUID(DATA_UUID_TAG) && entityTag.hasUUID(DATA_OWNER_TAG)) {
+        ownerSavedData.putEntity(
+            entityTag.getUUID(DATA_UUID_TAG),
+            new OwnedEntity(
+                entityTag.getUUID(DATA_OWNER_TAG),
+                entityTag.getBoolean(DATA_URL_SKIN_TAG),
+                entityTag.getInt(DATA_OBJECTIVES_TAG)));
+      }
+    }
+
+    ListTag spawnersTag = compoundTag.getList(DATA_SPAWNERS_TAG, 10);
+    for (int i = 0; i < spawnersTag.size(); i++) {
+      CompoundTag spawnerTag = spawnersTag.getCompound(i);
+      if (spawnerTag.hasUUID(DATA_OWNER_TAG)) {
+        ownerSavedData.putSpawner(
+            spawnerTag.getString(DATA_SPAWNER_TAG), spawnerTag.getUUID(DATA_OWNER_TAG));
+      }
+    }
+    return ownerSavedData;
+  }
+
+  public static OwnerSavedData get(MinecraftServer minecraftServer) {
+    // Owner data is shared between all levels and stored with the overworld data.
+    return minecraftServer
+        .overworld()
+        .getDataStorage()
+        .computeIfAbsent(OwnerSavedData::load, OwnerSavedData::new, DATA_NAME);
+  }
+
+  public static String getSpawnerKey(ResourceKey<Level> dimension, BlockPos blockPos) {
+    return dimension.location() + "@" + blockPos.asLong();
+  }
+
+  public void updateEntity(
+      UUID entityUUID, UUID ownerUUID, boolean urlSkin, int numberOfObjectives) {
+    if (entityUUID == null) {
+      return;
+    }
+    if (ownerUUID == null) {
+      this.removeEntity(entityUUID);
+    } else if (this.putEntity(
+        entityUUID, new OwnedEntity(ownerUUID, urlSkin, numberOfObjectives))) {
+      this.setDirty();
+    }
+  }
+
+  public void removeEntity(UUID entityUUID) {
+    OwnedEntity ownedEntity = entityUUID != null ? this.entityMap.remove(entityUUID) : null;
+    if (ownedEntity != null) {
+      this.addEntityUsage(ownedEntity, -1);
+      this.setDirty();
+    }
+  }
+
+  public boolean hasEntity(UUID entityUUID) {
+    return entityUUID != null && this.entityMap.containsKey(entityUUID);
+  }
+
+  public void updateSpawner(String spawnerKey, UUID ownerUUID) {
+    if (ownerUUID == null) {
+      this.removeSpawner(spawnerKey);
+    } else if (this.putSpawner(spawnerKey, ownerUUID)) {
+      this.setDirty();
+    }
+  }
+
+  public void removeSpawner(String spawnerKey) {
+    UUID ownerUUID = this.spawnerMap.remove(spawnerKey);
+    if (ownerUUID != null) {
+      this.addUsage(ownerUUID, OwnerQuotaType.SPAWNERS, -1);
+      this.setDirty();
+    }
+  }
+
+  public int getUsage(UUID ownerUUID, OwnerQuotaType ownerQuotaType) {
+    EnumMap<OwnerQuotaType, Integer> usageMap =
+        ownerUUID != null ? this.ownerUsageMap.get(ownerUUID) : null;
+    return usageMap != null ? usageMap.getOrDefault(ownerQuotaType, 0) : 0;
+  }
+
+  private boolean putEntity(UUID entityUUID, OwnedEntity ownedEntity) {
+    OwnedEntity previousOwnedEntity = this.entityMap.put(entityUUID, ownedEntity);
+    if (Objects.equals(ownedEntity, previousOwnedEntity)) {
+      return false;
+    }
+    if (previousOwnedEntity != null) {
+      this.addEntityUsage(previousOwnedEntity, -1);
+    }
+    this.addEntityUsage(ownedEntity, 1);
+    return true;
+  }
+
+  private boolean putSpawner(String spawnerKey, UUID ownerUUID) {
+    UUID previousOwnerUUID = this.spawnerMap.put(spawnerKey, ownerUUID);
+    if (ownerUUID.equals(previousOwnerUUID)) {
+      return false;
+    }
+    if (previousOwnerUUID != null) {
+      this.addUsage(previousOwnerUUID, OwnerQuotaType.SPAWNERS, -1);
+    }
+    this.addUsage(ownerUUID, OwnerQuotaType.SPAWNERS, 1);
+    return true;
+  }
+
+  private void addEntityUsage(OwnedEntity ownedEntity, int sign) {
+    this.addUsage(ownedEntity.ownerUUID(), OwnerQuotaType.NPCS, sign);
+    if (ownedEntity.urlSkin()) {
+      this.addUsage(ownedEntity.ownerUUID(), OwnerQuotaType.URL_SKINS, sign);
+    }
+    this.addUsage(
+        ownedEntity.ownerUUID(),
+        OwnerQuotaType.OBJECTIVES,
+        sign * ownedEntity.numberOfObjectives());
+  }
+
+  private void addUsage(UUID ownerUUID, OwnerQuotaType ownerQuotaType, int amount) {
+    if (amount == 0) {
+      return;
+    }
+    EnumMap<OwnerQuotaType, Integer> usageMap =
+        this.ownerUsageMap.computeIfAbsent(ownerUUID, key -> new EnumMap<>(OwnerQuotaType.class));
+    int usage = usageMap.getOrDefault(ownerQuotaType, 0) + amount;
+    if (usage > 0) {
+      usageMap.put(ownerQuotaType, usage);
+    } else {
+      usageMap.remove(ownerQuotaType);
+    }
+    if (usageMap.isEmpty()) {
+      this.ownerUsageMap.remove(ownerUUID);
+    }
+  }
+
+  @Override
+  public CompoundTag save(CompoundTag compoundTag) {
+    ListTag entitiesTag = new ListTag();
+    for (Map.Entry<UUID, OwnedEntity> entity : this.entityMap.entrySet()) {
+      CompoundTag entityTag = new CompoundTag();
+      entityTag.putUUID(DATA_UUID_TAG, entity.getKey());
+      entityTag.putUUID(DATA_OWNER_TAG, entity.getValue().ownerUUID());
+      if (entity.getValue().urlSkin()) {
+        entityTag.putBoolean(DATA_URL_SKIN_TAG, true);
+      }
+      if (entity.getValue().numberOfObjectives() > 0) {
+        entityTag.putInt(DATA_OBJECTIVES_TAG, entity.getValue().numberOfObjectives());
+      }
+      entitiesTag.add(entityTag);
+    }
+    compoundTag.put(DATA_ENTITIES_TAG, entitiesTag);
+
+    ListTag spawnersTag = new ListTag();
+    for (Map.Entry<String, UUID> spawner : this.spawnerMap.entrySet()) {
+      CompoundTag spawnerTag = new CompoundTag();
+      spawnerTag.putString(DATA_SPAWNER_TAG, spawner.getKey());
+      spawnerTag.putUUID(DATA_OWNER_TAG, spawner.getValue());
+      spawnersTag.add(spawnerTag);
+    }
+    compoundTag.put(DATA_SPAWNERS_TAG, spawnersTag);
+
+    return compoundTag;
+  }
+
+  private record OwnedEntity(UUID ownerUUID, boolean urlSkin, int numberOfObjectives) {}
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.preset;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.action.ActionEventSet;
+import de.markusbordihn.easynpc.data.dialog.DialogDataSet;
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataSet;
+import de.markusbordihn.easynpc.data.skin.SkinDataEntry;
+import de.markusbordihn.easynpc.data.trading.TradingDataSet;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.ActionEventData;
+import de.markusbordihn.easynpc.entity.easynpc.data.ConfigData;
+import de.markusbordihn.easynpc.entity.easynpc.data.DialogData;
+import de.markusbordihn.easynpc.entity.easynpc.data.ObjectiveData;
+import de.markusbordihn.easynpc.entity.easynpc.data.SkinData;
+import de.markusbordihn.easynpc.entity.easynpc.data.SpawnerData;
+import de.markusbordihn.easynpc.entity.easynpc.data.TradingData;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.Level;
+
+public final class PresetTemplate {
+
+  // Position and identity related tags are set for each spawned entity individually.
+  private static final Set<String> VOLATILE_TAGS =
+      Set.of(Entity.UUID_TAG, "Pos", "Motion", "FallDistance", "Fire", "OnGround");
+
+  private final EntityType<?> entityType;
+  private final CompoundTag templateTag;
+  private final ResourceLocation presetLocation;
+  private final long lastModified;
+
+  // Data sets decoded once from the preset, instead of for each spawned entity.
+  private DialogDataSet dialogDataSet;
+  private ActionEventSet actionEventSet;
+  private ObjectiveDataSet objectiveDataSet;
+  private TradingDataSet tradingDataSet;
+  private SkinDataEntry skinDataEntry;
+
+  public PresetTemplate(
+      EntityType<?> entityType,
+      CompoundTag presetTag,
+      ResourceLocation presetLocation,
+      long lastModified) {
+    this.entityType = entityType;
+    this.presetLocation = presetLocation;
+    this.lastModified = lastModified;
+    this.templateTag = presetTag.copy();
+    for (String volatileTag : VOLATILE_TAGS) {
+      this.templateTag.remove(volatileTag);
+    }
+
+    // Outdated presets are converted by the data interfaces, so they are loaded as they are.
+    if (this.templateTag.getInt(ConfigData.DATA_EASY_NPC_DATA_VERSION_TAG)
+        == Constants.NPC_DATA_VERSION) {
+      this.decodeDataSets();
+    }
+  }
+
+  private void decodeDataSets() {
+    // Decoded data sets are removed from the template tag, which only keeps the remaining data.
+    CompoundTag dialogDataTag = this.templateTag.getCompound(DialogData.DATA_DIALOG_DATA_TAG);
+    if (dialogDataTag.contains(DialogDataSet.DATA_DIALOG_DATA_SET_TAG)) {
+      this.dialogDataSet = new DialogDataSet(dialogDataTag);
+      this.templateTag.remove(DialogData.DATA_DIALOG_DATA_TAG);
+    }
+
+    CompoundTag actionDataTag = this.templateTag.getCompound(ActionEventData.DATA_ACTION_DATA_TAG);
+    if (actionDataTag.contains(ActionEventSet.DATA_ACTION_EVENT_SET_TAG)) {
+      this.actionEventSet = new ActionEventSet(actionDataTag);
+      actionDataTag.remove(ActionEventSet.DATA_ACTION_EVENT_SET_TAG);
+    }
+
+    CompoundTag objectiveDataTag =
+        this.templateTag.getCompound(ObjectiveData.DATA_OBJECTIVE_DATA_TAG);
+    if (objectiveDataTag.contains(ObjectiveDataSet.DATA_OBJECTIVE_DATA_SET_TAG)) {
+      this.objectiveDataSet = new ObjectiveDataSet(objectiveDataTag);
+      objectiveDataTag.remove(ObjectiveDataSet.DATA_OBJECTIVE_DATA_SET_TAG);
+    }
+
+    CompoundTag tradingDataTag = this.templateTag.getCompound(TradingData.DATA_TRADING_DATA_TAG);
+    if (tradingDataTag.contains(TradingDataSet.DATA_TRADING_DATA_SET_TAG)) {
+      this.tradingDataSet = new TradingDataSet(tradingDataTag);
+      tradingDataTag.remove(TradingDataSet.DATA_TRADING_DATA_SET_TAG);
+    }
+
+    // An empty skin tag is kept, because a missing skin tag is reported by the skin data.
+    CompoundTag skinTag = this.templateTag.getCompound(SkinData.EASY_NPC_DATA_SKIN_DATA_TAG);
+    if (!skinTag.isEmpty() && !skinTag.contains(SkinData.EASY_NPC_DATA_SKIN_TYPE_TAG)) {
+      this.skinDataEntry = new SkinDataEntry(skinTag);
+      this.templateTag.put(SkinData.EASY_NPC_DATA_SKIN_DATA_TAG, new CompoundTag());
+    }
+  }
+
+  public static PresetTemplate create(CompoundTag presetTag, ResourceLocation presetLocation) {
+    return create(presetTag, presetLocation, 0L);
+  }
+
+  public static PresetTemplate create(
+      CompoundTag presetTag, ResourceLocation presetLocation, long lastModified) {
+    if (presetTag == null || presetTag.isEmpty() || !presetTag.contains(Entity.ID_TAG)) {
+      return null;
+    }
+    EntityType<?> entityType = EntityType.byString(presetTag.getString(Entity.ID_TAG)).orElse(null);
+    if (entityType == null) {
+      return null;
+    }
+    return new PresetTemplate(entityType, presetTag, presetLocation, lastModified);
+  }
+
+  public EntityType<?> getEntityType() {
+    return this.entityType;
+  }
+
+  public ResourceLocation getPresetLocation() {
+    return this.presetLocation;
+  }
+
+  public long getLastModified() {
+    return this.lastModified;
+  }
+
+  public boolean hasDecodedDataSets() {
+    return this.dialogDataSet != null
+        || this.actionEventSet != null
+        || this.objectiveDataSet != null
+        || this.tradingDataSet != null
+        || this.skinDataEntry != null;
+  }
+
+  public CompoundTag createEntityTag() {
+    // Entities could keep and modify nested tags after loading, so each spawn needs its own copy.
+    // The copy only contains the data which was not decoded into the template data sets.
+    return this.templateTag.copy();
+  }
+
+  private void applyDataSets(EasyNPC<?> easyNPC) {
+    // Skin data entries are immutable and shared, mutable data sets are copied in memory.
+    SkinData<?> skinData = easyNPC.getEasyNPCSkinData();
+    if (skinData != null && this.skinDataEntry != null) {
+      skinData.setSkinDataEntry(this.skinDataEntry);
+    }
+    ActionEventData<?> actionEventData = easyNPC.getEasyNPCActionEventData();
+    if (actionEventData != null && this.actionEventSet != null) {
+      actionEventData.setActionEventSet(this.actionEventSet.copy());
+    }
+    DialogData<?> dialogData = easyNPC.getEasyNPCDialogData();
+    if (dialogData != null && this.dialogDataSet != null) {
+      dialogData.setDialogDataSet(this.dialogDataSet.copy());
+    }
+    TradingData<?> tradingData = easyNPC.getEasyNPCTradingData();
+    if (tradingData != null && this.tradingDataSet != null) {
+      tradingData.setTradingDataSet(this.tradingDataSet.copy());
+    }
+
+    // Objectives are registered last, like for a regular load.
+    ObjectiveData<?> objectiveData = easyNPC.getEasyNPCObjectiveData();
+    if (objectiveData != null && this.objectiveDataSet != null) {
+      objectiveData.updateObjectiveDataSet(this.objectiveDataSet.copy());
+    }
+  }
+
+  public Entity createEntity(Level level, double x, double y, double z, UUID spawnerUUID) {
+    if (level == null || level.isClientSide()) {
+      return null;
+    }
+
+    Entity entity = this.entityType.create(level);
+    if (entity == null) {
+      return null;
+    }
+    entity.load(this.createEntityTag());
+
+    if (entity instanceof EasyNPC<?> easyNPC) {
+      this.applyDataSets(easyNPC);
+
+      // Set spawner UUID, if available.
+      SpawnerData<?> spawnerData = spawnerUUID != null ? easyNPC.getEasyNPCSpawnerData() : null;
+      if (spawnerData != null) {
+        spawnerData.setSpawnerUUID(spawnerUUID);
+      }
+    }
+
+    entity.moveTo(x, y, z);
+    return entity;
+  }
+
+  @Override
+  public String toString() {
+    return "PresetTemplate{"
+        + "entityType="
+        + this.entityType
+        + ", presetLocation="
+        + this.presetLocation
+        + ", tags="
+        + this.templateTag.size()
+        + ", decodedDataSets="
+        + this.hasDecodedDataSets()
+        + '}';
+  }
+}
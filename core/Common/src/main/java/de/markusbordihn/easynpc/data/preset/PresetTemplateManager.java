@@ -0,0 +1,311 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.preset;
+
+import com.google.common.collect.MapMaker;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.NavigationData;
+import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
+import de.markusbordihn.easynpc.io.CustomPresetDataFiles;
+import de.markusbordihn.easynpc.io.WorldPresetDataFiles;
+import de.markusbordihn.easynpc.item.configuration.EasyNPCPresetItem;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.levelgen.Heightmap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class PresetTemplateManager {
+
+  public static final int MAX_SPAWNS_PER_TICK = 4;
+  public static final int MAX_SPAWN_ATTEMPTS_PER_ENTITY = 4;
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Preset Template Manager]";
+
+  // Item presets are cached by the identity of their preset tag, which is replaced on change.
+  private static final Map<CompoundTag, PresetTemplate> itemPresetTemplateMap =
+      new MapMaker().weakKeys().concurrencyLevel(1).makeMap();
+  private static final Map<ResourceLocation, PresetTemplate> presetTemplateMap =
+      new ConcurrentHashMap<>();
+  private static final Deque<SpawnRequest> spawnRequestQueue = new ArrayDeque<>();
+
+  private PresetTemplateManager() {}
+
+  public static PresetTemplate getPresetTemplate(ItemStack itemStack) {
+    if (itemStack == null
+        || !EasyNPCPresetItem.hasPreset(itemStack)
+        || !EasyNPCPresetItem.hasEntityType(itemStack)) {
+      return null;
+    }
+    CompoundTag presetTag = EasyNPCPresetItem.getPreset(itemStack);
+    PresetTemplate presetTemplate = itemPresetTemplateMap.get(presetTag);
+    if (presetTemplate == null) {
+      EntityType<?> entityType = EasyNPCPresetItem.getEntityType(itemStack);
+      if (entityType == null) {
+        return null;
+      }
+      presetTemplate = new PresetTemplate(entityType, presetTag, null, 0L);
+      itemPresetTemplateMap.put(presetTag, presetTemplate);
+      log.debug("{} Created template {} for {}", LOG_PREFIX, presetTemplate, itemStack);
+    }
+    return presetTemplate;
+  }
+
+  public static PresetTemplate getPresetTemplate(
+      MinecraftServer minecraftServer, ResourceLocation presetLocation) {
+    if (minecraftServer == null || presetLocation == null) {
+      return null;
+    }
+
+    // File based presets could be changed at any time, so we need to check the modification date.
+    File presetFile = getPresetFile(presetLocation);
+    long lastModified = presetFile != null ? presetFile.lastModified() : 0L;
+    PresetTemplate presetTemplate = presetTemplateMap.get(presetLocation);
+    if (presetTemplate != null && presetTemplate.getLastModified() == lastModified) {
+      return presetTemplate;
+    }
+
+    CompoundTag presetTag = readPreset(minecraftServer, presetLocation, presetFile);
+    presetTemplate = PresetTemplate.create(presetTag, presetLocation, lastModified);
+    if (presetTemplate == null) {
+      log.error("{} Unable to create template for preset {}", LOG_PREFIX, presetLocation);
+      presetTemplateMap.remove(presetLocation);
+      return null;
+    }
+    presetTemplateMap.put(presetLocation, presetTemplate);
+    log.debug("{} Created template {}", LOG_PREFIX, presetTemplate);
+    return presetTemplate;
+  }
+
+  public static void clearResourcePresetTemplates() {
+    // Data and default presets have no modification date and are only changed by a reload.
+    int numberOfTemplates = presetTemplateMap.size();
+    presetTemplateMap.values().removeIf(presetTemplate -> presetTemplate.getLastModified() == 0L);
+    log.debug(
+        "{} Cleared {} resource preset templates ...",
+        LOG_PREFIX,
+        numberOfTemplates - presetTemplateMap.size());
+  }
+
+  public static void clearPresetTemplates() {
+    log.debug("{} Clearing {} preset templates ...", LOG_PREFIX, presetTemplateMap.size());
+    presetTemplateMap.clear();
+    itemPresetTemplateMap.clear();
+  }
+
+  public static void clearSpawnRequests() {
+    synchronized (spawnRequestQueue) {
+      spawnRequestQueue.clear();
+    }
+  }
+
+  public static int getNumberOfPresetTemplates() {
+    return presetTemplateMap.size() + itemPresetTemplateMap.size();
+  }
+
+  private static File getPresetFile(ResourceLocation presetLocation) {
+    Path presetPath = WorldPresetDataFiles.getPresetsResourceLocationPath(presetLocation);
+    if (presetPath == null) {
+      presetPath = CustomPresetDataFiles.getPresetsResourceLocationPath(presetLocation);
+    }
+    return presetPath != null && presetPath.toFile().exists() ? presetPath.toFile() : null;
+  }
+
+  private static CompoundTag readPreset(
+      MinecraftServer minecraftServer, ResourceLocation presetLocation, File presetFile) {
+    try {
+      if (presetFile != null) {
+        return NbtIo.readCompressed(presetFile);
+      }
+      if (minecraftServer.getResourceManager().getResource(presetLocation).isPresent()) {
+        try (InputStream inputStream =
+            minecraftServer.getResourceManager().open(presetLocation)) {
+          return NbtIo.readCompressed(inputStream);
+        }
+      }
+    } catch (IOException exception) {
+      log.error("{} Error reading preset {}:", LOG_PREFIX, presetLocation, exception);
+    }
+    return null;
+  }
+
+  public static boolean queueSpawn(
+      ServerLevel serverLevel,
+      PresetTemplate presetTemplate,
+      BlockPos centerPosition,
+      int count,
+      int radius,
+      ServerPlayer owner) {
+    if (serverLevel == null || presetTemplate == null || centerPosition == null || count <= 0) {
+      return false;
+    }
+    synchronized (spawnRequestQueue) {
+      spawnRequestQueue.add(
+          new SpawnRequest(
+              serverLevel, presetTemplate, centerPosition, count, Math.max(0, radius), owner));
+    }
+    log.debug(
+        "{} Queued {} spawns of {} around {} in {}",
+        LOG_PREFIX,
+        count,
+        presetTemplate,
+        centerPosition,
+        serverLevel);
+    return true;
+  }
+
+  public static int getPendingSpawns() {
+    int pendingSpawns = 0;
+    synchronized (spawnRequestQueue) {
+      for (SpawnRequest spawnRequest : spawnRequestQueue) {
+        pendingSpawns += spawnRequest.remaining;
+      }
+    }
+    return pendingSpawns;
+  }
+
+  public static void handleServerTick() {
+    synchronized (spawnRequestQueue) {
+      int spawnBudget = MAX_SPAWNS_PER_TICK;
+      while (spawnBudget > 0 && !spawnRequestQueue.isEmpty()) {
+        SpawnRequest spawnRequest = spawnRequestQueue.peek();
+        while (spawnBudget > 0 && !spawnRequest.isDone()) {
+          spawnRequest.spawnNext();
+          spawnBudget--;
+        }
+        if (spawnRequest.isDone()) {
+          spawnRequestQueue.poll();
+          log.debug(
+              "{} Finished spawning {} of {} {} in {}",
+              LOG_PREFIX,
+              spawnRequest.spawned,
+              spawnRequest.count,
+              spawnRequest.presetTemplate,
+              spawnRequest.serverLevel);
+        }
+      }
+    }
+  }
+
+  private static final class SpawnRequest {
+
+    private final ServerLevel serverLevel;
+    private final PresetTemplate presetTemplate;
+    private final BlockPos centerPosition;
+    private final int count;
+    private final int radius;
+    private final ServerPlayer owner;
+    private final RandomSource random;
+    private int remaining;
+    private int attempts;
+    private int spawned;
+
+    private SpawnRequest(
+        ServerLevel serverLevel,
+        PresetTemplate presetTemplate,
+        BlockPos centerPosition,
+        int count,
+        int radius,
+        ServerPlayer owner) {
+      this.serverLevel = serverLevel;
+      this.presetTemplate = presetTemplate;
+      this.centerPosition = centerPosition;
+      this.count = count;
+      this.radius = radius;
+      this.owner = owner;
+      this.random = serverLevel.getRandom();
+      this.remaining = count;
+      this.attempts = count * MAX_SPAWN_ATTEMPTS_PER_ENTITY;
+    }
+
+    private boolean isDone() {
+      return this.remaining <= 0 || this.attempts <= 0;
+    }
+
+    private void spawnNext() {
+      this.attempts--;
+
+      // Stop the spawn request, if the owner reached the NPC quota.
+      if (this.owner != null
+          && !OwnerQuotaManager.checkQuota(this.owner, OwnerQuotaType.NPCS, 1)) {
+        this.remaining = 0;
+        return;
+      }
+
+      // Get random spawn position within the radius and only use already loaded chunks.
+      int x = this.centerPosition.getX() + Mth.randomBetweenInclusive(random, -radius, radius);
+      int z = this.centerPosition.getZ() + Mth.randomBetweenInclusive(random, -radius, radius);
+      if (!this.serverLevel.hasChunk(x >> 4, z >> 4)) {
+        return;
+      }
+      BlockPos spawnPosition =
+          this.serverLevel.getHeightmapPos(
+              Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, new BlockPos(x, 0, z));
+
+      Entity entity =
+          this.presetTemplate.createEntity(
+              this.serverLevel,
+              spawnPosition.getX() + 0.5D,
+              spawnPosition.getY(),
+              spawnPosition.getZ() + 0.5D,
+              null);
+      if (entity == null) {
+        return;
+      }
+
+      if (entity instanceof EasyNPC<?> easyNPC) {
+        OwnerData<?> ownerData = easyNPC.getEasyNPCOwnerData();
+        if (this.owner != null && ownerData != null) {
+          ownerData.setOwner(this.owner);
+        }
+        NavigationData<?> navigationData = easyNPC.getEasyNPCNavigationData();
+        if (navigationData != null) {
+          navigationData.setHomePosition(spawnPosition);
+        }
+      }
+
+      if (this.serverLevel.addFreshEntity(entity)) {
+        this.remaining--;
+        this.spawned++;
+      }
+    }
+  }
+}
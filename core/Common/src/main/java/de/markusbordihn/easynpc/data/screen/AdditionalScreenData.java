@@ -27,6 +27,7 @@ import de.markusbordihn.easynpc.data.dialog.DialogDataSet;
 import de.markusbordihn.easynpc.data.editor.EditorType;
 import de.markusbordihn.easynpc.data.objective.ObjectiveDataSet;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import java.util.Set;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 
@@ -40,27 +41,38 @@ public class AdditionalScreenData {
   private static final String EDITOR_TYPE_TAG = "EditorType";
   private static final String OBJECTIVE_DATA_TAG = "ObjectiveData";
 
-  private final ActionEventSet actionEventSet;
   private final ActionEventType actionEventType;
-  private final BaseAttributes baseAttributes;
   private final CompoundTag data;
   private final ConfigurationType configurationType;
-  private final DialogDataSet dialogDataSet;
   private final EditorType editorType;
-  private final ObjectiveDataSet objectiveDataSet;
+  private final boolean hasDialogData;
+
+  // Raw section data, which is only decoded on first access.
+  private CompoundTag actionEventData;
+  private CompoundTag baseAttributesData;
+  private CompoundTag dialogData;
+  private CompoundTag objectiveData;
+
+  private ActionEventSet actionEventSet;
+  private BaseAttributes baseAttributes;
+  private DialogDataSet dialogDataSet;
+  private ObjectiveDataSet objectiveDataSet;
 
   public AdditionalScreenData(CompoundTag compoundTag) {
-    // Processing know data.
-    this.actionEventSet = getActionEventSet(compoundTag);
+    // Processing lightweight data.
     this.actionEventType = getActionEventType(compoundTag);
-    this.baseAttributes = getBaseAttributes(compoundTag);
     this.configurationType = getConfigurationType(compoundTag);
-    this.dialogDataSet = getDialogDataSet(compoundTag);
     this.editorType = getEditorType(compoundTag);
-    this.objectiveDataSet = getObjectiveDataSet(compoundTag);
+
+    // Keep references to the data sections for lazy decoding.
+    this.actionEventData = getSectionData(compoundTag, ACTION_EVENT_DATA_TAG);
+    this.baseAttributesData = getSectionData(compoundTag, BASE_ATTRIBUTES_DATA_TAG);
+    this.dialogData = getSectionData(compoundTag, DIALOG_DATA_TAG);
+    this.hasDialogData = this.dialogData != null;
+    this.objectiveData = getSectionData(compoundTag, OBJECTIVE_DATA_TAG);
 
     // Store data and remove already processed data.
-    this.data = compoundTag;
+    this.data = compoundTag != null ? compoundTag : new CompoundTag();
     this.data.remove(ACTION_EVENT_DATA_TAG);
     this.data.remove(ACTION_EVENT_TYPE_TAG);
     this.data.remove(BASE_ATTRIBUTES_DATA_TAG);
@@ -70,6 +82,29 @@ public class AdditionalScreenData {
     this.data.remove(OBJECTIVE_DATA_TAG);
   }
 
+  private static CompoundTag getSectionData(CompoundTag compoundTag, String dataTag) {
+    return compoundTag != null && compoundTag.contains(dataTag)
+        ? compoundTag.getCompound(dataTag)
+        : null;
+  }
+
+  public static void addDataSections(
+      CompoundTag compoundTag,
+      EasyNPC<?> easyNPC,
+      Set<AdditionalScreenDataSection> additionalScreenDataSections) {
+    if (compoundTag == null || easyNPC == null || additionalScreenDataSections == null) {
+      return;
+    }
+    for (AdditionalScreenDataSection additionalScreenDataSection : additionalScreenDataSections) {
+      switch (additionalScreenDataSection) {
+        case ACTION_EVENT_SET -> addActionEventSet(compoundTag, easyNPC);
+        case BASE_ATTRIBUTES -> addBaseAttributes(compoundTag, easyNPC);
+        case DIALOG_DATA_SET -> addDialogDataSet(compoundTag, easyNPC);
+        case OBJECTIVE_DATA_SET -> addObjectiveDataSet(compoundTag, easyNPC);
+      }
+    }
+  }
+
   public static void addActionEventType(CompoundTag compoundTag, ActionEventType actionEventType) {
     if (compoundTag == null || actionEventType == null) {
       return;
@@ -205,10 +240,24 @@ public class AdditionalScreenData {
   }
 
   public ActionEventSet getActionEventSet() {
+    if (this.actionEventSet == null) {
+      this.actionEventSet =
+          this.actionEventData != null
+              ? new ActionEventSet(this.actionEventData)
+              : new ActionEventSet();
+      this.actionEventData = null;
+    }
     return this.actionEventSet;
   }
 
   public BaseAttributes getBaseAttributes() {
+    if (this.baseAttributes == null) {
+      this.baseAttributes =
+          this.baseAttributesData != null
+              ? new BaseAttributes(this.baseAttributesData)
+              : new BaseAttributes();
+      this.baseAttributesData = null;
+    }
     return this.baseAttributes;
   }
 
@@ -217,6 +266,11 @@ public class AdditionalScreenData {
   }
 
   public DialogDataSet getDialogDataSet() {
+    if (this.dialogDataSet == null) {
+      this.dialogDataSet =
+          this.dialogData != null ? new DialogDataSet(this.dialogData) : new DialogDataSet();
+      this.dialogData = null;
+    }
     return this.dialogDataSet;
   }
 
@@ -225,6 +279,13 @@ public class AdditionalScreenData {
   }
 
   public ObjectiveDataSet getObjectiveDataSet() {
+    if (this.objectiveDataSet == null) {
+      this.objectiveDataSet =
+          this.objectiveData != null
+              ? new ObjectiveDataSet(this.objectiveData)
+              : new ObjectiveDataSet();
+      this.objectiveData = null;
+    }
     return this.objectiveDataSet;
   }
 
@@ -247,6 +308,7 @@ public class AdditionalScreenData {
   }
 
   public boolean hasDialogDataSet() {
-    return this.dialogDataSet != null;
+    // Lazy decoding creates an empty dialog data set, which should not change the result.
+    return this.hasDialogData;
   }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.screen;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum AdditionalScreenDataSection {
+  ACTION_EVENT_SET,
+  BASE_ATTRIBUTES,
+  DIALOG_DATA_SET,
+  OBJECTIVE_DATA_SET;
+
+  public static Set<AdditionalScreenDataSection> of(AdditionalScreenDataSection... sections) {
+    if (sections == null || sections.length == 0) {
+      return Collections.emptySet();
+    }
+    EnumSet<AdditionalScreenDataSection> sectionSet =
+        EnumSet.noneOf(AdditionalScreenDataSection.class);
+    Collections.addAll(sectionSet, sections);
+    return Collections.unmodifiableSet(sectionSet);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.data.skin;
+
+import de.markusbordihn.easynpc.io.SkinCache;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SkinChunkAssembler {
+
+  private final String contentHash;
+  private final int numberOfChunks;
+  private final int totalSize;
+  private final byte[][] chunks;
+  private int numberOfReceivedChunks = 0;
+  private int receivedSize = 0;
+
+  public SkinChunkAssembler(String contentHash, int numberOfChunks, int totalSize) {
+    this.contentHash = contentHash;
+    this.numberOfChunks = numberOfChunks;
+    this.totalSize = totalSize;
+    this.chunks = new byte[numberOfChunks][];
+  }
+
+  public static List<byte[]> split(byte[] data, int chunkSize) {
+    List<byte[]> chunks = new ArrayList<>((data.length + chunkSize - 1) / chunkSize);
+    for (int offset = 0; offset < data.length; offset += chunkSize) {
+      chunks.add(Arrays.copyOfRange(data, offset, Math.min(data.length, offset + chunkSize)));
+    }
+    return chunks;
+  }
+
+  public static boolean isValidTransfer(int numberOfChunks, int totalSize, int maxSize) {
+    return numberOfChunks > 0
+        && totalSize > 0
+        && totalSize <= maxSize
+        && numberOfChunks <= totalSize;
+  }
+
+  public boolean matches(int numberOfChunks, int totalSize) {
+    return this.numberOfChunks == numberOfChunks && this.totalSize == totalSize;
+  }
+
+  public boolean accept(int chunkIndex, byte[] data) {
+    if (chunkIndex < 0 || chunkIndex >= this.numberOfChunks || data == null || data.length == 0) {
+      return false;
+    }
+
+    // Duplicated chunks are ignored, e.g. for repeated requests.
+    if (this.chunks[chunkIndex] != null) {
+      return true;
+    }
+    if (this.receivedSize + data.length > this.totalSize) {
+      return false;
+    }
+    this.chunks[chunkIndex] = data;
+    this.numberOfReceivedChunks++;
+    this.receivedSize += data.length;
+    return true;
+  }
+
+  public boolean isComplete() {
+    return this.numberOfReceivedChunks == this.numberOfChunks;
+  }
+
+  public byte[] getData() {
+    if (!this.isComplete() || this.receivedSize != this.totalSize) {
+      return null;
+    }
+    byte[] data = new byte[this.totalSize];
+    int offset = 0;
+    for (byte[] chunk : this.chunks) {
+      System.arraycopy(chunk, 0, data, offset, chunk.length);
+      offset += chunk.length;
+    }
+    return data;
+  }
+
+  public boolean isValid(byte[] data) {
+    return data != null && this.contentHash.equals(SkinCache.getContentHash(data));
+  }
+
+  public String getContentHash() {
+    return this.contentHash;
+  }
+
+  public int getNumberOfReceivedChunks() {
+    return this.numberOfReceivedChunks;
+  }
+}
@@ -55,6 +55,10 @@ public record SkinDataEntry(
     return new SkinDataEntry(this.name, this.url, uuid, this.type, this.content, this.timestamp);
   }
 
+  public SkinDataEntry withContent(final String content) {
+    return new SkinDataEntry(this.name, this.url, this.uuid, this.type, content, this.timestamp);
+  }
+
   public SkinDataEntry create(CompoundTag compoundTag) {
     return new SkinDataEntry(compoundTag);
   }
@@ -1,6 +1,7 @@
 package de.markusbordihn.easynpc.data.ticker;
 
 public enum TickerType {
+  ACTIVATION_CHECK,
   ATTRIBUTE_BASE_TICK,
   BASE_TICK,
   CUSTOM_OBJECTIVE_DELAYED_REGISTRATION,
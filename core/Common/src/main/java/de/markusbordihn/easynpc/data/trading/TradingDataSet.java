@@ -42,6 +42,16 @@ public class TradingDataSet {
     this.load(compoundTag);
   }
 
+  public TradingDataSet copy() {
+    TradingDataSet tradingDataSet = new TradingDataSet();
+    tradingDataSet.tradingType = this.tradingType;
+    tradingDataSet.maxUses = this.maxUses;
+    tradingDataSet.rewardedXP = this.rewardedXP;
+    tradingDataSet.resetsEveryMin = this.resetsEveryMin;
+    tradingDataSet.lastReset = this.lastReset;
+    return tradingDataSet;
+  }
+
   public TradingType getType() {
     return this.tradingType;
   }
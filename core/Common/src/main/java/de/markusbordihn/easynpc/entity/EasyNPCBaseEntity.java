@@ -20,6 +20,8 @@
 package de.markusbordihn.easynpc.entity;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.ActivationRangeConfig;
+import de.markusbordihn.easynpc.data.activation.ActivationTier;
 import de.markusbordihn.easynpc.data.server.ServerEntityData;
 import de.markusbordihn.easynpc.data.synched.SynchedDataIndex;
 import de.markusbordihn.easynpc.data.synched.SynchedEntityData;
@@ -89,6 +91,8 @@ public class EasyNPCBaseEntity<E extends PathfinderMob> extends PathfinderMob
   private SynchedEntityData synchedEntityData;
   private Player tradingPlayer;
   private FakePlayer fakePlayer;
+  private ActivationTier activationTier = ActivationTier.ACTIVE;
+  private int activationWakeUpTicks;
 
   public EasyNPCBaseEntity(
       EntityType<? extends PathfinderMob> entityType, Level level, Enum<?> variant) {
@@ -117,6 +121,26 @@ public class EasyNPCBaseEntity<E extends PathfinderMob> extends PathfinderMob
     this.tickerMap.put(tickerType, ticker);
   }
 
+  @Override
+  public ActivationTier getActivationTier() {
+    return this.activationTier;
+  }
+
+  @Override
+  public void setActivationTier(ActivationTier activationTier) {
+    this.activationTier = activationTier;
+  }
+
+  @Override
+  public int getActivationWakeUpTicks() {
+    return this.activationWakeUpTicks;
+  }
+
+  @Override
+  public void setActivationWakeUpTicks(int wakeUpTicks) {
+    this.activationWakeUpTicks = wakeUpTicks;
+  }
+
   @Override
   public void onCrossbowAttackPerformed() {
     this.noActionTime = 0;
@@ -174,6 +198,7 @@ public class EasyNPCBaseEntity<E extends PathfinderMob> extends PathfinderMob
 
   @Override
   public boolean hurt(DamageSource damageSource, float damage) {
+    this.wakeUpActivation();
     this.handleHurtEvent(damageSource, damage);
     return super.hurt(damageSource, damage);
   }
@@ -192,6 +217,7 @@ public class EasyNPCBaseEntity<E extends PathfinderMob> extends PathfinderMob
 
   @Override
   public InteractionResult mobInteract(Player player, InteractionHand hand) {
+    this.wakeUpActivation();
     return InteractionHandler.handleMobInteraction(this, player, hand);
   }
 
@@ -205,6 +231,16 @@ public class EasyNPCBaseEntity<E extends PathfinderMob> extends PathfinderMob
     return VisibilityHandler.handleIsInvisibleToPlayer(this, player, super.isInvisibleTo(player));
   }
 
+  @Override
+  public boolean isCurrentlyGlowing() {
+    return VisibilityHandler.handleIsCurrentlyGlowing(this, super.isCurrentlyGlowing());
+  }
+
+  @Override
+  public int getTeamColor() {
+    return VisibilityHandler.handleGetTeamColor(this, super.getTeamColor());
+  }
+
   @Override
   public int getNPCDataVersion() {
     return this.npcDataVersion;
@@ -382,12 +418,29 @@ public class EasyNPCBaseEntity<E extends PathfinderMob> extends PathfinderMob
 
   @Override
   public void playAmbientSound() {
+    if (this.isActivationSleeping()) {
+      return;
+    }
     this.playDefaultAmbientSound();
   }
 
   @Override
   public int getAmbientSoundInterval() {
-    return 240;
+    return 240 * Math.max(1, ActivationRangeConfig.getTickInterval(this.getActivationTier()));
+  }
+
+  @Override
+  public void setTarget(LivingEntity livingEntity) {
+    if (livingEntity != null) {
+      this.wakeUpActivation();
+    }
+    super.setTarget(livingEntity);
+  }
+
+  @Override
+  protected boolean isImmobile() {
+    // Skip goal selection and navigation for throttled NPCs on non-activation ticks.
+    return super.isImmobile() || (!this.isClientSide() && !this.isActivationTick());
   }
 
   @Override
@@ -426,6 +479,11 @@ public class EasyNPCBaseEntity<E extends PathfinderMob> extends PathfinderMob
       return;
     }
 
+    // Throttle base tick work for NPCs which are far away from any player.
+    if (!this.handleActivationTick()) {
+      return;
+    }
+
     // Handle custom objective base tick.
     this.handleCustomObjectiveBaseTick();
 
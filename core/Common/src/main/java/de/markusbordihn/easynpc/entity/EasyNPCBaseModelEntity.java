@@ -19,8 +19,10 @@
 
 package de.markusbordihn.easynpc.entity;
 
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPCBaseModel;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.syncher.EntityDataAccessor;
 import net.minecraft.world.entity.EntityDimensions;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.PathfinderMob;
@@ -34,6 +36,8 @@ public class EasyNPCBaseModelEntity<E extends PathfinderMob> extends EasyNPCBase
     EasyNPCBaseModel.registerEasyNPCSyncedData(entityDataAccessorMap, EasyNPCBaseModelEntity.class);
   }
 
+  private ModelPoseSnapshot modelPoseSnapshot;
+
   public EasyNPCBaseModelEntity(
       EntityType<? extends PathfinderMob> entityType, Level level, Enum<?> variant) {
     super(entityType, level, variant);
@@ -45,6 +49,22 @@ public class EasyNPCBaseModelEntity<E extends PathfinderMob> extends EasyNPCBase
     return super.getDimensions(pose).scale(scaleXZ, getScaleY());
   }
 
+  @Override
+  public ModelPoseSnapshot getModelPoseSnapshot() {
+    if (this.modelPoseSnapshot == null) {
+      this.modelPoseSnapshot = ModelPoseSnapshot.create(this);
+    }
+    return this.modelPoseSnapshot;
+  }
+
+  @Override
+  public void onSyncedDataUpdated(EntityDataAccessor<?> entityDataAccessor) {
+    super.onSyncedDataUpdated(entityDataAccessor);
+
+    // Model pose snapshot will be rebuilt on the next render after any synched data change.
+    this.modelPoseSnapshot = null;
+  }
+
   @Override
   protected void defineSynchedData() {
     super.defineSynchedData();
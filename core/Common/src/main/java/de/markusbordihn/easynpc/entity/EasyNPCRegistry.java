@@ -0,0 +1,243 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity;
+
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.Level;
+
+public class EasyNPCRegistry {
+
+  private final String name;
+  private final ConcurrentHashMap<UUID, EasyNPC<?>> entityMap = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<ResourceKey<Level>, ConcurrentHashMap<UUID, EasyNPC<?>>>
+      levelEntityMap = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<EntityType<?>, ConcurrentHashMap<UUID, EasyNPC<?>>>
+      typeEntityMap = new ConcurrentHashMap<>();
+
+  // Owner index, the indexed owner is stored per entity to remove outdated owner entries.
+  private final ConcurrentHashMap<UUID, ConcurrentHashMap<UUID, EasyNPC<?>>> ownerEntityMap =
+      new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<EasyNPC<?>, UUID> entityOwnerMap = new ConcurrentHashMap<>();
+
+  public EasyNPCRegistry(String name) {
+    this.name = name;
+  }
+
+  private static ResourceKey<Level> getLevelKey(EasyNPC<?> easyNPC) {
+    Level level = easyNPC.getLevel();
+    return level != null ? level.dimension() : Level.OVERWORLD;
+  }
+
+  private static EntityType<?> getEntityType(EasyNPC<?> easyNPC) {
+    Entity entity = easyNPC.getEntity();
+    return entity != null ? entity.getType() : null;
+  }
+
+  private static UUID getOwnerUUID(EasyNPC<?> easyNPC) {
+    OwnerData<?> ownerData = easyNPC.getEasyNPCOwnerData();
+    return ownerData != null ? ownerData.getOwnerUUID() : null;
+  }
+
+  public void add(EasyNPC<?> easyNPC) {
+    if (easyNPC == null) {
+      return;
+    }
+    UUID uuid = easyNPC.getUUID();
+    EasyNPC<?> previousEasyNPC = this.entityMap.put(uuid, easyNPC);
+
+    // Remove outdated entries for the same UUID, e.g. after a level change.
+    if (previousEasyNPC != null && previousEasyNPC != easyNPC) {
+      this.removeFromLevel(previousEasyNPC);
+      this.removeFromType(previousEasyNPC);
+      this.removeFromOwner(previousEasyNPC);
+    }
+    this.levelEntityMap
+        .computeIfAbsent(getLevelKey(easyNPC), key -> new ConcurrentHashMap<>())
+        .put(uuid, easyNPC);
+    EntityType<?> entityType = getEntityType(easyNPC);
+    if (entityType != null) {
+      this.typeEntityMap
+          .computeIfAbsent(entityType, key -> new ConcurrentHashMap<>())
+          .put(uuid, easyNPC);
+    }
+    this.addToOwner(easyNPC, getOwnerUUID(easyNPC));
+  }
+
+  public void updateOwner(EasyNPC<?> easyNPC) {
+    // Owner changes are only relevant for registered entities, e.g. not during the loading.
+    if (!this.contains(easyNPC)) {
+      return;
+    }
+    UUID ownerUUID = getOwnerUUID(easyNPC);
+    if (ownerUUID != null && ownerUUID.equals(this.entityOwnerMap.get(easyNPC))) {
+      return;
+    }
+    this.removeFromOwner(easyNPC);
+    this.addToOwner(easyNPC, ownerUUID);
+  }
+
+  public boolean remove(EasyNPC<?> easyNPC) {
+    if (easyNPC == null) {
+      return false;
+    }
+
+    // Only remove the entry if it is still the same entity instance.
+    boolean removed = this.entityMap.remove(easyNPC.getUUID(), easyNPC);
+    this.removeFromLevel(easyNPC);
+    this.removeFromType(easyNPC);
+    this.removeFromOwner(easyNPC);
+    return removed;
+  }
+
+  private void addToOwner(EasyNPC<?> easyNPC, UUID ownerUUID) {
+    if (ownerUUID == null) {
+      return;
+    }
+    this.entityOwnerMap.put(easyNPC, ownerUUID);
+    this.ownerEntityMap
+        .computeIfAbsent(ownerUUID, key -> new ConcurrentHashMap<>())
+        .put(easyNPC.getUUID(), easyNPC);
+  }
+
+  private void removeFromOwner(EasyNPC<?> easyNPC) {
+    UUID ownerUUID = this.entityOwnerMap.remove(easyNPC);
+    if (ownerUUID == null) {
+      return;
+    }
+    this.ownerEntityMap.computeIfPresent(
+        ownerUUID,
+        (key, ownerMap) -> {
+          ownerMap.remove(easyNPC.getUUID(), easyNPC);
+          return ownerMap.isEmpty() ? null : ownerMap;
+        });
+  }
+
+  private void removeFromLevel(EasyNPC<?> easyNPC) {
+    this.levelEntityMap.computeIfPresent(
+        getLevelKey(easyNPC),
+        (key, levelMap) -> {
+          levelMap.remove(easyNPC.getUUID(), easyNPC);
+          return levelMap.isEmpty() ? null : levelMap;
+        });
+  }
+
+  private void removeFromType(EasyNPC<?> easyNPC) {
+    EntityType<?> entityType = getEntityType(easyNPC);
+    if (entityType == null) {
+      return;
+    }
+    this.typeEntityMap.computeIfPresent(
+        entityType,
+        (key, typeMap) -> {
+          typeMap.remove(easyNPC.getUUID(), easyNPC);
+          return typeMap.isEmpty() ? null : typeMap;
+        });
+  }
+
+  public EasyNPC<?> get(UUID uuid) {
+    return uuid != null ? this.entityMap.get(uuid) : null;
+  }
+
+  public EasyNPC<?> get(ResourceKey<Level> levelKey, UUID uuid) {
+    if (levelKey == null || uuid == null) {
+      return null;
+    }
+    Map<UUID, EasyNPC<?>> levelMap = this.levelEntityMap.get(levelKey);
+    return levelMap != null ? levelMap.get(uuid) : null;
+  }
+
+  public boolean contains(EasyNPC<?> easyNPC) {
+    return easyNPC != null && this.entityMap.get(easyNPC.getUUID()) == easyNPC;
+  }
+
+  public Collection<EasyNPC<?>> getEntities() {
+    return Collections.unmodifiableCollection(this.entityMap.values());
+  }
+
+  public Collection<EasyNPC<?>> getEntities(ResourceKey<Level> levelKey) {
+    Map<UUID, EasyNPC<?>> levelMap = levelKey != null ? this.levelEntityMap.get(levelKey) : null;
+    return levelMap != null
+        ? Collections.unmodifiableCollection(levelMap.values())
+        : Collections.emptyList();
+  }
+
+  public Collection<EasyNPC<?>> getEntities(EntityType<?> entityType) {
+    Map<UUID, EasyNPC<?>> typeMap = entityType != null ? this.typeEntityMap.get(entityType) : null;
+    return typeMap != null
+        ? Collections.unmodifiableCollection(typeMap.values())
+        : Collections.emptyList();
+  }
+
+  public Collection<EasyNPC<?>> getEntitiesByOwner(UUID ownerUUID) {
+    Map<UUID, EasyNPC<?>> ownerMap = ownerUUID != null ? this.ownerEntityMap.get(ownerUUID) : null;
+    return ownerMap != null
+        ? Collections.unmodifiableCollection(ownerMap.values())
+        : Collections.emptyList();
+  }
+
+  public int getNumberOfEntitiesByOwner(UUID ownerUUID) {
+    Map<UUID, EasyNPC<?>> ownerMap = ownerUUID != null ? this.ownerEntityMap.get(ownerUUID) : null;
+    return ownerMap != null ? ownerMap.size() : 0;
+  }
+
+  public Map<UUID, EasyNPC<?>> getEntityMap() {
+    return Collections.unmodifiableMap(this.entityMap);
+  }
+
+  public int size() {
+    return this.entityMap.size();
+  }
+
+  public int size(ResourceKey<Level> levelKey) {
+    Map<UUID, EasyNPC<?>> levelMap = levelKey != null ? this.levelEntityMap.get(levelKey) : null;
+    return levelMap != null ? levelMap.size() : 0;
+  }
+
+  public void clear() {
+    this.entityMap.clear();
+    this.levelEntityMap.clear();
+    this.typeEntityMap.clear();
+    this.ownerEntityMap.clear();
+    this.entityOwnerMap.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "EasyNPCRegistry{"
+        + "name="
+        + this.name
+        + ", entities="
+        + this.entityMap.size()
+        + ", levels="
+        + this.levelEntityMap.size()
+        + ", owners="
+        + this.ownerEntityMap.size()
+        + '}';
+  }
+}
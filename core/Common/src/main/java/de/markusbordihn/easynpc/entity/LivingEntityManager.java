@@ -20,13 +20,16 @@
 package de.markusbordihn.easynpc.entity;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.faction.FactionSavedData;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
@@ -43,7 +46,9 @@ public class LivingEntityManager {
   private static final ConcurrentHashMap<String, ServerPlayer> playerNameMap =
       new ConcurrentHashMap<>();
 
-  private static final ConcurrentHashMap<UUID, EasyNPC<?>> npcEntityMap = new ConcurrentHashMap<>();
+  // Separated registries, because the integrated server and the client share the same classes.
+  private static final EasyNPCRegistry serverRegistry = new EasyNPCRegistry("server");
+  private static final EasyNPCRegistry clientRegistry = new EasyNPCRegistry("client");
 
   private static final ConcurrentHashMap<UUID, ServerPlayer> playerMap = new ConcurrentHashMap<>();
 
@@ -52,15 +57,17 @@ public class LivingEntityManager {
   public static void addEasyNPC(EasyNPC<?> easyNPC) {
     UUID uuid = easyNPC.getUUID();
     log.debug("{} [Add] EASY NPC entity {}: {}", LOG_PREFIX, easyNPC, uuid);
-    npcEntityMap.put(uuid, easyNPC);
 
     // Client side could stop here.
     if (easyNPC.isClientSide()) {
+      clientRegistry.add(easyNPC);
       return;
     }
+    serverRegistry.add(easyNPC);
+    OwnerQuotaManager.updateEasyNPC(easyNPC);
 
-    // Inform all server-side easy NPC entities about the new easyNPC.
-    for (EasyNPC<?> easyNPCChild : npcEntityMap.values()) {
+    // Inform all server-side easy NPC entities in the same level about the new easyNPC.
+    for (EasyNPC<?> easyNPCChild : serverRegistry.getEntities(easyNPC.getLevel().dimension())) {
       if (easyNPCChild != easyNPC) {
         easyNPCChild.handleEasyNPCJoin(easyNPC);
       }
@@ -69,28 +76,60 @@ public class LivingEntityManager {
 
   public static void removeEasyNPC(EasyNPC<?> easyNPC) {
     log.debug("{} [Remove] EASY NPC entity {}: {}", LOG_PREFIX, easyNPC, easyNPC.getUUID());
-    npcEntityMap.remove(easyNPC.getUUID());
 
     // Client side could stop here.
     if (easyNPC.isClientSide()) {
+      clientRegistry.remove(easyNPC);
       return;
     }
+    serverRegistry.remove(easyNPC);
+
+    // Killed or discarded NPCs leave their faction and owner, unloaded NPCs are kept.
+    Entity.RemovalReason removalReason = easyNPC.getEntity().getRemovalReason();
+    MinecraftServer minecraftServer = easyNPC.getEntity().getServer();
+    if (removalReason != null && removalReason.shouldDestroy() && minecraftServer != null) {
+      FactionSavedData.get(minecraftServer).removeFaction(easyNPC.getUUID());
+      OwnerQuotaManager.removeEasyNPC(easyNPC);
+    } else {
+      OwnerQuotaManager.updateEasyNPC(easyNPC);
+    }
 
-    // Inform all server-side easy NPC entities about the removed easyNPC.
-    for (EasyNPC<?> easyNPCChild : npcEntityMap.values()) {
+    // Inform all server-side easy NPC entities in the same level about the removed easyNPC.
+    for (EasyNPC<?> easyNPCChild : serverRegistry.getEntities(easyNPC.getLevel().dimension())) {
       if (easyNPCChild != easyNPC) {
         easyNPCChild.handleEasyNPCLeave(easyNPC);
       }
     }
   }
 
+  public static void updateEasyNPCOwner(EasyNPC<?> easyNPC) {
+    if (easyNPC == null) {
+      return;
+    }
+    if (easyNPC.isClientSide()) {
+      clientRegistry.updateOwner(easyNPC);
+    } else {
+      serverRegistry.updateOwner(easyNPC);
+
+      // Owner changes during the loading are stored when the NPC joins the level.
+      if (serverRegistry.get(easyNPC.getUUID()) == easyNPC) {
+        OwnerQuotaManager.updateEasyNPC(easyNPC);
+      }
+    }
+  }
+
   public static void addLivingEntity(LivingEntity livingEntity) {
     if (log.isTraceEnabled()) {
       log.trace("{} [Add] Living entity {}: {}", LOG_PREFIX, livingEntity, livingEntity.getUUID());
     }
 
-    // Inform all server-side easy NPC entities about the new living entity.
-    for (EasyNPC<?> easyNPC : npcEntityMap.values()) {
+    // Client side entities are not relevant for the server-side easy NPC entities.
+    if (livingEntity.level().isClientSide()) {
+      return;
+    }
+
+    // Inform all server-side easy NPC entities in the same level about the new living entity.
+    for (EasyNPC<?> easyNPC : serverRegistry.getEntities(livingEntity.level().dimension())) {
       easyNPC.handleLivingEntityJoin(livingEntity);
     }
   }
@@ -101,8 +140,13 @@ public class LivingEntityManager {
           "{} [Remove] Living entity {}: {}", LOG_PREFIX, livingEntity, livingEntity.getUUID());
     }
 
-    // Inform all server-side easy NPC entities about the leaved living entity.
-    for (EasyNPC<?> easyNPC : npcEntityMap.values()) {
+    // Client side entities are not relevant for the server-side easy NPC entities.
+    if (livingEntity.level().isClientSide()) {
+      return;
+    }
+
+    // Inform all server-side easy NPC entities in the same level about the leaved living entity.
+    for (EasyNPC<?> easyNPC : serverRegistry.getEntities(livingEntity.level().dimension())) {
       easyNPC.handleLivingEntityLeave(livingEntity);
     }
   }
@@ -113,7 +157,7 @@ public class LivingEntityManager {
     playerNameMap.put(serverPlayer.getName().getString(), serverPlayer);
 
     // Inform all server-side easy NPC entities about the new player.
-    for (EasyNPC<?> easyNPC : npcEntityMap.values()) {
+    for (EasyNPC<?> easyNPC : serverRegistry.getEntities()) {
       easyNPC.handlePlayerJoin(serverPlayer);
     }
   }
@@ -124,7 +168,7 @@ public class LivingEntityManager {
     playerNameMap.remove(serverPlayer.getName().getString());
 
     // Inform all server-side easy NPC entities about the leaved player.
-    for (EasyNPC<?> easyNPC : npcEntityMap.values()) {
+    for (EasyNPC<?> easyNPC : serverRegistry.getEntities()) {
       easyNPC.handlePlayerLeave(serverPlayer);
     }
   }
@@ -161,10 +205,11 @@ public class LivingEntityManager {
   }
 
   public static EasyNPC<?> getEasyNPCEntityByUUID(UUID uuid) {
-    if (uuid == null) {
-      return null;
-    }
-    return npcEntityMap.getOrDefault(uuid, null);
+    return serverRegistry.get(uuid);
+  }
+
+  public static EasyNPC<?> getClientEasyNPCEntityByUUID(UUID uuid) {
+    return clientRegistry.get(uuid);
   }
 
   public static ServerPlayer getPlayerByUUID(UUID uuid, ServerLevel serverLevel) {
@@ -186,7 +231,7 @@ public class LivingEntityManager {
   }
 
   public static Stream<String> getUUIDStrings() {
-    return npcEntityMap.keySet().stream().map(UUID::toString);
+    return serverRegistry.getEntityMap().keySet().stream().map(UUID::toString);
   }
 
   public static Stream<String> getUUIDStringsByOwner(ServerPlayer serverPlayer) {
@@ -202,17 +247,33 @@ public class LivingEntityManager {
 
   public static Map<UUID, Entity> getEntityMapByOwner(UUID ownerUUID) {
     HashMap<UUID, Entity> result = new HashMap<>();
-    for (var entry : npcEntityMap.entrySet()) {
-      EasyNPC<?> easyNPC = entry.getValue();
-      if (easyNPC instanceof OwnerData<?> ownerData && ownerData.isOwner(ownerUUID)) {
-        result.put(entry.getKey(), easyNPC.getEntity());
-      }
+    for (EasyNPC<?> easyNPC : serverRegistry.getEntitiesByOwner(ownerUUID)) {
+      result.put(easyNPC.getUUID(), easyNPC.getEntity());
     }
     return result;
   }
 
-  public static ConcurrentHashMap<UUID, EasyNPC<?>> getNpcEntityMap() {
-    return npcEntityMap;
+  public static int getNumberOfEasyNPCsByOwner(UUID ownerUUID) {
+    return serverRegistry.getNumberOfEntitiesByOwner(ownerUUID);
+  }
+
+  public static Map<UUID, EasyNPC<?>> getNpcEntityMap() {
+    return serverRegistry.getEntityMap();
+  }
+
+  public static EasyNPCRegistry getServerRegistry() {
+    return serverRegistry;
+  }
+
+  public static EasyNPCRegistry getClientRegistry() {
+    return clientRegistry;
+  }
+
+  public static void clearServerEntities() {
+    log.debug("{} [Clear] Server-side entities {}", LOG_PREFIX, serverRegistry);
+    serverRegistry.clear();
+    playerMap.clear();
+    playerNameMap.clear();
   }
 
   public static boolean hasAccess(UUID uuid, ServerPlayer serverPlayer) {
@@ -241,7 +302,7 @@ public class LivingEntityManager {
     EasyNPC<?> easyNPC = getEasyNPCEntityByUUID(uuid, serverLevel);
     if (easyNPC != null && easyNPC.getMob() != null) {
       easyNPC.getMob().discard();
-      npcEntityMap.remove(uuid);
+      serverRegistry.remove(easyNPC);
     } else {
       log.warn("{} [Discard] Unable to discard EASY NPC entity {}: {}", LOG_PREFIX, easyNPC, uuid);
     }
@@ -47,6 +47,7 @@ import de.markusbordihn.easynpc.entity.easynpc.data.TickerData;
 import de.markusbordihn.easynpc.entity.easynpc.data.TradingData;
 import de.markusbordihn.easynpc.entity.easynpc.data.VariantData;
 import de.markusbordihn.easynpc.entity.easynpc.handlers.ActionHandler;
+import de.markusbordihn.easynpc.entity.easynpc.handlers.ActivationHandler;
 import de.markusbordihn.easynpc.entity.easynpc.handlers.AttributeHandler;
 import de.markusbordihn.easynpc.server.player.FakePlayer;
 import java.util.Random;
@@ -192,6 +193,10 @@ public interface EasyNPC<E extends PathfinderMob> extends Npc {
     return this instanceof ActionHandler<E> actionHandler ? actionHandler : null;
   }
 
+  default ActivationHandler<E> getEasyNPCActivationHandler() {
+    return this instanceof ActivationHandler<E> activationHandler ? activationHandler : null;
+  }
+
   default AttributeHandler<E> getEasyNPCAttributeHandler() {
     return this instanceof AttributeHandler<E> attributeHandler ? attributeHandler : null;
   }
@@ -43,6 +43,7 @@ import de.markusbordihn.easynpc.entity.easynpc.data.TickerData;
 import de.markusbordihn.easynpc.entity.easynpc.data.TradingData;
 import de.markusbordihn.easynpc.entity.easynpc.data.VariantData;
 import de.markusbordihn.easynpc.entity.easynpc.handlers.ActionHandler;
+import de.markusbordihn.easynpc.entity.easynpc.handlers.ActivationHandler;
 import de.markusbordihn.easynpc.entity.easynpc.handlers.AttributeHandler;
 import de.markusbordihn.easynpc.entity.easynpc.handlers.BaseTickHandler;
 import java.util.EnumMap;
@@ -58,6 +59,7 @@ public interface EasyNPCBase<E extends PathfinderMob>
         EasyNPC<E>,
         ActionEventData<E>,
         ActionHandler<E>,
+        ActivationHandler<E>,
         AttackData<E>,
         AttributeData<E>,
         AttributeHandler<E>,
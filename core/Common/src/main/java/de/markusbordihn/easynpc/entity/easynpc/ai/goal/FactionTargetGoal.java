@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity.easynpc.ai.goal;
+
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.ai.target.FactionTargetService;
+import java.util.EnumSet;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.entity.ai.goal.target.TargetGoal;
+import net.minecraft.world.entity.ai.targeting.TargetingConditions;
+
+public class FactionTargetGoal<T extends EasyNPC<?>> extends TargetGoal {
+
+  private final TargetingConditions targetingConditions;
+  private LivingEntity factionTarget;
+
+  public FactionTargetGoal(T easyNPC, boolean mustSee, boolean mustReach) {
+    super(easyNPC.getMob(), mustSee, mustReach);
+    this.targetingConditions =
+        mustSee
+            ? TargetingConditions.forCombat()
+            : TargetingConditions.forCombat().ignoreLineOfSight();
+    this.setFlags(EnumSet.of(Goal.Flag.TARGET));
+  }
+
+  @Override
+  public boolean canUse() {
+    // Candidates are provided by a shared pass per level, instead of scanning per NPC.
+    this.factionTarget = FactionTargetService.getTarget(this.mob);
+    return this.factionTarget != null
+        && this.canAttack(
+            this.factionTarget, this.targetingConditions.range(this.getFollowDistance()));
+  }
+
+  @Override
+  public boolean canContinueToUse() {
+    LivingEntity target = this.mob.getTarget();
+    return super.canContinueToUse() && FactionTargetService.isHostile(this.mob, target);
+  }
+
+  @Override
+  public void start() {
+    this.mob.setTarget(this.factionTarget);
+    super.start();
+  }
+
+  @Override
+  public void stop() {
+    this.factionTarget = null;
+    super.stop();
+  }
+}
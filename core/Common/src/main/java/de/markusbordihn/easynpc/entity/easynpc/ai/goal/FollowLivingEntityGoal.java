@@ -20,6 +20,8 @@
 package de.markusbordihn.easynpc.entity.easynpc.ai.goal;
 
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.ai.navigation.PathService;
+import de.markusbordihn.easynpc.entity.easynpc.ai.navigation.PathService.PathResult;
 import de.markusbordihn.easynpc.entity.easynpc.data.NavigationData;
 import java.util.EnumSet;
 import net.minecraft.core.BlockPos;
@@ -45,6 +47,7 @@ public class FollowLivingEntityGoal extends Goal {
   private final LevelReader level;
   private float oldWaterCost;
   private int timeToRecalcPath;
+  private boolean pathDeferred;
 
   public FollowLivingEntityGoal(
       EasyNPC<?> easyNPC,
@@ -78,7 +81,7 @@ public class FollowLivingEntityGoal extends Goal {
 
   @Override
   public boolean canContinueToUse() {
-    if (this.pathNavigation.isDone()) {
+    if (this.pathNavigation.isDone() && !this.pathDeferred) {
       return false;
     } else {
       return this.pathfinderMob.distanceToSqr(this.livingEntity)
@@ -89,6 +92,7 @@ public class FollowLivingEntityGoal extends Goal {
   @Override
   public void start() {
     this.timeToRecalcPath = 0;
+    this.pathDeferred = false;
     this.oldWaterCost = this.pathfinderMob.getPathfindingMalus(BlockPathTypes.WATER);
     this.pathfinderMob.setPathfindingMalus(BlockPathTypes.WATER, 0.0F);
   }
@@ -110,7 +114,13 @@ public class FollowLivingEntityGoal extends Goal {
         if (this.pathfinderMob.distanceToSqr(this.livingEntity) >= 144.0D) {
           this.teleportToLivingEntity();
         } else {
-          this.pathNavigation.moveTo(this.livingEntity, this.speedModifier);
+          // Use the shared path service and retry with the next tick, if the path was deferred.
+          PathResult pathResult =
+              PathService.moveTo(this.pathfinderMob, this.livingEntity, this.speedModifier);
+          this.pathDeferred = pathResult == PathResult.DEFERRED;
+          if (this.pathDeferred) {
+            this.timeToRecalcPath = 1;
+          }
         }
       }
     }
@@ -20,6 +20,8 @@
 package de.markusbordihn.easynpc.entity.easynpc.ai.goal;
 
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.ai.navigation.PathService;
+import de.markusbordihn.easynpc.entity.easynpc.ai.navigation.PathService.PathResult;
 import de.markusbordihn.easynpc.entity.easynpc.data.NavigationData;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
@@ -39,6 +41,7 @@ public class MoveBackToHomeGoal<T extends EasyNPC<?>> extends Goal {
   protected double wantedX;
   protected double wantedY;
   protected double wantedZ;
+  private boolean pathDeferred;
 
   public MoveBackToHomeGoal(T easyNPCEntity, double speedModifier, float stopDistance) {
     this(easyNPCEntity, speedModifier, stopDistance, 240);
@@ -76,20 +79,33 @@ public class MoveBackToHomeGoal<T extends EasyNPC<?>> extends Goal {
 
   @Override
   public boolean canContinueToUse() {
-    return !this.pathfinderMob.getNavigation().isDone()
+    return (this.pathDeferred || !this.pathfinderMob.getNavigation().isDone())
         && !this.pathfinderMob.isVehicle()
         && this.pathfinderMob.getTarget() == null;
   }
 
   @Override
   public void start() {
-    this.pathfinderMob
-        .getNavigation()
-        .moveTo(this.wantedX, this.wantedY, this.wantedZ, this.speedModifier);
+    this.moveToHome();
+  }
+
+  @Override
+  public void tick() {
+    if (this.pathDeferred) {
+      this.moveToHome();
+    }
+  }
+
+  private void moveToHome() {
+    this.pathDeferred =
+        PathService.moveTo(
+                this.pathfinderMob, this.wantedX, this.wantedY, this.wantedZ, this.speedModifier)
+            == PathResult.DEFERRED;
   }
 
   @Override
   public void stop() {
+    this.pathDeferred = false;
     this.pathfinderMob.getNavigation().stop();
     super.stop();
   }
@@ -21,6 +21,8 @@ package de.markusbordihn.easynpc.entity.easynpc.ai.goal;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.ai.navigation.PathService;
+import de.markusbordihn.easynpc.entity.easynpc.ai.navigation.PathService.PathResult;
 import de.markusbordihn.easynpc.entity.easynpc.data.NavigationData;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.Entity;
@@ -33,6 +35,7 @@ public class RandomStrollAroundHomeGoal<T extends EasyNPC<?>> extends RandomStro
 
   private final NavigationData<?> navigationData;
   private final Entity entity;
+  private boolean pathDeferred;
 
   public RandomStrollAroundHomeGoal(T easyNPCEntity, double speedModifier) {
     super(easyNPCEntity.getPathfinderMob(), speedModifier, 240, false);
@@ -42,11 +45,35 @@ public class RandomStrollAroundHomeGoal<T extends EasyNPC<?>> extends RandomStro
 
   @Override
   public boolean canContinueToUse() {
-    return !this.mob.getNavigation().isDone()
+    return (this.pathDeferred || !this.mob.getNavigation().isDone())
         && !this.mob.isVehicle()
         && (!this.mob.isAggressive() || this.mob.getTarget() == null);
   }
 
+  @Override
+  public void start() {
+    this.moveToPosition();
+  }
+
+  @Override
+  public void tick() {
+    if (this.pathDeferred) {
+      this.moveToPosition();
+    }
+  }
+
+  @Override
+  public void stop() {
+    this.pathDeferred = false;
+    super.stop();
+  }
+
+  private void moveToPosition() {
+    this.pathDeferred =
+        PathService.moveTo(this.mob, this.wantedX, this.wantedY, this.wantedZ, this.speedModifier)
+            == PathResult.DEFERRED;
+  }
+
   @Override
   protected Vec3 getPosition() {
     if (this.mob.level().random.nextFloat() < 0.5F) {
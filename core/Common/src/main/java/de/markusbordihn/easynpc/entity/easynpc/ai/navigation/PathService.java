@@ -0,0 +1,271 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity.easynpc.ai.navigation;
+
+import com.google.common.collect.MapMaker;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.PathServiceConfig;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.entity.ai.navigation.PathNavigation;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class PathService {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Path Service]";
+  private static final int CLEANUP_INTERVAL = 20;
+
+  private static final Map<ServerLevel, PathService> pathServiceMap =
+      new MapMaker().weakKeys().makeMap();
+
+  // Path services are only used from the server thread of the level.
+  private final Map<PathKey, CachedPath> pathCache = new HashMap<>();
+
+  private long currentTick = -1;
+  private int nodesThisTick = 0;
+  private int nodesLastTick = 0;
+  private int maxNodesPerTick = 0;
+  private long numberOfComputedPaths = 0;
+  private long numberOfCachedPaths = 0;
+  private long numberOfDeferredPaths = 0;
+  private long numberOfComputedNodes = 0;
+
+  protected PathService() {}
+
+  public static PathService get(ServerLevel serverLevel) {
+    return pathServiceMap.computeIfAbsent(serverLevel, level -> new PathService());
+  }
+
+  public static PathResult moveTo(PathfinderMob pathfinderMob, Entity entity, double speed) {
+    if (pathfinderMob == null || entity == null) {
+      return PathResult.NOT_FOUND;
+    }
+    if (!PathServiceConfig.isEnabled()
+        || !(pathfinderMob.level() instanceof ServerLevel serverLevel)) {
+      return pathfinderMob.getNavigation().moveTo(entity, speed)
+          ? PathResult.COMPUTED
+          : PathResult.NOT_FOUND;
+    }
+    return get(serverLevel)
+        .moveTo(
+            pathfinderMob,
+            new PathKey(entity.getUUID(), null, getNavigationKey(pathfinderMob)),
+            entity.blockPosition(),
+            entity,
+            speed);
+  }
+
+  public static PathResult moveTo(
+      PathfinderMob pathfinderMob, double posX, double posY, double posZ, double speed) {
+    if (pathfinderMob == null) {
+      return PathResult.NOT_FOUND;
+    }
+    if (!PathServiceConfig.isEnabled()
+        || !(pathfinderMob.level() instanceof ServerLevel serverLevel)) {
+      return pathfinderMob.getNavigation().moveTo(posX, posY, posZ, speed)
+          ? PathResult.COMPUTED
+          : PathResult.NOT_FOUND;
+    }
+    BlockPos blockPos = BlockPos.containing(posX, posY, posZ);
+    return get(serverLevel)
+        .moveTo(
+            pathfinderMob,
+            new PathKey(null, blockPos, getNavigationKey(pathfinderMob)),
+            blockPos,
+            null,
+            speed);
+  }
+
+  private static String getNavigationKey(PathfinderMob pathfinderMob) {
+    // Paths are only shared between mobs with the same navigation type and size.
+    return pathfinderMob.getNavigation().getClass().getName()
+        + ":"
+        + Mth.ceil(pathfinderMob.getBbWidth())
+        + "x"
+        + Mth.ceil(pathfinderMob.getBbHeight());
+  }
+
+  private static double distanceToSqr(Node node, BlockPos blockPos) {
+    double x = node.x - blockPos.getX();
+    double y = node.y - blockPos.getY();
+    double z = node.z - blockPos.getZ();
+    return x * x + y * y + z * z;
+  }
+
+  private PathResult moveTo(
+      PathfinderMob pathfinderMob,
+      PathKey pathKey,
+      BlockPos targetPosition,
+      Entity entity,
+      double speed) {
+    this.updateTick(pathfinderMob.level().getGameTime());
+    PathNavigation pathNavigation = pathfinderMob.getNavigation();
+
+    // Re-use a recent path of the same target, if the mob is close to the path.
+    Path cachedPath = this.getCachedPath(pathKey, targetPosition, pathfinderMob.blockPosition());
+    if (cachedPath != null) {
+      this.numberOfCachedPaths++;
+      return pathNavigation.moveTo(cachedPath, speed) ? PathResult.CACHED : PathResult.NOT_FOUND;
+    }
+
+    // Defer the path computation to a later tick, if the node budget is exhausted.
+    // The vanilla path finder does not expose the number of visited nodes, so the budget
+    // uses a fixed cost per request plus the length of the computed path.
+    if (this.nodesThisTick >= PathServiceConfig.getNodeBudgetPerTick()) {
+      this.numberOfDeferredPaths++;
+      return PathResult.DEFERRED;
+    }
+
+    Path path =
+        entity != null
+            ? pathNavigation.createPath(entity, 1)
+            : pathNavigation.createPath(targetPosition, 1);
+    int computedNodes =
+        PathServiceConfig.getRequestCost() + (path != null ? path.getNodeCount() : 0);
+    this.nodesThisTick += computedNodes;
+    this.numberOfComputedNodes += computedNodes;
+    this.numberOfComputedPaths++;
+    if (path == null) {
+      return PathResult.NOT_FOUND;
+    }
+
+    // Store a copy of the path nodes, because the navigation could modify the path.
+    List<Node> nodes = new ArrayList<>(path.getNodeCount());
+    for (int i = 0; i < path.getNodeCount(); i++) {
+      nodes.add(path.getNode(i));
+    }
+    this.pathCache.put(
+        pathKey,
+        new CachedPath(
+            nodes, path.getTarget(), path.canReach(), targetPosition, this.currentTick));
+    return pathNavigation.moveTo(path, speed) ? PathResult.COMPUTED : PathResult.NOT_FOUND;
+  }
+
+  private Path getCachedPath(PathKey pathKey, BlockPos targetPosition, BlockPos position) {
+    CachedPath cachedPath = this.pathCache.get(pathKey);
+    if (cachedPath == null
+        || this.currentTick - cachedPath.created() > PathServiceConfig.getMaxPathAge()) {
+      return null;
+    }
+
+    // Check if the target moved too far away from the cached target position.
+    int reuseDistance = PathServiceConfig.getReuseDistance();
+    if (cachedPath.targetPosition().distSqr(targetPosition) > reuseDistance * reuseDistance) {
+      return null;
+    }
+
+    // Find the closest node of the shared path to join the path from there.
+    List<Node> nodes = cachedPath.nodes();
+    int joinDistance = PathServiceConfig.getJoinDistance();
+    double closestDistance = (double) joinDistance * joinDistance;
+    int closestNode = -1;
+    for (int i = 0; i < nodes.size(); i++) {
+      double distance = distanceToSqr(nodes.get(i), position);
+      if (distance <= closestDistance) {
+        closestDistance = distance;
+        closestNode = i;
+      }
+    }
+    if (closestNode < 0) {
+      return null;
+    }
+    return new Path(
+        new ArrayList<>(nodes.subList(closestNode, nodes.size())),
+        cachedPath.target(),
+        cachedPath.reached());
+  }
+
+  private void updateTick(long gameTime) {
+    if (gameTime == this.currentTick) {
+      return;
+    }
+    this.nodesLastTick = this.currentTick == gameTime - 1 ? this.nodesThisTick : 0;
+    this.maxNodesPerTick = Math.max(this.maxNodesPerTick, this.nodesThisTick);
+    this.nodesThisTick = 0;
+    this.currentTick = gameTime;
+
+    // Remove outdated paths from time to time.
+    if (gameTime % CLEANUP_INTERVAL == 0 && !this.pathCache.isEmpty()) {
+      int maxPathAge = PathServiceConfig.getMaxPathAge();
+      this.pathCache.values().removeIf(cachedPath -> gameTime - cachedPath.created() > maxPathAge);
+    }
+  }
+
+  public int getNodesThisTick() {
+    return this.nodesThisTick;
+  }
+
+  public int getNodesLastTick() {
+    return this.nodesLastTick;
+  }
+
+  public int getMaxNodesPerTick() {
+    return this.maxNodesPerTick;
+  }
+
+  public int getNumberOfCachedPathEntries() {
+    return this.pathCache.size();
+  }
+
+  public long getNumberOfComputedPaths() {
+    return this.numberOfComputedPaths;
+  }
+
+  public long getNumberOfCachedPaths() {
+    return this.numberOfCachedPaths;
+  }
+
+  public long getNumberOfDeferredPaths() {
+    return this.numberOfDeferredPaths;
+  }
+
+  public long getNumberOfComputedNodes() {
+    return this.numberOfComputedNodes;
+  }
+
+  public void clear() {
+    log.debug("{} Clearing {} cached paths", LOG_PREFIX, this.pathCache.size());
+    this.pathCache.clear();
+  }
+
+  public enum PathResult {
+    CACHED,
+    COMPUTED,
+    DEFERRED,
+    NOT_FOUND
+  }
+
+  private record PathKey(UUID targetUUID, BlockPos targetPosition, String navigationKey) {}
+
+  private record CachedPath(
+      List<Node> nodes, BlockPos target, boolean reached, BlockPos targetPosition, long created) {}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity.easynpc.ai.target;
+
+import com.google.common.collect.MapMaker;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.FactionTargetConfig;
+import de.markusbordihn.easynpc.data.faction.FactionSavedData;
+import de.markusbordihn.easynpc.data.objective.ObjectiveType;
+import de.markusbordihn.easynpc.entity.LivingEntityManager;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.ObjectiveData;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntitySelector;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.ChunkPos;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class FactionTargetService {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Faction Target Service]";
+
+  private static final Map<ServerLevel, FactionTargetService> factionTargetServiceMap =
+      new MapMaker().weakKeys().makeMap();
+
+  // Targets are stored by UUID, to avoid strong references to entities of the level.
+  private final Map<UUID, UUID> targetMap = new HashMap<>();
+
+  private long lastUpdateTick = -1;
+  private long numberOfPasses = 0;
+  private int numberOfMembers = 0;
+  private int numberOfSeekers = 0;
+  private int numberOfTargets = 0;
+
+  protected FactionTargetService() {}
+
+  public static FactionTargetService get(ServerLevel serverLevel) {
+    return factionTargetServiceMap.computeIfAbsent(
+        serverLevel, level -> new FactionTargetService());
+  }
+
+  public static LivingEntity getTarget(Mob mob) {
+    if (mob == null || !(mob.level() instanceof ServerLevel serverLevel)) {
+      return null;
+    }
+    FactionTargetService factionTargetService = get(serverLevel);
+    factionTargetService.update(serverLevel);
+    UUID targetUUID = factionTargetService.targetMap.get(mob.getUUID());
+    Entity target = targetUUID != null ? serverLevel.getEntity(targetUUID) : null;
+    return target instanceof LivingEntity livingEntity && livingEntity.isAlive()
+        ? livingEntity
+        : null;
+  }
+
+  public static boolean isHostile(Entity entity, Entity otherEntity) {
+    if (entity == null
+        || otherEntity == null
+        || !(entity.level() instanceof ServerLevel serverLevel)) {
+      return false;
+    }
+    return FactionSavedData.get(serverLevel.getServer())
+        .isHostile(entity.getUUID(), otherEntity.getUUID());
+  }
+
+  private static boolean isSeeker(EasyNPC<?> easyNPC) {
+    ObjectiveData<?> objectiveData = easyNPC.getEasyNPCObjectiveData();
+    return objectiveData != null
+        && objectiveData.hasObjective(ObjectiveType.ATTACK_HOSTILE_FACTION);
+  }
+
+  private void update(ServerLevel serverLevel) {
+    // Only one shared pass per level and scan interval, regardless of the number of NPCs.
+    long gameTime = serverLevel.getGameTime();
+    if (this.lastUpdateTick >= 0
+        && gameTime >= this.lastUpdateTick
+        && gameTime - this.lastUpdateTick < FactionTargetConfig.getScanInterval()) {
+      return;
+    }
+    this.lastUpdateTick = gameTime;
+    this.targetMap.clear();
+    this.numberOfPasses++;
+
+    FactionSavedData factionSavedData = FactionSavedData.get(serverLevel.getServer());
+    if (factionSavedData.getMembers().isEmpty()) {
+      this.numberOfMembers = 0;
+      this.numberOfSeekers = 0;
+      this.numberOfTargets = 0;
+      return;
+    }
+
+    // Sort all faction members of this level into a coarse spatial grid.
+    int cellSize = FactionTargetConfig.getCellSize();
+    Map<Long, List<Member>> cellMap = new HashMap<>();
+    Map<String, Boolean> hostileFactionMap = new HashMap<>();
+    List<Member> seekers = new ArrayList<>();
+    int members = 0;
+    for (EasyNPC<?> easyNPC :
+        LivingEntityManager.getServerRegistry().getEntities(serverLevel.dimension())) {
+      LivingEntity livingEntity = easyNPC.getLivingEntity();
+      Member member = this.addMember(livingEntity, factionSavedData, cellSize, cellMap);
+      if (member == null) {
+        continue;
+      }
+      members++;
+      if (isSeeker(easyNPC)
+          && hostileFactionMap.computeIfAbsent(
+              member.faction(), factionSavedData::hasHostileRelations)) {
+        seekers.add(member);
+      }
+    }
+    for (ServerPlayer serverPlayer : serverLevel.players()) {
+      if (EntitySelector.NO_CREATIVE_OR_SPECTATOR.test(serverPlayer)
+          && this.addMember(serverPlayer, factionSavedData, cellSize, cellMap) != null) {
+        members++;
+      }
+    }
+
+    // Find the nearest hostile member for each seeker in the surrounding cells only.
+    int targetRange = FactionTargetConfig.getTargetRange();
+    double targetRangeSqr = (double) targetRange * targetRange;
+    int cellRange = Mth.ceil((double) targetRange / cellSize);
+    for (Member seeker : seekers) {
+      Member nearestTarget = null;
+      double nearestDistanceSqr = targetRangeSqr;
+      for (int cellX = seeker.cellX() - cellRange; cellX <= seeker.cellX() + cellRange; cellX++) {
+        for (int cellZ = seeker.cellZ() - cellRange;
+            cellZ <= seeker.cellZ() + cellRange;
+            cellZ++) {
+          List<Member> cellMembers = cellMap.get(ChunkPos.asLong(cellX, cellZ));
+          if (cellMembers == null) {
+            continue;
+          }
+          for (Member candidate : cellMembers) {
+            if (candidate.entity() == seeker.entity()
+                || !factionSavedData
+                    .getRelation(seeker.faction(), candidate.faction())
+                    .isHostile()) {
+              continue;
+            }
+            double distanceSqr = seeker.entity().distanceToSqr(candidate.entity());
+            if (distanceSqr < nearestDistanceSqr) {
+              nearestDistanceSqr = distanceSqr;
+              nearestTarget = candidate;
+            }
+          }
+        }
+      }
+      if (nearestTarget != null) {
+        this.targetMap.put(seeker.entity().getUUID(), nearestTarget.entity().getUUID());
+      }
+    }
+
+    this.numberOfMembers = members;
+    this.numberOfSeekers = seekers.size();
+    this.numberOfTargets = this.targetMap.size();
+    log.debug(
+        "{} Pass for {} with {} members, {} seekers and {} targets.",
+        LOG_PREFIX,
+        serverLevel.dimension().location(),
+        this.numberOfMembers,
+        this.numberOfSeekers,
+        this.numberOfTargets);
+  }
+
+  private Member addMember(
+      LivingEntity livingEntity,
+      FactionSavedData factionSavedData,
+      int cellSize,
+      Map<Long, List<Member>> cellMap) {
+    if (livingEntity == null || !livingEntity.isAlive()) {
+      return null;
+    }
+    String faction = factionSavedData.getFaction(livingEntity.getUUID());
+    if (faction == null) {
+      return null;
+    }
+    Member member =
+        new Member(
+            livingEntity,
+            faction,
+            Mth.floor(livingEntity.getX() / cellSize),
+            Mth.floor(livingEntity.getZ() / cellSize));
+    cellMap
+        .computeIfAbsent(ChunkPos.asLong(member.cellX(), member.cellZ()), key -> new ArrayList<>())
+        .add(member);
+    return member;
+  }
+
+  public void clear() {
+    this.targetMap.clear();
+    this.lastUpdateTick = -1;
+  }
+
+  public long getNumberOfPasses() {
+    return this.numberOfPasses;
+  }
+
+  public int getNumberOfMembers() {
+    return this.numberOfMembers;
+  }
+
+  public int getNumberOfSeekers() {
+    return this.numberOfSeekers;
+  }
+
+  public int getNumberOfTargets() {
+    return this.numberOfTargets;
+  }
+
+  private record Member(LivingEntity entity, String faction, int cellX, int cellZ) {}
+}
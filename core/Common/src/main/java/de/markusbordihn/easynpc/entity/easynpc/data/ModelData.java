@@ -22,6 +22,7 @@ package de.markusbordihn.easynpc.entity.easynpc.data;
 import de.markusbordihn.easynpc.data.model.ModelArmPose;
 import de.markusbordihn.easynpc.data.model.ModelPart;
 import de.markusbordihn.easynpc.data.model.ModelPose;
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
 import de.markusbordihn.easynpc.data.scale.CustomScale;
 import de.markusbordihn.easynpc.data.synched.SynchedDataIndex;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
@@ -173,6 +174,10 @@ public interface ModelData<T extends PathfinderMob>
     setSynchedEntityData(SynchedDataIndex.MODEL_RIGHT_LEG_SCALE, modelRightLegScale);
   }
 
+  default ModelPoseSnapshot getModelPoseSnapshot() {
+    return ModelPoseSnapshot.create(this);
+  }
+
   default boolean useSmartAnimations() {
     return supportsSmartAnimations()
         && getModelSupportsSmartAnimations()
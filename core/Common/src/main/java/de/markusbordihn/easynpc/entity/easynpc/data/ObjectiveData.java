@@ -20,6 +20,7 @@
 package de.markusbordihn.easynpc.entity.easynpc.data;
 
 import de.markusbordihn.easynpc.data.attribute.EntityAttributes;
+import de.markusbordihn.easynpc.data.faction.FactionSavedData;
 import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
 import de.markusbordihn.easynpc.data.objective.ObjectiveDataSet;
 import de.markusbordihn.easynpc.data.objective.ObjectiveType;
@@ -35,6 +36,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.PathfinderMob;
@@ -55,6 +57,9 @@ public interface ObjectiveData<T extends PathfinderMob> extends EasyNPC<T> {
           ServerDataIndex.OBJECTIVE_PLAYER_SET,
           EntityDataSerializersManager.TARGETED_PLAYER_HASH_SET);
   int CUSTOM_OBJECTIVE_DELAYED_REGISTRATION_TICK = 20 * 15;
+  Set<ObjectiveType> STANDARD_OBJECTIVE_TYPES =
+      Set.of(ObjectiveType.LOOK_AT_RESET, ObjectiveType.LOOK_AT_PLAYER, ObjectiveType.LOOK_AT_MOB);
+  String DATA_FACTION_TAG = "Faction";
   String DATA_HAS_ENTITY_TARGET_TAG = "HasEntityTarget";
   String DATA_HAS_OBJECTIVE_TAG = "HasObjectives";
   String DATA_HAS_PLAYER_TARGET_TAG = "HasPlayerTarget";
@@ -69,6 +74,26 @@ public interface ObjectiveData<T extends PathfinderMob> extends EasyNPC<T> {
     getEasyNPCServerData().setServerEntityData(CUSTOM_DATA_OBJECTIVE_DATA_SET, objectiveDataSet);
   }
 
+  default void updateObjectiveDataSet(ObjectiveDataSet objectiveDataSet) {
+    // Keep unchanged objectives with their goals and only unregister changed or removed ones.
+    ObjectiveDataSet existingObjectiveDataSet = this.getObjectiveDataSet();
+    if (this.isServerSide()
+        && existingObjectiveDataSet != null
+        && existingObjectiveDataSet != objectiveDataSet) {
+      for (ObjectiveDataEntry existingObjectiveDataEntry :
+          existingObjectiveDataSet.getObjectiveEntries()) {
+        if (existingObjectiveDataEntry.hasSameParameters(
+            objectiveDataSet.getObjective(existingObjectiveDataEntry.getId()))) {
+          objectiveDataSet.addObjective(existingObjectiveDataEntry);
+        } else {
+          this.unregisterCustomObjectiveGoals(existingObjectiveDataEntry);
+        }
+      }
+    }
+    this.setObjectiveDataSet(objectiveDataSet);
+    this.registerCustomObjectives();
+  }
+
   default boolean hasObjective(String objectiveId) {
     return getObjectiveDataSet() != null && getObjectiveDataSet().hasObjective(objectiveId);
   }
@@ -198,12 +223,9 @@ public interface ObjectiveData<T extends PathfinderMob> extends EasyNPC<T> {
     if (this.isClientSide()) {
       return;
     }
-    for (ObjectiveDataEntry objectiveDataEntry : getObjectiveDataSet().getObjectives()) {
-      if (objectiveDataEntry != null
-          && objectiveDataEntry.getType() != ObjectiveType.NONE
-          && (!objectiveDataEntry.hasValidTarget(this) || !objectiveDataEntry.isRegistered())) {
-        log.debug("Refresh Objective {} for {}", objectiveDataEntry, this);
-        addOrUpdateCustomObjective(objectiveDataEntry);
+    for (ObjectiveDataEntry objectiveDataEntry : getObjectiveDataSet().getObjectiveEntries()) {
+      if (objectiveDataEntry != null && objectiveDataEntry.getType() != ObjectiveType.NONE) {
+        this.syncCustomObjectiveGoals(objectiveDataEntry);
       }
     }
   }
@@ -250,18 +272,21 @@ public interface ObjectiveData<T extends PathfinderMob> extends EasyNPC<T> {
     if (this.isClientSide()) {
       return;
     }
-    Set<ObjectiveDataEntry> objectives = this.getObjectiveDataSet().getObjectives();
-    if (objectives == null || objectives.isEmpty()) {
+    ObjectiveDataSet objectiveDataSet = this.getObjectiveDataSet();
+    if (objectiveDataSet == null || !objectiveDataSet.hasObjectives()) {
       return;
     }
     log.debug("Register custom objectives for {}", this);
     GoalSelector targetSelector = this.getEntityTargetSelector();
-    for (ObjectiveDataEntry objectiveDataEntry : objectives) {
-      addOrUpdateCustomObjective(objectiveDataEntry);
+    for (ObjectiveDataEntry objectiveDataEntry : objectiveDataSet.getObjectiveEntries()) {
+      this.syncCustomObjectiveGoals(objectiveDataEntry);
     }
 
     // Reset targets if any target objective was registered.
-    if (!targetSelector.getAvailableGoals().isEmpty()) {
+    if (!targetSelector.getAvailableGoals().isEmpty()
+        && targetSelector.getAvailableGoals().stream()
+            .noneMatch(
+                wrappedGoal -> wrappedGoal.getGoal() instanceof ResetUniversalAngerTargetGoal)) {
       log.debug("- Register reset universal anger target for {}", this);
       targetSelector.addGoal(4, new ResetUniversalAngerTargetGoal<>(this, false));
     }
@@ -273,46 +298,89 @@ public interface ObjectiveData<T extends PathfinderMob> extends EasyNPC<T> {
       return false;
     }
 
-    boolean addedCustomObjective = false;
+    // Compare with the already known objective, to re-use the existing goal instances.
+    ObjectiveDataSet objectiveDataSet = this.getObjectiveDataSet();
+    ObjectiveDataEntry existingObjectiveDataEntry =
+        objectiveDataSet.getObjective(objectiveDataEntry.getId());
+    if (existingObjectiveDataEntry != null && existingObjectiveDataEntry != objectiveDataEntry) {
+      if (existingObjectiveDataEntry.hasSameParameters(objectiveDataEntry)) {
+        log.debug("- Keep unchanged objective {} for {}", existingObjectiveDataEntry, this);
+        objectiveDataEntry = existingObjectiveDataEntry;
+      } else {
+        log.debug("- Replace changed objective {} for {}", existingObjectiveDataEntry, this);
+        this.unregisterCustomObjectiveGoals(existingObjectiveDataEntry);
+      }
+    }
 
-    // Handle goal specific objectives.
+    // Add objective data to set, regardless if goal or target was added.
+    if (objectiveDataEntry != existingObjectiveDataEntry) {
+      objectiveDataSet.addObjective(objectiveDataEntry);
+    }
+    return this.syncCustomObjectiveGoals(objectiveDataEntry);
+  }
+
+  default boolean syncCustomObjectiveGoals(ObjectiveDataEntry objectiveDataEntry) {
+    // Re-register goals only if the priority was changed in the meantime.
+    int priority = objectiveDataEntry.getPriority();
+    if (objectiveDataEntry.isRegistered()
+        && objectiveDataEntry.getRegisteredPriority() != priority) {
+      this.unregisterCustomObjectiveGoals(objectiveDataEntry);
+    }
+
+    // Handle goal specific objectives, which requires a valid target.
     Goal goal = objectiveDataEntry.getGoal(this);
     if (goal != null) {
-      GoalSelector goalSelector = this.getEntityGoalSelector();
-      if (!objectiveDataEntry.hasValidTarget(this)) {
-        if (this.hasObjective(objectiveDataEntry.getId()) && objectiveDataEntry.isRegistered()) {
-          log.warn(
-              "- Removing existing goal {} for {} because target was not found! Will try later again.",
-              goal,
-              this);
-        }
-        goalSelector.removeGoal(goal);
-      } else {
+      boolean hasValidTarget = objectiveDataEntry.hasValidTarget(this);
+      if (hasValidTarget && !objectiveDataEntry.isGoalRegistered()) {
         log.debug("- Adding goal {} for {}", goal, this);
-        goalSelector.removeGoal(goal);
-        goalSelector.addGoal(objectiveDataEntry.getPriority(), goal);
-        addedCustomObjective = true;
+        this.getEntityGoalSelector().addGoal(priority, goal);
+        objectiveDataEntry.setGoalRegistered(true);
+      } else if (!hasValidTarget && objectiveDataEntry.isGoalRegistered()) {
+        log.warn(
+            "- Removing existing goal {} for {} because target was not found! Will try later again.",
+            goal,
+            this);
+        this.getEntityGoalSelector().removeGoal(goal);
+        objectiveDataEntry.setGoalRegistered(false);
       }
     }
 
     // Handle target specific objectives.
     Goal target = objectiveDataEntry.getTarget(this);
-    if (target != null) {
+    if (target != null && !objectiveDataEntry.isTargetRegistered()) {
       log.debug("- Adding target goal {} for {}", target, this);
-      GoalSelector targetSelector = this.getEntityTargetSelector();
-      targetSelector.removeGoal(target);
-      targetSelector.addGoal(objectiveDataEntry.getPriority(), target);
-      addedCustomObjective = true;
+      this.getEntityTargetSelector().addGoal(priority, target);
+      objectiveDataEntry.setTargetRegistered(true);
     }
 
     // Set registered flag.
-    objectiveDataEntry.setRegistered(addedCustomObjective);
-
-    // Add objective data to set, regardless if goal or target was added.
-    getObjectiveDataSet().addObjective(objectiveDataEntry);
+    objectiveDataEntry.setRegistered(
+        objectiveDataEntry.isGoalRegistered() || objectiveDataEntry.isTargetRegistered());
+    objectiveDataEntry.setRegisteredPriority(objectiveDataEntry.isRegistered() ? priority : -1);
     return objectiveDataEntry.isRegistered();
   }
 
+  default void unregisterCustomObjectiveGoals(ObjectiveDataEntry objectiveDataEntry) {
+    if (objectiveDataEntry.isGoalRegistered()) {
+      Goal goal = objectiveDataEntry.getGoal(this);
+      if (goal != null) {
+        log.debug("- Removing goal {} for {}", goal, this);
+        this.getEntityGoalSelector().removeGoal(goal);
+      }
+      objectiveDataEntry.setGoalRegistered(false);
+    }
+    if (objectiveDataEntry.isTargetRegistered()) {
+      Goal target = objectiveDataEntry.getTarget(this);
+      if (target != null) {
+        log.debug("- Removing target goal {} for {}", target, this);
+        this.getEntityTargetSelector().removeGoal(target);
+      }
+      objectiveDataEntry.setTargetRegistered(false);
+    }
+    objectiveDataEntry.setRegistered(false);
+    objectiveDataEntry.setRegisteredPriority(-1);
+  }
+
   default void handleCustomObjectiveBaseTick() {
     TickerData<?> tickerData = this.getEasyNPCTickerData();
     if (tickerData.checkAndIncreaseTicker(
@@ -354,16 +422,18 @@ public interface ObjectiveData<T extends PathfinderMob> extends EasyNPC<T> {
       log.error("- Unable to remove custom objective for {}!", this);
       return false;
     }
-
     if (goal != null) {
       log.debug("- Removing goal {} for {}", goal, this);
       this.getEntityGoalSelector().removeGoal(goal);
     }
-
     if (target != null) {
       log.debug("- Removing target goal {} for {}", target, this);
       this.getEntityTargetSelector().removeGoal(target);
     }
+    objectiveDataEntry.setGoalRegistered(false);
+    objectiveDataEntry.setTargetRegistered(false);
+    objectiveDataEntry.setRegistered(false);
+    objectiveDataEntry.setRegisteredPriority(-1);
 
     return this.getObjectiveDataSet().removeObjective(objectiveDataEntry);
   }
@@ -401,6 +471,16 @@ public interface ObjectiveData<T extends PathfinderMob> extends EasyNPC<T> {
       if (this.hasEntityTargetObjectives()) {
         objectiveTag.putBoolean(DATA_HAS_ENTITY_TARGET_TAG, this.hasEntityTargetObjectives());
       }
+
+      // Store the faction with the NPC as well, so that copies of the NPC keep their faction.
+      MinecraftServer minecraftServer = this.getEntity().getServer();
+      String faction =
+          minecraftServer != null
+              ? FactionSavedData.get(minecraftServer).getFaction(this.getUUID())
+              : null;
+      if (faction != null) {
+        objectiveTag.putString(DATA_FACTION_TAG, faction);
+      }
     }
 
     compoundTag.put(DATA_OBJECTIVE_DATA_TAG, objectiveTag);
@@ -416,9 +496,16 @@ public interface ObjectiveData<T extends PathfinderMob> extends EasyNPC<T> {
     // Read objective data set
     CompoundTag objectiveDataTag = compoundTag.getCompound(DATA_OBJECTIVE_DATA_TAG);
     if (objectiveDataTag.contains(ObjectiveDataSet.DATA_OBJECTIVE_DATA_SET_TAG)) {
-      ObjectiveDataSet objectiveDataSet = new ObjectiveDataSet(objectiveDataTag);
-      this.setObjectiveDataSet(objectiveDataSet);
-      this.registerCustomObjectives();
+      this.updateObjectiveDataSet(new ObjectiveDataSet(objectiveDataTag));
+    }
+
+    // Register faction membership for the current UUID of the NPC.
+    if (objectiveDataTag.contains(DATA_FACTION_TAG) && this.isServerSide()) {
+      MinecraftServer minecraftServer = this.getEntity().getServer();
+      if (minecraftServer != null) {
+        FactionSavedData.get(minecraftServer)
+            .setFaction(this.getUUID(), objectiveDataTag.getString(DATA_FACTION_TAG));
+      }
     }
 
     // Re-Register standard objectives for legacy NPCs.
@@ -66,6 +66,10 @@ public interface SkinData<T extends PathfinderMob> extends EasyNPC<T> {
     return getSkinDataEntry().uuid();
   }
 
+  default String getSkinContent() {
+    return getSkinDataEntry().content();
+  }
+
   default SkinType getSkinType() {
     return getSkinDataEntry().type();
   }
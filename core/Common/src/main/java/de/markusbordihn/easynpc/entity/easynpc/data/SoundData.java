@@ -24,6 +24,7 @@ import de.markusbordihn.easynpc.data.sound.SoundDataSet;
 import de.markusbordihn.easynpc.data.sound.SoundType;
 import de.markusbordihn.easynpc.data.synched.SynchedDataIndex;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.sound.SoundBudgetService;
 import de.markusbordihn.easynpc.network.syncher.EntityDataSerializersManager;
 import java.util.EnumMap;
 import net.minecraft.core.BlockPos;
@@ -136,12 +137,17 @@ public interface SoundData<E extends PathfinderMob> extends EasyNPC<E> {
     SoundDataEntry soundDataEntry = this.getDefaultSound(soundType);
     if (soundDataEntry.isEnabled() && soundDataEntry.getVolume() > 0.0F) {
       SoundEvent soundEvent = soundDataEntry.getSoundEvent();
-      if (soundEvent != null) {
-        entity.playSound(
-            soundEvent,
-            soundDataEntry.getVolume(),
-            soundDataEntry.getPitch()
-                + (EasyNPC.randomNumber.nextFloat() - EasyNPC.randomNumber.nextFloat()) * 0.3F);
+      if (soundEvent == null) {
+        return;
+      }
+      float pitch =
+          soundDataEntry.getPitch()
+              + (EasyNPC.randomNumber.nextFloat() - EasyNPC.randomNumber.nextFloat()) * 0.3F;
+
+      // Sounds with a budget are collected and started at the end of the server tick.
+      if (!SoundBudgetService.playSound(
+          entity, soundType, soundEvent, soundDataEntry.getVolume(), pitch)) {
+        entity.playSound(soundEvent, soundDataEntry.getVolume(), pitch);
       }
     }
   }
@@ -282,6 +282,12 @@ public interface ActionHandler<E extends PathfinderMob> extends EasyNPC<E> {
     for (ActionDataEntry actionDataEntry : actionDataSet.getEntries()) {
       ActionDataType actionType = actionDataEntry.actionDataType();
 
+      // Skip actions, which conditions are not met for the player.
+      if (!actionDataEntry.conditionsMet(serverPlayer, this.getLivingEntity())) {
+        log.debug("Ignoring {} action because its conditions are not met.", actionType);
+        continue;
+      }
+
       // Check for close dialog action and execute it at the end.
       if (actionType == ActionDataType.CLOSE_DIALOG) {
         if (closeDialogAction == null) {
@@ -318,16 +324,25 @@ public interface ActionHandler<E extends PathfinderMob> extends EasyNPC<E> {
         hasScreenAction = true;
       }
 
-      this.executeAction(actionDataEntry, serverPlayer);
+      this.performAction(actionDataEntry, serverPlayer);
     }
 
     // Execute close dialog action at the end.
     if (closeDialogAction != null) {
-      this.executeAction(closeDialogAction, serverPlayer);
+      this.performAction(closeDialogAction, serverPlayer);
     }
   }
 
   default void executeAction(ActionDataEntry actionDataEntry, ServerPlayer serverPlayer) {
+    // The action data itself is validated by performAction.
+    if (actionDataEntry == null
+        || !actionDataEntry.conditionsMet(serverPlayer, this.getLivingEntity())) {
+      return;
+    }
+    this.performAction(actionDataEntry, serverPlayer);
+  }
+
+  default void performAction(ActionDataEntry actionDataEntry, ServerPlayer serverPlayer) {
     if (!validateActionData(actionDataEntry, serverPlayer)) {
       return;
     }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity.easynpc.handlers;
+
+import de.markusbordihn.easynpc.config.ActivationRangeConfig;
+import de.markusbordihn.easynpc.data.action.ActionManager;
+import de.markusbordihn.easynpc.data.activation.ActivationTier;
+import de.markusbordihn.easynpc.data.objective.ObjectiveGroup;
+import de.markusbordihn.easynpc.data.ticker.TickerType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.ObjectiveData;
+import de.markusbordihn.easynpc.entity.easynpc.data.SpawnerData;
+import de.markusbordihn.easynpc.entity.easynpc.data.TickerData;
+import de.markusbordihn.easynpc.entity.easynpc.data.TradingData;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntitySelector;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+public interface ActivationHandler<E extends PathfinderMob> extends EasyNPC<E> {
+
+  int ACTIVATION_CHECK_TICK = 20;
+
+  ActivationTier getActivationTier();
+
+  void setActivationTier(ActivationTier activationTier);
+
+  int getActivationWakeUpTicks();
+
+  void setActivationWakeUpTicks(int wakeUpTicks);
+
+  default void wakeUpActivation() {
+    if (this.isClientSide() || !ActivationRangeConfig.isEnabled()) {
+      return;
+    }
+    if (this.getActivationTier() != ActivationTier.ACTIVE) {
+      log.debug("Wake up {} from activation tier {}", this, this.getActivationTier());
+    }
+    this.setActivationWakeUpTicks(ActivationRangeConfig.getWakeUpTicks());
+    this.setActivationTier(ActivationTier.ACTIVE);
+  }
+
+  default boolean isActivationSleeping() {
+    return this.getActivationTier() == ActivationTier.SLEEP;
+  }
+
+  default boolean isActivationTick() {
+    ActivationTier activationTier = this.getActivationTier();
+    if (activationTier == ActivationTier.ACTIVE) {
+      return true;
+    }
+    int tickInterval = ActivationRangeConfig.getTickInterval(activationTier);
+    if (tickInterval <= 0) {
+      return false;
+    }
+
+    // Spread the reduced ticks of different NPCs over several server ticks.
+    Entity entity = this.getEntity();
+    return (entity.tickCount + entity.getId()) % tickInterval == 0;
+  }
+
+  default boolean handleActivationTick() {
+    if (!ActivationRangeConfig.isEnabled()) {
+      return true;
+    }
+
+    // Count down wake-up ticks, to keep the NPC active for a while.
+    int wakeUpTicks = this.getActivationWakeUpTicks();
+    if (wakeUpTicks > 0) {
+      this.setActivationWakeUpTicks(wakeUpTicks - 1);
+    }
+
+    // Re-evaluate the activation tier only from time to time.
+    TickerData<E> tickerData = this.getEasyNPCTickerData();
+    if (tickerData.checkAndIncreaseTicker(TickerType.ACTIVATION_CHECK, ACTIVATION_CHECK_TICK)) {
+      this.updateActivationTier();
+      tickerData.resetTicker(TickerType.ACTIVATION_CHECK);
+    }
+
+    return this.isActivationTick();
+  }
+
+  default void updateActivationTier() {
+    ActivationTier activationTier = this.calculateActivationTier();
+    if (activationTier != this.getActivationTier()) {
+      log.debug(
+          "Change activation tier for {} from {} to {}",
+          this,
+          this.getActivationTier(),
+          activationTier);
+      this.setActivationTier(activationTier);
+    }
+  }
+
+  default ActivationTier calculateActivationTier() {
+    if (!ActivationRangeConfig.isEnabled()
+        || this.getActivationWakeUpTicks() > 0
+        || this.isActivationExempt()) {
+      return ActivationTier.ACTIVE;
+    }
+    return ActivationRangeConfig.getActivationTier(this.getNearestPlayerDistanceSqr());
+  }
+
+  default double getNearestPlayerDistanceSqr() {
+    Entity entity = this.getEntity();
+    Level level = this.getLevel();
+    double nearestDistanceSqr = Double.MAX_VALUE;
+    if (entity == null || level == null) {
+      return nearestDistanceSqr;
+    }
+    for (Player player : level.players()) {
+      if (EntitySelector.NO_SPECTATORS.test(player)) {
+        nearestDistanceSqr = Math.min(nearestDistanceSqr, player.distanceToSqr(entity));
+      }
+    }
+    return nearestDistanceSqr;
+  }
+
+  default boolean isActivationExempt() {
+    // NPCs with an active target should never be throttled.
+    Mob mob = this.getMob();
+    if (mob != null && mob.getTarget() != null) {
+      return true;
+    }
+
+    // Check objectives which require regular updates.
+    ObjectiveData<E> objectiveData = this.getEasyNPCObjectiveData();
+    if (objectiveData != null && objectiveData.hasObjectives()) {
+      if (ActivationRangeConfig.isExemptFollowObjectives()
+          && objectiveData.hasObjectives(ObjectiveGroup.FOLLOW)) {
+        return true;
+      }
+      if (ActivationRangeConfig.isExemptAttackObjectives()
+          && objectiveData.hasObjectives(ObjectiveGroup.ATTACK_TARGET)) {
+        return true;
+      }
+    }
+
+    // Check NPCs which are managed by a spawner.
+    SpawnerData<E> spawnerData = this.getEasyNPCSpawnerData();
+    if (ActivationRangeConfig.isExemptSpawnerNPCs()
+        && spawnerData != null
+        && spawnerData.hasSpawnerUUID()) {
+      return true;
+    }
+
+    // Check for pending distance actions and open trading sessions.
+    if (ActivationRangeConfig.isExemptPendingActions()) {
+      TradingData<E> tradingData = this.getEasyNPCTradingData();
+      return ActionManager.hasPendingActions(mob)
+          || (tradingData != null && tradingData.getTradingPlayer() != null);
+    }
+
+    return false;
+  }
+}
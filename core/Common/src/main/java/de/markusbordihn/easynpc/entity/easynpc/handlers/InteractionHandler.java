@@ -64,7 +64,10 @@ public class InteractionHandler {
               .getOptional(new ResourceLocation(Constants.MOD_ID, "easy_npc_wand"))
               .orElse(null);
       if (handItem.equals(easyNPCWand)) {
-        configurationData.openMainConfigurationMenu(serverPlayer);
+        // Sneaking players are selecting the NPC with the wand instead.
+        if (!player.isSecondaryUseActive()) {
+          configurationData.openMainConfigurationMenu(serverPlayer);
+        }
         return InteractionResult.PASS;
       }
 
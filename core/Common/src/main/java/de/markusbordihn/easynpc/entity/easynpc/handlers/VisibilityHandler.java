@@ -24,6 +24,7 @@ import de.markusbordihn.easynpc.data.display.DisplayAttributeType;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.DisplayAttributeData;
 import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
+import de.markusbordihn.easynpc.item.configuration.EasyNPCWandSelection;
 import java.util.Objects;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
@@ -35,6 +36,8 @@ public class VisibilityHandler {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
+  private static final int SELECTED_COLOR = 0xFFAA00;
+
   private VisibilityHandler() {}
 
   public static boolean handleIsInvisible(EasyNPC<?> easyNPC, boolean isInvisible) {
@@ -48,6 +51,23 @@ public class VisibilityHandler {
     return isInvisible;
   }
 
+  public static boolean handleIsCurrentlyGlowing(EasyNPC<?> easyNPC, boolean isCurrentlyGlowing) {
+    // Wand highlighting is client side only and not visible for other players.
+    LivingEntity livingEntity = easyNPC.getLivingEntity();
+    return isCurrentlyGlowing
+        || (livingEntity.level().isClientSide()
+            && EasyNPCWandSelection.isHighlighted(livingEntity));
+  }
+
+  public static int handleGetTeamColor(EasyNPC<?> easyNPC, int teamColor) {
+    LivingEntity livingEntity = easyNPC.getLivingEntity();
+    if (livingEntity.level().isClientSide()
+        && EasyNPCWandSelection.isSelected(livingEntity.getUUID())) {
+      return SELECTED_COLOR;
+    }
+    return teamColor;
+  }
+
   public static boolean handleIsInvisibleToPlayer(
       EasyNPC<?> easyNPC, Player player, boolean isInvisibleToPlayers) {
 
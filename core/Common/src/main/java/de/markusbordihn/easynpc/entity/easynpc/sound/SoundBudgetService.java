@@ -0,0 +1,239 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.entity.easynpc.sound;
+
+import com.google.common.collect.MapMaker;
+import de.markusbordihn.easynpc.config.SoundBudgetConfig;
+import de.markusbordihn.easynpc.data.sound.SoundType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+
+public class SoundBudgetService {
+
+  private static final int BUDGET_WINDOW = 20;
+  private static final double DEFAULT_HEARING_RANGE = 16.0D;
+
+  private static final Map<ServerLevel, SoundBudgetService> soundBudgetServiceMap =
+      new MapMaker().weakKeys().makeMap();
+
+  // Sound budget services are only used from the server thread of the level.
+  private final List<SoundRequest> soundRequests = new ArrayList<>();
+  private final List<SoundRequest> selectedSoundRequests = new ArrayList<>();
+  private final Map<Long, int[]> clusterUsage = new HashMap<>();
+  private final Set<MergeKey> startedSounds = new HashSet<>();
+  private final EnumMap<SoundType, Long> suppressedSounds = new EnumMap<>(SoundType.class);
+
+  private long currentWindow = Long.MIN_VALUE;
+  private long numberOfRequestedSounds = 0;
+  private long numberOfPlayedSounds = 0;
+  private long numberOfMergedSounds = 0;
+  private long numberOfUnheardSounds = 0;
+
+  public SoundBudgetService() {}
+
+  public static SoundBudgetService get(ServerLevel serverLevel) {
+    return soundBudgetServiceMap.computeIfAbsent(serverLevel, level -> new SoundBudgetService());
+  }
+
+  public static boolean playSound(
+      Entity entity, SoundType soundType, SoundEvent soundEvent, float volume, float pitch) {
+    if (!(entity.level() instanceof ServerLevel serverLevel)
+        || !SoundBudgetConfig.hasBudget(soundType)) {
+      return false;
+    }
+    get(serverLevel)
+        .requestSound(
+            serverLevel,
+            entity.getX(),
+            entity.getY(),
+            entity.getZ(),
+            soundType,
+            soundEvent,
+            entity.getSoundSource(),
+            volume,
+            pitch);
+    return true;
+  }
+
+  public static void handleServerTick(MinecraftServer minecraftServer) {
+    for (ServerLevel serverLevel : minecraftServer.getAllLevels()) {
+      SoundBudgetService soundBudgetService = soundBudgetServiceMap.get(serverLevel);
+      if (soundBudgetService != null) {
+        soundBudgetService.tick(serverLevel);
+      }
+    }
+  }
+
+  public static long getClusterKey(double x, double y, double z) {
+    int clusterSize = SoundBudgetConfig.getClusterSize();
+    return SectionPos.asLong(
+        Math.floorDiv(SectionPos.blockToSectionCoord(Mth.floor(x)), clusterSize),
+        Math.floorDiv(SectionPos.blockToSectionCoord(Mth.floor(y)), clusterSize),
+        Math.floorDiv(SectionPos.blockToSectionCoord(Mth.floor(z)), clusterSize));
+  }
+
+  private static double getHearingRange(float volume) {
+    // Same range as used by the server to broadcast the sound packets.
+    return volume > 1.0F ? DEFAULT_HEARING_RANGE * volume : DEFAULT_HEARING_RANGE;
+  }
+
+  public void requestSound(
+      ServerLevel serverLevel,
+      double x,
+      double y,
+      double z,
+      SoundType soundType,
+      SoundEvent soundEvent,
+      SoundSource soundSource,
+      float volume,
+      float pitch) {
+    this.numberOfRequestedSounds++;
+
+    // Sounds without any player in hearing range are dropped before any packet is created.
+    double listenerDistanceSqr = Double.MAX_VALUE;
+    for (ServerPlayer serverPlayer : serverLevel.players()) {
+      if (!serverPlayer.isSpectator()) {
+        listenerDistanceSqr = Math.min(listenerDistanceSqr, serverPlayer.distanceToSqr(x, y, z));
+      }
+    }
+    double hearingRange = getHearingRange(volume);
+    if (listenerDistanceSqr > hearingRange * hearingRange) {
+      this.numberOfUnheardSounds++;
+      return;
+    }
+    this.addSoundRequest(
+        new SoundRequest(
+            x, y, z, soundType, soundEvent, soundSource, volume, pitch, listenerDistanceSqr));
+  }
+
+  public void addSoundRequest(SoundRequest soundRequest) {
+    this.soundRequests.add(soundRequest);
+  }
+
+  public List<SoundRequest> selectSounds(long gameTime) {
+    this.selectedSoundRequests.clear();
+    long window = Math.floorDiv(gameTime, BUDGET_WINDOW);
+    if (window != this.currentWindow) {
+      this.clusterUsage.clear();
+      this.currentWindow = window;
+    }
+    if (this.soundRequests.isEmpty()) {
+      return this.selectedSoundRequests;
+    }
+
+    // Requests closer to a listener are using the budget of their cluster first.
+    this.soundRequests.sort(Comparator.comparingDouble(SoundRequest::listenerDistanceSqr));
+    int numberOfSoundTypes = SoundType.values().length;
+    for (SoundRequest soundRequest : this.soundRequests) {
+      long clusterKey = getClusterKey(soundRequest.x(), soundRequest.y(), soundRequest.z());
+      MergeKey mergeKey = new MergeKey(clusterKey, soundRequest.soundEvent().getLocation());
+      if (this.startedSounds.contains(mergeKey)) {
+        this.numberOfMergedSounds++;
+        continue;
+      }
+      int[] usage =
+          this.clusterUsage.computeIfAbsent(clusterKey, key -> new int[numberOfSoundTypes]);
+      int soundTypeIndex = soundRequest.soundType().ordinal();
+      int budget = SoundBudgetConfig.getBudget(soundRequest.soundType());
+      if (budget > 0 && usage[soundTypeIndex] >= budget) {
+        this.suppressedSounds.merge(soundRequest.soundType(), 1L, Long::sum);
+        continue;
+      }
+      usage[soundTypeIndex]++;
+      this.startedSounds.add(mergeKey);
+      this.selectedSoundRequests.add(soundRequest);
+    }
+    this.soundRequests.clear();
+    this.startedSounds.clear();
+    this.numberOfPlayedSounds += this.selectedSoundRequests.size();
+    return this.selectedSoundRequests;
+  }
+
+  public void tick(ServerLevel serverLevel) {
+    for (SoundRequest soundRequest : this.selectSounds(serverLevel.getGameTime())) {
+      serverLevel.playSound(
+          null,
+          soundRequest.x(),
+          soundRequest.y(),
+          soundRequest.z(),
+          soundRequest.soundEvent(),
+          soundRequest.soundSource(),
+          soundRequest.volume(),
+          soundRequest.pitch());
+    }
+    this.selectedSoundRequests.clear();
+  }
+
+  public int getNumberOfPendingSounds() {
+    return this.soundRequests.size();
+  }
+
+  public long getNumberOfRequestedSounds() {
+    return this.numberOfRequestedSounds;
+  }
+
+  public long getNumberOfPlayedSounds() {
+    return this.numberOfPlayedSounds;
+  }
+
+  public long getNumberOfMergedSounds() {
+    return this.numberOfMergedSounds;
+  }
+
+  public long getNumberOfUnheardSounds() {
+    return this.numberOfUnheardSounds;
+  }
+
+  public long getNumberOfSuppressedSounds(SoundType soundType) {
+    return this.suppressedSounds.getOrDefault(soundType, 0L);
+  }
+
+  public Map<SoundType, Long> getSuppressedSounds() {
+    return this.suppressedSounds;
+  }
+
+  public record SoundRequest(
+      double x,
+      double y,
+      double z,
+      SoundType soundType,
+      SoundEvent soundEvent,
+      SoundSource soundSource,
+      float volume,
+      float pitch,
+      double listenerDistanceSqr) {}
+
+  private record MergeKey(long clusterKey, ResourceLocation soundLocation) {}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.config.ActivationRangeConfig;
+import de.markusbordihn.easynpc.data.activation.ActivationTier;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.handlers.ActivationHandler;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.phys.Vec3;
+
+public class ActivationRangeTestHelper {
+
+  private ActivationRangeTestHelper() {}
+
+  public static void testActivationTierByDistance(GameTestHelper helper) {
+    GameTestHelpers.assertTrue(
+        helper,
+        "NPC next to a player is not active!",
+        ActivationRangeConfig.getActivationTier(0) == ActivationTier.ACTIVE);
+    if (ActivationRangeConfig.isEnabled()) {
+      double outsideIdleRange = (ActivationRangeConfig.getIdleRange() + 1D);
+      GameTestHelpers.assertTrue(
+          helper,
+          "NPC outside of the idle range is not sleeping!",
+          ActivationRangeConfig.getActivationTier(outsideIdleRange * outsideIdleRange)
+              == ActivationTier.SLEEP);
+    }
+  }
+
+  public static void testPlayerReturn(GameTestHelper helper, EasyNPC<?> easyNPC) {
+    ActivationHandler<?> activationHandler = easyNPC.getEasyNPCActivationHandler();
+    GameTestHelpers.assertNotNull(helper, "ActivationHandler is null!", activationHandler);
+
+    // Remember the behaviour relevant state before the NPC is put to sleep.
+    int numberOfGoals = easyNPC.getEntityGoalSelector().getAvailableGoals().size();
+    int numberOfTargets = easyNPC.getEntityTargetSelector().getAvailableGoals().size();
+    int numberOfObjectives =
+        easyNPC.getEasyNPCObjectiveData().getObjectiveDataSet().getObjectives().size();
+
+    // Simulate that no player was around for some time.
+    activationHandler.setActivationTier(ActivationTier.SLEEP);
+    GameTestHelpers.assertTrue(
+        helper, "Sleeping NPC should not be ticked!", !activationHandler.isActivationTick());
+
+    // Player returns and the NPC should be active again.
+    GameTestHelpers.mockServerPlayer(helper, new Vec3(1, 2, 1));
+    activationHandler.updateActivationTier();
+    GameTestHelpers.assertTrue(
+        helper,
+        "NPC is not active after player returned!",
+        activationHandler.getActivationTier() == ActivationTier.ACTIVE);
+    GameTestHelpers.assertTrue(
+        helper, "Active NPC should be ticked!", activationHandler.isActivationTick());
+
+    // Goals, targets and objectives should be untouched.
+    GameTestHelpers.assertEquals(
+        helper,
+        "Goals changed after player returned!",
+        numberOfGoals,
+        easyNPC.getEntityGoalSelector().getAvailableGoals().size());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Targets changed after player returned!",
+        numberOfTargets,
+        easyNPC.getEntityTargetSelector().getAvailableGoals().size());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Objectives changed after player returned!",
+        numberOfObjectives,
+        easyNPC.getEasyNPCObjectiveData().getObjectiveDataSet().getObjectives().size());
+  }
+
+  public static void testWakeUp(GameTestHelper helper, EasyNPC<?> easyNPC) {
+    ActivationHandler<?> activationHandler = easyNPC.getEasyNPCActivationHandler();
+    GameTestHelpers.assertNotNull(helper, "ActivationHandler is null!", activationHandler);
+
+    activationHandler.setActivationTier(ActivationTier.SLEEP);
+    activationHandler.wakeUpActivation();
+    if (ActivationRangeConfig.isEnabled()) {
+      GameTestHelpers.assertTrue(
+          helper,
+          "NPC was not woken up!",
+          activationHandler.getActivationTier() == ActivationTier.ACTIVE);
+    }
+    if (ActivationRangeConfig.isEnabled() && ActivationRangeConfig.getWakeUpTicks() > 0) {
+      GameTestHelpers.assertTrue(
+          helper,
+          "Woken up NPC should stay active!",
+          activationHandler.calculateActivationTier() == ActivationTier.ACTIVE);
+    }
+  }
+}
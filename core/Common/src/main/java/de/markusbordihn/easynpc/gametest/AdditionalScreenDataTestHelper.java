@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.data.configuration.ConfigurationType;
+import de.markusbordihn.easynpc.data.dialog.DialogUtils;
+import de.markusbordihn.easynpc.data.editor.EditorType;
+import de.markusbordihn.easynpc.data.screen.AdditionalScreenData;
+import de.markusbordihn.easynpc.data.screen.AdditionalScreenDataSection;
+import de.markusbordihn.easynpc.data.screen.ScreenData;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.menu.configuration.ConfigurationMenuHandler;
+import de.markusbordihn.easynpc.menu.editor.EditorMenuHandler;
+import io.netty.buffer.Unpooled;
+import java.util.Set;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+
+public class AdditionalScreenDataTestHelper {
+
+  private static final int DIALOG_TEXT_LENGTH = 16 * 1024;
+  private static final int MAX_LIGHTWEIGHT_PAYLOAD_SIZE = 1024;
+
+  private AdditionalScreenDataTestHelper() {}
+
+  public static void testPayloadSizePerConfigurationType(
+      GameTestHelper helper, EasyNPC<?> easyNPC, ServerPlayer serverPlayer) {
+    // Use a large dialog to make unneeded dialog data visible in the payload size.
+    easyNPC
+        .getEasyNPCDialogData()
+        .setDialogDataSet(DialogUtils.getBasicDialog("x".repeat(DIALOG_TEXT_LENGTH)));
+
+    for (ConfigurationType configurationType : ConfigurationType.values()) {
+      if (configurationType == ConfigurationType.NONE || configurationType.isAlias()) {
+        continue;
+      }
+      ScreenData screenData =
+          ConfigurationMenuHandler.getScreenData(configurationType, easyNPC, serverPlayer, 0);
+      assertPayload(
+          helper,
+          configurationType.name(),
+          screenData,
+          configurationType.getAdditionalScreenDataSections(),
+          !isPresetImport(configurationType));
+    }
+  }
+
+  public static void testPayloadSizePerEditorType(GameTestHelper helper, EasyNPC<?> easyNPC) {
+    easyNPC
+        .getEasyNPCDialogData()
+        .setDialogDataSet(DialogUtils.getBasicDialog("x".repeat(DIALOG_TEXT_LENGTH)));
+
+    for (EditorType editorType : EditorType.values()) {
+      if (editorType == EditorType.NONE) {
+        continue;
+      }
+      ScreenData screenData =
+          EditorMenuHandler.getScreenData(
+              editorType, easyNPC, null, null, null, 0, new CompoundTag());
+      assertPayload(
+          helper,
+          editorType.name(),
+          screenData,
+          editorType.getAdditionalScreenDataSections(),
+          true);
+    }
+  }
+
+  private static void assertPayload(
+      GameTestHelper helper,
+      String screenType,
+      ScreenData screenData,
+      Set<AdditionalScreenDataSection> additionalScreenDataSections,
+      boolean checkPayloadSize) {
+    CompoundTag additionalData = screenData.additionalData();
+    boolean hasDialogSection =
+        additionalScreenDataSections.contains(AdditionalScreenDataSection.DIALOG_DATA_SET);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Unexpected dialog data for " + screenType + "!",
+        AdditionalScreenData.hasDialogDataSet(additionalData) == hasDialogSection);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Unexpected action event data for " + screenType + "!",
+        AdditionalScreenData.hasActionEventSet(additionalData)
+            == additionalScreenDataSections.contains(AdditionalScreenDataSection.ACTION_EVENT_SET));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Unexpected objective data for " + screenType + "!",
+        AdditionalScreenData.hasObjectiveDataSet(additionalData)
+            == additionalScreenDataSections.contains(
+                AdditionalScreenDataSection.OBJECTIVE_DATA_SET));
+
+    // Screens without dialog data should only send a small payload.
+    int payloadSize = getPayloadSize(screenData.encode());
+    if (hasDialogSection) {
+      GameTestHelpers.assertTrue(
+          helper,
+          "Payload for " + screenType + " is missing the dialog data!",
+          payloadSize > DIALOG_TEXT_LENGTH);
+    } else if (checkPayloadSize && additionalScreenDataSections.isEmpty()) {
+      GameTestHelpers.assertTrue(
+          helper,
+          "Payload for " + screenType + " is too large with " + payloadSize + " bytes!",
+          payloadSize <= MAX_LIGHTWEIGHT_PAYLOAD_SIZE);
+    }
+
+    // Sections should be only decoded, if they are present.
+    AdditionalScreenData additionalScreenData = new AdditionalScreenData(additionalData.copy());
+    GameTestHelpers.assertTrue(
+        helper,
+        "Invalid lazy dialog data for " + screenType + "!",
+        additionalScreenData.hasDialogDataSet() == hasDialogSection
+            && additionalScreenData.getDialogDataSet() != null);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Accessing the dialog data changed the result for " + screenType + "!",
+        additionalScreenData.hasDialogDataSet() == hasDialogSection);
+  }
+
+  private static int getPayloadSize(CompoundTag compoundTag) {
+    FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+    try {
+      buffer.writeNbt(compoundTag);
+      return buffer.readableBytes();
+    } finally {
+      buffer.release();
+    }
+  }
+
+  private static boolean isPresetImport(ConfigurationType configurationType) {
+    return configurationType == ConfigurationType.CUSTOM_PRESET_IMPORT
+        || configurationType == ConfigurationType.DEFAULT_PRESET_IMPORT
+        || configurationType == ConfigurationType.WORLD_PRESET_IMPORT;
+  }
+}
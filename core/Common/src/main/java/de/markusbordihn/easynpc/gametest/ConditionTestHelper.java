@@ -0,0 +1,217 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.condition.ConditionDataEntry;
+import de.markusbordihn.easynpc.data.condition.ConditionDataSet;
+import de.markusbordihn.easynpc.data.condition.ConditionOperation;
+import de.markusbordihn.easynpc.data.condition.ConditionType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.scores.Objective;
+import net.minecraft.world.scores.Scoreboard;
+import net.minecraft.world.scores.criteria.ObjectiveCriteria;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class ConditionTestHelper {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String TEST_NAME = "easy_npc_condition_test";
+  private static final int BENCHMARK_ITERATIONS = 2000;
+
+  private ConditionTestHelper() {}
+
+  public static void testConditionEvaluation(
+      GameTestHelper helper, EasyNPC<?> easyNPC, ServerPlayer serverPlayer) {
+    LivingEntity livingEntity = easyNPC.getLivingEntity();
+
+    // Empty and constant conditions are folded at compile time.
+    GameTestHelpers.assertTrue(
+        helper,
+        "Empty conditions should always pass!",
+        new ConditionDataSet().evaluate(serverPlayer, livingEntity));
+    ConditionDataEntry alwaysConditionDataEntry =
+        new ConditionDataEntry(ConditionType.RANDOM_CHANCE, ConditionOperation.EQUAL, 100);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Random chance of 100 should always pass!",
+        createConditionDataSet(alwaysConditionDataEntry).evaluate(serverPlayer, livingEntity));
+    ConditionDataEntry neverConditionDataEntry =
+        new ConditionDataEntry(ConditionType.RANDOM_CHANCE, ConditionOperation.EQUAL, 0);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Random chance of 0 should never pass!",
+        !createConditionDataSet(neverConditionDataEntry).evaluate(serverPlayer, livingEntity));
+
+    // Player based conditions could not pass without a player.
+    GameTestHelpers.assertTrue(
+        helper,
+        "Empty conditions should pass without a player!",
+        new ConditionDataSet().evaluate(null, livingEntity));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Tag condition passed without a player!",
+        !createConditionDataSet(
+                new ConditionDataEntry(ConditionType.TAG, "test", ConditionOperation.EQUAL, 0))
+            .evaluate(null, livingEntity));
+
+    // Item conditions are checked against the player inventory.
+    ConditionDataSet itemConditionDataSet =
+        createConditionDataSet(
+            new ConditionDataEntry(
+                ConditionType.ITEM, "minecraft:emerald", ConditionOperation.GREATER_OR_EQUAL, 3));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Item condition passed without items!",
+        !itemConditionDataSet.evaluate(serverPlayer, livingEntity));
+    serverPlayer.getInventory().add(new ItemStack(Items.EMERALD, 3));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Item condition failed with items!",
+        itemConditionDataSet.evaluate(serverPlayer, livingEntity));
+
+    // Conditions should survive a save and load cycle.
+    ConditionDataSet loadedConditionDataSet =
+        new ConditionDataSet(itemConditionDataSet.save(new CompoundTag()));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Loaded conditions differ from saved conditions!",
+        loadedConditionDataSet.getEntries().equals(itemConditionDataSet.getEntries())
+            && loadedConditionDataSet.evaluate(serverPlayer, livingEntity));
+  }
+
+  public static void testConditionsMatchCommandGating(
+      GameTestHelper helper, EasyNPC<?> easyNPC, ServerPlayer serverPlayer) {
+    LivingEntity livingEntity = easyNPC.getLivingEntity();
+    Scoreboard scoreboard = serverPlayer.getScoreboard();
+    Objective objective = scoreboard.getObjective(TEST_NAME);
+    if (objective == null) {
+      objective =
+          scoreboard.addObjective(
+              TEST_NAME,
+              ObjectiveCriteria.DUMMY,
+              Component.literal(TEST_NAME),
+              ObjectiveCriteria.RenderType.INTEGER);
+    }
+
+    ConditionDataSet conditionDataSet =
+        createConditionDataSet(
+            new ConditionDataEntry(ConditionType.TAG, TEST_NAME, ConditionOperation.EQUAL, 0),
+            new ConditionDataEntry(
+                ConditionType.SCOREBOARD, TEST_NAME, ConditionOperation.GREATER_OR_EQUAL, 3));
+    String command =
+        "execute if entity @s[tag=" + TEST_NAME + "] if score @s " + TEST_NAME + " matches 3..";
+
+    try {
+      // Compare native evaluation with the command based gating for different player states.
+      for (int score = 0; score < 6; score++) {
+        scoreboard
+            .getOrCreatePlayerScore(serverPlayer.getScoreboardName(), objective)
+            .setScore(score);
+        for (boolean hasTag : new boolean[] {false, true}) {
+          if (hasTag) {
+            serverPlayer.addTag(TEST_NAME);
+          } else {
+            serverPlayer.removeTag(TEST_NAME);
+          }
+          boolean nativeResult = conditionDataSet.evaluate(serverPlayer, livingEntity);
+          boolean commandResult = evaluateCommand(serverPlayer, command);
+          GameTestHelpers.assertTrue(
+              helper,
+              "Native condition result "
+                  + nativeResult
+                  + " differs from command result "
+                  + commandResult
+                  + " for score "
+                  + score
+                  + " and tag "
+                  + hasTag,
+              nativeResult == commandResult);
+        }
+      }
+
+      // Benchmark native evaluation against the equivalent command based gating.
+      long nativeStartTime = System.nanoTime();
+      for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+        conditionDataSet.evaluate(serverPlayer, livingEntity);
+      }
+      long nativeTime = System.nanoTime() - nativeStartTime;
+      long commandStartTime = System.nanoTime();
+      for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+        evaluateCommand(serverPlayer, command);
+      }
+      long commandTime = System.nanoTime() - commandStartTime;
+      log.info(
+          "Condition benchmark with {} iterations: native {} ns/op, command {} ns/op",
+          BENCHMARK_ITERATIONS,
+          nativeTime / BENCHMARK_ITERATIONS,
+          commandTime / BENCHMARK_ITERATIONS);
+    } finally {
+      serverPlayer.removeTag(TEST_NAME);
+      scoreboard.removeObjective(objective);
+    }
+  }
+
+  private static ConditionDataSet createConditionDataSet(
+      ConditionDataEntry... conditionDataEntries) {
+    ConditionDataSet conditionDataSet = new ConditionDataSet();
+    for (ConditionDataEntry conditionDataEntry : conditionDataEntries) {
+      conditionDataSet.add(conditionDataEntry);
+    }
+    return conditionDataSet;
+  }
+
+  private static boolean evaluateCommand(ServerPlayer serverPlayer, String command) {
+    MinecraftServer minecraftServer = serverPlayer.getServer();
+    if (minecraftServer == null) {
+      return false;
+    }
+    CommandSourceStack commandSourceStack =
+        minecraftServer
+            .createCommandSourceStack()
+            .withEntity(serverPlayer)
+            .withPosition(serverPlayer.position())
+            .withLevel(serverPlayer.serverLevel())
+            .withPermission(2)
+            .withSuppressedOutput();
+    CommandDispatcher<CommandSourceStack> commandDispatcher =
+        minecraftServer.getCommands().getDispatcher();
+    ParseResults<CommandSourceStack> parseResults =
+        commandDispatcher.parse(command, commandSourceStack);
+    try {
+      return commandDispatcher.execute(parseResults) > 0;
+    } catch (CommandSyntaxException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.config.DataTransferConfig;
+import de.markusbordihn.easynpc.network.transfer.DataTransferChunk;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferProgress;
+import de.markusbordihn.easynpc.network.transfer.DataTransferResult;
+import de.markusbordihn.easynpc.network.transfer.DataTransferSender;
+import de.markusbordihn.easynpc.network.transfer.DataTransferStatus;
+import de.markusbordihn.easynpc.network.transfer.DataTransferType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+
+public class DataTransferTestHelper {
+
+  private static final int MAX_TICKS = 1000;
+
+  private DataTransferTestHelper() {}
+
+  public static void testDataTransfer(GameTestHelper helper) {
+    CompoundTag compoundTag = new CompoundTag();
+    compoundTag.putString("Name", "Data Transfer Test");
+    compoundTag.putByteArray("Data", createData(DataTransferConfig.getChunkSize() * 3));
+    byte[] data = DataTransferManager.writeCompoundTag(compoundTag);
+    GameTestHelpers.assertNotNull(helper, "Compound tag was not written!", data);
+    CompoundTag metadata = new CompoundTag();
+    metadata.putString("FileName", "data_transfer_test");
+
+    DataTransferManager sendingManager = new DataTransferManager("Sending Test");
+    DataTransferManager receivingManager = new DataTransferManager("Receiving Test");
+    TestDataTransferSender receiver = new TestDataTransferSender();
+    TestDataTransferSender sender = new TestDataTransferSender();
+    UUID receiverId = UUID.randomUUID();
+    UUID senderId = UUID.randomUUID();
+    UUID transferId =
+        sendingManager.send(receiverId, receiver, DataTransferType.PRESET_IMPORT, metadata, data);
+    GameTestHelpers.assertNotNull(helper, "Transfer was not queued!", transferId);
+
+    // Corrupted chunks are requested again and the transfer resumes with them.
+    DataTransferResult dataTransferResult = null;
+    boolean corruptedChunk = false;
+    int numberOfResendRequests = 0;
+    for (int tick = 0; tick < MAX_TICKS && dataTransferResult == null; tick++) {
+      sendingManager.tick();
+      for (DataTransferChunk chunk : receiver.takeChunks()) {
+        if (!corruptedChunk && chunk.chunkIndex() == 1) {
+          chunk = corruptChunk(chunk);
+          corruptedChunk = true;
+        }
+        DataTransferResult result = receivingManager.handleChunk(senderId, sender, chunk);
+        if (result != null) {
+          dataTransferResult = result;
+        }
+      }
+      for (TestDataTransferStatus status : sender.takeStatuses()) {
+        if (status.status() == DataTransferStatus.RESEND) {
+          numberOfResendRequests++;
+        }
+        sendingManager.handleStatus(
+            receiverId, status.transferId(), status.chunkIndex(), status.status());
+      }
+    }
+    GameTestHelpers.assertNotNull(helper, "Transfer was not completed!", dataTransferResult);
+    GameTestHelpers.assertTrue(helper, "Chunk was not corrupted!", corruptedChunk);
+    GameTestHelpers.assertEquals(
+        helper, "Corrupted chunk was not requested again!", 1, numberOfResendRequests);
+    GameTestHelpers.assertEquals(
+        helper, "Transfer id differs!", transferId, dataTransferResult.transferId());
+    GameTestHelpers.assertTrue(
+        helper, "Received data differs!", Arrays.equals(data, dataTransferResult.data()));
+    GameTestHelpers.assertEquals(
+        helper, "Received metadata differs!", metadata, dataTransferResult.metadata());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Received compound tag differs!",
+        compoundTag,
+        DataTransferManager.readCompoundTag(dataTransferResult.data()));
+
+    // Both sides should report the completed transfer.
+    DataTransferProgress sendingProgress =
+        sendingManager.getProgress(DataTransferType.PRESET_IMPORT);
+    DataTransferProgress receivingProgress =
+        receivingManager.getProgress(DataTransferType.PRESET_IMPORT);
+    GameTestHelpers.assertNotNull(helper, "Sending progress is missing!", sendingProgress);
+    GameTestHelpers.assertNotNull(helper, "Receiving progress is missing!", receivingProgress);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Sending transfer is not complete!",
+        DataTransferProgress.State.COMPLETE,
+        sendingProgress.state());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Receiving transfer is not complete!",
+        DataTransferProgress.State.COMPLETE,
+        receivingProgress.state());
+    GameTestHelpers.assertEquals(
+        helper, "Transfer is still pending!", 0, sendingManager.getNumberOfPendingTransfers());
+  }
+
+  public static void testDataTransferBandwidth(GameTestHelper helper) {
+    int maxBytesPerTick =
+        Math.max(DataTransferConfig.getMaxBytesPerTick(), DataTransferConfig.MAX_CHUNK_SIZE);
+    int maxChunksInFlight = DataTransferConfig.getMaxChunksInFlight();
+    int numberOfChunks = maxChunksInFlight * 2;
+    byte[] data = createData(DataTransferConfig.getChunkSize() * numberOfChunks);
+    DataTransferManager dataTransferManager = new DataTransferManager("Bandwidth Test");
+    TestDataTransferSender receiver = new TestDataTransferSender();
+    UUID receiverId = UUID.randomUUID();
+    UUID transferId =
+        dataTransferManager.send(
+            receiverId, receiver, DataTransferType.PRESET_EXPORT, new CompoundTag(), data);
+    GameTestHelpers.assertNotNull(helper, "Transfer was not queued!", transferId);
+
+    // Each tick is limited by the bytes per tick and the unconfirmed chunks.
+    List<DataTransferChunk> sentChunks = new ArrayList<>();
+    for (int tick = 0; tick < DataTransferConfig.getTimeout(); tick++) {
+      dataTransferManager.tick();
+      List<DataTransferChunk> chunks = receiver.takeChunks();
+      int sentBytes = 0;
+      for (DataTransferChunk chunk : chunks) {
+        sentBytes += chunk.data().length;
+      }
+      GameTestHelpers.assertTrue(
+          helper, "Sent " + sentBytes + " bytes in a single tick!", sentBytes <= maxBytesPerTick);
+      sentChunks.addAll(chunks);
+    }
+    GameTestHelpers.assertEquals(
+        helper, "Unconfirmed chunks exceed the limit!", maxChunksInFlight, sentChunks.size());
+
+    // Confirmed chunks allow the next chunks.
+    for (DataTransferChunk chunk : sentChunks) {
+      dataTransferManager.handleStatus(
+          receiverId, transferId, chunk.chunkIndex(), DataTransferStatus.RECEIVED);
+    }
+    for (int tick = 0; tick < DataTransferConfig.getTimeout(); tick++) {
+      dataTransferManager.tick();
+      sentChunks.addAll(receiver.takeChunks());
+    }
+    GameTestHelpers.assertEquals(
+        helper, "Remaining chunks were not sent!", numberOfChunks, sentChunks.size());
+
+    // Transfers which exceed the max transfer size are rejected.
+    GameTestHelpers.assertTrue(
+        helper,
+        "Too large transfer was queued!",
+        dataTransferManager.send(
+                receiverId,
+                receiver,
+                DataTransferType.PRESET_EXPORT,
+                null,
+                new byte[DataTransferConfig.getMaxTransferSize() + 1])
+            == null);
+  }
+
+  public static void testDataTransferValidation(GameTestHelper helper) {
+    DataTransferManager dataTransferManager = new DataTransferManager("Validation Test");
+    TestDataTransferSender sender = new TestDataTransferSender();
+    UUID senderId = UUID.randomUUID();
+    byte[] data = createData(DataTransferConfig.MIN_CHUNK_SIZE);
+    long checksum = DataTransferChunk.getChecksum(data);
+
+    // Forged headers are rejected before any chunk array is allocated.
+    List<DataTransferChunk> invalidChunks =
+        List.of(
+            createChunk(0, Integer.MAX_VALUE, data.length, data.length, checksum, data),
+            createChunk(0, 2, data.length, data.length, checksum, data),
+            createChunk(0, 1, data.length, DataTransferConfig.MIN_CHUNK_SIZE - 1, checksum, data),
+            createChunk(
+                0,
+                1,
+                DataTransferConfig.getMaxTransferSize() + 1,
+                DataTransferConfig.MAX_CHUNK_SIZE,
+                checksum,
+                data),
+            createChunk(1, 2, data.length * 2, data.length, checksum, data));
+    for (DataTransferChunk chunk : invalidChunks) {
+      GameTestHelpers.assertTrue(
+          helper,
+          "Invalid chunk " + chunk + " was accepted!",
+          dataTransferManager.handleChunk(senderId, sender, chunk) == null);
+    }
+
+    // The first chunk is checked by the validator, e.g. for the access to the NPC.
+    DataTransferChunk validChunk = createChunk(0, 1, data.length, data.length, checksum, data);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Chunk without access was accepted!",
+        dataTransferManager.handleChunk(senderId, sender, validChunk, chunk -> false) == null);
+    List<TestDataTransferStatus> statuses = sender.takeStatuses();
+    GameTestHelpers.assertEquals(
+        helper, "Rejected chunks were not reported!", invalidChunks.size() + 1, statuses.size());
+    for (TestDataTransferStatus status : statuses) {
+      GameTestHelpers.assertEquals(
+          helper, "Rejected chunk was not failed!", DataTransferStatus.FAILED, status.status());
+    }
+    GameTestHelpers.assertNotNull(
+        helper,
+        "Valid chunk was rejected!",
+        dataTransferManager.handleChunk(senderId, sender, validChunk, chunk -> true));
+  }
+
+  private static DataTransferChunk createChunk(
+      int chunkIndex,
+      int numberOfChunks,
+      int totalSize,
+      int chunkSize,
+      long checksum,
+      byte[] data) {
+    return new DataTransferChunk(
+        UUID.randomUUID(),
+        DataTransferType.PRESET_IMPORT,
+        chunkIndex,
+        numberOfChunks,
+        totalSize,
+        chunkSize,
+        checksum,
+        checksum,
+        new CompoundTag(),
+        data);
+  }
+
+  private static DataTransferChunk corruptChunk(DataTransferChunk chunk) {
+    byte[] data = chunk.data().clone();
+    data[0] ^= 1;
+    return new DataTransferChunk(
+        chunk.transferId(),
+        chunk.type(),
+        chunk.chunkIndex(),
+        chunk.numberOfChunks(),
+        chunk.totalSize(),
+        chunk.chunkSize(),
+        chunk.totalChecksum(),
+        chunk.checksum(),
+        chunk.metadata(),
+        data);
+  }
+
+  private static byte[] createData(int size) {
+    byte[] data = new byte[size];
+    new Random(42L).nextBytes(data);
+    return data;
+  }
+
+  private record TestDataTransferStatus(
+      UUID transferId, int chunkIndex, DataTransferStatus status) {}
+
+  private static class TestDataTransferSender implements DataTransferSender {
+    private final List<DataTransferChunk> chunks = new ArrayList<>();
+    private final List<TestDataTransferStatus> statuses = new ArrayList<>();
+
+    @Override
+    public void sendChunk(DataTransferChunk chunk) {
+      this.chunks.add(chunk);
+    }
+
+    @Override
+    public void sendStatus(UUID transferId, int chunkIndex, DataTransferStatus status) {
+      this.statuses.add(new TestDataTransferStatus(transferId, chunkIndex, status));
+    }
+
+    private List<DataTransferChunk> takeChunks() {
+      List<DataTransferChunk> result = new ArrayList<>(this.chunks);
+      this.chunks.clear();
+      return result;
+    }
+
+    private List<TestDataTransferStatus> takeStatuses() {
+      List<TestDataTransferStatus> result = new ArrayList<>(this.statuses);
+      this.statuses.clear();
+      return result;
+    }
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.commands.selector.EasyNPCSelector;
+import de.markusbordihn.easynpc.commands.selector.EasyNPCSelectorCompiler;
+import de.markusbordihn.easynpc.commands.selector.EasyNPCSelectorParser;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.arguments.selector.EntitySelector;
+import net.minecraft.commands.arguments.selector.EntitySelectorParser;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.phys.Vec3;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class EasyNPCSelectorTestHelper {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final int BENCHMARK_ITERATIONS = 2000;
+
+  private EasyNPCSelectorTestHelper() {}
+
+  public static void testCompiledSelectorMatchesVanilla(
+      GameTestHelper helper,
+      EntityType<? extends PathfinderMob> entityType,
+      EntityType<? extends PathfinderMob> otherEntityType) {
+    String testId = UUID.randomUUID().toString().substring(0, 8);
+    EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(1, 2, 1));
+    EasyNPC<?> farEasyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(2, 2, 2));
+    EasyNPC<?> otherEasyNPC =
+        GameTestHelpers.mockEasyNPC(helper, otherEntityType, new Vec3(0, 2, 0));
+    easyNPC.getEntity().setCustomName(Component.literal("Selector" + testId));
+    easyNPC.getEntity().addTag("selector_" + testId);
+    otherEasyNPC.getEntity().addTag("selector_" + testId);
+    Set<UUID> testUUIDs =
+        Set.of(easyNPC.getUUID(), farEasyNPC.getUUID(), otherEasyNPC.getUUID());
+
+    CommandSourceStack commandSourceStack = createCommandSourceStack(helper);
+    for (String selector : getSelectors(easyNPC, entityType, testId)) {
+      EasyNPCSelector easyNPCSelector = EasyNPCSelectorCompiler.compile(selector);
+      GameTestHelpers.assertNotNull(
+          helper, "Selector " + selector + " was not compiled!", easyNPCSelector);
+      Set<UUID> expectedUUIDs =
+          getTestUUIDs(
+              findEntities(helper, parseVanillaSelector(helper, selector), commandSourceStack),
+              testUUIDs);
+      Set<UUID> compiledUUIDs = new HashSet<>();
+      try {
+        for (EasyNPC<?> foundEasyNPC : easyNPCSelector.findEasyNPCs(commandSourceStack)) {
+          if (testUUIDs.contains(foundEasyNPC.getUUID())) {
+            compiledUUIDs.add(foundEasyNPC.getUUID());
+          }
+        }
+      } catch (CommandSyntaxException exception) {
+        helper.fail("Compiled selector " + selector + " failed: " + exception.getMessage());
+      }
+      GameTestHelpers.assertEquals(
+          helper, "Compiled selector " + selector + " differs!", expectedUUIDs, compiledUUIDs);
+    }
+
+    // Unsupported selectors should fall back to the vanilla selector.
+    GameTestHelpers.assertTrue(
+        helper,
+        "Selector with scores should not be compiled!",
+        EasyNPCSelectorCompiler.compile("@e[scores={test=1..}]") == null);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Player selector should not be compiled!",
+        EasyNPCSelectorCompiler.compile("@p") == null);
+  }
+
+  public static void testOwnerSelector(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(1, 2, 1));
+    EasyNPC<?> otherEasyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(2, 2, 2));
+    UUID ownerUUID = UUID.randomUUID();
+    easyNPC.getEasyNPCOwnerData().setOwnerUUID(ownerUUID);
+    otherEasyNPC.getEasyNPCOwnerData().setOwnerUUID(UUID.randomUUID());
+    String entityTypeId = BuiltInRegistries.ENTITY_TYPE.getKey(entityType).toString();
+
+    // Owner selectors should only return the NPCs of the owner.
+    CommandSourceStack commandSourceStack = createCommandSourceStack(helper);
+    for (String selector :
+        List.of(
+            "@e[owner=" + ownerUUID + "]",
+            "@e[type=" + entityTypeId + ",owner=" + ownerUUID + "]",
+            "@e[owner=" + ownerUUID + ",distance=..3,sort=nearest]")) {
+      EntitySelector entitySelector = parseEasyNPCSelector(helper, selector);
+      EasyNPCSelector easyNPCSelector = EasyNPCSelectorCompiler.get(entitySelector);
+      GameTestHelpers.assertNotNull(
+          helper, "Selector " + selector + " was not compiled!", easyNPCSelector);
+      try {
+        GameTestHelpers.assertEquals(
+            helper,
+            "Owner selector " + selector + " differs!",
+            List.of(easyNPC.getUUID()),
+            easyNPCSelector.findEasyNPCs(commandSourceStack).stream()
+                .map(EasyNPC::getUUID)
+                .toList());
+      } catch (CommandSyntaxException exception) {
+        helper.fail("Owner selector " + selector + " failed: " + exception.getMessage());
+      }
+    }
+
+    // Owner options without compiled selector would be ignored, so they are rejected.
+    try {
+      new EasyNPCSelectorParser(
+              new StringReader("@e[owner=" + ownerUUID + ",scores={test=1..}]"))
+          .parse();
+      helper.fail("Owner selector with scores should be rejected!");
+    } catch (CommandSyntaxException exception) {
+      // Expected
+    }
+  }
+
+  public static void testSelectorBenchmark(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    String testId = UUID.randomUUID().toString().substring(0, 8);
+    EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(1, 2, 1));
+    easyNPC.getEntity().setCustomName(Component.literal("Selector" + testId));
+    easyNPC.getEntity().addTag("selector_" + testId);
+
+    CommandSourceStack commandSourceStack = createCommandSourceStack(helper);
+    for (String selector : getSelectors(easyNPC, entityType, testId)) {
+      EntitySelector entitySelector = parseVanillaSelector(helper, selector);
+      long vanillaStartTime = System.nanoTime();
+      for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+        findEntities(helper, entitySelector, commandSourceStack);
+      }
+      long vanillaTime = System.nanoTime() - vanillaStartTime;
+
+      // Command blocks are compiling the selector again for each execution.
+      long compiledStartTime = System.nanoTime();
+      for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+        try {
+          EasyNPCSelectorCompiler.compile(selector).findEasyNPCs(commandSourceStack);
+        } catch (CommandSyntaxException exception) {
+          helper.fail("Compiled selector " + selector + " failed: " + exception.getMessage());
+        }
+      }
+      long compiledTime = System.nanoTime() - compiledStartTime;
+      log.info(
+          "Selector benchmark {} with {} iterations: vanilla {} ns/op, compiled {} ns/op",
+          selector,
+          BENCHMARK_ITERATIONS,
+          vanillaTime / BENCHMARK_ITERATIONS,
+          compiledTime / BENCHMARK_ITERATIONS);
+    }
+  }
+
+  private static List<String> getSelectors(
+      EasyNPC<?> easyNPC, EntityType<? extends PathfinderMob> entityType, String testId) {
+    String entityTypeId = BuiltInRegistries.ENTITY_TYPE.getKey(entityType).toString();
+    return List.of(
+        easyNPC.getUUID().toString(),
+        "@e",
+        "@e[type=" + entityTypeId + "]",
+        "@e[type=!" + entityTypeId + "]",
+        "@e[name=Selector" + testId + "]",
+        "@e[tag=selector_" + testId + "]",
+        "@e[type=" + entityTypeId + ",tag=!selector_" + testId + "]",
+        "@e[type=" + entityTypeId + ",distance=..1]",
+        "@e[distance=..2]",
+        "@e[name=Selector" + testId + ",distance=1..3]",
+        "@e[type=" + entityTypeId + ",sort=nearest,limit=5]");
+  }
+
+  private static CommandSourceStack createCommandSourceStack(GameTestHelper helper) {
+    return helper
+        .getLevel()
+        .getServer()
+        .createCommandSourceStack()
+        .withLevel(helper.getLevel())
+        .withPosition(helper.absoluteVec(new Vec3(1, 2, 1)))
+        .withPermission(4)
+        .withSuppressedOutput();
+  }
+
+  private static EntitySelector parseEasyNPCSelector(GameTestHelper helper, String selector) {
+    try {
+      StringReader stringReader = new StringReader(selector);
+      EntitySelector entitySelector = new EasyNPCSelectorParser(stringReader).parse();
+      GameTestHelpers.assertTrue(
+          helper, "Selector " + selector + " was not fully parsed!", !stringReader.canRead());
+      EasyNPCSelectorCompiler.register(entitySelector, selector);
+      return entitySelector;
+    } catch (CommandSyntaxException exception) {
+      helper.fail("Unable to parse selector " + selector + ": " + exception.getMessage());
+      return null;
+    }
+  }
+
+  private static EntitySelector parseVanillaSelector(GameTestHelper helper, String selector) {
+    try {
+      return new EntitySelectorParser(new StringReader(selector)).parse();
+    } catch (CommandSyntaxException exception) {
+      helper.fail("Unable to parse selector " + selector + ": " + exception.getMessage());
+      return null;
+    }
+  }
+
+  private static List<? extends Entity> findEntities(
+      GameTestHelper helper,
+      EntitySelector entitySelector,
+      CommandSourceStack commandSourceStack) {
+    try {
+      return entitySelector.findEntities(commandSourceStack);
+    } catch (CommandSyntaxException exception) {
+      helper.fail("Vanilla selector failed: " + exception.getMessage());
+      return List.of();
+    }
+  }
+
+  private static Set<UUID> getTestUUIDs(List<? extends Entity> entities, Set<UUID> testUUIDs) {
+    Set<UUID> result = new HashSet<>();
+    for (Entity entity : entities) {
+      if (entity instanceof EasyNPC<?> && testUUIDs.contains(entity.getUUID())) {
+        result.add(entity.getUUID());
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.item.configuration.EasyNPCWandSelection;
+import de.markusbordihn.easynpc.network.message.server.BatchChangeMessage;
+import java.util.List;
+import java.util.UUID;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.entity.Pose;
+import net.minecraft.world.level.GameType;
+import net.minecraft.world.phys.Vec3;
+
+public class EasyNPCWandSelectionTestHelper {
+
+  private EasyNPCWandSelectionTestHelper() {}
+
+  public static void testBatchTargets(GameTestHelper helper) {
+    UUID firstUUID = UUID.randomUUID();
+    UUID secondUUID = UUID.randomUUID();
+    EasyNPCWandSelection.clearSelection();
+
+    // Single selected NPCs are changed without a batch.
+    EasyNPCWandSelection.toggleSelection(firstUUID);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Single selection should not be a batch!",
+        EasyNPCWandSelection.getBatchTargets(firstUUID).isEmpty());
+
+    EasyNPCWandSelection.toggleSelection(secondUUID);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected batch targets!",
+        List.of(firstUUID, secondUUID),
+        EasyNPCWandSelection.getBatchTargets(secondUUID));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Not selected NPC should not be a batch!",
+        EasyNPCWandSelection.getBatchTargets(UUID.randomUUID()).isEmpty());
+
+    // Toggle removes the NPC from the selection.
+    EasyNPCWandSelection.toggleSelection(firstUUID);
+    GameTestHelpers.assertTrue(
+        helper, "NPC is still selected!", !EasyNPCWandSelection.isSelected(firstUUID));
+    EasyNPCWandSelection.clearSelection();
+    GameTestHelpers.assertEquals(
+        helper, "Selection is not empty!", 0, EasyNPCWandSelection.getNumberOfSelectedEntities());
+  }
+
+  public static void testBatchChangeChecksAccess(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    ServerPlayer serverPlayer = GameTestHelpers.mockServerPlayer(helper, new Vec3(1, 2, 1));
+    serverPlayer.setGameMode(GameType.SURVIVAL);
+    EasyNPC<?> ownedEasyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(0, 2, 0));
+    EasyNPC<?> foreignEasyNPC =
+        GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(2, 2, 2));
+    ownedEasyNPC.getEasyNPCOwnerData().setOwnerUUID(serverPlayer.getUUID());
+    foreignEasyNPC.getEasyNPCOwnerData().setOwnerUUID(UUID.randomUUID());
+
+    // Message should survive the network encoding.
+    BatchChangeMessage batchChangeMessage =
+        BatchChangeMessage.pose(
+            List.of(ownedEasyNPC.getUUID(), foreignEasyNPC.getUUID()), Pose.CROUCHING);
+    BatchChangeMessage receivedMessage = BatchChangeMessage.create(batchChangeMessage.payload());
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected batch entities!", batchChangeMessage.uuids(), receivedMessage.uuids());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected batch change type!",
+        BatchChangeMessage.ChangeType.POSE,
+        receivedMessage.changeType());
+
+    // Only the NPC with access should be changed.
+    receivedMessage.handleServer(serverPlayer);
+    GameTestHelpers.assertEquals(
+        helper, "Owned NPC was not changed!", Pose.CROUCHING, ownedEasyNPC.getEntity().getPose());
+    GameTestHelpers.assertEquals(
+        helper, "Foreign NPC was changed!", Pose.STANDING, foreignEasyNPC.getEntity().getPose());
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.data.faction.FactionRelationType;
+import de.markusbordihn.easynpc.data.faction.FactionSavedData;
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
+import de.markusbordihn.easynpc.data.objective.ObjectiveType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.ai.target.FactionTargetService;
+import java.util.UUID;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.entity.Entity;
+
+public class FactionTestHelper {
+
+  private static final String TEST_FACTION = "gametest_red";
+  private static final String OTHER_TEST_FACTION = "gametest_blue";
+
+  private FactionTestHelper() {}
+
+  public static void testRelationMatrix(GameTestHelper helper) {
+    FactionSavedData factionSavedData = new FactionSavedData();
+    UUID memberUUID = UUID.randomUUID();
+    UUID otherMemberUUID = UUID.randomUUID();
+    factionSavedData.setFaction(memberUUID, " Gametest_Red ");
+    factionSavedData.setFaction(otherMemberUUID, OTHER_TEST_FACTION);
+    factionSavedData.setRelation(TEST_FACTION, OTHER_TEST_FACTION, FactionRelationType.ENEMY);
+
+    GameTestHelpers.assertEquals(
+        helper,
+        "Faction names should be normalized!",
+        TEST_FACTION,
+        factionSavedData.getFaction(memberUUID));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Relations should be symmetric!",
+        factionSavedData.getRelation(OTHER_TEST_FACTION, TEST_FACTION)
+            == FactionRelationType.ENEMY);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Members of the same faction should be allies!",
+        factionSavedData.getRelation(TEST_FACTION, TEST_FACTION) == FactionRelationType.ALLY);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Members of enemy factions should be hostile!",
+        factionSavedData.isHostile(memberUUID, otherMemberUUID));
+
+    // Relations and members should survive a save and load cycle.
+    FactionSavedData loadedFactionSavedData =
+        FactionSavedData.load(factionSavedData.save(new CompoundTag()));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Loaded faction data differs from saved faction data!",
+        loadedFactionSavedData.getMembers().equals(factionSavedData.getMembers())
+            && loadedFactionSavedData.isHostile(otherMemberUUID, memberUUID));
+
+    // Neutral relations are removed from the relation matrix.
+    factionSavedData.setRelation(OTHER_TEST_FACTION, TEST_FACTION, FactionRelationType.NEUTRAL);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Neutral relation should not be hostile!",
+        !factionSavedData.isHostile(memberUUID, otherMemberUUID)
+            && !factionSavedData.hasHostileRelations(TEST_FACTION));
+  }
+
+  public static void testSharedTargetAcquisition(
+      GameTestHelper helper, EasyNPC<?> easyNPC, EasyNPC<?> allyNPC, EasyNPC<?> enemyNPC) {
+    FactionSavedData factionSavedData = FactionSavedData.get(helper.getLevel().getServer());
+    FactionTargetService factionTargetService = FactionTargetService.get(helper.getLevel());
+    easyNPC
+        .getEasyNPCObjectiveData()
+        .addOrUpdateCustomObjective(new ObjectiveDataEntry(ObjectiveType.ATTACK_HOSTILE_FACTION));
+    try {
+      factionSavedData.setFaction(easyNPC.getUUID(), TEST_FACTION);
+      factionSavedData.setFaction(allyNPC.getUUID(), TEST_FACTION);
+      factionSavedData.setFaction(enemyNPC.getUUID(), OTHER_TEST_FACTION);
+      factionSavedData.setRelation(TEST_FACTION, OTHER_TEST_FACTION, FactionRelationType.HOSTILE);
+
+      factionTargetService.clear();
+      GameTestHelpers.assertTrue(
+          helper,
+          "Enemy NPC should be the target of the faction member!",
+          FactionTargetService.getTarget(easyNPC.getMob()) == enemyNPC.getLivingEntity());
+      GameTestHelpers.assertTrue(
+          helper,
+          "NPCs without the hostile faction objective should not get a target!",
+          FactionTargetService.getTarget(allyNPC.getMob()) == null
+              && FactionTargetService.getTarget(enemyNPC.getMob()) == null);
+
+      // Neutral factions should not be targeted after the next pass.
+      factionSavedData.setRelation(TEST_FACTION, OTHER_TEST_FACTION, FactionRelationType.NEUTRAL);
+      factionTargetService.clear();
+      GameTestHelpers.assertTrue(
+          helper,
+          "Neutral NPC should not be targeted!",
+          FactionTargetService.getTarget(easyNPC.getMob()) == null);
+    } finally {
+      factionSavedData.setRelation(TEST_FACTION, OTHER_TEST_FACTION, FactionRelationType.NEUTRAL);
+      factionSavedData.removeFaction(easyNPC.getUUID());
+      factionSavedData.removeFaction(allyNPC.getUUID());
+      factionSavedData.removeFaction(enemyNPC.getUUID());
+      factionTargetService.clear();
+    }
+  }
+
+  public static void testFactionMembership(
+      GameTestHelper helper, EasyNPC<?> easyNPC, EasyNPC<?> copyNPC) {
+    FactionSavedData factionSavedData = FactionSavedData.get(helper.getLevel().getServer());
+    UUID copyUUID = copyNPC.getUUID();
+    try {
+      // Copies of a faction member should keep the faction under their own UUID.
+      factionSavedData.setFaction(easyNPC.getUUID(), TEST_FACTION);
+      CompoundTag compoundTag = easyNPC.getEntity().saveWithoutId(new CompoundTag());
+      compoundTag.remove(Entity.UUID_TAG);
+      copyNPC.getEntity().load(compoundTag);
+      GameTestHelpers.assertEquals(
+          helper,
+          "Copy should keep the faction!",
+          TEST_FACTION,
+          factionSavedData.getFaction(copyUUID));
+
+      // Discarded faction members should leave their faction.
+      copyNPC.getEntity().discard();
+      GameTestHelpers.assertTrue(
+          helper,
+          "Discarded NPC is still a faction member!",
+          !factionSavedData.hasFaction(copyUUID));
+      GameTestHelpers.assertEquals(
+          helper,
+          "Original NPC should keep the faction!",
+          TEST_FACTION,
+          factionSavedData.getFaction(easyNPC.getUUID()));
+    } finally {
+      factionSavedData.removeFaction(easyNPC.getUUID());
+      factionSavedData.removeFaction(copyUUID);
+    }
+  }
+}
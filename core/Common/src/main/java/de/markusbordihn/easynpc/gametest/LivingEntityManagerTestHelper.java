@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
+import de.markusbordihn.easynpc.data.owner.OwnerSavedData;
+import de.markusbordihn.easynpc.entity.EasyNPCRegistry;
+import de.markusbordihn.easynpc.entity.LivingEntityManager;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
+import java.util.UUID;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.Entity;
+
+public class LivingEntityManagerTestHelper {
+
+  private LivingEntityManagerTestHelper() {}
+
+  public static void testSideSeparatedRegistries(GameTestHelper helper, EasyNPC<?> easyNPC) {
+    UUID uuid = easyNPC.getUUID();
+    EasyNPCRegistry serverRegistry = LivingEntityManager.getServerRegistry();
+    EasyNPCRegistry clientRegistry = LivingEntityManager.getClientRegistry();
+
+    // Server-side entities are only known by the server registry.
+    GameTestHelpers.assertTrue(
+        helper, "Server NPC is not registered!", serverRegistry.contains(easyNPC));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Server NPC is not registered for its level!",
+        serverRegistry.get(helper.getLevel().dimension(), uuid) == easyNPC);
+    GameTestHelpers.assertTrue(
+        helper, "Server NPC is registered on the client!", !clientRegistry.contains(easyNPC));
+
+    // Simulate the client-side copy of the same NPC from an integrated server.
+    Entity clientEntity = easyNPC.getEntity().getType().create(helper.getLevel());
+    GameTestHelpers.assertTrue(
+        helper, "Unable to create client copy!", clientEntity instanceof EasyNPC<?>);
+    clientEntity.setUUID(uuid);
+    EasyNPC<?> clientEasyNPC = (EasyNPC<?>) clientEntity;
+    clientRegistry.add(clientEasyNPC);
+    try {
+      GameTestHelpers.assertTrue(
+          helper,
+          "Client copy replaced the server NPC!",
+          LivingEntityManager.getEasyNPCEntityByUUID(uuid) == easyNPC);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Client copy is not registered on the client!",
+          LivingEntityManager.getClientEasyNPCEntityByUUID(uuid) == clientEasyNPC);
+
+      // Removing another instance with the same UUID must not remove the server NPC.
+      serverRegistry.remove(clientEasyNPC);
+      GameTestHelpers.assertTrue(
+          helper, "Server NPC was removed by its copy!", serverRegistry.contains(easyNPC));
+    } finally {
+      clientRegistry.remove(clientEasyNPC);
+      clientEntity.discard();
+    }
+
+    GameTestHelpers.assertTrue(
+        helper,
+        "Removing the client copy removed the server NPC!",
+        LivingEntityManager.getEasyNPCEntityByUUID(uuid) == easyNPC
+            && LivingEntityManager.getClientEasyNPCEntityByUUID(uuid) == null);
+  }
+
+  public static void testOwnerIndex(GameTestHelper helper, EasyNPC<?> easyNPC) {
+    EasyNPCRegistry serverRegistry = LivingEntityManager.getServerRegistry();
+    OwnerData<?> ownerData = easyNPC.getEasyNPCOwnerData();
+    GameTestHelpers.assertNotNull(helper, "No owner data available!", ownerData);
+    UUID ownerUUID = UUID.randomUUID();
+    UUID newOwnerUUID = UUID.randomUUID();
+
+    // Owner changes of registered NPCs are updating the owner index.
+    ownerData.setOwnerUUID(ownerUUID);
+    GameTestHelpers.assertTrue(
+        helper,
+        "NPC is not indexed for its owner!",
+        serverRegistry.getEntitiesByOwner(ownerUUID).contains(easyNPC)
+            && LivingEntityManager.getEntityMapByOwner(ownerUUID).containsKey(easyNPC.getUUID()));
+    ownerData.setOwnerUUID(newOwnerUUID);
+    GameTestHelpers.assertEquals(
+        helper,
+        "NPC is still indexed for the previous owner!",
+        0,
+        serverRegistry.getNumberOfEntitiesByOwner(ownerUUID));
+    GameTestHelpers.assertEquals(
+        helper,
+        "NPC is not indexed for the new owner!",
+        1,
+        LivingEntityManager.getNumberOfEasyNPCsByOwner(newOwnerUUID));
+
+    // Removed NPCs are removed from the owner index and added again with their owner.
+    serverRegistry.remove(easyNPC);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Removed NPC is still indexed!",
+        0,
+        serverRegistry.getNumberOfEntitiesByOwner(newOwnerUUID));
+    serverRegistry.add(easyNPC);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Added NPC is not indexed!",
+        1,
+        serverRegistry.getNumberOfEntitiesByOwner(newOwnerUUID));
+
+    // NPCs without owner are not indexed.
+    ownerData.setOwnerUUID(null);
+    GameTestHelpers.assertEquals(
+        helper,
+        "NPC without owner is still indexed!",
+        0,
+        serverRegistry.getNumberOfEntitiesByOwner(newOwnerUUID));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Owner quota without limit is reached!",
+        OwnerQuotaManager.isWithinQuota(100, 1, 0));
+    GameTestHelpers.assertTrue(
+        helper, "Owner quota is reached too early!", OwnerQuotaManager.isWithinQuota(1, 1, 2));
+    GameTestHelpers.assertTrue(
+        helper, "Owner quota is not reached!", !OwnerQuotaManager.isWithinQuota(2, 1, 2));
+  }
+
+  public static void testOwnerUsage(GameTestHelper helper, EasyNPC<?> easyNPC) {
+    MinecraftServer minecraftServer = helper.getLevel().getServer();
+    EasyNPCRegistry serverRegistry = LivingEntityManager.getServerRegistry();
+    OwnerSavedData ownerSavedData = OwnerSavedData.get(minecraftServer);
+    OwnerData<?> ownerData = easyNPC.getEasyNPCOwnerData();
+    GameTestHelpers.assertNotNull(helper, "No owner data available!", ownerData);
+    UUID ownerUUID = UUID.randomUUID();
+    UUID newOwnerUUID = UUID.randomUUID();
+    try {
+      // Owned NPCs are counted, also if they are not loaded anymore.
+      ownerData.setOwnerUUID(ownerUUID);
+      GameTestHelpers.assertEquals(
+          helper,
+          "NPC is not counted for its owner!",
+          1,
+          OwnerQuotaManager.getUsage(minecraftServer, ownerUUID, OwnerQuotaType.NPCS));
+      serverRegistry.remove(easyNPC);
+      GameTestHelpers.assertEquals(
+          helper,
+          "Unloaded NPC is not counted for its owner!",
+          1,
+          OwnerQuotaManager.getUsage(minecraftServer, ownerUUID, OwnerQuotaType.NPCS));
+      serverRegistry.add(easyNPC);
+
+      // Owner usage should be restored from the saved data.
+      OwnerSavedData loadedOwnerSavedData =
+          OwnerSavedData.load(ownerSavedData.save(new CompoundTag()));
+      GameTestHelpers.assertEquals(
+          helper,
+          "Owner usage was not restored!",
+          1,
+          loadedOwnerSavedData.getUsage(ownerUUID, OwnerQuotaType.NPCS));
+
+      // Owner changes are moving the usage to the new owner.
+      ownerData.setOwnerUUID(newOwnerUUID);
+      GameTestHelpers.assertEquals(
+          helper,
+          "NPC is still counted for the previous owner!",
+          0,
+          ownerSavedData.getUsage(ownerUUID, OwnerQuotaType.NPCS));
+      GameTestHelpers.assertEquals(
+          helper,
+          "NPC is not counted for the new owner!",
+          1,
+          ownerSavedData.getUsage(newOwnerUUID, OwnerQuotaType.NPCS));
+
+      // Spawners are counted by their position and owner.
+      OwnerSavedData spawnerSavedData = new OwnerSavedData();
+      spawnerSavedData.updateSpawner("spawner", ownerUUID);
+      spawnerSavedData.updateSpawner("spawner", ownerUUID);
+      GameTestHelpers.assertEquals(
+          helper,
+          "Spawner is counted twice!",
+          1,
+          spawnerSavedData.getUsage(ownerUUID, OwnerQuotaType.SPAWNERS));
+      spawnerSavedData.updateSpawner("spawner", newOwnerUUID);
+      spawnerSavedData.removeSpawner("spawner");
+      GameTestHelpers.assertEquals(
+          helper,
+          "Removed spawner is still counted!",
+          0,
+          spawnerSavedData.getUsage(ownerUUID, OwnerQuotaType.SPAWNERS)
+              + spawnerSavedData.getUsage(newOwnerUUID, OwnerQuotaType.SPAWNERS));
+
+      // Discarded NPCs are no longer counted.
+      easyNPC.getEntity().discard();
+      LivingEntityManager.removeEasyNPC(easyNPC);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Discarded NPC is still counted!",
+          !ownerSavedData.hasEntity(easyNPC.getUUID())
+              && ownerSavedData.getUsage(newOwnerUUID, OwnerQuotaType.NPCS) == 0);
+    } finally {
+      ownerSavedData.removeEntity(easyNPC.getUUID());
+    }
+  }
+}
@@ -0,0 +1,492 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.action.ActionDataEntry;
+import de.markusbordihn.easynpc.data.action.ActionDataSet;
+import de.markusbordihn.easynpc.data.action.ActionDataType;
+import de.markusbordihn.easynpc.data.action.ActionEventSet;
+import de.markusbordihn.easynpc.data.action.ActionEventType;
+import de.markusbordihn.easynpc.data.dialog.DialogUtils;
+import de.markusbordihn.easynpc.data.faction.FactionRelationType;
+import de.markusbordihn.easynpc.data.faction.FactionSavedData;
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
+import de.markusbordihn.easynpc.data.objective.ObjectiveType;
+import de.markusbordihn.easynpc.entity.ModEntityTypes;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.ActionEventData;
+import de.markusbordihn.easynpc.entity.easynpc.data.DialogData;
+import de.markusbordihn.easynpc.entity.easynpc.data.ObjectiveData;
+import de.markusbordihn.easynpc.entity.easynpc.data.SpawnerData;
+import de.markusbordihn.easynpc.entity.easynpc.data.TradingData;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.trading.MerchantOffer;
+import net.minecraft.world.item.trading.MerchantOffers;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.phys.Vec3;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class LoadTestHelper {
+
+  // The load test is expensive and therefore only enabled with -Deasy_npc.loadtest=true.
+  public static final String PROPERTY_PREFIX = "easy_npc.loadtest";
+  public static final String BATCH = "easy_npc_loadtest";
+  public static final int TIMEOUT_TICKS = 12000;
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final int MIN_COUNT = 100;
+  private static final int MAX_COUNT = 5000;
+  private static final int DEFAULT_TICKS = 200;
+  private static final int WARM_UP_TICKS = 40;
+  private static final int GRID_SPACING = 2;
+  private static final double DEFAULT_TOLERANCE = 1.2D;
+  private static final double MSPT_NOISE_FLOOR = 1.0D;
+  // Committed baseline, relative to the run directories of the loadTest and loadTestServer tasks.
+  private static final String DEFAULT_BASELINE = "../../../Common/loadtest/baseline.properties";
+  private static final String BASELINE_COMMENT =
+      """
+      Easy NPC load test baseline, keyed by <platform>.<count>.<ticks>.<metric>.
+      Tick times depend on the hardware, record them on the load test machine with
+      ./gradlew runAllLoadTests -Ploadtest_update_baseline""";
+  private static final String FACTION = "loadtest_red";
+  private static final String OTHER_FACTION = "loadtest_blue";
+  private static final String[] METRICS = {
+    "mspt.p50", "mspt.p95", "mspt.p99", "alloc.bytes_per_tick", "synched_data.bytes_per_npc"
+  };
+
+  private LoadTestHelper() {}
+
+  public static boolean isEnabled() {
+    return Boolean.getBoolean(PROPERTY_PREFIX);
+  }
+
+  public static void testLoad(GameTestHelper helper) {
+    if (!isEnabled()) {
+      log.debug("Skip load test, use -D{}=true to enable it.", PROPERTY_PREFIX);
+      helper.succeed();
+      return;
+    }
+
+    int count =
+        Math.max(
+            MIN_COUNT, Math.min(MAX_COUNT, Integer.getInteger(PROPERTY_PREFIX + ".count", 0)));
+    int ticks =
+        Math.max(
+            1,
+            Math.min(
+                TIMEOUT_TICKS - WARM_UP_TICKS - 20,
+                Integer.getInteger(PROPERTY_PREFIX + ".ticks", DEFAULT_TICKS)));
+    List<EntityType<?>> entityTypes = getEntityTypes();
+    LoadTestRun loadTestRun = new LoadTestRun(helper, count, ticks);
+
+    // Spawn the NPCs in a grid around the test structure and keep the chunks loaded.
+    int rowLength = (int) Math.ceil(Math.sqrt((double) count * entityTypes.size()));
+    BlockPos origin = helper.absolutePos(new BlockPos(1, 2, 1));
+    int index = 0;
+    for (EntityType<?> entityType : entityTypes) {
+      UUID spawnerUUID = UUID.randomUUID();
+      UUID followUUID = null;
+      for (int i = 0; i < count; i++, index++) {
+        BlockPos blockPos =
+            origin.offset(
+                (index % rowLength) * GRID_SPACING, 0, (index / rowLength) * GRID_SPACING);
+        Entity entity = loadTestRun.spawn(entityType, blockPos);
+        if (!(entity instanceof EasyNPC<?> easyNPC)) {
+          loadTestRun.cleanup();
+          helper.fail("Unable to spawn " + entityType + " at " + blockPos + "!");
+          return;
+        }
+        applyPreset(easyNPC, followUUID, i % 10 == 0 ? spawnerUUID : null);
+        loadTestRun.setFaction(easyNPC, index % 2 == 0 ? FACTION : OTHER_FACTION);
+        followUUID = entity.getUUID();
+      }
+    }
+    log.info(
+        "Load test spawned {} NPCs of {} types, measure {} ticks after {} warm-up ticks ...",
+        loadTestRun.entities.size(),
+        entityTypes.size(),
+        ticks,
+        WARM_UP_TICKS);
+
+    // Player in the corner of the grid, to trigger distance actions and activation ranges.
+    GameTestHelpers.mockServerPlayer(helper, new Vec3(1, 2, 1));
+
+    helper.onEachTick(loadTestRun::tick);
+  }
+
+  private static List<EntityType<?>> getEntityTypes() {
+    // Optional comma separated list of entity ids, e.g. "humanoid,villager".
+    String typeFilter = System.getProperty(PROPERTY_PREFIX + ".types", "");
+    Set<String> entityIds = new HashSet<>();
+    for (String entityId : typeFilter.split(",")) {
+      if (!entityId.isBlank()) {
+        entityIds.add(entityId.trim().toLowerCase(Locale.ROOT));
+      }
+    }
+    List<EntityType<?>> entityTypes = new ArrayList<>();
+    for (EntityType<?> entityType : ModEntityTypes.getRegisteredEntityTypes()) {
+      if (entityIds.isEmpty()
+          || entityIds.contains(BuiltInRegistries.ENTITY_TYPE.getKey(entityType).getPath())) {
+        entityTypes.add(entityType);
+      }
+    }
+    return entityTypes;
+  }
+
+  private static void applyPreset(EasyNPC<?> easyNPC, UUID followUUID, UUID spawnerUUID) {
+    DialogData<?> dialogData = easyNPC.getEasyNPCDialogData();
+    if (dialogData != null) {
+      dialogData.setDialogDataSet(
+          DialogUtils.getBasicDialog("Hello @initiator, I'm @npc and part of the load test."));
+    }
+
+    ActionEventData<?> actionEventData = easyNPC.getEasyNPCActionEventData();
+    if (actionEventData != null) {
+      ActionDataSet actionDataSet = new ActionDataSet();
+      actionDataSet.add(new ActionDataEntry(ActionDataType.OPEN_DEFAULT_DIALOG));
+      ActionEventSet actionEventSet = new ActionEventSet();
+      actionEventSet.setActionEvent(ActionEventType.ON_DISTANCE_NEAR, actionDataSet);
+      actionEventData.setActionEventSet(actionEventSet);
+    }
+
+    TradingData<?> tradingData = easyNPC.getEasyNPCTradingData();
+    if (tradingData != null) {
+      MerchantOffers merchantOffers = new MerchantOffers();
+      merchantOffers.add(
+          new MerchantOffer(
+              new ItemStack(Items.EMERALD), new ItemStack(Items.BREAD, 3), 16, 1, 0.05F));
+      merchantOffers.add(
+          new MerchantOffer(
+              new ItemStack(Items.WHEAT, 20), new ItemStack(Items.EMERALD), 12, 2, 0.05F));
+      tradingData.setTradingOffers(merchantOffers);
+    }
+
+    ObjectiveData<?> objectiveData = easyNPC.getEasyNPCObjectiveData();
+    if (objectiveData != null) {
+      if (followUUID != null) {
+        ObjectiveDataEntry followObjective =
+            new ObjectiveDataEntry(ObjectiveType.FOLLOW_ENTITY_BY_UUID);
+        followObjective.setTargetEntityUUID(followUUID);
+        objectiveData.addOrUpdateCustomObjective(followObjective);
+      }
+      objectiveData.addOrUpdateCustomObjective(
+          new ObjectiveDataEntry(ObjectiveType.ATTACK_HOSTILE_FACTION));
+    }
+
+    SpawnerData<?> spawnerData = easyNPC.getEasyNPCSpawnerData();
+    if (spawnerData != null && spawnerUUID != null) {
+      spawnerData.setSpawnerUUID(spawnerUUID);
+    }
+  }
+
+  private static long getAllocatedBytes() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean allocationMXBean
+        && allocationMXBean.isThreadAllocatedMemorySupported()
+        && allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+      return allocationMXBean.getCurrentThreadAllocatedBytes();
+    }
+    return -1;
+  }
+
+  private static int getSynchedDataSize(Entity entity) {
+    List<SynchedEntityData.DataValue<?>> dataValues = entity.getEntityData().getNonDefaultValues();
+    if (dataValues == null) {
+      return 0;
+    }
+    FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+    try {
+      for (SynchedEntityData.DataValue<?> dataValue : dataValues) {
+        dataValue.write(buffer);
+      }
+      buffer.writeByte(255);
+      return buffer.readableBytes();
+    } finally {
+      buffer.release();
+    }
+  }
+
+  private static double getPercentile(long[] sortedValues, double percentile) {
+    int rank = (int) Math.ceil(percentile * sortedValues.length) - 1;
+    return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, rank))] / 1_000_000D;
+  }
+
+  private static Properties readProperties(Path path) {
+    Properties properties = new Properties();
+    if (Files.exists(path)) {
+      try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      } catch (IOException exception) {
+        log.error("Unable to read load test properties from {}:", path, exception);
+      }
+    }
+    return properties;
+  }
+
+  private static void writeProperties(Path path, Properties properties, String comment) {
+    try {
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+        properties.store(writer, comment);
+      }
+    } catch (IOException exception) {
+      log.error("Unable to write load test properties to {}:", path, exception);
+    }
+  }
+
+  private static final class LoadTestRun {
+
+    private final GameTestHelper helper;
+    private final ServerLevel serverLevel;
+    private final int count;
+    private final int ticks;
+    private final long[] tickTimes;
+    private final List<Entity> entities = new ArrayList<>();
+    private final Set<ChunkPos> forcedChunks = new HashSet<>();
+    private final FactionSavedData factionSavedData;
+    private int tick = 0;
+    private int samples = 0;
+    private long allocatedBytesStart = -1;
+
+    private LoadTestRun(GameTestHelper helper, int count, int ticks) {
+      this.helper = helper;
+      this.serverLevel = helper.getLevel();
+      this.count = count;
+      this.ticks = ticks;
+      this.tickTimes = new long[ticks];
+
+      // Neighbouring NPCs are members of hostile factions, to exercise the attack objective.
+      this.factionSavedData = FactionSavedData.get(this.serverLevel.getServer());
+      this.factionSavedData.setRelation(FACTION, OTHER_FACTION, FactionRelationType.HOSTILE);
+    }
+
+    private void setFaction(EasyNPC<?> easyNPC, String faction) {
+      this.factionSavedData.setFaction(easyNPC.getUUID(), faction);
+    }
+
+    private Entity spawn(EntityType<?> entityType, BlockPos blockPos) {
+      ChunkPos chunkPos = new ChunkPos(blockPos);
+      if (this.forcedChunks.add(chunkPos)) {
+        this.serverLevel.setChunkForced(chunkPos.x, chunkPos.z, true);
+      }
+      Entity entity = entityType.create(this.serverLevel);
+      if (entity == null) {
+        return null;
+      }
+      entity.moveTo(blockPos.getX() + 0.5D, blockPos.getY(), blockPos.getZ() + 0.5D, 0F, 0F);
+      if (!this.serverLevel.addFreshEntity(entity)) {
+        return null;
+      }
+      this.entities.add(entity);
+      return entity;
+    }
+
+    private void tick() {
+      if (this.samples >= this.ticks) {
+        return;
+      }
+      int currentTick = this.tick++;
+      if (currentTick < WARM_UP_TICKS) {
+        return;
+      } else if (currentTick == WARM_UP_TICKS) {
+        this.allocatedBytesStart = getAllocatedBytes();
+        return;
+      }
+
+      // The current tick is still running, so we are using the duration of the last tick.
+      long[] serverTickTimes = this.serverLevel.getServer().tickTimes;
+      int serverTickCount = this.serverLevel.getServer().getTickCount();
+      this.tickTimes[this.samples++] =
+          serverTickTimes[(serverTickCount + serverTickTimes.length - 1) % serverTickTimes.length];
+      if (this.samples >= this.ticks) {
+        this.finish();
+      }
+    }
+
+    private void finish() {
+      long allocatedBytesEnd = getAllocatedBytes();
+      long[] sortedTickTimes = Arrays.copyOf(this.tickTimes, this.tickTimes.length);
+      Arrays.sort(sortedTickTimes);
+
+      long synchedDataBytes = 0;
+      int numberOfEntities = 0;
+      for (Entity entity : this.entities) {
+        if (entity.isAlive()) {
+          synchedDataBytes += getSynchedDataSize(entity);
+          numberOfEntities++;
+        }
+      }
+
+      Properties result = new Properties();
+      result.setProperty("count", String.valueOf(this.count));
+      result.setProperty("ticks", String.valueOf(this.ticks));
+      result.setProperty("entities", String.valueOf(numberOfEntities));
+      setMetric(result, "mspt.p50", getPercentile(sortedTickTimes, 0.50D));
+      setMetric(result, "mspt.p95", getPercentile(sortedTickTimes, 0.95D));
+      setMetric(result, "mspt.p99", getPercentile(sortedTickTimes, 0.99D));
+      setMetric(
+          result,
+          "alloc.bytes_per_tick",
+          this.allocatedBytesStart >= 0 && allocatedBytesEnd >= 0
+              ? (allocatedBytesEnd - this.allocatedBytesStart) / (double) this.ticks
+              : -1D);
+      setMetric(
+          result,
+          "synched_data.bytes_per_npc",
+          numberOfEntities > 0 ? synchedDataBytes / (double) numberOfEntities : 0D);
+      log.info("Load test result for {} NPCs per type: {}", this.count, result);
+
+      this.cleanup();
+
+      Path resultPath =
+          Paths.get(System.getProperty(PROPERTY_PREFIX + ".result", "loadtest/result.properties"));
+      writeProperties(resultPath, result, "Easy NPC load test result");
+
+      List<String> regressions = this.compareWithBaseline(result);
+      if (regressions == null) {
+        this.helper.fail(
+            "No load test baseline for "
+                + this.count
+                + " NPCs and "
+                + this.ticks
+                + " ticks, record one with -Ploadtest_update_baseline!");
+      } else if (regressions.isEmpty()) {
+        this.helper.succeed();
+      } else {
+        this.helper.fail("Load test regression: " + String.join(", ", regressions));
+      }
+    }
+
+    private List<String> compareWithBaseline(Properties result) {
+      List<String> regressions = new ArrayList<>();
+      Path baselinePath =
+          Paths.get(System.getProperty(PROPERTY_PREFIX + ".baseline", DEFAULT_BASELINE));
+      Properties baseline = readProperties(baselinePath);
+
+      // Fabric and Forge are measured separately, because their tick times are not comparable.
+      String baselinePrefix =
+          System.getProperty(PROPERTY_PREFIX + ".platform", "default")
+              + "."
+              + this.count
+              + "."
+              + this.ticks
+              + ".";
+
+      // The baseline is only stored on request, a missing baseline should never pass silently.
+      if (Boolean.getBoolean(PROPERTY_PREFIX + ".update_baseline")) {
+        for (String metric : METRICS) {
+          baseline.setProperty(baselinePrefix + metric, result.getProperty(metric));
+        }
+        writeProperties(baselinePath, baseline, BASELINE_COMMENT);
+        log.info("Stored load test baseline for {} in {}", baselinePrefix, baselinePath);
+        return regressions;
+      } else if (!baseline.containsKey(baselinePrefix + METRICS[0])) {
+        log.error("Missing load test baseline for {} in {}", baselinePrefix, baselinePath);
+        return null;
+      }
+
+      double tolerance =
+          parseDouble(System.getProperty(PROPERTY_PREFIX + ".tolerance"), DEFAULT_TOLERANCE);
+      for (String metric : METRICS) {
+        double value = parseDouble(result.getProperty(metric), -1D);
+        double baselineValue = parseDouble(baseline.getProperty(baselinePrefix + metric), -1D);
+        if (value < 0 || baselineValue < 0) {
+          continue;
+        }
+
+        // Small tick times are too noisy for a relative comparison alone.
+        double limit = baselineValue * tolerance;
+        if (metric.startsWith("mspt.")) {
+          limit = Math.max(limit, baselineValue + MSPT_NOISE_FLOOR);
+        }
+        if (value > limit) {
+          regressions.add(
+              String.format(
+                  Locale.ROOT,
+                  "%s %.2f > %.2f (baseline %.2f)",
+                  metric,
+                  value,
+                  limit,
+                  baselineValue));
+        }
+      }
+      return regressions;
+    }
+
+    private void cleanup() {
+      for (Entity entity : this.entities) {
+        this.factionSavedData.removeFaction(entity.getUUID());
+        entity.discard();
+      }
+      this.entities.clear();
+      this.factionSavedData.setRelation(FACTION, OTHER_FACTION, FactionRelationType.NEUTRAL);
+      for (ChunkPos chunkPos : this.forcedChunks) {
+        this.serverLevel.setChunkForced(chunkPos.x, chunkPos.z, false);
+      }
+      this.forcedChunks.clear();
+    }
+
+    private static void setMetric(Properties properties, String metric, double value) {
+      properties.setProperty(metric, String.format(Locale.ROOT, "%.3f", value));
+    }
+
+    private static double parseDouble(String value, double defaultValue) {
+      if (value == null || value.isBlank()) {
+        return defaultValue;
+      }
+      try {
+        return Double.parseDouble(value.trim());
+      } catch (NumberFormatException exception) {
+        return defaultValue;
+      }
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.model.ModelPart;
+import de.markusbordihn.easynpc.data.model.ModelPose;
+import de.markusbordihn.easynpc.data.model.ModelPoseSnapshot;
+import de.markusbordihn.easynpc.data.position.CustomPosition;
+import de.markusbordihn.easynpc.data.rotation.CustomRotation;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.ModelData;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.phys.Vec3;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class ModelPoseSnapshotTestHelper {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final int NUMBER_OF_NPCS = 300;
+  private static final int NUMBER_OF_POSES = 3;
+  private static final int NUMBER_OF_FRAMES = 200;
+
+  private static final ModelPart[] MODEL_PARTS = {
+    ModelPart.HEAD,
+    ModelPart.BODY,
+    ModelPart.ARMS,
+    ModelPart.LEFT_ARM,
+    ModelPart.RIGHT_ARM,
+    ModelPart.LEFT_LEG,
+    ModelPart.RIGHT_LEG
+  };
+
+  private ModelPoseSnapshotTestHelper() {}
+
+  public static void testSnapshotSharing(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(1, 2, 1));
+    EasyNPC<?> otherEasyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(2, 2, 2));
+    ModelData<?> modelData = easyNPC.getEasyNPCModelData();
+    ModelData<?> otherModelData = otherEasyNPC.getEasyNPCModelData();
+    setCustomPose(modelData, 1);
+    setCustomPose(otherModelData, 1);
+
+    // Same pose should share the same snapshot, which is only rebuilt after changes.
+    ModelPoseSnapshot modelPoseSnapshot = modelData.getModelPoseSnapshot();
+    GameTestHelpers.assertTrue(
+        helper,
+        "Snapshot was rebuilt without changes!",
+        modelPoseSnapshot == modelData.getModelPoseSnapshot());
+    GameTestHelpers.assertTrue(
+        helper,
+        "Snapshot is not shared for the same pose!",
+        modelPoseSnapshot == otherModelData.getModelPoseSnapshot());
+    assertSnapshotMatchesModelData(helper, modelPoseSnapshot, modelData);
+
+    // Changed pose should create a new snapshot and keep the snapshot of the other NPC.
+    modelData.setModelHeadRotation(new CustomRotation(0.5F, 0.25F, 0F));
+    ModelPoseSnapshot changedModelPoseSnapshot = modelData.getModelPoseSnapshot();
+    GameTestHelpers.assertTrue(
+        helper,
+        "Snapshot was not rebuilt after changes!",
+        changedModelPoseSnapshot != modelPoseSnapshot);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Snapshot of other NPC was changed!",
+        modelPoseSnapshot == otherModelData.getModelPoseSnapshot());
+    assertSnapshotMatchesModelData(helper, changedModelPoseSnapshot, modelData);
+  }
+
+  public static void testSnapshotBenchmark(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    List<ModelData<?>> modelDataList = new ArrayList<>();
+    for (int i = 0; i < NUMBER_OF_NPCS; i++) {
+      EasyNPC<?> easyNPC = GameTestHelpers.spawnNPCEntityType(helper, entityType);
+      GameTestHelpers.assertNotNull(helper, "EasyNPC is null!", easyNPC);
+      ModelData<?> modelData = easyNPC.getEasyNPCModelData();
+      setCustomPose(modelData, i % NUMBER_OF_POSES);
+      modelDataList.add(modelData);
+    }
+
+    // Simulates the pose reads of the model and renderer for each rendered frame.
+    float accessorResult = 0;
+    long accessorStartTime = System.nanoTime();
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      for (ModelData<?> modelData : modelDataList) {
+        accessorResult += readModelData(modelData);
+      }
+    }
+    long accessorTime = System.nanoTime() - accessorStartTime;
+
+    float snapshotResult = 0;
+    long snapshotStartTime = System.nanoTime();
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      for (ModelData<?> modelData : modelDataList) {
+        snapshotResult += readModelPoseSnapshot(modelData.getModelPoseSnapshot());
+      }
+    }
+    long snapshotTime = System.nanoTime() - snapshotStartTime;
+
+    Map<ModelPoseSnapshot, Boolean> modelPoseSnapshots = new IdentityHashMap<>();
+    for (ModelData<?> modelData : modelDataList) {
+      modelPoseSnapshots.put(modelData.getModelPoseSnapshot(), true);
+    }
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected number of shared snapshots!",
+        NUMBER_OF_POSES,
+        modelPoseSnapshots.size());
+    GameTestHelpers.assertEquals(
+        helper, "Snapshot values differ from accessors!", accessorResult, snapshotResult);
+    log.info(
+        "Model pose benchmark {} NPCs, {} frames: accessors {} ns/frame, snapshots {} ns/frame",
+        NUMBER_OF_NPCS,
+        NUMBER_OF_FRAMES,
+        accessorTime / NUMBER_OF_FRAMES,
+        snapshotTime / NUMBER_OF_FRAMES);
+
+    for (ModelData<?> modelData : modelDataList) {
+      modelData.getEntity().discard();
+    }
+  }
+
+  private static void setCustomPose(ModelData<?> modelData, int variant) {
+    modelData.setModelPose(ModelPose.CUSTOM);
+    modelData.setModelHeadRotation(new CustomRotation(0.1F * variant, 0.2F, 0F));
+    modelData.setModelLeftArmRotation(new CustomRotation(-1.5F, 0F, 0.1F * variant));
+    modelData.setModelRightArmPosition(new CustomPosition(0F, 0.5F * variant, 0F));
+    modelData.setModelRootRotation(new CustomRotation(0F, 0F, 0.05F * variant));
+  }
+
+  private static float readModelData(ModelData<?> modelData) {
+    float result = 0;
+    for (ModelPart modelPart : MODEL_PARTS) {
+      if (!modelData.isModelPartVisible(modelPart)) {
+        continue;
+      }
+      CustomPosition position = modelData.getModelPartPosition(modelPart);
+      if (position != null) {
+        result += position.x() + position.y() + position.z();
+      }
+      CustomRotation rotation = modelData.getModelPartRotation(modelPart);
+      if (rotation != null) {
+        result += rotation.x() + rotation.y() + rotation.z();
+      }
+    }
+    CustomRotation rootRotation = modelData.getModelRootRotation();
+    if (rootRotation != null) {
+      result += rootRotation.x() + rootRotation.y() + rootRotation.z();
+    }
+    return result;
+  }
+
+  private static float readModelPoseSnapshot(ModelPoseSnapshot modelPoseSnapshot) {
+    float result = 0;
+    for (int index = ModelPoseSnapshot.HEAD; index <= ModelPoseSnapshot.RIGHT_LEG; index++) {
+      if (!modelPoseSnapshot.isVisible(index)) {
+        continue;
+      }
+      result +=
+          modelPoseSnapshot.getPositionX(index)
+              + modelPoseSnapshot.getPositionY(index)
+              + modelPoseSnapshot.getPositionZ(index);
+      result +=
+          modelPoseSnapshot.getRotationX(index)
+              + modelPoseSnapshot.getRotationY(index)
+              + modelPoseSnapshot.getRotationZ(index);
+    }
+    if (modelPoseSnapshot.hasRootRotation()) {
+      result +=
+          modelPoseSnapshot.getRootRotationX()
+              + modelPoseSnapshot.getRootRotationY()
+              + modelPoseSnapshot.getRootRotationZ();
+    }
+    return result;
+  }
+
+  private static void assertSnapshotMatchesModelData(
+      GameTestHelper helper, ModelPoseSnapshot modelPoseSnapshot, ModelData<?> modelData) {
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected model pose!",
+        modelData.getModelPose(),
+        modelPoseSnapshot.getModelPose());
+    for (int index = 0; index < MODEL_PARTS.length; index++) {
+      ModelPart modelPart = MODEL_PARTS[index];
+      CustomRotation rotation = modelData.getModelPartRotation(modelPart);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Snapshot rotation differs for " + modelPart,
+          rotation.x() == modelPoseSnapshot.getRotationX(index)
+              && rotation.y() == modelPoseSnapshot.getRotationY(index)
+              && rotation.z() == modelPoseSnapshot.getRotationZ(index));
+      CustomPosition position = modelData.getModelPartPosition(modelPart);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Snapshot position differs for " + modelPart,
+          position.x() == modelPoseSnapshot.getPositionX(index)
+              && position.y() == modelPoseSnapshot.getPositionY(index)
+              && position.z() == modelPoseSnapshot.getPositionZ(index));
+      GameTestHelpers.assertEquals(
+          helper,
+          "Snapshot visibility differs for " + modelPart,
+          modelData.isModelPartVisible(modelPart),
+          modelPoseSnapshot.isVisible(index));
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataSet;
+import de.markusbordihn.easynpc.data.objective.ObjectiveGroup;
+import de.markusbordihn.easynpc.data.objective.ObjectiveType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+public class ObjectiveDataSetTestHelper {
+
+  private static final long[] RANDOM_SEEDS = {1L, 42L, 1337L, 20240101L};
+  private static final int NUMBER_OF_OPERATIONS = 250;
+  private static final ObjectiveType[] OBJECTIVE_TYPES = {
+    ObjectiveType.FOLLOW_PLAYER,
+    ObjectiveType.FOLLOW_ENTITY_BY_UUID,
+    ObjectiveType.FOLLOW_OWNER,
+    ObjectiveType.LOOK_AT_PLAYER,
+    ObjectiveType.MELEE_ATTACK,
+    ObjectiveType.MOVE_BACK_TO_HOME,
+    ObjectiveType.RANDOM_STROLL
+  };
+  private static final String[] PLAYER_NAMES = {"", "Alex", "Steve", "Notch"};
+  private static final UUID[] ENTITY_UUIDS = {
+    UUID.fromString("00000000-0000-0000-0000-000000000001"),
+    UUID.fromString("00000000-0000-0000-0000-000000000002"),
+    UUID.fromString("00000000-0000-0000-0000-000000000003")
+  };
+
+  private ObjectiveDataSetTestHelper() {}
+
+  public static void testIndexedQueries(GameTestHelper helper) {
+    for (long randomSeed : RANDOM_SEEDS) {
+      Random random = new Random(randomSeed);
+      ObjectiveDataSet objectiveDataSet = new ObjectiveDataSet();
+      Map<String, ObjectiveDataEntry> referenceMap = new HashMap<>();
+
+      for (int step = 0; step < NUMBER_OF_OPERATIONS; step++) {
+        ObjectiveType objectiveType = OBJECTIVE_TYPES[random.nextInt(OBJECTIVE_TYPES.length)];
+        int operation = random.nextInt(10);
+        if (operation < 5) {
+          ObjectiveDataEntry objectiveDataEntry = new ObjectiveDataEntry(objectiveType);
+          setRandomTarget(random, objectiveDataEntry);
+          objectiveDataSet.addObjective(objectiveDataEntry);
+          referenceMap.put(objectiveDataEntry.getId(), objectiveDataEntry);
+        } else if (operation < 8) {
+          boolean removed = objectiveDataSet.removeObjective(objectiveType);
+          boolean expectedRemoved = referenceMap.remove(objectiveType.name()) != null;
+          assertStep(helper, randomSeed, step, "removeObjective", removed == expectedRemoved);
+        } else {
+          // Change the target of an existing objective in place and re-index it.
+          ObjectiveDataEntry objectiveDataEntry = referenceMap.get(objectiveType.name());
+          if (objectiveDataEntry != null) {
+            setRandomTarget(random, objectiveDataEntry);
+            objectiveDataSet.updateObjective(objectiveDataEntry);
+          }
+        }
+        assertMatchesReference(helper, randomSeed, step, objectiveDataSet, referenceMap);
+      }
+    }
+  }
+
+  private static void setRandomTarget(Random random, ObjectiveDataEntry objectiveDataEntry) {
+    objectiveDataEntry.setTargetPlayerName(
+        random.nextBoolean() ? PLAYER_NAMES[random.nextInt(PLAYER_NAMES.length)] : null);
+    objectiveDataEntry.setTargetEntityUUID(
+        random.nextBoolean() ? ENTITY_UUIDS[random.nextInt(ENTITY_UUIDS.length)] : null);
+    objectiveDataEntry.setTargetOwnerUUID(random.nextBoolean() ? ENTITY_UUIDS[0] : null);
+  }
+
+  private static void assertMatchesReference(
+      GameTestHelper helper,
+      long randomSeed,
+      int step,
+      ObjectiveDataSet objectiveDataSet,
+      Map<String, ObjectiveDataEntry> referenceMap) {
+    Set<ObjectiveDataEntry> referenceSet = new HashSet<>(referenceMap.values());
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "getObjectives",
+        objectiveDataSet.getObjectives().equals(referenceSet));
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "hasObjectives",
+        objectiveDataSet.hasObjectives() == !referenceMap.isEmpty());
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "hasObjectives(FOLLOW)",
+        objectiveDataSet.hasObjectives(ObjectiveGroup.FOLLOW)
+            == anyMatch(referenceMap, entry -> ObjectiveGroup.FOLLOW.contains(entry.getType())));
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "hasTravelTarget",
+        objectiveDataSet.hasTravelTarget()
+            == anyMatch(referenceMap, ObjectiveDataEntry::hasTravelObjective));
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "hasPlayerTarget",
+        objectiveDataSet.hasPlayerTarget()
+            == anyMatch(referenceMap, ObjectiveDataEntry::hasPlayerTarget));
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "hasEntityTarget",
+        objectiveDataSet.hasEntityTarget()
+            == anyMatch(referenceMap, ObjectiveDataEntry::hasEntityTarget));
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "hasOwnerTarget",
+        objectiveDataSet.hasOwnerTarget()
+            == anyMatch(referenceMap, ObjectiveDataEntry::hasOwnerTarget));
+
+    for (ObjectiveType objectiveType : OBJECTIVE_TYPES) {
+      List<ObjectiveDataEntry> referenceEntries =
+          filter(referenceMap, entry -> entry.getType() == objectiveType);
+      assertStep(
+          helper,
+          randomSeed,
+          step,
+          "hasObjective(" + objectiveType + ")",
+          objectiveDataSet.hasObjective(objectiveType) == !referenceEntries.isEmpty());
+      assertStep(
+          helper,
+          randomSeed,
+          step,
+          "getObjectives(" + objectiveType + ")",
+          new HashSet<>(objectiveDataSet.getObjectives(objectiveType))
+              .equals(new HashSet<>(referenceEntries)));
+    }
+
+    for (String playerName : PLAYER_NAMES) {
+      List<ObjectiveDataEntry> referenceEntries =
+          filter(
+              referenceMap,
+              entry ->
+                  entry.hasPlayerTarget() && playerName.equals(entry.getTargetPlayerName()));
+      assertStep(
+          helper,
+          randomSeed,
+          step,
+          "isTargetedPlayer(" + playerName + ")",
+          objectiveDataSet.isTargetedPlayer(playerName) == !referenceEntries.isEmpty());
+      assertStep(
+          helper,
+          randomSeed,
+          step,
+          "getObjectivesByTargetPlayer(" + playerName + ")",
+          new HashSet<>(objectiveDataSet.getObjectivesByTargetPlayer(playerName))
+              .equals(new HashSet<>(referenceEntries)));
+    }
+
+    for (UUID entityUUID : ENTITY_UUIDS) {
+      List<ObjectiveDataEntry> referenceEntries =
+          filter(
+              referenceMap,
+              entry ->
+                  entry.hasEntityTarget()
+                      && Objects.equals(entityUUID, entry.getTargetEntityUUID()));
+      assertStep(
+          helper,
+          randomSeed,
+          step,
+          "isTargetedEntity(" + entityUUID + ")",
+          objectiveDataSet.isTargetedEntity(entityUUID) == !referenceEntries.isEmpty());
+      assertStep(
+          helper,
+          randomSeed,
+          step,
+          "getObjectivesByTargetEntity(" + entityUUID + ")",
+          new HashSet<>(objectiveDataSet.getObjectivesByTargetEntity(entityUUID))
+              .equals(new HashSet<>(referenceEntries)));
+    }
+  }
+
+  private static boolean anyMatch(
+      Map<String, ObjectiveDataEntry> referenceMap, Predicate<ObjectiveDataEntry> predicate) {
+    return !filter(referenceMap, predicate).isEmpty();
+  }
+
+  private static List<ObjectiveDataEntry> filter(
+      Map<String, ObjectiveDataEntry> referenceMap, Predicate<ObjectiveDataEntry> predicate) {
+    // Naive reference implementation, which scans all objectives for every query.
+    List<ObjectiveDataEntry> result = new ArrayList<>();
+    for (ObjectiveDataEntry objectiveDataEntry : referenceMap.values()) {
+      if (predicate.test(objectiveDataEntry)) {
+        result.add(objectiveDataEntry);
+      }
+    }
+    return result;
+  }
+
+  private static void assertStep(
+      GameTestHelper helper, long randomSeed, int step, String query, boolean condition) {
+    if (!condition) {
+      helper.fail(
+          "Indexed " + query + " differs from reference at seed " + randomSeed + " step " + step);
+    }
+  }
+}
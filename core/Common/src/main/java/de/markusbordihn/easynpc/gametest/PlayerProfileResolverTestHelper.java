@@ -0,0 +1,244 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.markusbordihn.easynpc.utils.PlayerProfileResolver;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+public class PlayerProfileResolverTestHelper {
+
+  private static final String TEST_PLAYER_NAME = "TestPlayer";
+  private static final UUID TEST_PLAYER_UUID =
+      UUID.fromString("8b2c4b68-3c1b-4f5e-9d1a-2b6b7e0f4a11");
+  private static final String TEST_PLAYER_SKIN_URL =
+      "http://textures.minecraft.net/texture/test_player_skin";
+
+  private PlayerProfileResolverTestHelper() {}
+
+  public static void testResolveWithLocalEndpoint(GameTestHelper helper) {
+    AtomicInteger numberOfRequests = new AtomicInteger();
+    HttpServer httpServer = startLocalProfileServer(helper, numberOfRequests);
+    Path cacheFile = createCacheFile(helper);
+    String baseUrl = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+    try {
+      PlayerProfileResolver playerProfileResolver = createResolver(baseUrl, cacheFile, 60);
+
+      // Known player should be resolved over the local endpoint.
+      UUID userUUID = join(helper, playerProfileResolver.resolveUserUUID(null, TEST_PLAYER_NAME));
+      GameTestHelpers.assertEquals(helper, "Wrong user UUID!", TEST_PLAYER_UUID, userUUID);
+
+      // Second lookup should be answered by the local cache.
+      join(helper, playerProfileResolver.resolveUserUUID(null, TEST_PLAYER_NAME.toLowerCase()));
+      GameTestHelpers.assertEquals(
+          helper, "Cached user was requested again!", 1, numberOfRequests.get());
+
+      // Unknown player should be cached negatively.
+      GameTestHelpers.assertTrue(
+          helper,
+          "Unknown user should not be resolved!",
+          join(helper, playerProfileResolver.resolveUserUUID(null, "UnknownPlayer")) == null);
+      join(helper, playerProfileResolver.resolveUserUUID(null, "UnknownPlayer"));
+      GameTestHelpers.assertEquals(
+          helper, "Failed lookup was not cached!", 2, numberOfRequests.get());
+
+      // Skin texture should be resolved over the local session endpoint.
+      String userTexture = join(helper, playerProfileResolver.resolveUserTexture(userUUID));
+      GameTestHelpers.assertEquals(
+          helper, "Wrong user texture!", TEST_PLAYER_SKIN_URL, userTexture);
+      playerProfileResolver.shutdown();
+
+      // Persisted cache should be used without any further remote lookup.
+      PlayerProfileResolver cachedPlayerProfileResolver = createResolver(null, cacheFile, 60);
+      GameTestHelpers.assertEquals(
+          helper,
+          "Persisted user UUID not found!",
+          TEST_PLAYER_UUID,
+          cachedPlayerProfileResolver.getCachedUserUUID(null, TEST_PLAYER_NAME).orElse(null));
+      cachedPlayerProfileResolver.shutdown();
+    } finally {
+      httpServer.stop(0);
+    }
+  }
+
+  public static void testRateLimit(GameTestHelper helper) {
+    AtomicInteger numberOfRequests = new AtomicInteger();
+    HttpServer httpServer = startLocalProfileServer(helper, numberOfRequests);
+    String baseUrl = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+    try {
+      PlayerProfileResolver playerProfileResolver = createResolver(baseUrl, null, 2);
+      for (int i = 0; i < 5; i++) {
+        join(helper, playerProfileResolver.resolveUserUUID(null, "UnknownPlayer" + i));
+      }
+      GameTestHelpers.assertEquals(
+          helper, "Rate limit was not respected!", 2, numberOfRequests.get());
+      playerProfileResolver.shutdown();
+    } finally {
+      httpServer.stop(0);
+    }
+  }
+
+  public static void testServerProfileCache(GameTestHelper helper) {
+    Path serverProfileCacheFile = createCacheFile(helper);
+    try {
+      Files.writeString(
+          serverProfileCacheFile,
+          "[{\"name\":\""
+              + TEST_PLAYER_NAME
+              + "\",\"uuid\":\""
+              + TEST_PLAYER_UUID
+              + "\",\"expiresOn\":\"2999-01-01 00:00:00 +0000\"},"
+              + "{\"name\":\"ExpiredPlayer\",\"uuid\":\""
+              + UUID.randomUUID()
+              + "\",\"expiresOn\":\"2000-01-01 00:00:00 +0000\"}]",
+          StandardCharsets.UTF_8);
+    } catch (IOException exception) {
+      helper.fail("Unable to write server profile cache: " + exception);
+      return;
+    }
+
+    // Server profile cache should be read without any remote lookup.
+    PlayerProfileResolver playerProfileResolver = createResolver(null, null, 60);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Server cached user UUID not found!",
+        TEST_PLAYER_UUID,
+        playerProfileResolver
+            .getServerCachedUserUUID(serverProfileCacheFile, TEST_PLAYER_NAME.toLowerCase())
+            .orElse(null));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Expired server cached user should not be resolved!",
+        playerProfileResolver
+            .getServerCachedUserUUID(serverProfileCacheFile, "ExpiredPlayer")
+            .isEmpty());
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected remote lookup!", 0, playerProfileResolver.getNumberOfRemoteLookups());
+    playerProfileResolver.shutdown();
+  }
+
+  private static PlayerProfileResolver createResolver(
+      String baseUrl, Path cacheFile, int maxLookupsPerMinute) {
+    return new PlayerProfileResolver(
+        baseUrl != null ? baseUrl + "/users/profiles/minecraft/%s" : null,
+        baseUrl != null ? baseUrl + "/session/minecraft/profile/%s" : null,
+        cacheFile,
+        1000,
+        1000,
+        1,
+        8,
+        maxLookupsPerMinute,
+        64,
+        TimeUnit.DAYS.toMillis(1),
+        TimeUnit.MINUTES.toMillis(1));
+  }
+
+  private static <T> T join(GameTestHelper helper, CompletableFuture<T> future) {
+    try {
+      return future.get(5, TimeUnit.SECONDS);
+    } catch (Exception exception) {
+      helper.fail("Lookup failed: " + exception);
+      return null;
+    }
+  }
+
+  private static Path createCacheFile(GameTestHelper helper) {
+    try {
+      Path cacheFile = Files.createTempFile("easy_npc_player_profiles", ".json");
+      Files.delete(cacheFile);
+      cacheFile.toFile().deleteOnExit();
+      return cacheFile;
+    } catch (IOException exception) {
+      helper.fail("Unable to create cache file: " + exception);
+      return null;
+    }
+  }
+
+  private static HttpServer startLocalProfileServer(
+      GameTestHelper helper, AtomicInteger numberOfRequests) {
+    try {
+      HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+      httpServer.createContext(
+          "/users/profiles/minecraft/",
+          exchange -> {
+            numberOfRequests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/" + TEST_PLAYER_NAME)) {
+              sendResponse(
+                  exchange,
+                  200,
+                  "{\"id\":\""
+                      + TEST_PLAYER_UUID.toString().replace("-", "")
+                      + "\",\"name\":\""
+                      + TEST_PLAYER_NAME
+                      + "\"}");
+            } else {
+              sendResponse(exchange, 404, "");
+            }
+          });
+      httpServer.createContext(
+          "/session/minecraft/profile/",
+          exchange -> {
+            String textures =
+                Base64.getEncoder()
+                    .encodeToString(
+                        ("{\"textures\":{\"SKIN\":{\"url\":\"" + TEST_PLAYER_SKIN_URL + "\"}}}")
+                            .getBytes(StandardCharsets.UTF_8));
+            sendResponse(
+                exchange,
+                200,
+                "{\"id\":\""
+                    + TEST_PLAYER_UUID
+                    + "\",\"properties\":[{\"name\":\"textures\",\"value\":\""
+                    + textures
+                    + "\"}]}");
+          });
+      httpServer.start();
+      return httpServer;
+    } catch (IOException exception) {
+      helper.fail("Unable to start local profile server: " + exception);
+      return null;
+    }
+  }
+
+  private static void sendResponse(HttpExchange exchange, int statusCode, String body)
+      throws IOException {
+    byte[] data = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(statusCode, data.length > 0 ? data.length : -1);
+    if (data.length > 0) {
+      try (OutputStream outputStream = exchange.getResponseBody()) {
+        outputStream.write(data);
+      }
+    }
+    exchange.close();
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.action.ActionDataEntry;
+import de.markusbordihn.easynpc.data.action.ActionDataSet;
+import de.markusbordihn.easynpc.data.action.ActionDataType;
+import de.markusbordihn.easynpc.data.action.ActionEventSet;
+import de.markusbordihn.easynpc.data.action.ActionEventType;
+import de.markusbordihn.easynpc.data.dialog.DialogButtonEntry;
+import de.markusbordihn.easynpc.data.dialog.DialogDataEntry;
+import de.markusbordihn.easynpc.data.dialog.DialogDataSet;
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
+import de.markusbordihn.easynpc.data.objective.ObjectiveType;
+import de.markusbordihn.easynpc.data.preset.PresetTemplate;
+import de.markusbordihn.easynpc.data.skin.SkinDataEntry;
+import de.markusbordihn.easynpc.data.skin.SkinType;
+import de.markusbordihn.easynpc.data.trading.TradingDataSet;
+import de.markusbordihn.easynpc.data.trading.TradingType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.DialogData;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.phys.Vec3;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class PresetTemplateTestHelper {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final int NUMBER_OF_DIALOGS = 20;
+  private static final int NUMBER_OF_SPAWNS = 50;
+
+  private PresetTemplateTestHelper() {}
+
+  public static void testDecodedDataSets(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(0, 2, 0));
+    CompoundTag presetTag = createPresetTag(easyNPC);
+    PresetTemplate presetTemplate = PresetTemplate.create(presetTag, null);
+    GameTestHelpers.assertNotNull(helper, "Preset template is null!", presetTemplate);
+    GameTestHelpers.assertTrue(
+        helper, "Preset data sets are not decoded!", presetTemplate.hasDecodedDataSets());
+
+    EasyNPC<?> firstNPC = spawn(helper, presetTemplate);
+    EasyNPC<?> secondNPC = spawn(helper, presetTemplate);
+
+    // Spawned NPCs should get the same data as a regular load of the preset.
+    GameTestHelpers.assertEquals(
+        helper,
+        "Dialogs differ from preset!",
+        easyNPC.getEasyNPCDialogData().getDialogDataSet().createTag(),
+        firstNPC.getEasyNPCDialogData().getDialogDataSet().createTag());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Actions differ from preset!",
+        easyNPC.getEasyNPCActionEventData().getActionEventSet().createTag(),
+        firstNPC.getEasyNPCActionEventData().getActionEventSet().createTag());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Objectives differ from preset!",
+        easyNPC.getEasyNPCObjectiveData().getObjectiveDataSet().createTag(),
+        firstNPC.getEasyNPCObjectiveData().getObjectiveDataSet().createTag());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Trading differs from preset!",
+        easyNPC.getEasyNPCTradingData().getTradingDataSet().createTag(),
+        firstNPC.getEasyNPCTradingData().getTradingDataSet().createTag());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Skin differs from preset!",
+        easyNPC.getEasyNPCSkinData().getSkinDataEntry(),
+        firstNPC.getEasyNPCSkinData().getSkinDataEntry());
+
+    // Immutable skin data is shared, mutable data sets belong to each NPC.
+    GameTestHelpers.assertTrue(
+        helper,
+        "Skin data entry is not shared!",
+        firstNPC.getEasyNPCSkinData().getSkinDataEntry()
+            == secondNPC.getEasyNPCSkinData().getSkinDataEntry());
+    DialogDataSet firstDialogDataSet = firstNPC.getEasyNPCDialogData().getDialogDataSet();
+    DialogDataSet secondDialogDataSet = secondNPC.getEasyNPCDialogData().getDialogDataSet();
+    GameTestHelpers.assertTrue(
+        helper, "Dialog data set is shared!", firstDialogDataSet != secondDialogDataSet);
+    UUID dialogId = firstDialogDataSet.getDefaultDialogId();
+    firstDialogDataSet.removeDialog(dialogId);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Changed dialog leaked into other NPC!",
+        !firstDialogDataSet.hasDialog(dialogId) && secondDialogDataSet.hasDialog(dialogId));
+    ObjectiveDataEntry firstObjective =
+        firstNPC
+            .getEasyNPCObjectiveData()
+            .getObjectiveDataSet()
+            .getObjective(ObjectiveType.FOLLOW_PLAYER);
+    ObjectiveDataEntry secondObjective =
+        secondNPC
+            .getEasyNPCObjectiveData()
+            .getObjectiveDataSet()
+            .getObjective(ObjectiveType.FOLLOW_PLAYER);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Objective is shared!",
+        firstObjective != null && secondObjective != null && firstObjective != secondObjective);
+  }
+
+  public static void testTemplateSpawns(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(0, 2, 0));
+    CompoundTag presetTag = createPresetTag(easyNPC);
+    PresetTemplate presetTemplate = PresetTemplate.create(presetTag, null);
+    GameTestHelpers.assertNotNull(helper, "Preset template is null!", presetTemplate);
+    ServerLevel serverLevel = helper.getLevel();
+
+    // Each spawn needs its own copy of the template tag, without the decoded data sets.
+    CompoundTag firstEntityTag = presetTemplate.createEntityTag();
+    CompoundTag secondEntityTag = presetTemplate.createEntityTag();
+    GameTestHelpers.assertTrue(
+        helper, "Template tag is shared!", firstEntityTag != secondEntityTag);
+    GameTestHelpers.assertEquals(
+        helper, "Template tag copies differ!", firstEntityTag, secondEntityTag);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Decoded dialog data is still part of the template tag!",
+        !firstEntityTag.contains(DialogData.DATA_DIALOG_DATA_TAG));
+    firstEntityTag.putString(Entity.ID_TAG, "minecraft:pig");
+    GameTestHelpers.assertEquals(
+        helper,
+        "Changed template tag leaked into next spawn!",
+        presetTag.getString(Entity.ID_TAG),
+        presetTemplate.createEntityTag().getString(Entity.ID_TAG));
+
+    // The dialog buttons are only shared, if all spawns are using the same decoded data set.
+    EasyNPC<?> firstNPC = spawn(helper, presetTemplate);
+    EasyNPC<?> secondNPC = spawn(helper, presetTemplate);
+    DialogDataEntry firstDialog =
+        firstNPC.getEasyNPCDialogData().getDialogDataSet().getDefaultDialog();
+    DialogDataEntry secondDialog =
+        secondNPC.getEasyNPCDialogData().getDialogDataSet().getDefaultDialog();
+    GameTestHelpers.assertTrue(
+        helper,
+        "Preset was decoded again for each spawn!",
+        firstDialog != secondDialog
+            && firstDialog.getDialogButtons().iterator().next()
+                == secondDialog.getDialogButtons().iterator().next());
+
+    // Timings are only logged, because they depend on the load of the test machine.
+    long startTime = System.nanoTime();
+    for (int i = 0; i < NUMBER_OF_SPAWNS; i++) {
+      presetTemplate.createEntity(serverLevel, 0, 0, 0, null);
+    }
+    long templateTime = System.nanoTime() - startTime;
+    startTime = System.nanoTime();
+    for (int i = 0; i < NUMBER_OF_SPAWNS; i++) {
+      Entity entity = presetTemplate.getEntityType().create(serverLevel);
+      if (entity != null) {
+        entity.load(presetTag.copy());
+      }
+    }
+    long loadTime = System.nanoTime() - startTime;
+    log.info(
+        "Preset spawn took {} ns from template and {} ns with a full load.",
+        templateTime / NUMBER_OF_SPAWNS,
+        loadTime / NUMBER_OF_SPAWNS);
+  }
+
+  private static CompoundTag createPresetTag(EasyNPC<?> easyNPC) {
+    DialogDataSet dialogDataSet = new DialogDataSet();
+    for (int i = 0; i < NUMBER_OF_DIALOGS; i++) {
+      Set<DialogButtonEntry> dialogButtons = new LinkedHashSet<>();
+      ActionDataSet buttonActionDataSet = new ActionDataSet();
+      buttonActionDataSet.add(
+          new ActionDataEntry(
+              ActionDataType.OPEN_NAMED_DIALOG, "dialog_" + ((i + 1) % NUMBER_OF_DIALOGS)));
+      dialogButtons.add(new DialogButtonEntry("Next", "next", buttonActionDataSet));
+      dialogButtons.add(new DialogButtonEntry("Close", "close", new ActionDataSet()));
+      DialogDataEntry dialogDataEntry =
+          new DialogDataEntry(
+              "dialog_" + i, "Dialog " + i, "Hello @initiator, dialog " + i, dialogButtons);
+      if (i == 0) {
+        dialogDataSet.addDefaultDialog(dialogDataEntry);
+      } else {
+        dialogDataSet.addDialog(dialogDataEntry);
+      }
+    }
+    easyNPC.getEasyNPCDialogData().setDialogDataSet(dialogDataSet);
+
+    ActionDataSet actionDataSet = new ActionDataSet();
+    actionDataSet.add(new ActionDataEntry(ActionDataType.OPEN_DEFAULT_DIALOG));
+    actionDataSet.add(new ActionDataEntry(ActionDataType.COMMAND, "/say @npc", 0));
+    ActionEventSet actionEventSet = new ActionEventSet();
+    actionEventSet.setActionEvent(ActionEventType.ON_INTERACTION, actionDataSet);
+    actionEventSet.setActionEvent(ActionEventType.ON_DISTANCE_NEAR, actionDataSet.copy());
+    easyNPC.getEasyNPCActionEventData().setActionEventSet(actionEventSet);
+
+    easyNPC
+        .getEasyNPCObjectiveData()
+        .addOrUpdateCustomObjective(new ObjectiveDataEntry(ObjectiveType.FOLLOW_PLAYER));
+    easyNPC
+        .getEasyNPCObjectiveData()
+        .addOrUpdateCustomObjective(new ObjectiveDataEntry(ObjectiveType.LOOK_AT_PLAYER));
+
+    TradingDataSet tradingDataSet = new TradingDataSet();
+    tradingDataSet.setType(TradingType.BASIC);
+    tradingDataSet.setMaxUses(16);
+    easyNPC.getEasyNPCTradingData().setTradingDataSet(tradingDataSet);
+
+    easyNPC
+        .getEasyNPCSkinData()
+        .setSkinDataEntry(new SkinDataEntry("preset", "", UUID.randomUUID(), SkinType.DEFAULT));
+
+    CompoundTag presetTag = new CompoundTag();
+    easyNPC.getEntity().saveAsPassenger(presetTag);
+    return presetTag;
+  }
+
+  private static EasyNPC<?> spawn(GameTestHelper helper, PresetTemplate presetTemplate) {
+    Entity entity = presetTemplate.createEntity(helper.getLevel(), 0, 0, 0, null);
+    if (entity instanceof EasyNPC<?> easyNPC) {
+      return easyNPC;
+    }
+    helper.fail("Unable to spawn " + presetTemplate + "!");
+    return null;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.client.renderer.batch.RenderBatchGroups;
+import de.markusbordihn.easynpc.client.renderer.batch.RenderBatchKey;
+import de.markusbordihn.easynpc.data.model.ModelPose;
+import de.markusbordihn.easynpc.data.rotation.CustomRotation;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.ModelData;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.phys.Vec3;
+
+public class RenderBatchTestHelper {
+
+  private static final Object MODEL_TYPE = new Object();
+  private static final Object OTHER_MODEL_TYPE = new Object();
+  private static final ResourceLocation TEXTURE = new ResourceLocation("easy_npc", "test/texture");
+  private static final ResourceLocation OTHER_TEXTURE =
+      new ResourceLocation("easy_npc", "test/other_texture");
+
+  private RenderBatchTestHelper() {}
+
+  public static void testRenderBatchGroups(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(1, 2, 1));
+    EasyNPC<?> otherEasyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(2, 2, 2));
+    EasyNPC<?> posedEasyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(0, 2, 0));
+    ModelData<?> posedModelData = posedEasyNPC.getEasyNPCModelData();
+    posedModelData.setModelPose(ModelPose.CUSTOM);
+    posedModelData.setModelHeadRotation(new CustomRotation(0.5F, 0F, 0F));
+
+    // NPCs are added in an interleaved order, like the entity render order of the level.
+    RenderBatchGroups<RenderBatchKey, EasyNPC<?>> renderBatchGroups = new RenderBatchGroups<>();
+    renderBatchGroups.add(createKey(MODEL_TYPE, TEXTURE, easyNPC), easyNPC);
+    renderBatchGroups.add(createKey(MODEL_TYPE, OTHER_TEXTURE, easyNPC), easyNPC);
+    renderBatchGroups.add(createKey(MODEL_TYPE, TEXTURE, otherEasyNPC), otherEasyNPC);
+    renderBatchGroups.add(createKey(MODEL_TYPE, TEXTURE, posedEasyNPC), posedEasyNPC);
+    renderBatchGroups.add(createKey(OTHER_MODEL_TYPE, TEXTURE, otherEasyNPC), otherEasyNPC);
+    renderBatchGroups.add(createKey(MODEL_TYPE, TEXTURE, easyNPC), easyNPC);
+
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected number of entries!", 6, renderBatchGroups.getNumberOfEntries());
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected number of groups!", 4, renderBatchGroups.getNumberOfGroups());
+    GameTestHelpers.assertEquals(
+        helper,
+        "NPCs with same model, texture and pose are not grouped!",
+        List.of(easyNPC, otherEasyNPC, easyNPC),
+        renderBatchGroups.getGroup(createKey(MODEL_TYPE, TEXTURE, easyNPC)));
+    GameTestHelpers.assertEquals(
+        helper,
+        "NPC with different pose is grouped!",
+        List.of(posedEasyNPC),
+        renderBatchGroups.getGroup(createKey(MODEL_TYPE, TEXTURE, posedEasyNPC)));
+
+    // Groups are rendered in the order of their first entry.
+    List<RenderBatchKey> renderBatchKeys = new ArrayList<>(renderBatchGroups.getGroups().keySet());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected group order!",
+        List.of(
+            createKey(MODEL_TYPE, TEXTURE, easyNPC),
+            createKey(MODEL_TYPE, OTHER_TEXTURE, easyNPC),
+            createKey(MODEL_TYPE, TEXTURE, posedEasyNPC),
+            createKey(OTHER_MODEL_TYPE, TEXTURE, otherEasyNPC)),
+        renderBatchKeys);
+
+    renderBatchGroups.clear();
+    GameTestHelpers.assertTrue(
+        helper, "Render batch groups are not empty!", renderBatchGroups.isEmpty());
+    renderBatchGroups.add(createKey(MODEL_TYPE, TEXTURE, easyNPC), easyNPC);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Reused group contains old entries!",
+        List.of(easyNPC),
+        renderBatchGroups.getGroup(createKey(MODEL_TYPE, TEXTURE, easyNPC)));
+  }
+
+  public static void testRenderBatchFallback(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(1, 2, 1));
+    GameTestHelpers.assertTrue(
+        helper, "Default NPC is not batchable!", RenderBatchKey.isBatchable(easyNPC));
+
+    // NPCs with different per instance render state are rendered separately.
+    easyNPC.getEntity().setInvisible(true);
+    GameTestHelpers.assertTrue(
+        helper, "Invisible NPC is batchable!", !RenderBatchKey.isBatchable(easyNPC));
+    easyNPC.getEntity().setInvisible(false);
+    easyNPC.getEntity().setGlowingTag(true);
+    GameTestHelpers.assertTrue(
+        helper, "Glowing NPC is batchable!", !RenderBatchKey.isBatchable(easyNPC));
+    easyNPC.getEntity().setGlowingTag(false);
+    GameTestHelpers.assertTrue(
+        helper, "NPC is not batchable after reset!", RenderBatchKey.isBatchable(easyNPC));
+    GameTestHelpers.assertTrue(
+        helper, "Missing NPC is batchable!", !RenderBatchKey.isBatchable(null));
+  }
+
+  private static RenderBatchKey createKey(
+      Object modelType, ResourceLocation texture, EasyNPC<?> easyNPC) {
+    return new RenderBatchKey(
+        modelType, texture, easyNPC.getEasyNPCModelData().getModelPoseSnapshot());
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.client.renderer.lod.RenderDetailLayer;
+import de.markusbordihn.easynpc.client.renderer.lod.RenderDetailLevel;
+import de.markusbordihn.easynpc.client.renderer.lod.RenderDetailSelector;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+public class RenderDetailTestHelper {
+
+  private static final double REDUCED_DISTANCE = 32;
+  private static final double MINIMAL_DISTANCE = 64;
+  private static final double HYSTERESIS = 4;
+
+  private RenderDetailTestHelper() {}
+
+  public static void testRenderDetailLevels(GameTestHelper helper) {
+    assertRenderDetailLevel(helper, 10, RenderDetailLevel.FULL, RenderDetailLevel.FULL);
+    assertRenderDetailLevel(helper, 35, RenderDetailLevel.FULL, RenderDetailLevel.FULL);
+    assertRenderDetailLevel(helper, 36, RenderDetailLevel.FULL, RenderDetailLevel.REDUCED);
+    assertRenderDetailLevel(helper, 30, RenderDetailLevel.REDUCED, RenderDetailLevel.REDUCED);
+    assertRenderDetailLevel(helper, 27, RenderDetailLevel.REDUCED, RenderDetailLevel.FULL);
+    assertRenderDetailLevel(helper, 67, RenderDetailLevel.REDUCED, RenderDetailLevel.REDUCED);
+    assertRenderDetailLevel(helper, 68, RenderDetailLevel.REDUCED, RenderDetailLevel.MINIMAL);
+    assertRenderDetailLevel(helper, 61, RenderDetailLevel.MINIMAL, RenderDetailLevel.MINIMAL);
+    assertRenderDetailLevel(helper, 59, RenderDetailLevel.MINIMAL, RenderDetailLevel.REDUCED);
+    assertRenderDetailLevel(helper, 20, RenderDetailLevel.MINIMAL, RenderDetailLevel.FULL);
+    assertRenderDetailLevel(helper, 100, RenderDetailLevel.FULL, RenderDetailLevel.MINIMAL);
+
+    // Disabled levels should be skipped.
+    GameTestHelpers.assertEquals(
+        helper,
+        "Disabled reduced level is used!",
+        RenderDetailLevel.FULL,
+        RenderDetailSelector.getRenderDetailLevel(
+            50, RenderDetailLevel.FULL, 0, MINIMAL_DISTANCE, HYSTERESIS));
+    GameTestHelpers.assertEquals(
+        helper,
+        "Disabled minimal level is used!",
+        RenderDetailLevel.REDUCED,
+        RenderDetailSelector.getRenderDetailLevel(
+            500, RenderDetailLevel.REDUCED, REDUCED_DISTANCE, 0, HYSTERESIS));
+  }
+
+  public static void testRenderDetailHysteresis(GameTestHelper helper) {
+    // NPCs moving around the distance border should not flicker between levels.
+    RenderDetailLevel renderDetailLevel = RenderDetailLevel.FULL;
+    int numberOfChanges = 0;
+    for (int step = 0; step < 200; step++) {
+      double distance = REDUCED_DISTANCE + (step % 2 == 0 ? 3.5 : -3.5);
+      RenderDetailLevel nextRenderDetailLevel =
+          RenderDetailSelector.getRenderDetailLevel(
+              distance, renderDetailLevel, REDUCED_DISTANCE, MINIMAL_DISTANCE, HYSTERESIS);
+      if (nextRenderDetailLevel != renderDetailLevel) {
+        numberOfChanges++;
+      }
+      renderDetailLevel = nextRenderDetailLevel;
+    }
+    GameTestHelpers.assertEquals(helper, "Render detail level flickers!", 0, numberOfChanges);
+
+    // Without hysteresis the same movement would change the level on every step.
+    renderDetailLevel = RenderDetailLevel.FULL;
+    numberOfChanges = 0;
+    for (int step = 0; step < 200; step++) {
+      double distance = REDUCED_DISTANCE + (step % 2 == 0 ? 3.5 : -3.5);
+      RenderDetailLevel nextRenderDetailLevel =
+          RenderDetailSelector.getRenderDetailLevel(
+              distance, renderDetailLevel, REDUCED_DISTANCE, MINIMAL_DISTANCE, 0);
+      if (nextRenderDetailLevel != renderDetailLevel) {
+        numberOfChanges++;
+      }
+      renderDetailLevel = nextRenderDetailLevel;
+    }
+    GameTestHelpers.assertEquals(helper, "Unexpected level changes!", 200, numberOfChanges);
+  }
+
+  public static void testRenderDetailLayers(GameTestHelper helper) {
+    for (RenderDetailLayer renderDetailLayer : RenderDetailLayer.values()) {
+      GameTestHelpers.assertTrue(
+          helper,
+          "Full detail level is not rendering " + renderDetailLayer,
+          RenderDetailLevel.FULL.shouldRender(renderDetailLayer));
+      GameTestHelpers.assertTrue(
+          helper,
+          "Minimal detail level is rendering " + renderDetailLayer,
+          !RenderDetailLevel.MINIMAL.shouldRender(renderDetailLayer));
+    }
+    GameTestHelpers.assertTrue(
+        helper,
+        "Reduced detail level is not rendering armor!",
+        RenderDetailLevel.REDUCED.shouldRender(RenderDetailLayer.ARMOR));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Reduced detail level is rendering overlays, held items or name tags!",
+        !RenderDetailLevel.REDUCED.shouldRender(RenderDetailLayer.OVERLAY)
+            && !RenderDetailLevel.REDUCED.shouldRender(RenderDetailLayer.HELD_ITEM)
+            && !RenderDetailLevel.REDUCED.shouldRender(RenderDetailLayer.NAME_TAG));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Only full detail level should use smart animations!",
+        RenderDetailLevel.FULL.hasSmartAnimations()
+            && !RenderDetailLevel.REDUCED.hasSmartAnimations()
+            && !RenderDetailLevel.MINIMAL.hasSmartAnimations());
+    GameTestHelpers.assertTrue(
+        helper,
+        "Minimal detail level should use a static pose!",
+        RenderDetailLevel.REDUCED.hasPoseAnimations()
+            && !RenderDetailLevel.MINIMAL.hasPoseAnimations()
+            && !RenderDetailLevel.REDUCED.hasFramePoseUpdates());
+  }
+
+  private static void assertRenderDetailLevel(
+      GameTestHelper helper,
+      double distance,
+      RenderDetailLevel currentRenderDetailLevel,
+      RenderDetailLevel expectedRenderDetailLevel) {
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected render detail level for " + distance + " from " + currentRenderDetailLevel,
+        expectedRenderDetailLevel,
+        RenderDetailSelector.getRenderDetailLevel(
+            distance, currentRenderDetailLevel, REDUCED_DISTANCE, MINIMAL_DISTANCE, HYSTERESIS));
+  }
+}
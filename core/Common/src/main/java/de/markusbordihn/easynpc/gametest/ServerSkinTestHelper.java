@@ -0,0 +1,247 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import com.sun.net.httpserver.HttpServer;
+import de.markusbordihn.easynpc.config.ServerSkinConfig;
+import de.markusbordihn.easynpc.data.skin.SkinChunkAssembler;
+import de.markusbordihn.easynpc.data.skin.SkinType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.SkinData;
+import de.markusbordihn.easynpc.handler.SkinHandler;
+import de.markusbordihn.easynpc.io.SkinCache;
+import de.markusbordihn.easynpc.server.skin.ServerSkinManager;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.phys.Vec3;
+
+public class ServerSkinTestHelper {
+
+  private static final int CHUNK_SIZE = 1024;
+  private static final int MAX_IMAGE_SIZE = 64 * 1024;
+
+  private ServerSkinTestHelper() {}
+
+  public static void testServerSkinChunkTransfer(GameTestHelper helper) {
+    byte[] data = createImage(helper, 64, 64);
+    String contentHash = SkinCache.getContentHash(data);
+    List<byte[]> chunks = SkinChunkAssembler.split(data, CHUNK_SIZE);
+    GameTestHelpers.assertTrue(helper, "Skin was not split into chunks!", chunks.size() > 1);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Valid transfer was rejected!",
+        SkinChunkAssembler.isValidTransfer(chunks.size(), data.length, MAX_IMAGE_SIZE));
+
+    // Chunks could arrive in any order and duplicated chunks should be ignored.
+    SkinChunkAssembler skinChunkAssembler =
+        new SkinChunkAssembler(contentHash, chunks.size(), data.length);
+    List<Integer> chunkIndexes = new ArrayList<>();
+    for (int i = 0; i < chunks.size(); i++) {
+      chunkIndexes.add(i);
+    }
+    Collections.shuffle(chunkIndexes, new Random(42L));
+    for (int chunkIndex : chunkIndexes) {
+      GameTestHelpers.assertTrue(
+          helper,
+          "Chunk " + chunkIndex + " was rejected!",
+          skinChunkAssembler.accept(chunkIndex, chunks.get(chunkIndex)));
+      GameTestHelpers.assertTrue(
+          helper,
+          "Duplicated chunk " + chunkIndex + " was rejected!",
+          skinChunkAssembler.accept(chunkIndex, chunks.get(chunkIndex)));
+    }
+    GameTestHelpers.assertTrue(helper, "Skin is not complete!", skinChunkAssembler.isComplete());
+    byte[] receivedData = skinChunkAssembler.getData();
+    GameTestHelpers.assertTrue(
+        helper, "Received skin is not valid!", skinChunkAssembler.isValid(receivedData));
+
+    // Received skins are stored by their content hash.
+    Path cacheDirectory = createCacheDirectory(helper);
+    try {
+      SkinCache skinCache =
+          new SkinCache(
+              cacheDirectory, 1024 * 1024, MAX_IMAGE_SIZE, 0, TimeUnit.DAYS.toMillis(1), 0, 0);
+      File file = skinCache.store(contentHash, receivedData);
+      GameTestHelpers.assertNotNull(helper, "Received skin was not stored!", file);
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected cached skin!", file, skinCache.getCachedFile(contentHash));
+    } finally {
+      deleteCacheDirectory(cacheDirectory);
+    }
+
+    // Corrupted or invalid transfers should be rejected.
+    receivedData[receivedData.length / 2] ^= 0x01;
+    GameTestHelpers.assertTrue(
+        helper, "Corrupted skin is valid!", !skinChunkAssembler.isValid(receivedData));
+    SkinChunkAssembler invalidSkinChunkAssembler =
+        new SkinChunkAssembler(contentHash, chunks.size(), data.length);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Chunk out of range was accepted!",
+        !invalidSkinChunkAssembler.accept(chunks.size(), chunks.get(0)));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Empty transfer was accepted!",
+        !SkinChunkAssembler.isValidTransfer(0, 0, MAX_IMAGE_SIZE));
+    GameTestHelpers.assertTrue(
+        helper,
+        "Too large transfer was accepted!",
+        !SkinChunkAssembler.isValidTransfer(chunks.size(), MAX_IMAGE_SIZE + 1, MAX_IMAGE_SIZE));
+  }
+
+  public static void testServerSkinDownload(
+      GameTestHelper helper, EntityType<? extends PathfinderMob> entityType) {
+    AtomicInteger numberOfRequests = new AtomicInteger();
+    byte[] data = createImage(helper, 64, 64);
+    HttpServer httpServer = startLocalImageServer(helper, data, numberOfRequests);
+    String skinURL = "http://127.0.0.1:" + httpServer.getAddress().getPort() + "/server_skin.png";
+    try {
+      // Server skins are set directly, the content hash is added after the download.
+      EasyNPC<?> easyNPC = GameTestHelpers.mockEasyNPC(helper, entityType, new Vec3(1, 2, 1));
+      SkinData<?> skinData = easyNPC.getEasyNPCSkinData();
+      GameTestHelpers.assertTrue(
+          helper, "Server skin was not set!", SkinHandler.setServerSkin(easyNPC, skinURL));
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected skin type!", SkinType.SERVER_SKIN, skinData.getSkinType());
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected skin url!", skinURL, skinData.getSkinDataEntry().url());
+
+      // Local skin hosts are only downloaded, if private addresses are allowed.
+      String contentHash = ServerSkinManager.fetchSkin(skinURL).get(10, TimeUnit.SECONDS);
+      if (!ServerSkinConfig.isAllowPrivateAddresses()) {
+        GameTestHelpers.assertTrue(helper, "Local skin was downloaded!", contentHash == null);
+        GameTestHelpers.assertEquals(
+            helper, "Local skin host was requested!", 0, numberOfRequests.get());
+        contentHash = SkinCache.getContentHash(data);
+      } else {
+        // Server downloads each skin only once.
+        GameTestHelpers.assertTrue(
+            helper, "Invalid content hash!", SkinCache.isValidContentHash(contentHash));
+        GameTestHelpers.assertEquals(
+            helper,
+            "Skin was downloaded again!",
+            contentHash,
+            ServerSkinManager.fetchSkin(skinURL).get(10, TimeUnit.SECONDS));
+        GameTestHelpers.assertEquals(
+            helper, "Unexpected number of requests!", 1, numberOfRequests.get());
+        GameTestHelpers.assertNotNull(
+            helper,
+            "Skin is not cached by content hash!",
+            ServerSkinManager.getSkinCache().getCachedFileByHash(contentHash));
+      }
+
+      // Content hash should only be updated for the current skin url.
+      SkinHandler.updateServerSkinContent(easyNPC, skinURL, contentHash);
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected skin content!", contentHash, skinData.getSkinContent());
+      GameTestHelpers.assertTrue(
+          helper,
+          "Outdated skin content was accepted!",
+          !SkinHandler.updateServerSkinContent(
+              easyNPC, skinURL + "?outdated", SkinCache.getContentHash(new byte[] {1})));
+      GameTestHelpers.assertEquals(
+          helper, "Skin content was changed!", contentHash, skinData.getSkinContent());
+    } catch (ExecutionException | TimeoutException exception) {
+      helper.fail("Unable to download server skin: " + exception);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      helper.fail("Interrupted server skin download!");
+    } finally {
+      httpServer.stop(0);
+    }
+  }
+
+  private static byte[] createImage(GameTestHelper helper, int width, int height) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Random random = new Random(width * 31L + height);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        image.setRGB(x, y, 0xFF000000 | random.nextInt(0xFFFFFF));
+      }
+    }
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      ImageIO.write(image, "png", outputStream);
+      return outputStream.toByteArray();
+    } catch (IOException exception) {
+      helper.fail("Unable to create image: " + exception);
+      return new byte[0];
+    }
+  }
+
+  private static Path createCacheDirectory(GameTestHelper helper) {
+    try {
+      return Files.createTempDirectory("easy_npc_server_skin");
+    } catch (IOException exception) {
+      helper.fail("Unable to create cache directory: " + exception);
+      return null;
+    }
+  }
+
+  private static void deleteCacheDirectory(Path cacheDirectory) {
+    try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    } catch (IOException exception) {
+      cacheDirectory.toFile().deleteOnExit();
+    }
+  }
+
+  private static HttpServer startLocalImageServer(
+      GameTestHelper helper, byte[] data, AtomicInteger numberOfRequests) {
+    try {
+      HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+      httpServer.createContext(
+          "/",
+          exchange -> {
+            numberOfRequests.incrementAndGet();
+            exchange.sendResponseHeaders(200, data.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+              outputStream.write(data);
+            }
+            exchange.close();
+          });
+      httpServer.start();
+      return httpServer;
+    } catch (IOException exception) {
+      helper.fail("Unable to start local image server: " + exception);
+      return null;
+    }
+  }
+}
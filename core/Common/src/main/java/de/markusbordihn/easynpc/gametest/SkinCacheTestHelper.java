@@ -0,0 +1,385 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.markusbordihn.easynpc.io.SkinCache;
+import de.markusbordihn.easynpc.validator.UrlValidator;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+public class SkinCacheTestHelper {
+
+  private SkinCacheTestHelper() {}
+
+  public static void testSkinCacheRevalidation(GameTestHelper helper) {
+    AtomicInteger numberOfRequests = new AtomicInteger();
+    AtomicInteger numberOfNotModified = new AtomicInteger();
+    Map<String, byte[]> images = new HashMap<>();
+    images.put("/skin.png", createImage(helper, 64, 64, 0xFF3366CC));
+    images.put("/copy.png", images.get("/skin.png"));
+    HttpServer httpServer =
+        startLocalImageServer(helper, images, numberOfRequests, numberOfNotModified);
+    Path cacheDirectory = createCacheDirectory(helper);
+    String baseUrl = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+    try {
+      SkinCache skinCache = createSkinCache(cacheDirectory, 1024 * 1024, 64 * 1024);
+
+      // Downloaded skin should be stored by its content hash.
+      File file = skinCache.fetch("skin", baseUrl + "/skin.png");
+      GameTestHelpers.assertNotNull(helper, "Skin was not downloaded!", file);
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected cached file!", file, skinCache.getCachedFile("skin"));
+      GameTestHelpers.assertTrue(
+          helper, "Cached file is not named by hash!", file.getName().length() == 64 + 4);
+
+      // Same image from another source should not be stored twice.
+      File copyFile = skinCache.fetch("copy", baseUrl + "/copy.png");
+      GameTestHelpers.assertEquals(helper, "Same image stored twice!", file, copyFile);
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected number of entries!", 2, skinCache.getNumberOfEntries());
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected number of files!", 1, skinCache.getNumberOfFiles());
+
+      // Cached skin should be revalidated with the ETag instead of downloaded again.
+      File revalidatedFile = skinCache.fetch("skin", baseUrl + "/skin.png");
+      GameTestHelpers.assertEquals(helper, "Revalidated file differs!", file, revalidatedFile);
+      GameTestHelpers.assertEquals(
+          helper, "Skin was not revalidated!", 1, numberOfNotModified.get());
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected number of downloads!", 2, skinCache.getNumberOfDownloads());
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected number of requests!", 3, numberOfRequests.get());
+
+      // Persisted index should be used without any directory listing or request.
+      SkinCache persistedSkinCache = createSkinCache(cacheDirectory, 1024 * 1024, 64 * 1024);
+      GameTestHelpers.assertEquals(
+          helper, "Persisted file not found!", file, persistedSkinCache.getCachedFile("skin"));
+      GameTestHelpers.assertEquals(
+          helper,
+          "Persisted source not found!",
+          baseUrl + "/copy.png",
+          persistedSkinCache.getSourceUrl("copy"));
+
+      // Corrupted files should be detected before they are used.
+      Files.write(file.toPath(), "corrupted".getBytes(StandardCharsets.UTF_8));
+      SkinCache corruptedSkinCache = createSkinCache(cacheDirectory, 1024 * 1024, 64 * 1024);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Index lookup should not verify the file!",
+          corruptedSkinCache.hasCachedFile("skin"));
+      GameTestHelpers.assertTrue(
+          helper, "Corrupted file was used!", corruptedSkinCache.getCachedFile("skin") == null);
+      GameTestHelpers.assertEquals(
+          helper, "Corrupted file not removed!", 0, corruptedSkinCache.getNumberOfEntries());
+      GameTestHelpers.assertTrue(
+          helper, "Corrupted file is still indexed!", !corruptedSkinCache.hasCachedFile("skin"));
+    } catch (IOException exception) {
+      helper.fail("Unable to modify cached file: " + exception);
+    } finally {
+      httpServer.stop(0);
+      deleteCacheDirectory(cacheDirectory);
+    }
+  }
+
+  public static void testSkinCacheLimits(GameTestHelper helper) {
+    AtomicInteger numberOfRequests = new AtomicInteger();
+    Map<String, byte[]> images = new HashMap<>();
+    images.put("/skin.png", createImage(helper, 64, 64, 0xFF3366CC));
+    images.put("/other.png", createImage(helper, 64, 64, 0xFFCC6633));
+    images.put("/invalid.png", createImage(helper, 10, 10, 0xFF000000));
+    HttpServer httpServer =
+        startLocalImageServer(helper, images, numberOfRequests, new AtomicInteger());
+    Path cacheDirectory = createCacheDirectory(helper);
+    String baseUrl = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+    try {
+      SkinCache skinCache = createSkinCache(cacheDirectory, 1, 64 * 1024);
+
+      // Invalid and too large images should be rejected.
+      GameTestHelpers.assertTrue(
+          helper,
+          "Invalid image was cached!",
+          skinCache.fetch("invalid", baseUrl + "/invalid.png") == null);
+      SkinCache smallSkinCache = createSkinCache(cacheDirectory, 1024 * 1024, 64);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Too large image was cached!",
+          smallSkinCache.fetch("large", baseUrl + "/skin.png") == null);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Unavailable image was cached!",
+          skinCache.fetch("missing", baseUrl + "/missing.png") == null);
+
+      // Least recently used skins should be evicted, if the cache size is exceeded.
+      GameTestHelpers.assertNotNull(
+          helper, "Skin was not downloaded!", skinCache.fetch("skin", baseUrl + "/skin.png"));
+      GameTestHelpers.assertNotNull(
+          helper, "Skin was not downloaded!", skinCache.fetch("other", baseUrl + "/other.png"));
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected number of evictions!", 1, skinCache.getNumberOfEvictions());
+      GameTestHelpers.assertTrue(
+          helper, "Evicted skin is still cached!", skinCache.getCachedFile("skin") == null);
+      GameTestHelpers.assertNotNull(
+          helper, "Latest skin was evicted!", skinCache.getCachedFile("other"));
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected number of files!", 1, skinCache.getNumberOfFiles());
+    } finally {
+      httpServer.stop(0);
+      deleteCacheDirectory(cacheDirectory);
+    }
+  }
+
+  public static void testSkinCacheRefetch(GameTestHelper helper) {
+    AtomicInteger numberOfRequests = new AtomicInteger();
+    Map<String, byte[]> images = new HashMap<>();
+    images.put("/uncached/skin.png", createImage(helper, 64, 64, 0xFF3366CC));
+    HttpServer httpServer =
+        startLocalImageServer(helper, images, numberOfRequests, new AtomicInteger());
+    Path cacheDirectory = createCacheDirectory(helper);
+    String url = "http://127.0.0.1:" + httpServer.getAddress().getPort() + "/uncached/skin.png";
+    try {
+      SkinCache skinCache = createSkinCache(cacheDirectory, 1024 * 1024, 64 * 1024);
+
+      // Unchanged content for the same key should keep the cached file.
+      File file = skinCache.fetch("skin", url);
+      GameTestHelpers.assertNotNull(helper, "Skin was not downloaded!", file);
+      File refetchedFile = skinCache.fetch("skin", url);
+      GameTestHelpers.assertEquals(helper, "Refetched file differs!", file, refetchedFile);
+      GameTestHelpers.assertTrue(helper, "Refetched file was deleted!", refetchedFile.exists());
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected number of downloads!", 2, skinCache.getNumberOfDownloads());
+      GameTestHelpers.assertEquals(
+          helper, "Unexpected number of files!", 1, skinCache.getNumberOfFiles());
+      GameTestHelpers.assertEquals(
+          helper, "Cached file differs!", file, skinCache.getCachedFile("skin"));
+    } finally {
+      httpServer.stop(0);
+      deleteCacheDirectory(cacheDirectory);
+    }
+  }
+
+  public static void testSkinCacheRemoteAddresses(GameTestHelper helper) {
+    AtomicInteger numberOfRequests = new AtomicInteger();
+    Map<String, byte[]> images = new HashMap<>();
+    images.put("/skin.png", createImage(helper, 64, 64, 0xFF3366CC));
+    HttpServer httpServer =
+        startLocalImageServer(helper, images, numberOfRequests, new AtomicInteger());
+    Path cacheDirectory = createCacheDirectory(helper);
+    String baseUrl = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+    try {
+      // Non-public addresses should be rejected before any request.
+      SkinCache publicSkinCache =
+          createSkinCache(cacheDirectory, 1024 * 1024, 64 * 1024, Set.of(), false);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Loopback address was accepted!",
+          publicSkinCache.fetch("loopback", baseUrl + "/skin.png") == null);
+      GameTestHelpers.assertEquals(
+          helper, "Loopback address was requested!", 0, numberOfRequests.get());
+      for (String address :
+          new String[] {"127.0.0.1", "10.0.0.1", "169.254.169.254", "192.168.1.1", "::1"}) {
+        GameTestHelpers.assertTrue(
+            helper,
+            "Non-public address " + address + " was accepted!",
+            !UrlValidator.isPublicAddress(InetAddress.getByName(address)));
+      }
+      GameTestHelpers.assertTrue(
+          helper,
+          "Unique local address was accepted!",
+          !UrlValidator.isPublicAddress(InetAddress.getByName("fc00::1")));
+      GameTestHelpers.assertTrue(
+          helper,
+          "Public address was rejected!",
+          UrlValidator.isPublicAddress(InetAddress.getByName("93.184.216.34")));
+
+      // Only allowed hosts and their subdomains should be accepted.
+      Set<String> allowedHosts = Set.of("example.com");
+      GameTestHelpers.assertTrue(
+          helper,
+          "Allowed host was rejected!",
+          UrlValidator.isAllowedHost("example.com", allowedHosts));
+      GameTestHelpers.assertTrue(
+          helper,
+          "Allowed subdomain was rejected!",
+          UrlValidator.isAllowedHost("skins.Example.com", allowedHosts));
+      GameTestHelpers.assertTrue(
+          helper,
+          "Unknown host was accepted!",
+          !UrlValidator.isAllowedHost("badexample.com", allowedHosts));
+      SkinCache allowedSkinCache =
+          createSkinCache(cacheDirectory, 1024 * 1024, 64 * 1024, allowedHosts, true);
+      GameTestHelpers.assertTrue(
+          helper,
+          "Unknown host was accepted!",
+          allowedSkinCache.fetch("unknown", baseUrl + "/skin.png") == null);
+      GameTestHelpers.assertEquals(
+          helper, "Unknown host was requested!", 0, numberOfRequests.get());
+
+      // Redirects to other protocols should be rejected without any exception.
+      SkinCache skinCache = createSkinCache(cacheDirectory, 1024 * 1024, 64 * 1024);
+      GameTestHelpers.assertTrue(
+          helper,
+          "File redirect was accepted!",
+          skinCache.fetch("file", baseUrl + "/redirect?file:///etc/hosts") == null);
+      GameTestHelpers.assertTrue(
+          helper,
+          "FTP redirect was accepted!",
+          skinCache.fetch("ftp", baseUrl + "/redirect?ftp://127.0.0.1/skin.png") == null);
+      GameTestHelpers.assertNotNull(
+          helper,
+          "HTTP redirect was rejected!",
+          skinCache.fetch("http", baseUrl + "/redirect?" + baseUrl + "/skin.png"));
+    } catch (IOException exception) {
+      helper.fail("Unable to resolve address: " + exception);
+    } finally {
+      httpServer.stop(0);
+      deleteCacheDirectory(cacheDirectory);
+    }
+  }
+
+  private static SkinCache createSkinCache(
+      Path cacheDirectory, long maxCacheSize, int maxImageSize) {
+    return createSkinCache(cacheDirectory, maxCacheSize, maxImageSize, Set.of(), true);
+  }
+
+  private static SkinCache createSkinCache(
+      Path cacheDirectory,
+      long maxCacheSize,
+      int maxImageSize,
+      Set<String> allowedHosts,
+      boolean allowPrivateAddresses) {
+    return new SkinCache(
+        cacheDirectory,
+        maxCacheSize,
+        maxImageSize,
+        0,
+        TimeUnit.DAYS.toMillis(1),
+        1000,
+        1000,
+        allowedHosts,
+        allowPrivateAddresses);
+  }
+
+  private static byte[] createImage(GameTestHelper helper, int width, int height, int color) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        image.setRGB(x, y, color ^ (x * y));
+      }
+    }
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      ImageIO.write(image, "png", outputStream);
+      return outputStream.toByteArray();
+    } catch (IOException exception) {
+      helper.fail("Unable to create image: " + exception);
+      return new byte[0];
+    }
+  }
+
+  private static Path createCacheDirectory(GameTestHelper helper) {
+    try {
+      return Files.createTempDirectory("easy_npc_skin_cache");
+    } catch (IOException exception) {
+      helper.fail("Unable to create cache directory: " + exception);
+      return null;
+    }
+  }
+
+  private static void deleteCacheDirectory(Path cacheDirectory) {
+    try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    } catch (IOException exception) {
+      cacheDirectory.toFile().deleteOnExit();
+    }
+  }
+
+  private static HttpServer startLocalImageServer(
+      GameTestHelper helper,
+      Map<String, byte[]> images,
+      AtomicInteger numberOfRequests,
+      AtomicInteger numberOfNotModified) {
+    try {
+      HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+      httpServer.createContext(
+          "/",
+          exchange -> {
+            numberOfRequests.incrementAndGet();
+            if ("/redirect".equals(exchange.getRequestURI().getPath())) {
+              exchange.getResponseHeaders().add("Location", exchange.getRequestURI().getQuery());
+              sendResponse(exchange, 302, new byte[0]);
+              return;
+            }
+            byte[] data = images.get(exchange.getRequestURI().getPath());
+            if (data == null) {
+              sendResponse(exchange, 404, new byte[0]);
+              return;
+            }
+            // Uncached images are always sent again without any validator.
+            if (exchange.getRequestURI().getPath().startsWith("/uncached/")) {
+              sendResponse(exchange, 200, data);
+              return;
+            }
+            String etag = "\"" + SkinCache.getContentHash(data) + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+              numberOfNotModified.incrementAndGet();
+              sendResponse(exchange, 304, new byte[0]);
+              return;
+            }
+            exchange.getResponseHeaders().add("ETag", etag);
+            sendResponse(exchange, 200, data);
+          });
+      httpServer.start();
+      return httpServer;
+    } catch (IOException exception) {
+      helper.fail("Unable to start local image server: " + exception);
+      return null;
+    }
+  }
+
+  private static void sendResponse(HttpExchange exchange, int statusCode, byte[] data)
+      throws IOException {
+    exchange.sendResponseHeaders(statusCode, data.length > 0 ? data.length : -1);
+    if (data.length > 0) {
+      try (OutputStream outputStream = exchange.getResponseBody()) {
+        outputStream.write(data);
+      }
+    }
+    exchange.close();
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.client.texture.SkinImageProcessor;
+import de.markusbordihn.easynpc.io.SkinCache;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+public class SkinImageProcessorTestHelper {
+
+  // Pixel hashes of the processed reference skins, which need to be updated on intended changes.
+  private static final String GOLDEN_LEGACY_SKIN =
+      "f3bf4eea64d8fd4236cd01f191299f5b13cac10adfe085580600c55033550734";
+  private static final String GOLDEN_LEGACY_SKIN_ALPHA_FIX =
+      "bb4b6d662f137876c481c3f920ce9df13f797635d0fb0e677d60f24fbd99d895";
+  private static final String GOLDEN_MODERN_SKIN_ALPHA_FIX =
+      "89ee01f6606e48121362f9cd3ca4d49510add4a6e6db2838c1a88cdf7b4df8bf";
+  private static final String GOLDEN_HD_SKIN =
+      "5dd36a2960422faeb0e9b47900ad9460269bcf25480aac9eff97635c3c809b52";
+
+  private SkinImageProcessorTestHelper() {}
+
+  public static void testLegacySkinConversion(GameTestHelper helper) {
+    BufferedImage legacySkin = createSkin(64, 32, 1, false);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected legacy skin format!",
+        SkinImageProcessor.Format.LEGACY,
+        SkinImageProcessor.getFormat(64, 32));
+    BufferedImage skin = SkinImageProcessor.process(legacySkin, 64, false);
+    assertSize(helper, skin, 64, 64);
+    assertGolden(helper, "legacy skin", GOLDEN_LEGACY_SKIN, skin);
+
+    // Upper half is kept and the right leg and arm are mirrored to the left leg and arm.
+    assertPixel(helper, "head", legacySkin.getRGB(8, 8), skin.getRGB(8, 8));
+    assertPixel(helper, "left leg front", legacySkin.getRGB(7, 20), skin.getRGB(20, 52));
+    assertPixel(helper, "left leg top", legacySkin.getRGB(4, 16), skin.getRGB(23, 48));
+    assertPixel(helper, "left arm front", legacySkin.getRGB(47, 20), skin.getRGB(36, 52));
+    assertPixel(helper, "left arm back", legacySkin.getRGB(52, 31), skin.getRGB(47, 63));
+    assertPixel(helper, "unused area", 0, skin.getRGB(0, 32));
+
+    // Legacy HD skins are converted with the same layout in their resolution.
+    BufferedImage legacyHDSkin =
+        SkinImageProcessor.process(createSkin(64, 32, 4, false), 256, false);
+    assertSize(helper, legacyHDSkin, 256, 256);
+    assertPixel(helper, "left leg front HD", skin.getRGB(20, 52), legacyHDSkin.getRGB(81, 210));
+  }
+
+  public static void testSkinAlphaFix(GameTestHelper helper) {
+    BufferedImage legacySkin = SkinImageProcessor.process(createSkin(64, 32, 1, false), 64, true);
+    assertGolden(helper, "legacy skin alpha fix", GOLDEN_LEGACY_SKIN_ALPHA_FIX, legacySkin);
+
+    // Fully opaque hat layers of legacy skins are cleared.
+    GameTestHelpers.assertEquals(
+        helper, "Legacy hat layer is not cleared!", 0, legacySkin.getRGB(40, 8) >>> 24);
+    GameTestHelpers.assertEquals(
+        helper, "Base layer is not opaque!", 0xFF, legacySkin.getRGB(8, 8) >>> 24);
+
+    // Hat layers with transparency are kept and the base layer is always opaque.
+    BufferedImage modernSkin = SkinImageProcessor.process(createSkin(64, 64, 1, true), 64, true);
+    assertGolden(helper, "modern skin alpha fix", GOLDEN_MODERN_SKIN_ALPHA_FIX, modernSkin);
+    GameTestHelpers.assertEquals(
+        helper, "Hat layer alpha was changed!", 0x40, modernSkin.getRGB(40, 8) >>> 24);
+    GameTestHelpers.assertEquals(
+        helper, "Base layer is not opaque!", 0xFF, modernSkin.getRGB(8, 8) >>> 24);
+    GameTestHelpers.assertEquals(
+        helper, "Outer layer alpha was changed!", 0x40, modernSkin.getRGB(4, 36) >>> 24);
+  }
+
+  public static void testHDSkinDownscale(GameTestHelper helper) {
+    BufferedImage hdSkin = SkinImageProcessor.process(createSkin(64, 64, 4, true), 128, false);
+    assertSize(helper, hdSkin, 128, 128);
+    assertGolden(helper, "HD skin", GOLDEN_HD_SKIN, hdSkin);
+
+    // Scaled down HD skins should match the skin with the lower resolution.
+    BufferedImage skin = SkinImageProcessor.process(createSkin(64, 64, 1, true), 64, false);
+    BufferedImage scaledSkin = SkinImageProcessor.process(createSkin(64, 64, 4, true), 64, false);
+    assertSize(helper, scaledSkin, 64, 64);
+    GameTestHelpers.assertEquals(
+        helper, "Scaled HD skin differs!", getPixelHash(skin), getPixelHash(scaledSkin));
+
+    // Skins within the max skin size and unknown formats are not scaled.
+    assertSize(helper, SkinImageProcessor.process(createSkin(64, 64, 1, true), 64, true), 64, 64);
+    BufferedImage texture = createSkin(96, 64, 1, true);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected unknown format!",
+        SkinImageProcessor.Format.UNKNOWN,
+        SkinImageProcessor.getFormat(96, 64));
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unknown format was changed!",
+        getPixelHash(texture),
+        getPixelHash(SkinImageProcessor.process(texture, 64, true)));
+  }
+
+  private static BufferedImage createSkin(int width, int height, int scale, boolean transparent) {
+    // Each pixel of the base resolution gets its own color, which is repeated for HD skins.
+    BufferedImage image =
+        new BufferedImage(width * scale, height * scale, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < height * scale; y++) {
+      for (int x = 0; x < width * scale; x++) {
+        int baseX = x / scale;
+        int baseY = y / scale;
+        int alpha = transparent && (baseX >= 32 || baseY >= 32) ? 0x40 : 0xFF;
+        image.setRGB(x, y, alpha << 24 | baseX * 4 << 16 | baseY * 4 << 8 | (baseX ^ baseY));
+      }
+    }
+    return image;
+  }
+
+  private static String getPixelHash(BufferedImage image) {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+    ByteBuffer byteBuffer = ByteBuffer.allocate(pixels.length * 4 + 8);
+    byteBuffer.putInt(width).putInt(height);
+    byteBuffer.asIntBuffer().put(pixels);
+    return SkinCache.getContentHash(byteBuffer.array());
+  }
+
+  private static void assertSize(
+      GameTestHelper helper, BufferedImage image, int width, int height) {
+    GameTestHelpers.assertEquals(helper, "Unexpected width!", width, image.getWidth());
+    GameTestHelpers.assertEquals(helper, "Unexpected height!", height, image.getHeight());
+  }
+
+  private static void assertPixel(GameTestHelper helper, String name, int expected, int actual) {
+    if (expected != actual) {
+      helper.fail(
+          "Unexpected "
+              + name
+              + " pixel "
+              + Integer.toHexString(actual)
+              + ", expected "
+              + Integer.toHexString(expected));
+    }
+  }
+
+  private static void assertGolden(
+      GameTestHelper helper, String name, String expectedHash, BufferedImage image) {
+    GameTestHelpers.assertEquals(
+        helper,
+        "Processed " + name + " differs from golden image!",
+        expectedHash,
+        getPixelHash(image));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.SoundBudgetConfig;
+import de.markusbordihn.easynpc.data.sound.SoundType;
+import de.markusbordihn.easynpc.entity.easynpc.sound.SoundBudgetService;
+import de.markusbordihn.easynpc.entity.easynpc.sound.SoundBudgetService.SoundRequest;
+import java.util.List;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.sounds.SoundSource;
+
+public class SoundBudgetTestHelper {
+
+  private static final int ADDITIONAL_SOUNDS = 3;
+
+  private SoundBudgetTestHelper() {}
+
+  public static void testBudgetPerCluster(GameTestHelper helper) {
+    int budget = SoundBudgetConfig.getBudget(SoundType.AMBIENT);
+    if (budget <= 0) {
+      return;
+    }
+    SoundBudgetService soundBudgetService = new SoundBudgetService();
+
+    // Add requests in reverse order, to make sure the nearest requests are preferred.
+    for (int i = budget + ADDITIONAL_SOUNDS - 1; i >= 0; i--) {
+      soundBudgetService.addSoundRequest(createSoundRequest(i, 0, SoundType.AMBIENT, "test_" + i));
+    }
+    List<SoundRequest> selectedSounds = soundBudgetService.selectSounds(0);
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected number of selected sounds!", budget, selectedSounds.size());
+    for (SoundRequest soundRequest : selectedSounds) {
+      GameTestHelpers.assertTrue(
+          helper, "Far sound was preferred!", soundRequest.listenerDistanceSqr() < budget);
+    }
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected number of suppressed sounds!",
+        (long) ADDITIONAL_SOUNDS,
+        soundBudgetService.getNumberOfSuppressedSounds(SoundType.AMBIENT));
+
+    // Budget is used up within the same second, but other clusters have their own budget.
+    soundBudgetService.addSoundRequest(createSoundRequest(0, 0, SoundType.AMBIENT, "same"));
+    soundBudgetService.addSoundRequest(createSoundRequest(0, 1000, SoundType.AMBIENT, "other"));
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected number of sounds in the same second!",
+        1,
+        soundBudgetService.selectSounds(10).size());
+
+    // Budget is reset for the next second.
+    soundBudgetService.addSoundRequest(createSoundRequest(0, 0, SoundType.AMBIENT, "next"));
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected number of sounds in the next second!",
+        1,
+        soundBudgetService.selectSounds(20).size());
+  }
+
+  public static void testMergeSameSound(GameTestHelper helper) {
+    SoundBudgetService soundBudgetService = new SoundBudgetService();
+    soundBudgetService.addSoundRequest(createSoundRequest(1, 0, SoundType.STEP, "step"));
+    soundBudgetService.addSoundRequest(createSoundRequest(2, 0, SoundType.STEP, "step"));
+    soundBudgetService.addSoundRequest(createSoundRequest(3, 0, SoundType.HURT, "hurt"));
+    List<SoundRequest> selectedSounds = soundBudgetService.selectSounds(0);
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected number of selected sounds!", 2, selectedSounds.size());
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected number of merged sounds!",
+        1L,
+        soundBudgetService.getNumberOfMergedSounds());
+  }
+
+  private static SoundRequest createSoundRequest(
+      double listenerDistanceSqr, double x, SoundType soundType, String soundName) {
+    return new SoundRequest(
+        x,
+        64,
+        0,
+        soundType,
+        SoundEvent.createVariableRangeEvent(new ResourceLocation(Constants.MOD_ID, soundName)),
+        SoundSource.NEUTRAL,
+        1.0F,
+        1.0F,
+        listenerDistanceSqr);
+  }
+}
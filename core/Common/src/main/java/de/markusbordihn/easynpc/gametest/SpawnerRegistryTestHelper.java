@@ -0,0 +1,222 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.block.entity.SpawnerRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+public class SpawnerRegistryTestHelper {
+
+  private static final long[] RANDOM_SEEDS = {1L, 42L, 1337L, 20240101L};
+  private static final int NUMBER_OF_OPERATIONS = 250;
+  private static final int NUMBER_OF_PLAYERS = 4;
+  private static final int WORLD_SIZE = 256;
+
+  private SpawnerRegistryTestHelper() {}
+
+  public static void testActivationByPlayerSection(GameTestHelper helper) {
+    SpawnerRegistry spawnerRegistry = new SpawnerRegistry();
+    BlockPos spawnerPos = new BlockPos(0, 64, 0);
+    BlockPos alwaysActiveSpawnerPos = new BlockPos(1000, 64, 1000);
+    UUID playerUUID = UUID.randomUUID();
+
+    spawnerRegistry.addSpawner(spawnerPos, 16);
+    GameTestHelpers.assertTrue(
+        helper, "Spawner without player is active!", !spawnerRegistry.isActive(spawnerPos));
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected dormant spawners!", 1, spawnerRegistry.getNumberOfDormantSpawners());
+
+    // Player far away should not activate the spawner.
+    spawnerRegistry.updatePlayerSection(playerUUID, getSectionPos(new BlockPos(100, 64, 100)));
+    GameTestHelpers.assertTrue(
+        helper, "Spawner with far player is active!", !spawnerRegistry.isActive(spawnerPos));
+
+    // Player enters the required player range.
+    spawnerRegistry.updatePlayerSection(playerUUID, getSectionPos(new BlockPos(8, 64, 8)));
+    GameTestHelpers.assertTrue(
+        helper, "Spawner with near player is dormant!", spawnerRegistry.isActive(spawnerPos));
+
+    // Spawner without required player range is always active.
+    spawnerRegistry.addSpawner(alwaysActiveSpawnerPos, 0);
+    GameTestHelpers.assertTrue(
+        helper,
+        "Spawner without required player range is dormant!",
+        spawnerRegistry.isActive(alwaysActiveSpawnerPos));
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected active spawners!", 2, spawnerRegistry.getNumberOfActiveSpawners());
+
+    // Player leaves and spawner should be dormant again.
+    spawnerRegistry.removePlayer(playerUUID);
+    GameTestHelpers.assertTrue(
+        helper, "Spawner is active after player left!", !spawnerRegistry.isActive(spawnerPos));
+    spawnerRegistry.removeSpawner(spawnerPos);
+    spawnerRegistry.removeSpawner(alwaysActiveSpawnerPos);
+    GameTestHelpers.assertEquals(
+        helper, "Unexpected spawners!", 0, spawnerRegistry.getNumberOfSpawners());
+  }
+
+  public static void testSpawnersByOwner(GameTestHelper helper) {
+    SpawnerRegistry spawnerRegistry = new SpawnerRegistry();
+    BlockPos spawnerPos = new BlockPos(0, 64, 0);
+    BlockPos otherSpawnerPos = new BlockPos(32, 64, 32);
+    UUID ownerUUID = UUID.randomUUID();
+    UUID newOwnerUUID = UUID.randomUUID();
+
+    // Registering the same spawner again should not count it twice.
+    spawnerRegistry.addSpawner(spawnerPos, 16, ownerUUID);
+    spawnerRegistry.addSpawner(spawnerPos, 32, ownerUUID);
+    spawnerRegistry.addSpawner(otherSpawnerPos, 16, ownerUUID);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected owner spawners!",
+        2,
+        spawnerRegistry.getNumberOfSpawnersByOwner(ownerUUID));
+
+    // Owner changes are moving the spawner to the new owner.
+    spawnerRegistry.addSpawner(spawnerPos, 16, newOwnerUUID);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected previous owner spawners!",
+        1,
+        spawnerRegistry.getNumberOfSpawnersByOwner(ownerUUID));
+    GameTestHelpers.assertEquals(
+        helper,
+        "Unexpected new owner spawners!",
+        1,
+        spawnerRegistry.getNumberOfSpawnersByOwner(newOwnerUUID));
+
+    // Removed spawners are no longer counted.
+    spawnerRegistry.removeSpawner(spawnerPos);
+    spawnerRegistry.removeSpawner(otherSpawnerPos);
+    GameTestHelpers.assertEquals(
+        helper,
+        "Removed spawners are still counted!",
+        0,
+        spawnerRegistry.getNumberOfSpawnersByOwner(ownerUUID)
+            + spawnerRegistry.getNumberOfSpawnersByOwner(newOwnerUUID));
+  }
+
+  public static void testActivationMatchesReference(GameTestHelper helper) {
+    for (long randomSeed : RANDOM_SEEDS) {
+      Random random = new Random(randomSeed);
+      SpawnerRegistry spawnerRegistry = new SpawnerRegistry();
+      Map<BlockPos, Integer> referenceSpawners = new HashMap<>();
+      Map<UUID, BlockPos> referencePlayers = new HashMap<>();
+      List<UUID> playerUUIDs = new ArrayList<>();
+      for (int i = 0; i < NUMBER_OF_PLAYERS; i++) {
+        playerUUIDs.add(new UUID(randomSeed, i));
+      }
+
+      for (int step = 0; step < NUMBER_OF_OPERATIONS; step++) {
+        int operation = random.nextInt(10);
+        if (operation < 3) {
+          BlockPos blockPos = getRandomBlockPos(random);
+          int requiredPlayerRange = random.nextInt(5) == 0 ? 0 : 1 + random.nextInt(64);
+          spawnerRegistry.addSpawner(blockPos, requiredPlayerRange);
+          referenceSpawners.put(blockPos, requiredPlayerRange);
+        } else if (operation < 4 && !referenceSpawners.isEmpty()) {
+          BlockPos blockPos = new ArrayList<>(referenceSpawners.keySet()).get(0);
+          spawnerRegistry.removeSpawner(blockPos);
+          referenceSpawners.remove(blockPos);
+        } else if (operation < 9) {
+          UUID playerUUID = playerUUIDs.get(random.nextInt(playerUUIDs.size()));
+          BlockPos blockPos = getRandomBlockPos(random);
+          spawnerRegistry.updatePlayerSection(playerUUID, getSectionPos(blockPos));
+          referencePlayers.put(playerUUID, blockPos);
+        } else {
+          UUID playerUUID = playerUUIDs.get(random.nextInt(playerUUIDs.size()));
+          spawnerRegistry.removePlayer(playerUUID);
+          referencePlayers.remove(playerUUID);
+        }
+        assertMatchesReference(
+            helper, randomSeed, step, spawnerRegistry, referenceSpawners, referencePlayers);
+      }
+    }
+  }
+
+  private static void assertMatchesReference(
+      GameTestHelper helper,
+      long randomSeed,
+      int step,
+      SpawnerRegistry spawnerRegistry,
+      Map<BlockPos, Integer> referenceSpawners,
+      Map<UUID, BlockPos> referencePlayers) {
+    int numberOfActiveSpawners = 0;
+    for (Map.Entry<BlockPos, Integer> entry : referenceSpawners.entrySet()) {
+      boolean expectedActive = entry.getValue() <= 0;
+      for (BlockPos playerPos : referencePlayers.values()) {
+        if (SpawnerRegistry.distanceSqrToSection(entry.getKey(), getSectionPos(playerPos))
+            <= (long) entry.getValue() * entry.getValue()) {
+          expectedActive = true;
+          break;
+        }
+      }
+      if (expectedActive) {
+        numberOfActiveSpawners++;
+      }
+      assertStep(
+          helper,
+          randomSeed,
+          step,
+          "isActive(" + entry.getKey().toShortString() + ")",
+          spawnerRegistry.isActive(entry.getKey()) == expectedActive);
+    }
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "getNumberOfActiveSpawners",
+        spawnerRegistry.getNumberOfActiveSpawners() == numberOfActiveSpawners);
+    assertStep(
+        helper,
+        randomSeed,
+        step,
+        "getNumberOfDormantSpawners",
+        spawnerRegistry.getNumberOfDormantSpawners()
+            == referenceSpawners.size() - numberOfActiveSpawners);
+  }
+
+  private static BlockPos getRandomBlockPos(Random random) {
+    return new BlockPos(
+        random.nextInt(WORLD_SIZE) - WORLD_SIZE / 2,
+        48 + random.nextInt(48),
+        random.nextInt(WORLD_SIZE) - WORLD_SIZE / 2);
+  }
+
+  private static long getSectionPos(BlockPos blockPos) {
+    return SectionPos.asLong(blockPos);
+  }
+
+  private static void assertStep(
+      GameTestHelper helper, long randomSeed, int step, String query, boolean condition) {
+    if (!condition) {
+      helper.fail(
+          "Spawner " + query + " differs from reference at seed " + randomSeed + " step " + step);
+    }
+  }
+}
@@ -20,6 +20,7 @@
 package de.markusbordihn.easynpc.handler;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
 import de.markusbordihn.easynpc.entity.LivingEntityManager;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.NavigationData;
@@ -28,6 +29,7 @@ import de.markusbordihn.easynpc.entity.easynpc.data.PresetData;
 import de.markusbordihn.easynpc.entity.easynpc.data.SkinData;
 import de.markusbordihn.easynpc.io.CustomPresetDataFiles;
 import de.markusbordihn.easynpc.io.WorldPresetDataFiles;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -74,6 +76,18 @@ public class PresetHandler {
       compoundTag.putUUID(Entity.UUID_TAG, uuid);
     }
 
+    // Check owner quota for new entities, existing entities are only updated.
+    boolean isNewEasyNPC =
+        !compoundTag.hasUUID(Entity.UUID_TAG)
+            || LivingEntityManager.getEasyNPCEntityByUUID(
+                    compoundTag.getUUID(Entity.UUID_TAG), serverLevel)
+                == null;
+    if (isNewEasyNPC
+        && serverPlayer != null
+        && !OwnerQuotaManager.checkQuota(serverPlayer, OwnerQuotaType.NPCS, 1)) {
+      return false;
+    }
+
     // Import preset data
     if (!importPreset(serverLevel, compoundTag)) {
       return false;
@@ -95,6 +109,14 @@ public class PresetHandler {
     OwnerData<?> ownerData = easyNPC.getEasyNPCOwnerData();
     if (serverPlayer != null && ownerData != null) {
       ownerData.setOwner(serverPlayer);
+
+      // Remove new entities again, if the imported skin or objectives exceed the quota.
+      if (isNewEasyNPC
+          && (!OwnerQuotaManager.checkQuota(serverPlayer, OwnerQuotaType.URL_SKINS, 0)
+              || !OwnerQuotaManager.checkQuota(serverPlayer, OwnerQuotaType.OBJECTIVES, 0))) {
+        LivingEntityManager.discardEasyNPCEntityByUUID(compoundUUID, serverLevel);
+        return false;
+      }
     }
 
     // Set home position, if spawn position was provided.
@@ -20,13 +20,18 @@
 package de.markusbordihn.easynpc.handler;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.ServerSkinConfig;
 import de.markusbordihn.easynpc.data.skin.SkinDataEntry;
 import de.markusbordihn.easynpc.data.skin.SkinType;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.SkinData;
 import de.markusbordihn.easynpc.entity.easynpc.data.VariantData;
+import de.markusbordihn.easynpc.server.skin.ServerSkinManager;
+import de.markusbordihn.easynpc.utils.PlayersUtils;
 import de.markusbordihn.easynpc.validator.UrlValidator;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.server.MinecraftServer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -101,6 +106,11 @@ public class SkinHandler {
       return false;
     }
 
+    // Server side player skins are resolved and downloaded by the server instead of the clients.
+    if (ServerSkinConfig.isEnforceServerSkins()) {
+      return setServerPlayerSkin(easyNPC, playerName, playerUUID);
+    }
+
     SkinData<?> skinData = easyNPC.getEasyNPCSkinData();
     if (skinData != null) {
       log.debug("[{}] Setting player skin to {} with UUID {}", easyNPC, playerName, playerUUID);
@@ -117,6 +127,9 @@ public class SkinHandler {
   }
 
   public static boolean setRemoteSkin(EasyNPC<?> easyNPC, String skinURL) {
+    if (ServerSkinConfig.isEnforceServerSkins()) {
+      return setServerSkin(easyNPC, skinURL);
+    }
     if (isSecureRemoteSkin(skinURL)) {
       return setSecureRemoteSkin(easyNPC, skinURL);
     }
@@ -168,6 +181,99 @@ public class SkinHandler {
     return false;
   }
 
+  public static boolean setServerSkin(EasyNPC<?> easyNPC, String skinURL) {
+    if (easyNPC == null
+        || skinURL == null
+        || skinURL.isEmpty()
+        || !UrlValidator.isValidUrl(skinURL)
+        || !ServerSkinManager.isAllowedSkinURL(skinURL)) {
+      log.error("[{}] Error setting server skin to URL {}", easyNPC, skinURL);
+      return false;
+    }
+    return setServerSkin(easyNPC, "", skinURL);
+  }
+
+  public static boolean setServerPlayerSkin(
+      EasyNPC<?> easyNPC, String playerName, UUID playerUUID) {
+    boolean hasPlayerUUID = playerUUID != null && !playerUUID.equals(Constants.BLANK_UUID);
+    if (easyNPC == null
+        || easyNPC.getEntity().getServer() == null
+        || ((playerName == null || playerName.isEmpty()) && !hasPlayerUUID)) {
+      log.error(
+          "[{}] Error setting server player skin to {} with UUID {}",
+          easyNPC,
+          playerName,
+          playerUUID);
+      return false;
+    }
+
+    // Resolve the player texture URL first, the skin itself is downloaded by the server.
+    MinecraftServer minecraftServer = easyNPC.getEntity().getServer();
+    CompletableFuture<UUID> userUUIDFuture =
+        hasPlayerUUID
+            ? CompletableFuture.completedFuture(playerUUID)
+            : PlayersUtils.getUserUUIDAsync(minecraftServer, playerName);
+    userUUIDFuture
+        .thenCompose(PlayersUtils::getUserTextureAsync)
+        .thenAcceptAsync(
+            skinURL -> {
+              if (skinURL == null || skinURL.isEmpty() || !UrlValidator.isValidUrl(skinURL)) {
+                log.error("[{}] Unable to resolve server player skin for {}", easyNPC, playerName);
+                return;
+              }
+              setServerSkin(easyNPC, playerName, skinURL);
+            },
+            minecraftServer);
+    return true;
+  }
+
+  private static boolean setServerSkin(EasyNPC<?> easyNPC, String name, String skinURL) {
+    SkinData<?> skinData = easyNPC.getEasyNPCSkinData();
+    if (skinData == null) {
+      return false;
+    }
+
+    // The content hash is set after the server has downloaded and validated the skin.
+    log.debug("[{}] Set server skin to URL {}", easyNPC, skinURL);
+    SkinDataEntry skinDataEntry =
+        skinData
+            .getSkinDataEntry()
+            .withType(SkinType.SERVER_SKIN)
+            .withName(name)
+            .withURL(skinURL)
+            .withUUID(UUID.nameUUIDFromBytes(skinURL.getBytes()))
+            .withContent("");
+    skinData.setSkinDataEntry(skinDataEntry);
+    MinecraftServer minecraftServer = easyNPC.getEntity().getServer();
+    if (minecraftServer != null) {
+      ServerSkinManager.fetchSkin(skinURL)
+          .thenAcceptAsync(
+              contentHash -> updateServerSkinContent(easyNPC, skinURL, contentHash),
+              minecraftServer);
+    }
+    return true;
+  }
+
+  public static boolean updateServerSkinContent(
+      EasyNPC<?> easyNPC, String skinURL, String contentHash) {
+    SkinData<?> skinData = easyNPC != null ? easyNPC.getEasyNPCSkinData() : null;
+    if (skinData == null || contentHash == null || contentHash.isEmpty()) {
+      log.error("[{}] Unable to download server skin from URL {}", easyNPC, skinURL);
+      return false;
+    }
+
+    // Ignore outdated downloads, if the skin was changed in the meantime.
+    SkinDataEntry skinDataEntry = skinData.getSkinDataEntry();
+    if (skinData.getSkinType() != SkinType.SERVER_SKIN
+        || !skinURL.equals(skinDataEntry.url())
+        || contentHash.equals(skinDataEntry.content())) {
+      return false;
+    }
+    log.debug("[{}] Set server skin content to {}", easyNPC, contentHash);
+    skinData.setSkinDataEntry(skinDataEntry.withContent(contentHash));
+    return true;
+  }
+
   private static boolean isSecureRemoteSkin(String skinURL) {
     return skinURL != null
         && !skinURL.isEmpty()
@@ -21,11 +21,15 @@ package de.markusbordihn.easynpc.io;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.client.texture.PlayerTextureManager;
+import de.markusbordihn.easynpc.client.texture.TextureManager;
+import de.markusbordihn.easynpc.client.texture.TextureModelKey;
 import de.markusbordihn.easynpc.data.skin.SkinModel;
+import de.markusbordihn.easynpc.utils.UUIDUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.UUID;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -52,13 +56,15 @@ public class PlayerSkinDataFiles {
         if (skinModelFolder != null
             && Files.exists(skinModelFolder)
             && Files.isDirectory(skinModelFolder)) {
-          for (String skinFileName : skinModelFolder.toFile().list()) {
-            Path skinFilePath = skinModelFolder.resolve(skinFileName);
-            File skinFile = skinFilePath.toFile();
-            if (skinFile.exists() && skinFileName.endsWith(".png")) {
-              PlayerTextureManager.registerTexture(skinModel, skinFile);
+          SkinCache skinCache = TextureManager.getSkinCache(skinModelFolder);
+          for (String cacheKey : skinCache.getKeys()) {
+            UUID uuid = UUIDUtils.parseUUID(cacheKey);
+            File skinFile = uuid != null ? skinCache.getCachedFile(cacheKey) : null;
+            if (skinFile != null) {
+              PlayerTextureManager.registerTexture(new TextureModelKey(uuid, skinModel), skinFile);
             }
           }
+          skinCache.saveIndexFileIfChanged();
         }
       }
     }
@@ -0,0 +1,719 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.io;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.SkinCacheConfig;
+import de.markusbordihn.easynpc.validator.ImageValidator;
+import de.markusbordihn.easynpc.validator.UrlValidator;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class SkinCache {
+
+  public static final String INDEX_FILE_NAME = "skin_cache_index.json";
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Skin Cache]";
+  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+  private static final String ENTRIES_TAG = "entries";
+  private static final String HASH_TAG = "hash";
+  private static final String URL_TAG = "url";
+  private static final String ETAG_TAG = "etag";
+  private static final String LAST_MODIFIED_TAG = "last_modified";
+  private static final String SIZE_TAG = "size";
+  private static final String VALIDATED_TAG = "validated";
+  private static final String ACCESSED_TAG = "accessed";
+  private static final int MAX_REDIRECTS = 3;
+
+  private final Path cacheDirectory;
+  private final Path indexFile;
+  private final long maxCacheSize;
+  private final int maxImageSize;
+  private final long revalidationTime;
+  private final long maxAge;
+  private final int connectTimeout;
+  private final int readTimeout;
+  private final Set<String> allowedHosts;
+  private final boolean allowPrivateAddresses;
+
+  // Cache entries by source key in access order, content files are shared by their hash.
+  private final Map<String, CacheEntry> cacheEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, Integer> hashReferences = new HashMap<>();
+  private final Set<String> verifiedHashes = new HashSet<>();
+  private long cacheSize = 0;
+  private boolean indexChanged = false;
+  private int numberOfDownloads = 0;
+  private int numberOfRevalidations = 0;
+  private int numberOfEvictions = 0;
+  private int numberOfInvalidFiles = 0;
+
+  public SkinCache(
+      Path cacheDirectory,
+      long maxCacheSize,
+      int maxImageSize,
+      long revalidationTime,
+      long maxAge,
+      int connectTimeout,
+      int readTimeout) {
+    this(
+        cacheDirectory,
+        maxCacheSize,
+        maxImageSize,
+        revalidationTime,
+        maxAge,
+        connectTimeout,
+        readTimeout,
+        Set.of(),
+        false);
+  }
+
+  public SkinCache(
+      Path cacheDirectory,
+      long maxCacheSize,
+      int maxImageSize,
+      long revalidationTime,
+      long maxAge,
+      int connectTimeout,
+      int readTimeout,
+      Set<String> allowedHosts,
+      boolean allowPrivateAddresses) {
+    this.cacheDirectory = cacheDirectory;
+    this.indexFile = cacheDirectory.resolve(INDEX_FILE_NAME);
+    this.maxCacheSize = maxCacheSize;
+    this.maxImageSize = maxImageSize;
+    this.revalidationTime = revalidationTime;
+    this.maxAge = maxAge;
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.allowedHosts = allowedHosts;
+    this.allowPrivateAddresses = allowPrivateAddresses;
+    this.loadIndexFile();
+  }
+
+  public static SkinCache fromConfig(Path cacheDirectory) {
+    return fromConfig(cacheDirectory, Set.of(), false);
+  }
+
+  public static SkinCache fromConfig(
+      Path cacheDirectory, Set<String> allowedHosts, boolean allowPrivateAddresses) {
+    return new SkinCache(
+        cacheDirectory,
+        SkinCacheConfig.getMaxCacheSize() * 1024L * 1024L,
+        SkinCacheConfig.getMaxImageSize() * 1024,
+        TimeUnit.HOURS.toMillis(SkinCacheConfig.getRevalidationHours()),
+        TimeUnit.DAYS.toMillis(SkinCacheConfig.getMaxAgeDays()),
+        SkinCacheConfig.getConnectTimeout(),
+        SkinCacheConfig.getReadTimeout(),
+        allowedHosts,
+        allowPrivateAddresses);
+  }
+
+  public static boolean isValidContentHash(String hash) {
+    return hash != null && hash.matches("[0-9a-f]{64}");
+  }
+
+  public static String getContentHash(byte[] data) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException("SHA-256 is not supported!", exception);
+    }
+  }
+
+  private static byte[] getImageData(byte[] data) {
+    if (data == null) {
+      return null;
+    }
+
+    // Decode and validate the image and store it always as png, which is required for textures.
+    try {
+      BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+      if (!ImageValidator.isValidImage(image)) {
+        return null;
+      }
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length);
+      return ImageIO.write(image, "png", outputStream) ? outputStream.toByteArray() : null;
+    } catch (IllegalArgumentException | IOException exception) {
+      log.error("{} Unable to process image data: {}", LOG_PREFIX, exception.getMessage());
+      return null;
+    }
+  }
+
+  private static String getStringValue(JsonObject jsonObject, String tag) {
+    JsonElement jsonElement = jsonObject.get(tag);
+    return jsonElement != null && !jsonElement.isJsonNull() ? jsonElement.getAsString() : null;
+  }
+
+  public synchronized boolean hasCachedFile(String key) {
+    // Only checks the index, the file itself is verified by getCachedFile.
+    CacheEntry cacheEntry = this.cacheEntries.get(key);
+    return cacheEntry != null && System.currentTimeMillis() - cacheEntry.accessed <= this.maxAge;
+  }
+
+  public File getCachedFile(String key) {
+    String hash;
+    synchronized (this) {
+      CacheEntry cacheEntry = this.cacheEntries.get(key);
+      if (cacheEntry == null) {
+        return null;
+      }
+      if (System.currentTimeMillis() - cacheEntry.accessed > this.maxAge) {
+        log.debug("{} Removing expired cache entry {}", LOG_PREFIX, key);
+        this.removeEntry(key);
+        return null;
+      }
+      hash = cacheEntry.hash;
+    }
+    File file = this.verifyFile(hash);
+    if (file != null) {
+      synchronized (this) {
+        CacheEntry cacheEntry = this.cacheEntries.get(key);
+        if (cacheEntry != null && hash.equals(cacheEntry.hash)) {
+          cacheEntry.accessed = System.currentTimeMillis();
+          this.indexChanged = true;
+        }
+      }
+    }
+    return file;
+  }
+
+  public synchronized boolean needsRevalidation(String key) {
+    CacheEntry cacheEntry = this.cacheEntries.get(key);
+    return cacheEntry == null
+        || System.currentTimeMillis() - cacheEntry.validated > this.revalidationTime;
+  }
+
+  public File fetch(String key, String url) {
+    // Cached files from the same source are revalidated with a conditional request.
+    CacheEntry cacheEntry;
+    synchronized (this) {
+      cacheEntry = this.cacheEntries.get(key);
+    }
+    File cachedFile =
+        cacheEntry != null && (cacheEntry.url == null || url.equals(cacheEntry.url))
+            ? this.getCachedFile(key)
+            : null;
+
+    HttpURLConnection connection = null;
+    try {
+      String requestUrl = url;
+      int responseCode;
+      int redirects = 0;
+      while (true) {
+        // Every request and redirect is checked, before any connection is opened.
+        connection = (HttpURLConnection) this.getValidatedUrl(requestUrl).openConnection();
+        connection.setConnectTimeout(this.connectTimeout);
+        connection.setReadTimeout(this.readTimeout);
+        connection.setInstanceFollowRedirects(false);
+        if (cachedFile != null && cacheEntry.etag != null) {
+          connection.setRequestProperty("If-None-Match", cacheEntry.etag);
+        }
+        if (cachedFile != null && cacheEntry.lastModified != null) {
+          connection.setRequestProperty("If-Modified-Since", cacheEntry.lastModified);
+        }
+        responseCode = connection.getResponseCode();
+        if (!isRedirect(responseCode) || redirects++ >= MAX_REDIRECTS) {
+          break;
+        }
+        String redirectUrl = connection.getHeaderField("Location");
+        log.debug("{} Following redirect from {} > {}", LOG_PREFIX, requestUrl, redirectUrl);
+        connection.disconnect();
+        requestUrl = new URL(new URL(requestUrl), redirectUrl).toString();
+      }
+
+      if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cachedFile != null) {
+        synchronized (this) {
+          cacheEntry.validated = System.currentTimeMillis();
+          this.numberOfRevalidations++;
+          this.indexChanged = true;
+          this.saveIndexFileIfChanged();
+        }
+        log.debug("{} Revalidated cached file {} for {}", LOG_PREFIX, cachedFile, url);
+        return cachedFile;
+      }
+      if (responseCode != HttpURLConnection.HTTP_OK) {
+        log.error("{} Unexpected response {} for {}", LOG_PREFIX, responseCode, url);
+        return null;
+      }
+
+      byte[] imageData;
+      try (InputStream inputStream = connection.getInputStream()) {
+        imageData = getImageData(this.readData(inputStream, url));
+      }
+      if (imageData == null) {
+        log.error("{} Unable to get any valid texture from {}", LOG_PREFIX, url);
+        return null;
+      }
+      synchronized (this) {
+        this.numberOfDownloads++;
+        return this.storeImageData(
+            key,
+            url,
+            imageData,
+            connection.getHeaderField("ETag"),
+            connection.getHeaderField("Last-Modified"),
+            System.currentTimeMillis());
+      }
+    } catch (IllegalArgumentException | IOException exception) {
+      if (cachedFile != null) {
+        log.warn(
+            "{} Unable to revalidate {}, using cached file {}: {}",
+            LOG_PREFIX,
+            url,
+            cachedFile,
+            exception.getMessage());
+        return cachedFile;
+      }
+      log.error("{} Unable to download {}: {}", LOG_PREFIX, url, exception.getMessage());
+      return null;
+    } finally {
+      if (connection != null) {
+        connection.disconnect();
+      }
+    }
+  }
+
+  public synchronized File importFile(String key, File file, String url) {
+    // Import files from the former cache layout, which were stored by their source key.
+    byte[] imageData;
+    try {
+      imageData = getImageData(Files.readAllBytes(file.toPath()));
+    } catch (IOException exception) {
+      log.error("{} Unable to read file {}: {}", LOG_PREFIX, file, exception.getMessage());
+      return null;
+    }
+    if (imageData == null) {
+      log.error("{} Unable to import invalid file {} for {}", LOG_PREFIX, file, key);
+      return null;
+    }
+    File cachedFile = this.storeImageData(key, url, imageData, null, null, file.lastModified());
+    if (cachedFile != null && !cachedFile.equals(file)) {
+      try {
+        Files.deleteIfExists(file.toPath());
+      } catch (IOException exception) {
+        log.warn("{} Unable to delete imported file {}", LOG_PREFIX, file);
+      }
+    }
+    return cachedFile;
+  }
+
+  public synchronized File store(String key, byte[] data) {
+    byte[] imageData = getImageData(data);
+    if (imageData == null) {
+      log.error("{} Unable to store invalid image data for {}", LOG_PREFIX, key);
+      return null;
+    }
+    return this.storeImageData(key, null, imageData, null, null, System.currentTimeMillis());
+  }
+
+  public File getCachedFileByHash(String hash) {
+    synchronized (this) {
+      if (hash == null || !this.hashReferences.containsKey(hash)) {
+        return null;
+      }
+    }
+    return this.verifyFile(hash);
+  }
+
+  public synchronized String getCachedContentHash(String key) {
+    CacheEntry cacheEntry = this.cacheEntries.get(key);
+    return cacheEntry != null ? cacheEntry.hash : null;
+  }
+
+  public synchronized void remove(String key) {
+    if (this.removeEntry(key)) {
+      this.saveIndexFileIfChanged();
+    }
+  }
+
+  public synchronized Set<String> getKeys() {
+    return new HashSet<>(this.cacheEntries.keySet());
+  }
+
+  public synchronized String getSourceUrl(String key) {
+    CacheEntry cacheEntry = this.cacheEntries.get(key);
+    return cacheEntry != null ? cacheEntry.url : null;
+  }
+
+  public synchronized int getNumberOfEntries() {
+    return this.cacheEntries.size();
+  }
+
+  public synchronized int getNumberOfFiles() {
+    return this.hashReferences.size();
+  }
+
+  public synchronized long getCacheSize() {
+    return this.cacheSize;
+  }
+
+  public synchronized int getNumberOfDownloads() {
+    return this.numberOfDownloads;
+  }
+
+  public synchronized int getNumberOfRevalidations() {
+    return this.numberOfRevalidations;
+  }
+
+  public synchronized int getNumberOfEvictions() {
+    return this.numberOfEvictions;
+  }
+
+  public synchronized int getNumberOfInvalidFiles() {
+    return this.numberOfInvalidFiles;
+  }
+
+  public synchronized void saveIndexFileIfChanged() {
+    if (this.indexChanged) {
+      this.saveIndexFile();
+    }
+  }
+
+  private URL getValidatedUrl(String url) throws IOException {
+    URL validatedUrl = new URL(url);
+    String protocol = validatedUrl.getProtocol();
+    if (!"http".equalsIgnoreCase(protocol) && !"https".equalsIgnoreCase(protocol)) {
+      throw new IOException("Unsupported protocol " + protocol);
+    }
+    String host = validatedUrl.getHost();
+    if (!UrlValidator.isAllowedHost(host, this.allowedHosts)) {
+      throw new IOException("Host " + host + " is not allowed");
+    }
+    if (!this.allowPrivateAddresses) {
+      for (InetAddress address : InetAddress.getAllByName(host)) {
+        if (!UrlValidator.isPublicAddress(address)) {
+          throw new IOException("Host " + host + " resolves to non-public address " + address);
+        }
+      }
+    }
+    return validatedUrl;
+  }
+
+  private static boolean isRedirect(int responseCode) {
+    return responseCode == HttpURLConnection.HTTP_MOVED_PERM
+        || responseCode == HttpURLConnection.HTTP_MOVED_TEMP
+        || responseCode == 307
+        || responseCode == 308;
+  }
+
+  private byte[] readData(InputStream inputStream, String url) throws IOException {
+    byte[] data = inputStream.readNBytes(this.maxImageSize + 1);
+    if (data.length > this.maxImageSize) {
+      log.error("{} Image {} exceeds max. size of {} bytes", LOG_PREFIX, url, this.maxImageSize);
+      return null;
+    }
+    return data;
+  }
+
+  private Path getFile(String hash) {
+    return this.cacheDirectory.resolve(hash + ".png");
+  }
+
+  private File verifyFile(String hash) {
+    Path file = this.getFile(hash);
+    synchronized (this) {
+      if (this.verifiedHashes.contains(hash)) {
+        return Files.exists(file) ? file.toFile() : this.invalidateFile(hash, "missing");
+      }
+    }
+
+    // Files are verified once per session, before they are used as texture. The verification
+    // runs without holding the lock, so index lookups of other threads don't wait for it.
+    String invalidReason = getInvalidReason(hash, file);
+    synchronized (this) {
+      if (invalidReason != null) {
+        return this.invalidateFile(hash, invalidReason);
+      }
+      if (!this.hashReferences.containsKey(hash)) {
+        return null;
+      }
+      this.verifiedHashes.add(hash);
+    }
+    return file.toFile();
+  }
+
+  private static String getInvalidReason(String hash, Path file) {
+    try {
+      byte[] data = Files.readAllBytes(file);
+      if (!hash.equals(getContentHash(data))) {
+        return "hash mismatch";
+      }
+      if (!ImageValidator.isValidImage(ImageIO.read(new ByteArrayInputStream(data)))) {
+        return "invalid image";
+      }
+    } catch (IllegalArgumentException | IOException exception) {
+      return String.valueOf(exception.getMessage());
+    }
+    return null;
+  }
+
+  private File invalidateFile(String hash, String reason) {
+    log.warn("{} Removing invalid cache file {}: {}", LOG_PREFIX, this.getFile(hash), reason);
+    this.numberOfInvalidFiles++;
+    List<String> keys = new ArrayList<>();
+    for (Map.Entry<String, CacheEntry> entry : this.cacheEntries.entrySet()) {
+      if (hash.equals(entry.getValue().hash)) {
+        keys.add(entry.getKey());
+      }
+    }
+    for (String key : keys) {
+      this.removeEntry(key);
+    }
+    this.saveIndexFileIfChanged();
+    return null;
+  }
+
+  private File storeImageData(
+      String key, String url, byte[] imageData, String etag, String lastModified, long validated) {
+    String hash = getContentHash(imageData);
+    Path file = this.getFile(hash);
+
+    // Identical images are only stored once, regardless of their source.
+    if (!this.hashReferences.containsKey(hash) || !Files.exists(file)) {
+      Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+      try {
+        Files.write(temporaryFile, imageData);
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException exception) {
+        log.error("{} Unable to write cache file {}:", LOG_PREFIX, file, exception);
+        return null;
+      }
+    }
+
+    // Take the new reference first, so storing the same content again keeps the file.
+    if (this.hashReferences.merge(hash, 1, Integer::sum) == 1) {
+      this.cacheSize += imageData.length;
+    }
+    CacheEntry previousCacheEntry =
+        this.cacheEntries.put(
+            key,
+            new CacheEntry(
+                hash,
+                url,
+                etag,
+                lastModified,
+                imageData.length,
+                validated,
+                System.currentTimeMillis()));
+    if (previousCacheEntry != null) {
+      this.releaseHash(previousCacheEntry.hash, previousCacheEntry.size);
+    }
+    this.verifiedHashes.add(hash);
+    this.indexChanged = true;
+    log.debug("{} Stored {} from {} as {}", LOG_PREFIX, key, url, file);
+
+    this.evictEntries(key);
+    this.saveIndexFileIfChanged();
+    return file.toFile();
+  }
+
+  private void evictEntries(String protectedKey) {
+    // Entries are ordered by access, so the least recently used entries are evicted first.
+    long now = System.currentTimeMillis();
+    Iterator<Map.Entry<String, CacheEntry>> iterator = this.cacheEntries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, CacheEntry> entry = iterator.next();
+      CacheEntry cacheEntry = entry.getValue();
+      if (!entry.getKey().equals(protectedKey)
+          && (this.cacheSize > this.maxCacheSize || now - cacheEntry.accessed > this.maxAge)) {
+        log.debug("{} Evicting cache entry {}", LOG_PREFIX, entry.getKey());
+        iterator.remove();
+        this.releaseHash(cacheEntry.hash, cacheEntry.size);
+        this.numberOfEvictions++;
+        this.indexChanged = true;
+      }
+    }
+  }
+
+  private boolean removeEntry(String key) {
+    CacheEntry cacheEntry = this.cacheEntries.remove(key);
+    if (cacheEntry == null) {
+      return false;
+    }
+    this.releaseHash(cacheEntry.hash, cacheEntry.size);
+    this.indexChanged = true;
+    return true;
+  }
+
+  private void releaseHash(String hash, long size) {
+    Integer references = this.hashReferences.get(hash);
+    if (references == null) {
+      return;
+    }
+    if (references > 1) {
+      this.hashReferences.put(hash, references - 1);
+      return;
+    }
+    this.hashReferences.remove(hash);
+    this.verifiedHashes.remove(hash);
+    this.cacheSize -= size;
+    try {
+      Files.deleteIfExists(this.getFile(hash));
+    } catch (IOException exception) {
+      log.warn("{} Unable to delete cache file {}", LOG_PREFIX, this.getFile(hash));
+    }
+  }
+
+  private void loadIndexFile() {
+    if (!Files.exists(this.indexFile)) {
+      return;
+    }
+    List<Map.Entry<String, CacheEntry>> loadedEntries = new ArrayList<>();
+    try (Reader reader = Files.newBufferedReader(this.indexFile, StandardCharsets.UTF_8)) {
+      JsonElement jsonElement = JsonParser.parseReader(reader);
+      if (!jsonElement.isJsonObject() || !jsonElement.getAsJsonObject().has(ENTRIES_TAG)) {
+        return;
+      }
+      JsonObject entries = jsonElement.getAsJsonObject().getAsJsonObject(ENTRIES_TAG);
+      for (Map.Entry<String, JsonElement> entry : entries.entrySet()) {
+        JsonObject jsonObject = entry.getValue().getAsJsonObject();
+        CacheEntry cacheEntry =
+            new CacheEntry(
+                jsonObject.get(HASH_TAG).getAsString(),
+                getStringValue(jsonObject, URL_TAG),
+                getStringValue(jsonObject, ETAG_TAG),
+                getStringValue(jsonObject, LAST_MODIFIED_TAG),
+                jsonObject.get(SIZE_TAG).getAsLong(),
+                jsonObject.get(VALIDATED_TAG).getAsLong(),
+                jsonObject.get(ACCESSED_TAG).getAsLong());
+        if (Files.exists(this.getFile(cacheEntry.hash))) {
+          loadedEntries.add(Map.entry(entry.getKey(), cacheEntry));
+        } else {
+          this.indexChanged = true;
+        }
+      }
+    } catch (IOException
+        | JsonParseException
+        | ClassCastException
+        | IllegalStateException
+        | NullPointerException exception) {
+      log.error("{} Unable to read cache index {}:", LOG_PREFIX, this.indexFile, exception);
+      return;
+    }
+
+    // Restore the access order of the entries.
+    loadedEntries.sort(Comparator.comparingLong(entry -> entry.getValue().accessed));
+    for (Map.Entry<String, CacheEntry> entry : loadedEntries) {
+      CacheEntry cacheEntry = entry.getValue();
+      this.cacheEntries.put(entry.getKey(), cacheEntry);
+      if (this.hashReferences.merge(cacheEntry.hash, 1, Integer::sum) == 1) {
+        this.cacheSize += cacheEntry.size;
+      }
+    }
+    log.debug(
+        "{} Loaded {} cache entries with {} files from {}",
+        LOG_PREFIX,
+        this.cacheEntries.size(),
+        this.hashReferences.size(),
+        this.indexFile);
+  }
+
+  private void saveIndexFile() {
+    JsonObject entries = new JsonObject();
+    for (Map.Entry<String, CacheEntry> entry : this.cacheEntries.entrySet()) {
+      CacheEntry cacheEntry = entry.getValue();
+      JsonObject jsonObject = new JsonObject();
+      jsonObject.addProperty(HASH_TAG, cacheEntry.hash);
+      jsonObject.addProperty(URL_TAG, cacheEntry.url);
+      jsonObject.addProperty(ETAG_TAG, cacheEntry.etag);
+      jsonObject.addProperty(LAST_MODIFIED_TAG, cacheEntry.lastModified);
+      jsonObject.addProperty(SIZE_TAG, cacheEntry.size);
+      jsonObject.addProperty(VALIDATED_TAG, cacheEntry.validated);
+      jsonObject.addProperty(ACCESSED_TAG, cacheEntry.accessed);
+      entries.add(entry.getKey(), jsonObject);
+    }
+    JsonObject index = new JsonObject();
+    index.add(ENTRIES_TAG, entries);
+
+    // Write to a temporary file first, to avoid corrupted index files.
+    Path temporaryFile = this.indexFile.resolveSibling(INDEX_FILE_NAME + ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+        GSON.toJson(index, writer);
+      }
+      Files.move(temporaryFile, this.indexFile, StandardCopyOption.REPLACE_EXISTING);
+      this.indexChanged = false;
+    } catch (IOException exception) {
+      log.error("{} Unable to write cache index {}:", LOG_PREFIX, this.indexFile, exception);
+    }
+  }
+
+  private static final class CacheEntry {
+    private final String hash;
+    private final String url;
+    private final String etag;
+    private final String lastModified;
+    private final long size;
+    private long validated;
+    private long accessed;
+
+    private CacheEntry(
+        String hash,
+        String url,
+        String etag,
+        String lastModified,
+        long size,
+        long validated,
+        long accessed) {
+      this.hash = hash;
+      this.url = url;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.size = size;
+      this.validated = validated;
+      this.accessed = accessed;
+    }
+  }
+}
@@ -20,9 +20,11 @@
 package de.markusbordihn.easynpc.item;
 
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
 import de.markusbordihn.easynpc.network.components.TextComponent;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
 import java.util.Objects;
 import java.util.function.Supplier;
 import net.minecraft.core.BlockPos;
@@ -30,6 +32,7 @@ import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
@@ -108,6 +111,10 @@ public class ModSpawnEggItem extends SpawnEggItem {
 
     // Spawn the entity based on the spawn egg type.
     EntityType<?> entityType = this.getType(itemStack.getTag());
+    if (player instanceof ServerPlayer serverPlayer
+        && !OwnerQuotaManager.checkQuota(serverPlayer, OwnerQuotaType.NPCS, 1)) {
+      return InteractionResult.FAIL;
+    }
     Entity entity =
         entityType.spawn(
             (ServerLevel) level,
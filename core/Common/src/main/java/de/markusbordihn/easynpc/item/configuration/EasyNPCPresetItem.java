@@ -20,7 +20,8 @@
 package de.markusbordihn.easynpc.item.configuration;
 
 import de.markusbordihn.easynpc.Constants;
-import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.data.preset.PresetTemplate;
+import de.markusbordihn.easynpc.data.preset.PresetTemplateManager;
 import de.markusbordihn.easynpc.network.components.TextComponent;
 import java.util.List;
 import java.util.UUID;
@@ -139,42 +140,31 @@ public class EasyNPCPresetItem extends Item {
       return false;
     }
 
-    // Get entity type and create entity.
-    CompoundTag entityPreset = getPreset(itemStack);
-    EntityType<?> entityType = getEntityType(itemStack);
-    if (entityType == null) {
+    // Get cached preset template, to avoid re-reading the preset for each spawn.
+    PresetTemplate presetTemplate = PresetTemplateManager.getPresetTemplate(itemStack);
+    if (presetTemplate == null) {
       log.error("No valid entity type found in {}!", itemStack);
       return false;
     }
 
-    // Create and validate entity.
-    Entity entity = entityType.create(level);
+    // Create entity with spawner UUID, if available and move entity to the spawn position.
+    UUID spawnerUUID = getSpawnerUUID(itemStack);
+    Entity entity =
+        presetTemplate.createEntity(
+            level, blockPos.getX() + 0.5f, blockPos.getY(), blockPos.getZ() + 0.5f, spawnerUUID);
     if (entity == null) {
-      log.error("Unable to create entity for {} in {}", entityType, level);
+      log.error("Unable to create entity for {} in {}", presetTemplate.getEntityType(), level);
       return false;
     }
 
-    // Remove UUID from preset, to avoid conflicts with existing entities.
-    if (entityPreset.contains(Entity.UUID_TAG)) {
-      entityPreset.remove(Entity.UUID_TAG);
-    }
-    entity.load(entityPreset);
-
-    // Set spawner UUID, if available.
-    UUID spawnerUUID = getSpawnerUUID(itemStack);
-    if (spawnerUUID != null && entity instanceof EasyNPC<?> easyNPC) {
-      easyNPC.getEasyNPCSpawnerData().setSpawnerUUID(getSpawnerUUID(itemStack));
-    }
-
-    // Move entity to and spawn entity.
-    entity.moveTo(blockPos.getX() + 0.5f, blockPos.getY(), blockPos.getZ() + 0.5f);
+    // Spawn entity.
     if (level.addFreshEntity(entity)) {
       log.debug(
           "Spawned {} at {} from spawner {} with {} in {}",
-          entityType,
+          presetTemplate.getEntityType(),
           blockPos,
           spawnerUUID,
-          entityPreset,
+          presetTemplate,
           level);
       return true;
     }
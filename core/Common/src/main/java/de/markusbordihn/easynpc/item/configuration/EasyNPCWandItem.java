@@ -28,10 +28,11 @@ import java.util.List;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
-import net.minecraft.world.effect.MobEffectInstance;
-import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.InteractionResultHolder;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
@@ -46,7 +47,6 @@ public class EasyNPCWandItem extends Item {
 
   public static final String ID = "easy_npc_wand";
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
-  private static final int GLOWING_DURATION = 4 * 20;
 
   public EasyNPCWandItem(Properties properties) {
     super(properties);
@@ -55,29 +55,73 @@ public class EasyNPCWandItem extends Item {
   @Override
   public void inventoryTick(
       ItemStack itemStack, Level level, Entity entity, int slot, boolean selected) {
-    // Highlight all nearby EasyNPC entities
-    if (selected && entity instanceof Player player) {
-      for (EasyNPCBaseEntity<?> easyNPCEntity :
-          level.getEntitiesOfClass(
-              EasyNPCBaseEntity.class, player.getBoundingBox().inflate(0.5), Entity::isAlive)) {
-        if (easyNPCEntity.hasEffect(MobEffects.GLOWING)) {
-          MobEffectInstance mobEffect = easyNPCEntity.getEffect(MobEffects.GLOWING);
-          if (mobEffect != null && mobEffect.getDuration() < 5) {
-            easyNPCEntity.addEffect(
-                new MobEffectInstance(MobEffects.GLOWING, GLOWING_DURATION, 1, false, false));
-          }
-        } else {
-          easyNPCEntity.addEffect(
-              new MobEffectInstance(MobEffects.GLOWING, GLOWING_DURATION, 1, false, false));
-        }
-      }
+    // Highlight all nearby EasyNPC entities only for the local player without any server effect.
+    if (selected && level.isClientSide() && entity instanceof Player player) {
+      EasyNPCWandSelection.updateHighlight(level, player);
     }
   }
 
+  @Override
+  public InteractionResultHolder<ItemStack> use(
+      Level level, Player player, InteractionHand interactionHand) {
+    ItemStack itemStack = player.getItemInHand(interactionHand);
+    if (!player.isSecondaryUseActive()) {
+      return InteractionResultHolder.pass(itemStack);
+    }
+
+    // Clear the selection, if the player is sneaking and using the wand into the air.
+    if (level.isClientSide()) {
+      EasyNPCWandSelection.clearSelection();
+      player.displayClientMessage(
+          TextComponent.getTranslatedText("item.easy_npc_wand.selection_cleared"), true);
+    }
+    return InteractionResultHolder.sidedSuccess(itemStack, level.isClientSide());
+  }
+
+  @Override
+  public InteractionResult interactLivingEntity(
+      ItemStack itemStack,
+      Player player,
+      LivingEntity livingEntity,
+      InteractionHand interactionHand) {
+    if (!player.isSecondaryUseActive() || !(livingEntity instanceof EasyNPCBaseEntity<?>)) {
+      return InteractionResult.PASS;
+    }
+
+    // Toggle the selection of the NPC, if the player is sneaking.
+    Level level = player.level();
+    if (level.isClientSide()) {
+      EasyNPCWandSelection.toggleSelection(livingEntity.getUUID());
+      displaySelection(player);
+    }
+    return InteractionResult.sidedSuccess(level.isClientSide());
+  }
+
   @Override
   public InteractionResult useOn(UseOnContext userContext) {
     Level level = userContext.getLevel();
     Player player = userContext.getPlayer();
+
+    // Select all NPCs between two blocks, if the player is sneaking.
+    if (player != null && player.isSecondaryUseActive()) {
+      if (level.isClientSide()) {
+        BlockPos blockPos = userContext.getClickedPos();
+        BlockPos selectionCorner = EasyNPCWandSelection.getSelectionCorner();
+        if (selectionCorner == null) {
+          EasyNPCWandSelection.setSelectionCorner(blockPos);
+          player.displayClientMessage(
+              TextComponent.getTranslatedText(
+                  "item.easy_npc_wand.selection_corner", blockPos.toShortString()),
+              true);
+        } else {
+          EasyNPCWandSelection.selectBox(level, selectionCorner, blockPos);
+          EasyNPCWandSelection.setSelectionCorner(null);
+          displaySelection(player);
+        }
+      }
+      return InteractionResult.sidedSuccess(level.isClientSide());
+    }
+
     if (player instanceof ServerPlayer serverPlayer) {
       BlockPos blockPos = userContext.getClickedPos();
 
@@ -133,6 +177,14 @@ public class EasyNPCWandItem extends Item {
     return InteractionResult.PASS;
   }
 
+  private static void displaySelection(Player player) {
+    player.displayClientMessage(
+        TextComponent.getTranslatedText(
+            "item.easy_npc_wand.selection",
+            String.valueOf(EasyNPCWandSelection.getNumberOfSelectedEntities())),
+        true);
+  }
+
   @Override
   public boolean isFoil(ItemStack itemStack) {
     return true;
@@ -143,5 +195,7 @@ public class EasyNPCWandItem extends Item {
       ItemStack itemStack, Level level, List<Component> tooltipList, TooltipFlag tooltipFlag) {
     // Display description.
     tooltipList.add(TextComponent.getTranslatedTextRaw(Constants.TEXT_ITEM_PREFIX + ID));
+    tooltipList.add(
+        TextComponent.getTranslatedTextRaw(Constants.TEXT_ITEM_PREFIX + ID + ".multi_select"));
   }
 }
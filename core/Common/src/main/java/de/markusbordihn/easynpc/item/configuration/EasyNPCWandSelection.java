@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.item.configuration;
+
+import de.markusbordihn.easynpc.entity.EasyNPCBaseEntity;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+public class EasyNPCWandSelection {
+
+  public static final int MAX_SELECTED_ENTITIES = 256;
+  public static final int HIGHLIGHT_RADIUS = 8;
+  private static final int HIGHLIGHT_UPDATE_INTERVAL = 10;
+
+  // Selection and highlighting are only used on the client side and are never synced.
+  private static final Set<UUID> selectedEntities = new LinkedHashSet<>();
+  private static final Set<UUID> highlightedEntities = new HashSet<>();
+  private static BlockPos selectionCorner;
+  private static long highlightGameTime = 0;
+
+  private EasyNPCWandSelection() {}
+
+  public static void updateHighlight(Level level, Player player) {
+    long gameTime = level.getGameTime();
+    if (!isHighlightOutdated(gameTime, HIGHLIGHT_UPDATE_INTERVAL)) {
+      return;
+    }
+    highlightedEntities.clear();
+    for (EasyNPCBaseEntity<?> easyNPCEntity :
+        level.getEntitiesOfClass(
+            EasyNPCBaseEntity.class,
+            player.getBoundingBox().inflate(HIGHLIGHT_RADIUS),
+            Entity::isAlive)) {
+      highlightedEntities.add(easyNPCEntity.getUUID());
+    }
+    highlightGameTime = gameTime;
+  }
+
+  public static boolean isHighlighted(Entity entity) {
+    // Highlighting expires automatically, if the wand is no longer selected.
+    if (isHighlightOutdated(entity.level().getGameTime(), HIGHLIGHT_UPDATE_INTERVAL * 2L)) {
+      return false;
+    }
+    UUID uuid = entity.getUUID();
+    return highlightedEntities.contains(uuid) || selectedEntities.contains(uuid);
+  }
+
+  private static boolean isHighlightOutdated(long gameTime, long maxAge) {
+    return gameTime < highlightGameTime || gameTime - highlightGameTime >= maxAge;
+  }
+
+  public static boolean isSelected(UUID uuid) {
+    return selectedEntities.contains(uuid);
+  }
+
+  public static boolean toggleSelection(UUID uuid) {
+    if (selectedEntities.remove(uuid)) {
+      return false;
+    }
+    if (selectedEntities.size() >= MAX_SELECTED_ENTITIES) {
+      return false;
+    }
+    return selectedEntities.add(uuid);
+  }
+
+  public static int selectBox(Level level, BlockPos firstCorner, BlockPos secondCorner) {
+    AABB selectionBox = new AABB(firstCorner, secondCorner).expandTowards(1, 1, 1);
+    int numberOfSelectedEntities = 0;
+    for (EasyNPCBaseEntity<?> easyNPCEntity :
+        level.getEntitiesOfClass(EasyNPCBaseEntity.class, selectionBox, Entity::isAlive)) {
+      if (selectedEntities.size() >= MAX_SELECTED_ENTITIES) {
+        break;
+      }
+      if (selectedEntities.add(easyNPCEntity.getUUID())) {
+        numberOfSelectedEntities++;
+      }
+    }
+    return numberOfSelectedEntities;
+  }
+
+  public static void clearSelection() {
+    selectedEntities.clear();
+    selectionCorner = null;
+  }
+
+  public static BlockPos getSelectionCorner() {
+    return selectionCorner;
+  }
+
+  public static void setSelectionCorner(BlockPos blockPos) {
+    selectionCorner = blockPos != null ? blockPos.immutable() : null;
+  }
+
+  public static int getNumberOfSelectedEntities() {
+    return selectedEntities.size();
+  }
+
+  public static List<UUID> getSelectedEntities() {
+    return new ArrayList<>(selectedEntities);
+  }
+
+  public static List<UUID> getBatchTargets(UUID uuid) {
+    // Changes for a selected NPC are applied to the whole selection.
+    if (uuid == null || selectedEntities.size() < 2 || !selectedEntities.contains(uuid)) {
+      return List.of();
+    }
+    return getSelectedEntities();
+  }
+}
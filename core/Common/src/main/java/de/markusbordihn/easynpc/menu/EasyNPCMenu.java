@@ -85,7 +85,7 @@ public class EasyNPCMenu extends AbstractContainerMenu {
     // Get easy NPC entity from screen data.
     this.easyNPC =
         this.level.isClientSide
-            ? LivingEntityManager.getEasyNPCEntityByUUID(getNpcUUID())
+            ? LivingEntityManager.getClientEasyNPCEntityByUUID(getNpcUUID())
             : LivingEntityManager.getEasyNPCEntityByUUID(getNpcUUID(), (ServerPlayer) player);
     if (this.easyNPC == null) {
       log.error(
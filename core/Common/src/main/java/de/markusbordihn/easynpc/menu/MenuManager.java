@@ -21,10 +21,9 @@ package de.markusbordihn.easynpc.menu;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.network.NetworkMessageHandlerManager;
-import java.util.Map;
 import java.util.OptionalInt;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.MenuProvider;
@@ -34,10 +33,10 @@ import org.apache.logging.log4j.Logger;
 public class MenuManager {
 
   private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Menu Manager]";
 
-  private static final Map<UUID, MenuProvider> menuProviderMap = new ConcurrentHashMap<>();
-  private static final Map<UUID, ServerPlayer> serverPlayerMap = new ConcurrentHashMap<>();
-  private static final Map<UUID, UUID> menuNpcMap = new ConcurrentHashMap<>();
+  private static final AtomicLong numberOfOpenedMenus = new AtomicLong();
+  private static final AtomicLong numberOfFailedMenus = new AtomicLong();
 
   private static MenuHandlerInterface menuHandlerInterface;
 
@@ -53,60 +52,51 @@ public class MenuManager {
 
   public static void openMenu(
       UUID uuid, MenuProvider menuProvider, ServerPlayer serverPlayer, CompoundTag data) {
-    UUID menuId = registerMenu(uuid, menuProvider, serverPlayer);
-    NetworkMessageHandlerManager.getClientHandler().openMenu(uuid, menuId, serverPlayer, data);
-  }
-
-  public static UUID registerMenu(UUID uuid, MenuProvider menuProvider, ServerPlayer serverPlayer) {
-    UUID menuId = UUID.randomUUID();
-    menuProviderMap.put(menuId, menuProvider);
-    serverPlayerMap.put(menuId, serverPlayer);
-    menuNpcMap.put(menuId, uuid);
-    return menuId;
-  }
-
-  public static void openMenu(final UUID menuId, final ServerPlayer serverPlayer) {
-    // Verify if the menu is still available for the player.
-    ServerPlayer menuServerPlayer = serverPlayerMap.get(menuId);
-    if (menuServerPlayer == null || !menuServerPlayer.equals(serverPlayer)) {
+    if (menuProvider == null || serverPlayer == null) {
       log.error(
-          "Invalid server player ({} != {}) for menu {}", serverPlayer, menuServerPlayer, menuId);
-      return;
-    }
-
-    // Validate the menu provider
-    MenuProvider menuProvider = menuProviderMap.get(menuId);
-    if (menuProvider == null) {
-      log.error("Invalid menu provider for menu {}", menuId);
+          "{} Invalid menu {} for npc {} and player {}",
+          LOG_PREFIX,
+          menuProvider,
+          uuid,
+          serverPlayer);
+      numberOfFailedMenus.incrementAndGet();
       return;
     }
+    UUID menuId = UUID.randomUUID();
 
-    // Validate NPC UUID
-    UUID npcUUID = menuNpcMap.get(menuId);
-    if (npcUUID == null) {
-      log.error("Invalid NPC UUID for menu {}", menuId);
-      return;
-    }
+    // The screen data is send before the vanilla open screen packet over the same connection,
+    // so that the client already knows the screen data when the menu is created.
+    NetworkMessageHandlerManager.getClientHandler().openMenu(uuid, menuId, serverPlayer, data);
 
     // Open the menu for the player
-    log.info(
-        "Opening menu {} for npc {} and player {} with {}",
+    log.debug(
+        "{} Opening menu {} for npc {} and player {} with {}",
+        LOG_PREFIX,
         menuId,
-        npcUUID,
+        uuid,
         serverPlayer,
         menuProvider);
     OptionalInt dialogId = serverPlayer.openMenu(menuProvider);
     if (dialogId.isPresent()) {
       log.debug(
-          "Opened menu {} ({}) and {} for {}",
+          "{} Opened menu {} ({}) and {} for {}",
+          LOG_PREFIX,
           menuId,
           dialogId.getAsInt(),
           menuProvider,
           serverPlayer);
-      menuProviderMap.remove(menuId);
-      serverPlayerMap.remove(menuId);
+      numberOfOpenedMenus.incrementAndGet();
     } else {
-      log.error("Got invalid dialog ID for menu {}", menuId);
+      log.error("{} Got invalid dialog ID for menu {}", LOG_PREFIX, menuId);
+      numberOfFailedMenus.incrementAndGet();
     }
   }
+
+  public static long getNumberOfOpenedMenus() {
+    return numberOfOpenedMenus.get();
+  }
+
+  public static long getNumberOfFailedMenus() {
+    return numberOfFailedMenus.get();
+  }
 }
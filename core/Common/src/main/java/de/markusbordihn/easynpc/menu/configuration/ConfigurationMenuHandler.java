@@ -163,17 +163,14 @@ public class ConfigurationMenuHandler {
         additionalSyncData.put(
             "WorldPresets", CompoundTagUtils.writeResourceLocations(worldPresets));
       }
-      case BASIC_ACTION, DIALOG_ACTION, DISTANCE_ACTION ->
-          AdditionalScreenData.addActionEventSet(additionalSyncData, easyNPC);
-      case BASE_ATTRIBUTE -> AdditionalScreenData.addBaseAttributes(additionalSyncData, easyNPC);
-      case NONE_DIALOG, BASIC_DIALOG, YES_NO_DIALOG, ADVANCED_DIALOG ->
-          AdditionalScreenData.addDialogDataSet(additionalSyncData, easyNPC);
-      case ATTACK_OBJECTIVE, BASIC_OBJECTIVE, FOLLOW_OBJECTIVE, LOOK_OBJECTIVE ->
-          AdditionalScreenData.addObjectiveDataSet(additionalSyncData, easyNPC);
       default -> {
         // Do nothing
       }
     }
+
+    // Only add the data sections which are needed by the configuration screen.
+    AdditionalScreenData.addDataSections(
+        additionalSyncData, easyNPC, configurationType.getAdditionalScreenDataSections());
     return new ScreenData(npcUUID, null, null, null, pageIndex, additionalSyncData);
   }
 }
@@ -20,8 +20,10 @@
 package de.markusbordihn.easynpc.menu.dialog;
 
 import de.markusbordihn.easynpc.data.screen.AdditionalScreenData;
+import de.markusbordihn.easynpc.data.screen.AdditionalScreenDataSection;
 import de.markusbordihn.easynpc.data.screen.ScreenData;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import java.util.Set;
 import java.util.UUID;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
@@ -33,6 +35,11 @@ import net.minecraft.world.inventory.MenuType;
 
 public class DialogMenuHandler {
 
+  public static final Set<AdditionalScreenDataSection> DIALOG_DATA_SECTIONS =
+      AdditionalScreenDataSection.of(
+          AdditionalScreenDataSection.ACTION_EVENT_SET,
+          AdditionalScreenDataSection.DIALOG_DATA_SET);
+
   private DialogMenuHandler() {}
 
   public static MenuProvider getMenuProvider(
@@ -68,8 +75,7 @@ public class DialogMenuHandler {
 
     // Additional data for specific configuration menu.
     final CompoundTag additionalSyncData = new CompoundTag();
-    AdditionalScreenData.addActionEventSet(additionalSyncData, easyNPC);
-    AdditionalScreenData.addDialogDataSet(additionalSyncData, easyNPC);
+    AdditionalScreenData.addDataSections(additionalSyncData, easyNPC, DIALOG_DATA_SECTIONS);
 
     return new ScreenData(npcUUID, dialogId, null, null, pageIndex, additionalSyncData);
   }
@@ -82,17 +82,8 @@ public class EditorMenuHandler {
     final UUID npcUUID = easyNPC.getUUID();
 
     // Additional data for specific configuration menu.
-    switch (editorType) {
-      case DIALOG, DIALOG_BUTTON, DIALOG_TEXT ->
-          AdditionalScreenData.addDialogDataSet(additionalSyncData, easyNPC);
-      case ACTION_DATA, ACTION_DATA_ENTRY -> {
-        AdditionalScreenData.addActionEventSet(additionalSyncData, easyNPC);
-        AdditionalScreenData.addDialogDataSet(additionalSyncData, easyNPC);
-      }
-      default -> {
-        // Do nothing
-      }
-    }
+    AdditionalScreenData.addDataSections(
+        additionalSyncData, easyNPC, editorType.getAdditionalScreenDataSections());
     return new ScreenData(
         npcUUID, dialogId, dialogButtonId, actionDataEntryId, pageIndex, additionalSyncData);
   }
@@ -21,10 +21,13 @@ package de.markusbordihn.easynpc.network;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
-import de.markusbordihn.easynpc.network.message.client.ExportClientPresetMessage;
+import de.markusbordihn.easynpc.network.message.client.ClientDataTransferChunkMessage;
+import de.markusbordihn.easynpc.network.message.client.ClientDataTransferStatusMessage;
 import de.markusbordihn.easynpc.network.message.client.OpenMenuCallbackMessage;
+import de.markusbordihn.easynpc.network.message.client.ServerSkinDataMessage;
 import de.markusbordihn.easynpc.network.message.client.SyncDataMessage;
 import de.markusbordihn.easynpc.network.message.server.AddOrUpdateObjectiveMessage;
+import de.markusbordihn.easynpc.network.message.server.BatchChangeMessage;
 import de.markusbordihn.easynpc.network.message.server.ChangeActionEventMessage;
 import de.markusbordihn.easynpc.network.message.server.ChangeAdvancedTradingMessage;
 import de.markusbordihn.easynpc.network.message.server.ChangeBasicTradingMessage;
@@ -61,16 +64,18 @@ import de.markusbordihn.easynpc.network.message.server.OpenConfigurationMessage;
 import de.markusbordihn.easynpc.network.message.server.OpenDialogButtonEditorMessage;
 import de.markusbordihn.easynpc.network.message.server.OpenDialogEditorMessage;
 import de.markusbordihn.easynpc.network.message.server.OpenDialogTextEditorMessage;
-import de.markusbordihn.easynpc.network.message.server.OpenMenuMessage;
 import de.markusbordihn.easynpc.network.message.server.RemoveDialogButtonMessage;
 import de.markusbordihn.easynpc.network.message.server.RemoveDialogMessage;
 import de.markusbordihn.easynpc.network.message.server.RemoveNPCMessage;
 import de.markusbordihn.easynpc.network.message.server.RemoveObjectiveMessage;
 import de.markusbordihn.easynpc.network.message.server.RequestDataSyncMessage;
+import de.markusbordihn.easynpc.network.message.server.RequestServerSkinMessage;
 import de.markusbordihn.easynpc.network.message.server.RespawnNPCMessage;
 import de.markusbordihn.easynpc.network.message.server.SaveDialogButtonMessage;
 import de.markusbordihn.easynpc.network.message.server.SaveDialogMessage;
 import de.markusbordihn.easynpc.network.message.server.SaveDialogSetMessage;
+import de.markusbordihn.easynpc.network.message.server.ServerDataTransferChunkMessage;
+import de.markusbordihn.easynpc.network.message.server.ServerDataTransferStatusMessage;
 import net.minecraft.server.level.ServerPlayer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -134,13 +139,21 @@ public class NetworkHandlerManager {
     }
 
     networkHandler.registerClientNetworkMessage(
-        ExportClientPresetMessage.MESSAGE_ID,
-        ExportClientPresetMessage.class,
-        ExportClientPresetMessage::create);
+        ClientDataTransferChunkMessage.MESSAGE_ID,
+        ClientDataTransferChunkMessage.class,
+        ClientDataTransferChunkMessage::create);
+    networkHandler.registerClientNetworkMessage(
+        ClientDataTransferStatusMessage.MESSAGE_ID,
+        ClientDataTransferStatusMessage.class,
+        ClientDataTransferStatusMessage::create);
     networkHandler.registerClientNetworkMessage(
         OpenMenuCallbackMessage.MESSAGE_ID,
         OpenMenuCallbackMessage.class,
         OpenMenuCallbackMessage::create);
+    networkHandler.registerClientNetworkMessage(
+        ServerSkinDataMessage.MESSAGE_ID,
+        ServerSkinDataMessage.class,
+        ServerSkinDataMessage::create);
     networkHandler.registerClientNetworkMessage(
         SyncDataMessage.MESSAGE_ID, SyncDataMessage.class, SyncDataMessage::create);
   }
@@ -157,6 +170,9 @@ public class NetworkHandlerManager {
         AddOrUpdateObjectiveMessage.class,
         AddOrUpdateObjectiveMessage::create);
 
+    networkHandler.registerServerNetworkMessage(
+        BatchChangeMessage.MESSAGE_ID, BatchChangeMessage.class, BatchChangeMessage::create);
+
     networkHandler.registerServerNetworkMessage(
         ChangeActionEventMessage.MESSAGE_ID,
         ChangeActionEventMessage.class,
@@ -320,9 +336,6 @@ public class NetworkHandlerManager {
         OpenDialogEditorMessage.class,
         OpenDialogEditorMessage::create);
 
-    networkHandler.registerServerNetworkMessage(
-        OpenMenuMessage.MESSAGE_ID, OpenMenuMessage.class, OpenMenuMessage::create);
-
     networkHandler.registerServerNetworkMessage(
         OpenDialogTextEditorMessage.MESSAGE_ID,
         OpenDialogTextEditorMessage.class,
@@ -349,6 +362,11 @@ public class NetworkHandlerManager {
         RequestDataSyncMessage.class,
         RequestDataSyncMessage::create);
 
+    networkHandler.registerServerNetworkMessage(
+        RequestServerSkinMessage.MESSAGE_ID,
+        RequestServerSkinMessage.class,
+        RequestServerSkinMessage::create);
+
     networkHandler.registerServerNetworkMessage(
         RespawnNPCMessage.MESSAGE_ID, RespawnNPCMessage.class, RespawnNPCMessage::create);
 
@@ -362,5 +380,15 @@ public class NetworkHandlerManager {
 
     networkHandler.registerServerNetworkMessage(
         SaveDialogSetMessage.MESSAGE_ID, SaveDialogSetMessage.class, SaveDialogSetMessage::create);
+
+    networkHandler.registerServerNetworkMessage(
+        ServerDataTransferChunkMessage.MESSAGE_ID,
+        ServerDataTransferChunkMessage.class,
+        ServerDataTransferChunkMessage::create);
+
+    networkHandler.registerServerNetworkMessage(
+        ServerDataTransferStatusMessage.MESSAGE_ID,
+        ServerDataTransferStatusMessage.class,
+        ServerDataTransferStatusMessage::create);
   }
 }
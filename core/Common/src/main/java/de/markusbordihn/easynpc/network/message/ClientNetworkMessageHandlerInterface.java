@@ -24,9 +24,16 @@ import de.markusbordihn.easynpc.entity.LivingEntityManager;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.PresetData;
 import de.markusbordihn.easynpc.network.NetworkHandlerManager;
-import de.markusbordihn.easynpc.network.message.client.ExportClientPresetMessage;
+import de.markusbordihn.easynpc.network.message.client.ClientDataTransferChunkMessage;
+import de.markusbordihn.easynpc.network.message.client.ClientDataTransferStatusMessage;
 import de.markusbordihn.easynpc.network.message.client.OpenMenuCallbackMessage;
+import de.markusbordihn.easynpc.network.message.client.ServerSkinDataMessage;
 import de.markusbordihn.easynpc.network.message.client.SyncDataMessage;
+import de.markusbordihn.easynpc.network.transfer.DataTransferChunk;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferSender;
+import de.markusbordihn.easynpc.network.transfer.DataTransferStatus;
+import de.markusbordihn.easynpc.network.transfer.DataTransferType;
 import java.util.UUID;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerPlayer;
@@ -46,18 +53,28 @@ public interface ClientNetworkMessageHandlerInterface {
     EasyNPC<?> easyNPC = LivingEntityManager.getEasyNPCEntityByUUID(uuid, serverPlayer);
     PresetData<?> presetData = easyNPC.getEasyNPCPresetData();
     CompoundTag compoundTag = presetData.exportPresetData();
+    byte[] data = DataTransferManager.writeCompoundTag(compoundTag);
+    if (data == null) {
+      return;
+    }
     log.info(
-        "Exporting preset for {} to {}",
+        "Exporting preset for {} with {} bytes to {}",
         easyNPC.getEntity().getName().getString(),
+        data.length,
         serverPlayer.getName().getString());
-    NetworkHandlerManager.sendMessageToPlayer(
-        new ExportClientPresetMessage(
-            uuid,
-            easyNPC.getEntity().getName().getString(),
-            easyNPC.getEasyNPCSkinData().getSkinModel(),
-            name,
-            compoundTag),
-        serverPlayer);
+
+    // Large presets are streamed in chunks over several ticks.
+    DataTransferManager.getServerManager()
+        .send(
+            serverPlayer.getUUID(),
+            DataTransferSender.toPlayer(serverPlayer),
+            DataTransferType.PRESET_EXPORT,
+            ClientDataTransferChunkMessage.createPresetExportMetadata(
+                uuid,
+                easyNPC.getEntity().getName().getString(),
+                easyNPC.getEasyNPCSkinData().getSkinModel(),
+                name),
+            data);
   }
 
   default void openMenu(UUID uuid, UUID menuId, ServerPlayer serverPlayer, CompoundTag data) {
@@ -80,4 +97,37 @@ public interface ClientNetworkMessageHandlerInterface {
           serverPlayer);
     }
   }
+
+  default void syncServerSkinData(
+      final String contentHash,
+      final int chunkIndex,
+      final int numberOfChunks,
+      final int totalSize,
+      final byte[] data,
+      final ServerPlayer serverPlayer) {
+    if (contentHash != null && data != null && serverPlayer != null) {
+      NetworkHandlerManager.sendMessageToPlayer(
+          new ServerSkinDataMessage(contentHash, chunkIndex, numberOfChunks, totalSize, data),
+          serverPlayer);
+    }
+  }
+
+  default void sendDataTransferChunk(
+      final DataTransferChunk chunk, final ServerPlayer serverPlayer) {
+    if (chunk != null && serverPlayer != null) {
+      NetworkHandlerManager.sendMessageToPlayer(
+          new ClientDataTransferChunkMessage(chunk), serverPlayer);
+    }
+  }
+
+  default void sendDataTransferStatus(
+      final UUID transferId,
+      final int chunkIndex,
+      final DataTransferStatus status,
+      final ServerPlayer serverPlayer) {
+    if (transferId != null && status != null && serverPlayer != null) {
+      NetworkHandlerManager.sendMessageToPlayer(
+          new ClientDataTransferStatusMessage(transferId, chunkIndex, status), serverPlayer);
+    }
+  }
 }
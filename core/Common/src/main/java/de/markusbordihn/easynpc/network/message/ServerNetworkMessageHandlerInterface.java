@@ -46,8 +46,10 @@ import de.markusbordihn.easynpc.data.skin.SkinType;
 import de.markusbordihn.easynpc.data.spawner.SpawnerSettingType;
 import de.markusbordihn.easynpc.data.trading.TradingType;
 import de.markusbordihn.easynpc.data.trading.TradingValueType;
+import de.markusbordihn.easynpc.item.configuration.EasyNPCWandSelection;
 import de.markusbordihn.easynpc.network.NetworkHandlerManager;
 import de.markusbordihn.easynpc.network.message.server.AddOrUpdateObjectiveMessage;
+import de.markusbordihn.easynpc.network.message.server.BatchChangeMessage;
 import de.markusbordihn.easynpc.network.message.server.ChangeActionEventMessage;
 import de.markusbordihn.easynpc.network.message.server.ChangeAdvancedTradingMessage;
 import de.markusbordihn.easynpc.network.message.server.ChangeBasicTradingMessage;
@@ -83,17 +85,25 @@ import de.markusbordihn.easynpc.network.message.server.OpenConfigurationMessage;
 import de.markusbordihn.easynpc.network.message.server.OpenDialogButtonEditorMessage;
 import de.markusbordihn.easynpc.network.message.server.OpenDialogEditorMessage;
 import de.markusbordihn.easynpc.network.message.server.OpenDialogTextEditorMessage;
-import de.markusbordihn.easynpc.network.message.server.OpenMenuMessage;
 import de.markusbordihn.easynpc.network.message.server.RemoveDialogButtonMessage;
 import de.markusbordihn.easynpc.network.message.server.RemoveDialogMessage;
 import de.markusbordihn.easynpc.network.message.server.RemoveNPCMessage;
 import de.markusbordihn.easynpc.network.message.server.RemoveObjectiveMessage;
 import de.markusbordihn.easynpc.network.message.server.RequestDataSyncMessage;
+import de.markusbordihn.easynpc.network.message.server.RequestServerSkinMessage;
 import de.markusbordihn.easynpc.network.message.server.RespawnNPCMessage;
 import de.markusbordihn.easynpc.network.message.server.SaveDialogButtonMessage;
 import de.markusbordihn.easynpc.network.message.server.SaveDialogMessage;
 import de.markusbordihn.easynpc.network.message.server.SaveDialogSetMessage;
+import de.markusbordihn.easynpc.network.message.server.ServerDataTransferChunkMessage;
+import de.markusbordihn.easynpc.network.message.server.ServerDataTransferStatusMessage;
+import de.markusbordihn.easynpc.network.transfer.DataTransferChunk;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferSender;
+import de.markusbordihn.easynpc.network.transfer.DataTransferStatus;
+import de.markusbordihn.easynpc.network.transfer.DataTransferType;
 import de.markusbordihn.easynpc.validator.UrlValidator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import net.minecraft.core.BlockPos;
@@ -122,8 +132,11 @@ public interface ServerNetworkMessageHandlerInterface {
 
   default void addOrUpdateObjective(UUID uuid, ObjectiveDataEntry objectiveDataEntry) {
     if (uuid != null && objectiveDataEntry != null) {
+      List<UUID> batchTargets = EasyNPCWandSelection.getBatchTargets(uuid);
       NetworkHandlerManager.sendMessageToServer(
-          new AddOrUpdateObjectiveMessage(uuid, objectiveDataEntry));
+          batchTargets.isEmpty()
+              ? new AddOrUpdateObjectiveMessage(uuid, objectiveDataEntry)
+              : BatchChangeMessage.objective(batchTargets, objectiveDataEntry));
     }
   }
 
@@ -354,12 +367,6 @@ public interface ServerNetworkMessageHandlerInterface {
     }
   }
 
-  default void openMenu(UUID uuid, UUID menuId) {
-    if (uuid != null && menuId != null) {
-      NetworkHandlerManager.sendMessageToServer(new OpenMenuMessage(uuid, menuId));
-    }
-  }
-
   default void saveDialogButton(
       UUID uuid, UUID dialogId, UUID dialogButtonId, DialogButtonEntry dialogButtonEntry) {
     if (uuid != null && dialogId != null && dialogButtonId != null && dialogButtonEntry != null) {
@@ -402,8 +409,11 @@ public interface ServerNetworkMessageHandlerInterface {
 
   default void importPreset(UUID uuid, PresetType presetType, ResourceLocation resourceLocation) {
     if (uuid != null && presetType != null && resourceLocation != null) {
+      List<UUID> batchTargets = EasyNPCWandSelection.getBatchTargets(uuid);
       NetworkHandlerManager.sendMessageToServer(
-          new ImportPresetMessage(uuid, presetType, null, resourceLocation));
+          batchTargets.isEmpty()
+              ? new ImportPresetMessage(uuid, presetType, null, resourceLocation)
+              : BatchChangeMessage.preset(batchTargets, presetType, null, resourceLocation));
     }
   }
 
@@ -413,8 +423,20 @@ public interface ServerNetworkMessageHandlerInterface {
       CompoundTag compoundTag,
       ResourceLocation resourceLocation) {
     if (uuid != null && presetType != null && compoundTag != null && !compoundTag.isEmpty()) {
-      NetworkHandlerManager.sendMessageToServer(
-          new ImportPresetMessage(uuid, presetType, compoundTag, resourceLocation));
+      byte[] data = DataTransferManager.writeCompoundTag(compoundTag);
+      if (data == null) {
+        return;
+      }
+
+      // Preset data could exceed the packet size and is uploaded in chunks over several ticks.
+      DataTransferManager.getClientManager()
+          .send(
+              Constants.BLANK_UUID,
+              DataTransferSender.toServer(),
+              DataTransferType.PRESET_IMPORT,
+              ServerDataTransferChunkMessage.createPresetImportMetadata(
+                  uuid, EasyNPCWandSelection.getBatchTargets(uuid), presetType, resourceLocation),
+              data);
     }
   }
 
@@ -478,8 +500,12 @@ public interface ServerNetworkMessageHandlerInterface {
       final SkinType skinType,
       final String skinVariant) {
     if (uuid != null && skinUUID != null && skinType != null) {
+      List<UUID> batchTargets = EasyNPCWandSelection.getBatchTargets(uuid);
       NetworkHandlerManager.sendMessageToServer(
-          new ChangeSkinMessage(uuid, skinName, skinURL, skinUUID, skinType, skinVariant));
+          batchTargets.isEmpty()
+              ? new ChangeSkinMessage(uuid, skinName, skinURL, skinUUID, skinType, skinVariant)
+              : BatchChangeMessage.skin(
+                  batchTargets, skinName, skinURL, skinUUID, skinType, skinVariant));
     }
   }
 
@@ -526,7 +552,11 @@ public interface ServerNetworkMessageHandlerInterface {
 
   default void poseChange(UUID uuid, Pose pose) {
     if (uuid != null && pose != null) {
-      NetworkHandlerManager.sendMessageToServer(new ChangePoseMessage(uuid, pose));
+      List<UUID> batchTargets = EasyNPCWandSelection.getBatchTargets(uuid);
+      NetworkHandlerManager.sendMessageToServer(
+          batchTargets.isEmpty()
+              ? new ChangePoseMessage(uuid, pose)
+              : BatchChangeMessage.pose(batchTargets, pose));
     }
   }
 
@@ -621,6 +651,26 @@ public interface ServerNetworkMessageHandlerInterface {
     }
   }
 
+  default void requestServerSkin(UUID uuid, String contentHash) {
+    if (uuid != null && contentHash != null && !contentHash.isEmpty()) {
+      NetworkHandlerManager.sendMessageToServer(new RequestServerSkinMessage(uuid, contentHash));
+    }
+  }
+
+  default void sendDataTransferChunk(DataTransferChunk chunk) {
+    if (chunk != null) {
+      NetworkHandlerManager.sendMessageToServer(new ServerDataTransferChunkMessage(chunk));
+    }
+  }
+
+  default void sendDataTransferStatus(
+      UUID transferId, int chunkIndex, DataTransferStatus status) {
+    if (transferId != null && status != null) {
+      NetworkHandlerManager.sendMessageToServer(
+          new ServerDataTransferStatusMessage(transferId, chunkIndex, status));
+    }
+  }
+
   default void setRenderType(UUID uuid, RenderType renderType) {
     if (uuid != null && renderType != null) {
       NetworkHandlerManager.sendMessageToServer(
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.message.client;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.skin.SkinModel;
+import de.markusbordihn.easynpc.io.CustomPresetDataFiles;
+import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
+import de.markusbordihn.easynpc.network.transfer.DataTransferChunk;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferResult;
+import de.markusbordihn.easynpc.network.transfer.DataTransferSender;
+import de.markusbordihn.easynpc.network.transfer.DataTransferType;
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+public record ClientDataTransferChunkMessage(DataTransferChunk chunk)
+    implements NetworkMessageRecord {
+
+  public static final ResourceLocation MESSAGE_ID =
+      new ResourceLocation(Constants.MOD_ID, "data_transfer_chunk_client");
+  public static final String PRESET_UUID_TAG = "UUID";
+  public static final String PRESET_NAME_TAG = "Name";
+  public static final String PRESET_SKIN_MODEL_TAG = "SkinModel";
+  public static final String PRESET_FILE_NAME_TAG = "FileName";
+
+  public static ClientDataTransferChunkMessage create(final FriendlyByteBuf buffer) {
+    return new ClientDataTransferChunkMessage(DataTransferChunk.read(buffer));
+  }
+
+  public static CompoundTag createPresetExportMetadata(
+      UUID uuid, String name, SkinModel skinModel, String fileName) {
+    CompoundTag metadata = new CompoundTag();
+    metadata.putUUID(PRESET_UUID_TAG, uuid);
+    metadata.putString(PRESET_NAME_TAG, name);
+    metadata.putString(PRESET_SKIN_MODEL_TAG, skinModel.name());
+    metadata.putString(PRESET_FILE_NAME_TAG, fileName);
+    return metadata;
+  }
+
+  @Override
+  public void write(final FriendlyByteBuf buffer) {
+    this.chunk.write(buffer);
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return MESSAGE_ID;
+  }
+
+  @Override
+  public void handleClient() {
+    DataTransferResult dataTransferResult =
+        DataTransferManager.getClientManager()
+            .handleChunk(
+                Constants.BLANK_UUID,
+                DataTransferSender.toServer(),
+                this.chunk,
+                firstChunk -> firstChunk.type() == DataTransferType.PRESET_EXPORT);
+    if (dataTransferResult == null) {
+      return;
+    }
+    if (dataTransferResult.type() == DataTransferType.PRESET_EXPORT) {
+      exportPreset(dataTransferResult.metadata(), dataTransferResult.data());
+    } else {
+      log.error("Unsupported data transfer {} from server", dataTransferResult.type());
+    }
+  }
+
+  private void exportPreset(CompoundTag metadata, byte[] data) {
+    if (metadata == null || !metadata.hasUUID(PRESET_UUID_TAG)) {
+      log.error("Invalid preset export metadata {}", metadata);
+      return;
+    }
+    UUID uuid = metadata.getUUID(PRESET_UUID_TAG);
+    String name = metadata.getString(PRESET_NAME_TAG);
+    String fileName = metadata.getString(PRESET_FILE_NAME_TAG);
+
+    // Validate name.
+    if (name.isEmpty()) {
+      log.error("Invalid name {} for {}", name, uuid);
+      return;
+    }
+
+    // Validate skin model.
+    SkinModel skinModel;
+    try {
+      skinModel = SkinModel.valueOf(metadata.getString(PRESET_SKIN_MODEL_TAG));
+    } catch (IllegalArgumentException exception) {
+      log.error("Invalid skin model for {}", uuid);
+      return;
+    }
+
+    // Validate file name.
+    if (fileName.isEmpty()) {
+      log.warn("Export preset file name is empty for {}", uuid);
+      return;
+    }
+
+    // Validate data.
+    CompoundTag compoundTag = DataTransferManager.readCompoundTag(data);
+    if (compoundTag == null) {
+      log.error("Invalid data for {}", uuid);
+      return;
+    }
+
+    // Perform action.
+    File presetFile = CustomPresetDataFiles.getPresetFile(skinModel, fileName);
+    if (presetFile == null) {
+      log.error("Failed to get preset file {} for {}", fileName, uuid);
+      return;
+    }
+
+    // Export preset file.
+    log.info(
+        "Exporting EasyNPC {} with UUID {} and skin {} to {}", name, uuid, skinModel, presetFile);
+    try {
+      NbtIo.writeCompressed(compoundTag, presetFile);
+    } catch (final IOException exception) {
+      log.error(
+          "Failed to export EasyNPC {} with UUID {} and skin {} to {}:",
+          name,
+          uuid,
+          skinModel,
+          presetFile,
+          exception);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.message.client;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferStatus;
+import java.util.UUID;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+public record ClientDataTransferStatusMessage(
+    UUID transferId, int chunkIndex, DataTransferStatus status) implements NetworkMessageRecord {
+
+  public static final ResourceLocation MESSAGE_ID =
+      new ResourceLocation(Constants.MOD_ID, "data_transfer_status_client");
+
+  public static ClientDataTransferStatusMessage create(final FriendlyByteBuf buffer) {
+    return new ClientDataTransferStatusMessage(
+        buffer.readUUID(), buffer.readVarInt(), buffer.readEnum(DataTransferStatus.class));
+  }
+
+  @Override
+  public void write(final FriendlyByteBuf buffer) {
+    buffer.writeUUID(this.transferId);
+    buffer.writeVarInt(this.chunkIndex);
+    buffer.writeEnum(this.status);
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return MESSAGE_ID;
+  }
+
+  @Override
+  public void handleClient() {
+    DataTransferManager.getClientManager()
+        .handleStatus(Constants.BLANK_UUID, this.transferId, this.chunkIndex, this.status);
+  }
+}
@@ -23,7 +23,6 @@ import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.data.dialog.DialogDataManager;
 import de.markusbordihn.easynpc.data.screen.AdditionalScreenData;
 import de.markusbordihn.easynpc.menu.ClientMenuManager;
-import de.markusbordihn.easynpc.network.NetworkMessageHandlerManager;
 import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
 import java.util.UUID;
 import net.minecraft.nbt.CompoundTag;
@@ -77,8 +76,5 @@ public record OpenMenuCallbackMessage(UUID uuid, UUID menuId, CompoundTag data)
         DialogDataManager.addDialogDataSet(this.uuid, additionalScreenData.getDialogDataSet());
       }
     }
-
-    // Request to open the menu on the client side over the server.
-    NetworkMessageHandlerManager.getServerHandler().openMenu(uuid, menuId);
   }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.message.client;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.client.texture.ServerTextureManager;
+import de.markusbordihn.easynpc.config.ServerSkinConfig;
+import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+public record ServerSkinDataMessage(
+    String contentHash, int chunkIndex, int numberOfChunks, int totalSize, byte[] data)
+    implements NetworkMessageRecord {
+
+  public static final ResourceLocation MESSAGE_ID =
+      new ResourceLocation(Constants.MOD_ID, "server_skin_data");
+
+  public static ServerSkinDataMessage create(final FriendlyByteBuf buffer) {
+    return new ServerSkinDataMessage(
+        buffer.readUtf(64),
+        buffer.readVarInt(),
+        buffer.readVarInt(),
+        buffer.readVarInt(),
+        buffer.readByteArray(ServerSkinConfig.MAX_CHUNK_SIZE));
+  }
+
+  @Override
+  public void write(final FriendlyByteBuf buffer) {
+    buffer.writeUtf(this.contentHash, 64);
+    buffer.writeVarInt(this.chunkIndex);
+    buffer.writeVarInt(this.numberOfChunks);
+    buffer.writeVarInt(this.totalSize);
+    buffer.writeByteArray(this.data);
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return MESSAGE_ID;
+  }
+
+  @Override
+  public void handleClient() {
+    if (this.contentHash == null || this.contentHash.isEmpty() || this.data == null) {
+      log.error("Invalid server skin data for {}", this.contentHash);
+      return;
+    }
+    ServerTextureManager.handleSkinData(
+        this.contentHash, this.chunkIndex, this.numberOfChunks, this.totalSize, this.data);
+  }
+}
@@ -21,9 +21,12 @@ package de.markusbordihn.easynpc.network.message.server;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.ObjectiveData;
 import de.markusbordihn.easynpc.handler.ObjectiveHandler;
 import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
 import java.util.UUID;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
@@ -60,6 +63,14 @@ public record AddOrUpdateObjectiveMessage(UUID uuid, ObjectiveDataEntry objectiv
       return;
     }
 
+    // Check objective quota for new objectives, updates are not changing the number.
+    ObjectiveData<?> objectiveData = easyNPC.getEasyNPCObjectiveData();
+    if (objectiveData != null
+        && !objectiveData.hasObjective(this.objectiveDataEntry)
+        && !OwnerQuotaManager.checkQuota(serverPlayer, OwnerQuotaType.OBJECTIVES, 1)) {
+      return;
+    }
+
     if (!ObjectiveHandler.addOrUpdateCustomObjective(easyNPC, this.objectiveDataEntry)) {
       log.error("Failed to add/update objective {} for {}", objectiveDataEntry, easyNPC);
     }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.message.server;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
+import de.markusbordihn.easynpc.data.preset.PresetType;
+import de.markusbordihn.easynpc.data.skin.SkinType;
+import de.markusbordihn.easynpc.item.configuration.EasyNPCWandSelection;
+import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Pose;
+
+public record BatchChangeMessage(List<UUID> uuids, ChangeType changeType, CompoundTag data)
+    implements NetworkMessageRecord {
+
+  public static final ResourceLocation MESSAGE_ID =
+      new ResourceLocation(Constants.MOD_ID, "batch_change");
+
+  private static final String DATA_POSE_TAG = "Pose";
+  private static final String DATA_SKIN_NAME_TAG = "SkinName";
+  private static final String DATA_SKIN_URL_TAG = "SkinURL";
+  private static final String DATA_SKIN_UUID_TAG = "SkinUUID";
+  private static final String DATA_SKIN_TYPE_TAG = "SkinType";
+  private static final String DATA_SKIN_VARIANT_TAG = "SkinVariant";
+  private static final String DATA_PRESET_TYPE_TAG = "PresetType";
+  private static final String DATA_PRESET_TAG = "Preset";
+  private static final String DATA_PRESET_LOCATION_TAG = "PresetLocation";
+
+  public static BatchChangeMessage create(final FriendlyByteBuf buffer) {
+    int numberOfUUIDs = buffer.readVarInt();
+    if (numberOfUUIDs < 0 || numberOfUUIDs > EasyNPCWandSelection.MAX_SELECTED_ENTITIES) {
+      throw new IllegalArgumentException("Invalid number of batch entities " + numberOfUUIDs);
+    }
+    Set<UUID> uuids = new LinkedHashSet<>();
+    for (int i = 0; i < numberOfUUIDs; i++) {
+      uuids.add(buffer.readUUID());
+    }
+    return new BatchChangeMessage(
+        new ArrayList<>(uuids), buffer.readEnum(ChangeType.class), buffer.readNbt());
+  }
+
+  public static BatchChangeMessage pose(List<UUID> uuids, Pose pose) {
+    CompoundTag data = new CompoundTag();
+    data.putString(DATA_POSE_TAG, pose.name());
+    return new BatchChangeMessage(uuids, ChangeType.POSE, data);
+  }
+
+  public static BatchChangeMessage skin(
+      List<UUID> uuids,
+      String skinName,
+      String skinURL,
+      UUID skinUUID,
+      SkinType skinType,
+      String skinVariant) {
+    CompoundTag data = new CompoundTag();
+    data.putString(DATA_SKIN_NAME_TAG, skinName != null ? skinName : "");
+    data.putString(DATA_SKIN_URL_TAG, skinURL != null ? skinURL : "");
+    data.putUUID(DATA_SKIN_UUID_TAG, skinUUID);
+    data.putString(DATA_SKIN_TYPE_TAG, skinType.name());
+    data.putString(DATA_SKIN_VARIANT_TAG, skinVariant != null ? skinVariant : "");
+    return new BatchChangeMessage(uuids, ChangeType.SKIN, data);
+  }
+
+  public static BatchChangeMessage preset(
+      List<UUID> uuids,
+      PresetType presetType,
+      CompoundTag compoundTag,
+      ResourceLocation resourceLocation) {
+    CompoundTag data = new CompoundTag();
+    data.putString(DATA_PRESET_TYPE_TAG, presetType.name());
+    if (compoundTag != null) {
+      data.put(DATA_PRESET_TAG, compoundTag);
+    }
+    if (resourceLocation != null) {
+      data.putString(DATA_PRESET_LOCATION_TAG, resourceLocation.toString());
+    }
+    return new BatchChangeMessage(uuids, ChangeType.PRESET, data);
+  }
+
+  public static BatchChangeMessage objective(
+      List<UUID> uuids, ObjectiveDataEntry objectiveDataEntry) {
+    return new BatchChangeMessage(uuids, ChangeType.OBJECTIVE, objectiveDataEntry.createTag());
+  }
+
+  @Override
+  public void write(final FriendlyByteBuf buffer) {
+    buffer.writeVarInt(this.uuids.size());
+    for (UUID uuid : this.uuids) {
+      buffer.writeUUID(uuid);
+    }
+    buffer.writeEnum(this.changeType);
+    buffer.writeNbt(this.data);
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return MESSAGE_ID;
+  }
+
+  @Override
+  public void handleServer(final ServerPlayer serverPlayer) {
+    if (this.uuids.isEmpty() || this.changeType == null || this.data == null) {
+      log.error("Invalid batch change {} from {}", this, serverPlayer);
+      return;
+    }
+
+    // Access is checked for each NPC, NPCs without access are skipped.
+    int numberOfChangedEntities = 0;
+    for (UUID uuid : this.uuids) {
+      if (!NetworkMessageRecord.checkAccess(uuid, serverPlayer)) {
+        continue;
+      }
+      NetworkMessageRecord changeMessage;
+      try {
+        changeMessage = this.createChangeMessage(uuid);
+      } catch (IllegalArgumentException exception) {
+        log.error("Invalid {} batch data from {}:", this.changeType, serverPlayer, exception);
+        return;
+      }
+      changeMessage.handleServer(serverPlayer);
+      numberOfChangedEntities++;
+    }
+
+    log.debug(
+        "Batch {} change for {} of {} Easy NPCs from {}",
+        this.changeType,
+        numberOfChangedEntities,
+        this.uuids.size(),
+        serverPlayer);
+  }
+
+  private NetworkMessageRecord createChangeMessage(UUID uuid) {
+    return switch (this.changeType) {
+      case POSE -> new ChangePoseMessage(uuid, Pose.valueOf(this.data.getString(DATA_POSE_TAG)));
+      case SKIN ->
+          new ChangeSkinMessage(
+              uuid,
+              this.data.getString(DATA_SKIN_NAME_TAG),
+              this.data.getString(DATA_SKIN_URL_TAG),
+              this.data.hasUUID(DATA_SKIN_UUID_TAG)
+                  ? this.data.getUUID(DATA_SKIN_UUID_TAG)
+                  : Constants.BLANK_UUID,
+              SkinType.valueOf(this.data.getString(DATA_SKIN_TYPE_TAG)),
+              this.data.getString(DATA_SKIN_VARIANT_TAG));
+      case PRESET ->
+          new ImportPresetMessage(
+              uuid,
+              PresetType.valueOf(this.data.getString(DATA_PRESET_TYPE_TAG)),
+              this.data.contains(DATA_PRESET_TAG)
+                  ? this.data.getCompound(DATA_PRESET_TAG).copy()
+                  : null,
+              this.data.contains(DATA_PRESET_LOCATION_TAG)
+                  ? ResourceLocation.tryParse(this.data.getString(DATA_PRESET_LOCATION_TAG))
+                  : null);
+      case OBJECTIVE ->
+          new AddOrUpdateObjectiveMessage(uuid, new ObjectiveDataEntry(this.data.copy()));
+    };
+  }
+
+  public enum ChangeType {
+    POSE,
+    SKIN,
+    PRESET,
+    OBJECTIVE
+  }
+}
@@ -24,10 +24,12 @@ import de.markusbordihn.easynpc.data.skin.SkinType;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.handler.SkinHandler;
 import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
 import de.markusbordihn.easynpc.utils.PlayersUtils;
 import java.util.UUID;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 
 public record ChangeSkinMessage(
@@ -78,6 +80,11 @@ public record ChangeSkinMessage(
       return;
     }
 
+    // Check URL skin quota of the player.
+    if (!OwnerQuotaManager.checkUrlSkinQuota(serverPlayer, easyNPC, this.skinType)) {
+      return;
+    }
+
     boolean successfullyChanged =
         switch (this.skinType) {
           case NONE -> SkinHandler.setNoneSkin(easyNPC);
@@ -85,14 +92,34 @@ public record ChangeSkinMessage(
           case DEFAULT -> SkinHandler.setDefaultSkin(easyNPC, this.skinVariant);
           case PLAYER_SKIN -> {
             UUID userUUID = this.skinUUID;
-            if (userUUID == null || Constants.BLANK_UUID.equals(this.skinUUID)) {
-              log.debug("Try to convert user {} to UUID ...", this.skinName);
-              userUUID = PlayersUtils.getUserUUID(serverPlayer.getServer(), this.skinName);
+            if (userUUID != null && !Constants.BLANK_UUID.equals(this.skinUUID)) {
+              yield SkinHandler.setPlayerSkin(easyNPC, this.skinName, userUUID);
             }
-            yield SkinHandler.setPlayerSkin(easyNPC, this.skinName, userUUID);
+
+            // Resolve user UUID without blocking the server thread.
+            log.debug("Try to convert user {} to UUID ...", this.skinName);
+            MinecraftServer minecraftServer = serverPlayer.getServer();
+            PlayersUtils.getUserUUIDAsync(minecraftServer, this.skinName)
+                .thenAcceptAsync(
+                    resolvedUUID -> {
+                      if (!SkinHandler.setPlayerSkin(easyNPC, this.skinName, resolvedUUID)) {
+                        log.error(
+                            "Failed changing player skin:{} uuid:{} for {} from {}",
+                            this.skinName,
+                            resolvedUUID,
+                            easyNPC,
+                            serverPlayer);
+                      }
+                    },
+                    minecraftServer);
+            yield true;
           }
           case SECURE_REMOTE_URL, INSECURE_REMOTE_URL ->
               SkinHandler.setRemoteSkin(easyNPC, this.skinURL);
+          case SERVER_SKIN ->
+              this.skinURL != null && !this.skinURL.isEmpty()
+                  ? SkinHandler.setServerSkin(easyNPC, this.skinURL)
+                  : SkinHandler.setServerPlayerSkin(easyNPC, this.skinName, this.skinUUID);
           default -> {
             log.error(
                 "Failed processing skin:{} uuid:{} url:{} type:{} for {} from {}",
@@ -102,6 +102,16 @@ public record ExecuteDialogButtonActionMessage(UUID uuid, UUID dialogId, UUID di
       return;
     }
 
+    // Check dialog button conditions.
+    if (!dialogButtonEntry.conditionsMet(serverPlayer, easyNPC.getLivingEntity())) {
+      log.debug(
+          "Conditions for dialog button {} of {} are not met for {}",
+          this.dialogButtonId,
+          easyNPC,
+          serverPlayer);
+      return;
+    }
+
     // Validate dialog button actions.
     ActionDataSet actionDataSet = dialogButtonEntry.actionDataSet();
     if (actionDataSet == null || actionDataSet.isEmpty()) {
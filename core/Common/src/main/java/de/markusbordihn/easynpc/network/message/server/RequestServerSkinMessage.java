@@ -1,5 +1,5 @@
 /*
- * Copyright 2023 Markus Bordihn
+ * Copyright 2024 Markus Bordihn
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
  * associated documentation files (the "Software"), to deal in the Software without restriction,
@@ -20,26 +20,27 @@
 package de.markusbordihn.easynpc.network.message.server;
 
 import de.markusbordihn.easynpc.Constants;
-import de.markusbordihn.easynpc.menu.MenuManager;
 import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
+import de.markusbordihn.easynpc.server.skin.ServerSkinManager;
 import java.util.UUID;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 
-public record OpenMenuMessage(UUID uuid, UUID menuId) implements NetworkMessageRecord {
+public record RequestServerSkinMessage(UUID uuid, String contentHash)
+    implements NetworkMessageRecord {
 
   public static final ResourceLocation MESSAGE_ID =
-      new ResourceLocation(Constants.MOD_ID, "open_menu_message");
+      new ResourceLocation(Constants.MOD_ID, "request_server_skin");
 
-  public static OpenMenuMessage create(final FriendlyByteBuf buffer) {
-    return new OpenMenuMessage(buffer.readUUID(), buffer.readUUID());
+  public static RequestServerSkinMessage create(final FriendlyByteBuf buffer) {
+    return new RequestServerSkinMessage(buffer.readUUID(), buffer.readUtf(64));
   }
 
   @Override
   public void write(final FriendlyByteBuf buffer) {
     buffer.writeUUID(this.uuid);
-    buffer.writeUUID(this.menuId);
+    buffer.writeUtf(this.contentHash, 64);
   }
 
   @Override
@@ -49,6 +50,10 @@ public record OpenMenuMessage(UUID uuid, UUID menuId) implements NetworkMessageR
 
   @Override
   public void handleServer(final ServerPlayer serverPlayer) {
-    MenuManager.openMenu(this.menuId, serverPlayer);
+    if (this.uuid == null || this.contentHash == null || this.contentHash.isEmpty()) {
+      log.error("Invalid server skin request {} from {}", this, serverPlayer);
+      return;
+    }
+    ServerSkinManager.handleSkinRequest(serverPlayer, this.uuid, this.contentHash);
   }
 }
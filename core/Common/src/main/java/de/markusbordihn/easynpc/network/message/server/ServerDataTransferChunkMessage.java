@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.message.server;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.data.preset.PresetType;
+import de.markusbordihn.easynpc.item.configuration.EasyNPCWandSelection;
+import de.markusbordihn.easynpc.network.message.NetworkMessageRecord;
+import de.markusbordihn.easynpc.network.transfer.DataTransferChunk;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.network.transfer.DataTransferResult;
+import de.markusbordihn.easynpc.network.transfer.DataTransferSender;
+import de.markusbordihn.easynpc.network.transfer.DataTransferType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+
+public record ServerDataTransferChunkMessage(DataTransferChunk chunk)
+    implements NetworkMessageRecord {
+
+  public static final ResourceLocation MESSAGE_ID =
+      new ResourceLocation(Constants.MOD_ID, "data_transfer_chunk_server");
+  public static final String PRESET_UUID_TAG = "UUID";
+  public static final String PRESET_TARGETS_TAG = "Targets";
+  public static final String PRESET_TYPE_TAG = "PresetType";
+  public static final String PRESET_LOCATION_TAG = "Location";
+
+  public static ServerDataTransferChunkMessage create(final FriendlyByteBuf buffer) {
+    return new ServerDataTransferChunkMessage(DataTransferChunk.read(buffer));
+  }
+
+  public static CompoundTag createPresetImportMetadata(
+      UUID uuid, List<UUID> targets, PresetType presetType, ResourceLocation resourceLocation) {
+    CompoundTag metadata = new CompoundTag();
+    metadata.putUUID(PRESET_UUID_TAG, uuid);
+    ListTag targetsTag = new ListTag();
+    for (UUID target : targets) {
+      targetsTag.add(NbtUtils.createUUID(target));
+    }
+    metadata.put(PRESET_TARGETS_TAG, targetsTag);
+    metadata.putString(PRESET_TYPE_TAG, presetType.name());
+    if (resourceLocation != null) {
+      metadata.putString(PRESET_LOCATION_TAG, resourceLocation.toString());
+    }
+    return metadata;
+  }
+
+  @Override
+  public void write(final FriendlyByteBuf buffer) {
+    this.chunk.write(buffer);
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return MESSAGE_ID;
+  }
+
+  @Override
+  public void handleServer(final ServerPlayer serverPlayer) {
+    if (serverPlayer == null) {
+      return;
+    }
+    DataTransferResult dataTransferResult =
+        DataTransferManager.getServerManager()
+            .handleChunk(
+                serverPlayer.getUUID(),
+                DataTransferSender.toPlayer(serverPlayer),
+                this.chunk,
+                firstChunk -> hasTransferAccess(firstChunk, serverPlayer));
+    if (dataTransferResult == null) {
+      return;
+    }
+    if (dataTransferResult.type() == DataTransferType.PRESET_IMPORT) {
+      importPreset(dataTransferResult.metadata(), dataTransferResult.data(), serverPlayer);
+    } else {
+      log.error(
+          "Unsupported data transfer {} from {}", dataTransferResult.type(), serverPlayer);
+    }
+  }
+
+  private static boolean hasTransferAccess(DataTransferChunk chunk, ServerPlayer serverPlayer) {
+    // Only preset imports are uploaded, the access is checked before any data is received.
+    CompoundTag metadata = chunk.metadata();
+    if (chunk.type() != DataTransferType.PRESET_IMPORT
+        || metadata == null
+        || !metadata.hasUUID(PRESET_UUID_TAG)
+        || !NetworkMessageRecord.checkAccess(metadata.getUUID(PRESET_UUID_TAG), serverPlayer)) {
+      return false;
+    }
+    ListTag targetsTag = metadata.getList(PRESET_TARGETS_TAG, Tag.TAG_INT_ARRAY);
+    if (targetsTag.size() > EasyNPCWandSelection.MAX_SELECTED_ENTITIES) {
+      return false;
+    }
+    for (Tag target : targetsTag) {
+      if (!NetworkMessageRecord.checkAccess(NbtUtils.loadUUID(target), serverPlayer)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void importPreset(CompoundTag metadata, byte[] data, ServerPlayer serverPlayer) {
+    if (metadata == null || !metadata.hasUUID(PRESET_UUID_TAG)) {
+      log.error("Invalid preset import metadata {} from {}", metadata, serverPlayer);
+      return;
+    }
+    PresetType presetType;
+    try {
+      presetType = PresetType.valueOf(metadata.getString(PRESET_TYPE_TAG));
+    } catch (IllegalArgumentException exception) {
+      log.error("Invalid preset type for import from {}", serverPlayer);
+      return;
+    }
+    CompoundTag compoundTag = DataTransferManager.readCompoundTag(data);
+    if (compoundTag == null || compoundTag.isEmpty()) {
+      log.error("Invalid preset data for import from {}", serverPlayer);
+      return;
+    }
+    ResourceLocation resourceLocation =
+        metadata.contains(PRESET_LOCATION_TAG)
+            ? ResourceLocation.tryParse(metadata.getString(PRESET_LOCATION_TAG))
+            : null;
+    List<UUID> targets = new ArrayList<>();
+    for (Tag target : metadata.getList(PRESET_TARGETS_TAG, Tag.TAG_INT_ARRAY)) {
+      targets.add(NbtUtils.loadUUID(target));
+    }
+
+    // Access checks for the single and batch import are handled by the regular messages.
+    NetworkMessageRecord networkMessageRecord =
+        targets.isEmpty()
+            ? new ImportPresetMessage(
+                metadata.getUUID(PRESET_UUID_TAG), presetType, compoundTag, resourceLocation)
+            : BatchChangeMessage.preset(targets, presetType, compoundTag, resourceLocation);
+    networkMessageRecord.handleServer(serverPlayer);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.transfer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.nbt.CompoundTag;
+
+public class DataTransfer {
+
+  private final UUID transferId;
+  private final DataTransferType type;
+  private final CompoundTag metadata;
+  private final List<byte[]> chunks;
+  private final int totalSize;
+  private final int chunkSize;
+  private final long totalChecksum;
+  private final int[] retries;
+  private final Deque<Integer> pendingChunks = new ArrayDeque<>();
+  private final Set<Integer> sentChunks = new LinkedHashSet<>();
+  private int numberOfReceivedChunks = 0;
+  private int numberOfTimeouts = 0;
+  private long lastActivity;
+
+  public DataTransfer(
+      UUID transferId, DataTransferType type, CompoundTag metadata, byte[] data, int chunkSize) {
+    this.transferId = transferId;
+    this.type = type;
+    this.metadata = metadata != null ? metadata : new CompoundTag();
+    this.chunks = DataTransferChunk.split(data, chunkSize);
+    this.totalSize = data.length;
+    this.chunkSize = chunkSize;
+    this.totalChecksum = DataTransferChunk.getChecksum(data);
+    this.retries = new int[this.chunks.size()];
+    for (int chunkIndex = 0; chunkIndex < this.chunks.size(); chunkIndex++) {
+      this.pendingChunks.add(chunkIndex);
+    }
+  }
+
+  public DataTransferChunk createChunk(int chunkIndex) {
+    byte[] data = this.chunks.get(chunkIndex);
+    return new DataTransferChunk(
+        this.transferId,
+        this.type,
+        chunkIndex,
+        this.chunks.size(),
+        this.totalSize,
+        this.chunkSize,
+        this.totalChecksum,
+        DataTransferChunk.getChecksum(data),
+        chunkIndex == 0 ? this.metadata : null,
+        data);
+  }
+
+  public boolean hasPendingChunks() {
+    return !this.pendingChunks.isEmpty();
+  }
+
+  public int getNextChunkSize() {
+    Integer chunkIndex = this.pendingChunks.peekFirst();
+    return chunkIndex != null ? this.chunks.get(chunkIndex).length : 0;
+  }
+
+  public DataTransferChunk sendNextChunk(long tick) {
+    Integer chunkIndex = this.pendingChunks.pollFirst();
+    if (chunkIndex == null) {
+      return null;
+    }
+    this.sentChunks.add(chunkIndex);
+    if (this.sentChunks.size() == 1) {
+      this.lastActivity = tick;
+    }
+    return this.createChunk(chunkIndex);
+  }
+
+  public void markReceived(int chunkIndex, long tick) {
+    if (this.sentChunks.remove(chunkIndex)) {
+      this.numberOfReceivedChunks++;
+      this.lastActivity = tick;
+    }
+  }
+
+  public boolean resendChunk(int chunkIndex, int maxRetries, long tick) {
+    if (chunkIndex < 0
+        || chunkIndex >= this.retries.length
+        || ++this.retries[chunkIndex] > maxRetries) {
+      return false;
+    }
+    // Failed chunks are sent again before any other pending chunk.
+    this.sentChunks.remove(chunkIndex);
+    this.pendingChunks.remove(chunkIndex);
+    this.pendingChunks.addFirst(chunkIndex);
+    this.lastActivity = tick;
+    return true;
+  }
+
+  public boolean isTimedOut(long tick, int timeout) {
+    return !this.sentChunks.isEmpty() && tick - this.lastActivity > timeout;
+  }
+
+  public boolean resendSentChunks(int maxRetries, long tick) {
+    if (++this.numberOfTimeouts > maxRetries) {
+      return false;
+    }
+    // Resume with the unconfirmed chunks, already confirmed chunks are not sent again.
+    List<Integer> unconfirmedChunks = List.copyOf(this.sentChunks);
+    this.sentChunks.clear();
+    for (int i = unconfirmedChunks.size() - 1; i >= 0; i--) {
+      this.pendingChunks.remove(unconfirmedChunks.get(i));
+      this.pendingChunks.addFirst(unconfirmedChunks.get(i));
+    }
+    this.lastActivity = tick;
+    return true;
+  }
+
+  public DataTransferProgress getProgress(DataTransferProgress.State state) {
+    return new DataTransferProgress(
+        this.transferId,
+        this.type,
+        this.numberOfReceivedChunks,
+        this.chunks.size(),
+        this.totalSize,
+        state);
+  }
+
+  public UUID getTransferId() {
+    return this.transferId;
+  }
+
+  public DataTransferType getType() {
+    return this.type;
+  }
+
+  public int getNumberOfChunks() {
+    return this.chunks.size();
+  }
+
+  public int getNumberOfSentChunks() {
+    return this.sentChunks.size();
+  }
+
+  public int getNumberOfReceivedChunks() {
+    return this.numberOfReceivedChunks;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.transfer;
+
+import de.markusbordihn.easynpc.config.DataTransferConfig;
+import java.util.UUID;
+import net.minecraft.nbt.CompoundTag;
+
+public class DataTransferAssembler {
+
+  private final UUID transferId;
+  private final DataTransferType type;
+  private final int numberOfChunks;
+  private final int totalSize;
+  private final int chunkSize;
+  private final long totalChecksum;
+  private final byte[][] chunks;
+  private CompoundTag metadata;
+  private byte[] data;
+  private int numberOfReceivedChunks = 0;
+  private int receivedSize = 0;
+  private long lastActivity;
+
+  public DataTransferAssembler(DataTransferChunk chunk, long tick) {
+    this.transferId = chunk.transferId();
+    this.type = chunk.type();
+    this.numberOfChunks = chunk.numberOfChunks();
+    this.totalSize = chunk.totalSize();
+    this.chunkSize = chunk.chunkSize();
+    this.totalChecksum = chunk.totalChecksum();
+    this.chunks = new byte[this.numberOfChunks][];
+    this.lastActivity = tick;
+  }
+
+  public static boolean isValidTransfer(DataTransferChunk chunk, int maxSize) {
+    // The number of chunks must match the size, before any chunk array is allocated.
+    return chunk.transferId() != null
+        && chunk.type() != null
+        && chunk.totalSize() > 0
+        && chunk.totalSize() <= maxSize
+        && chunk.chunkSize() >= DataTransferConfig.MIN_CHUNK_SIZE
+        && chunk.chunkSize() <= DataTransferConfig.MAX_CHUNK_SIZE
+        && chunk.numberOfChunks()
+            == DataTransferChunk.getNumberOfChunks(chunk.totalSize(), chunk.chunkSize())
+        && chunk.numberOfChunks()
+            <= DataTransferChunk.getNumberOfChunks(maxSize, DataTransferConfig.MIN_CHUNK_SIZE);
+  }
+
+  private int getChunkLength(int chunkIndex) {
+    return chunkIndex < this.numberOfChunks - 1
+        ? this.chunkSize
+        : this.totalSize - (this.numberOfChunks - 1) * this.chunkSize;
+  }
+
+  public boolean matches(DataTransferChunk chunk) {
+    return this.type == chunk.type()
+        && this.numberOfChunks == chunk.numberOfChunks()
+        && this.totalSize == chunk.totalSize()
+        && this.chunkSize == chunk.chunkSize()
+        && this.totalChecksum == chunk.totalChecksum();
+  }
+
+  public DataTransferStatus accept(DataTransferChunk chunk, long tick) {
+    int chunkIndex = chunk.chunkIndex();
+    if (!this.matches(chunk) || chunkIndex < 0 || chunkIndex >= this.numberOfChunks) {
+      return DataTransferStatus.FAILED;
+    }
+    this.lastActivity = tick;
+
+    // Corrupted chunks are requested again, without dropping the already received chunks.
+    if (!chunk.isValid() || chunk.data().length != this.getChunkLength(chunkIndex)) {
+      return DataTransferStatus.RESEND;
+    }
+
+    // Duplicated chunks are ignored, e.g. after a timeout of the sender.
+    if (this.chunks[chunkIndex] == null) {
+      if (this.receivedSize + chunk.data().length > this.totalSize) {
+        return DataTransferStatus.FAILED;
+      }
+      this.chunks[chunkIndex] = chunk.data();
+      this.numberOfReceivedChunks++;
+      this.receivedSize += chunk.data().length;
+    }
+    if (chunkIndex == 0 && chunk.metadata() != null) {
+      this.metadata = chunk.metadata();
+    }
+    if (!this.isComplete()) {
+      return DataTransferStatus.RECEIVED;
+    }
+    byte[] data = this.getData();
+    return data != null && DataTransferChunk.getChecksum(data) == this.totalChecksum
+        ? DataTransferStatus.COMPLETE
+        : DataTransferStatus.FAILED;
+  }
+
+  public boolean isComplete() {
+    return this.numberOfReceivedChunks == this.numberOfChunks;
+  }
+
+  public byte[] getData() {
+    if (this.data != null || !this.isComplete() || this.receivedSize != this.totalSize) {
+      return this.data;
+    }
+    this.data = new byte[this.totalSize];
+    int offset = 0;
+    for (byte[] chunk : this.chunks) {
+      System.arraycopy(chunk, 0, this.data, offset, chunk.length);
+      offset += chunk.length;
+    }
+    return this.data;
+  }
+
+  public boolean isExpired(long tick, int timeout) {
+    return tick - this.lastActivity > timeout;
+  }
+
+  public DataTransferProgress getProgress(DataTransferProgress.State state) {
+    return new DataTransferProgress(
+        this.transferId,
+        this.type,
+        this.numberOfReceivedChunks,
+        this.numberOfChunks,
+        this.totalSize,
+        state);
+  }
+
+  public UUID getTransferId() {
+    return this.transferId;
+  }
+
+  public DataTransferType getType() {
+    return this.type;
+  }
+
+  public CompoundTag getMetadata() {
+    return this.metadata;
+  }
+
+  public int getNumberOfReceivedChunks() {
+    return this.numberOfReceivedChunks;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.transfer;
+
+import de.markusbordihn.easynpc.config.DataTransferConfig;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+
+public record DataTransferChunk(
+    UUID transferId,
+    DataTransferType type,
+    int chunkIndex,
+    int numberOfChunks,
+    int totalSize,
+    int chunkSize,
+    long totalChecksum,
+    long checksum,
+    CompoundTag metadata,
+    byte[] data) {
+
+  public static DataTransferChunk read(final FriendlyByteBuf buffer) {
+    return new DataTransferChunk(
+        buffer.readUUID(),
+        buffer.readEnum(DataTransferType.class),
+        buffer.readVarInt(),
+        buffer.readVarInt(),
+        buffer.readVarInt(),
+        buffer.readVarInt(),
+        buffer.readLong(),
+        buffer.readLong(),
+        buffer.readNbt(),
+        buffer.readByteArray(DataTransferConfig.MAX_CHUNK_SIZE));
+  }
+
+  public static List<byte[]> split(byte[] data, int chunkSize) {
+    List<byte[]> chunks = new ArrayList<>((data.length + chunkSize - 1) / chunkSize);
+    for (int offset = 0; offset < data.length; offset += chunkSize) {
+      chunks.add(Arrays.copyOfRange(data, offset, Math.min(data.length, offset + chunkSize)));
+    }
+    return chunks;
+  }
+
+  public static int getNumberOfChunks(int totalSize, int chunkSize) {
+    return (int) ((totalSize + (long) chunkSize - 1) / chunkSize);
+  }
+
+  public static long getChecksum(byte[] data) {
+    CRC32 crc32 = new CRC32();
+    crc32.update(data);
+    return crc32.getValue();
+  }
+
+  public boolean isValid() {
+    return this.data != null && getChecksum(this.data) == this.checksum;
+  }
+
+  public void write(final FriendlyByteBuf buffer) {
+    buffer.writeUUID(this.transferId);
+    buffer.writeEnum(this.type);
+    buffer.writeVarInt(this.chunkIndex);
+    buffer.writeVarInt(this.numberOfChunks);
+    buffer.writeVarInt(this.totalSize);
+    buffer.writeVarInt(this.chunkSize);
+    buffer.writeLong(this.totalChecksum);
+    buffer.writeLong(this.checksum);
+    buffer.writeNbt(this.metadata);
+    buffer.writeByteArray(this.data);
+  }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.network.transfer;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.DataTransferConfig;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class DataTransferManager {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final int MAX_INCOMING_TRANSFERS = 4;
+
+  private static final DataTransferManager clientManager = new DataTransferManager("Client");
+  private static final DataTransferManager serverManager = new DataTransferManager("Server");
+
+  // Transfers are only used from the client or server thread of the manager.
+  private final Map<UUID, Connection> connections = new LinkedHashMap<>();
+  private final Map<DataTransferType, DataTransferProgress> progressMap =
+      new EnumMap<>(DataTransferType.class);
+  private final String logPrefix;
+  private long tick = 0;
+  private long numberOfSentChunks = 0;
+
+  public DataTransferManager(String name) {
+    this.logPrefix = "[" + name + " Data Transfer]";
+  }
+
+  public static DataTransferManager getClientManager() {
+    return clientManager;
+  }
+
+  public static DataTransferManager getServerManager() {
+    return serverManager;
+  }
+
+  public static byte[] writeCompoundTag(CompoundTag compoundTag) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try {
+      NbtIo.writeCompressed(compoundTag, outputStream);
+    } catch (IOException exception) {
+      log.error("Unable to write compound tag for data transfer:", exception);
+      return null;
+    }
+    return outputStream.toByteArray();
+  }
+
+  public static CompoundTag readCompoundTag(byte[] data) {
+    if (data == null || data.length == 0) {
+      return null;
+    }
+    try (DataInputStream dataInputStream =
+        new DataInputStream(
+            new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(data))))) {
+      // Limit the uncompressed size, compressed data could expand a lot.
+      return NbtIo.read(
+          dataInputStream, new NbtAccounter(DataTransferConfig.getMaxTransferSize() * 8L));
+    } catch (IOException | RuntimeException exception) {
+      log.error("Unable to read compound tag from data transfer:", exception);
+      return null;
+    }
+  }
+
+  public UUID send(
+      UUID connectionId,
+      DataTransferSender sender,
+      DataTransferType type,
+      CompoundTag metadata,
+      byte[] data) {
+    if (connectionId == null || sender == null || type == null || data == null) {
+      return null;
+    }
+    if (data.length == 0 || data.length > DataTransferConfig.getMaxTransferSize()) {
+      log.error(
+          "{} Unable to send {} with {} bytes, max size is {} bytes!",
+          this.logPrefix,
+          type,
+          data.length,
+          DataTransferConfig.getMaxTransferSize());
+      this.progressMap.put(
+          type,
+          new DataTransferProgress(
+              null, type, 0, 0, data.length, DataTransferProgress.State.FAILED));
+      return null;
+    }
+    DataTransfer dataTransfer =
+        new DataTransfer(
+            UUID.randomUUID(), type, metadata, data, DataTransferConfig.getChunkSize());
+    this.getConnection(connectionId, sender).outgoingTransfers.add(dataTransfer);
+    this.progressMap.put(type, dataTransfer.getProgress(DataTransferProgress.State.RUNNING));
+    log.debug(
+        "{} Queued {} {} with {} bytes in {} chunks",
+        this.logPrefix,
+        type,
+        dataTransfer.getTransferId(),
+        data.length,
+        dataTransfer.getNumberOfChunks());
+    return dataTransfer.getTransferId();
+  }
+
+  public DataTransferResult handleChunk(
+      UUID connectionId, DataTransferSender sender, DataTransferChunk chunk) {
+    return this.handleChunk(connectionId, sender, chunk, firstChunk -> true);
+  }
+
+  public DataTransferResult handleChunk(
+      UUID connectionId,
+      DataTransferSender sender,
+      DataTransferChunk chunk,
+      Predicate<DataTransferChunk> firstChunkValidator) {
+    if (connectionId == null || sender == null || chunk == null || chunk.transferId() == null) {
+      return null;
+    }
+    Connection connection = this.getConnection(connectionId, sender);
+    DataTransferAssembler assembler = connection.incomingTransfers.get(chunk.transferId());
+    if (assembler == null) {
+      // New transfers start with the first chunk, which carries the metadata for the validator.
+      if (chunk.chunkIndex() != 0
+          || chunk.metadata() == null
+          || !DataTransferAssembler.isValidTransfer(chunk, DataTransferConfig.getMaxTransferSize())
+          || connection.incomingTransfers.size() >= MAX_INCOMING_TRANSFERS
+          || !firstChunkValidator.test(chunk)) {
+        log.error("{} Rejected {} {}", this.logPrefix, chunk.type(), chunk.transferId());
+        sender.sendStatus(chunk.transferId(), chunk.chunkIndex(), DataTransferStatus.FAILED);
+        return null;
+      }
+      assembler = new DataTransferAssembler(chunk, this.tick);
+      connection.incomingTransfers.put(chunk.transferId(), assembler);
+    }
+
+    DataTransferStatus status = assembler.accept(chunk, this.tick);
+    sender.sendStatus(chunk.transferId(), chunk.chunkIndex(), status);
+    switch (status) {
+      case COMPLETE -> {
+        connection.incomingTransfers.remove(chunk.transferId());
+        this.progressMap.put(
+            assembler.getType(), assembler.getProgress(DataTransferProgress.State.COMPLETE));
+        return new DataTransferResult(
+            assembler.getTransferId(),
+            assembler.getType(),
+            assembler.getMetadata(),
+            assembler.getData());
+      }
+      case FAILED -> {
+        log.error(
+            "{} Invalid chunk {} for {} {}",
+            this.logPrefix,
+            chunk.chunkIndex(),
+            chunk.type(),
+            chunk.transferId());
+        connection.incomingTransfers.remove(chunk.transferId());
+        this.progressMap.put(
+            assembler.getType(), assembler.getProgress(DataTransferProgress.State.FAILED));
+      }
+      case RESEND ->
+          log.warn(
+              "{} Checksum mismatch for chunk {} of {} {}, requesting it again.",
+              this.logPrefix,
+              chunk.chunkIndex(),
+              chunk.type(),
+              chunk.transferId());
+      default ->
+          this.progressMap.put(
+              assembler.getType(), assembler.getProgress(DataTransferProgress.State.RUNNING));
+    }
+    return null;
+  }
+
+  public void handleStatus(
+      UUID connectionId, UUID transferId, int chunkIndex, DataTransferStatus status) {
+    Connection connection = connectionId != null ? this.connections.get(connectionId) : null;
+    if (connection == null || transferId == null || status == null) {
+      return;
+    }
+
+    // Failed incoming transfers are aborted by the sender.
+    DataTransferAssembler assembler = connection.incomingTransfers.get(transferId);
+    if (assembler != null) {
+      if (status == DataTransferStatus.FAILED) {
+        connection.incomingTransfers.remove(transferId);
+        this.progressMap.put(
+            assembler.getType(), assembler.getProgress(DataTransferProgress.State.FAILED));
+      }
+      return;
+    }
+
+    DataTransfer dataTransfer = connection.outgoingTransfers.peekFirst();
+    if (dataTransfer == null || !dataTransfer.getTransferId().equals(transferId)) {
+      return;
+    }
+    switch (status) {
+      case RECEIVED -> {
+        dataTransfer.markReceived(chunkIndex, this.tick);
+        this.progressMap.put(
+            dataTransfer.getType(),
+            dataTransfer.getProgress(DataTransferProgress.State.RUNNING));
+      }
+      case RESEND -> {
+        if (!dataTransfer.resendChunk(chunkIndex, DataTransferConfig.getMaxRetries(), this.tick)) {
+          this.failTransfer(connection, dataTransfer, true);
+        }
+      }
+      case COMPLETE -> {
+        dataTransfer.markReceived(chunkIndex, this.tick);
+        connection.outgoingTransfers.pollFirst();
+        this.progressMap.put(
+            dataTransfer.getType(),
+            dataTransfer.getProgress(DataTransferProgress.State.COMPLETE));
+        log.debug("{} Completed {} {}", this.logPrefix, dataTransfer.getType(), transferId);
+      }
+      case FAILED -> this.failTransfer(connection, dataTransfer, false);
+    }
+  }
+
+  public void tick() {
+    this.tick++;
+    if (this.connections.isEmpty()) {
+      return;
+    }
+
+    int maxBytesPerTick = DataTransferConfig.getMaxBytesPerTick();
+    int maxChunksInFlight = DataTransferConfig.getMaxChunksInFlight();
+    int maxRetries = DataTransferConfig.getMaxRetries();
+    int timeout = DataTransferConfig.getTimeout();
+    Iterator<Connection> iterator = this.connections.values().iterator();
+    while (iterator.hasNext()) {
+      Connection connection = iterator.next();
+
+      // Drop incoming transfers, which are no longer resumed by the sender.
+      Iterator<DataTransferAssembler> assemblerIterator =
+          connection.incomingTransfers.values().iterator();
+      while (assemblerIterator.hasNext()) {
+        DataTransferAssembler assembler = assemblerIterator.next();
+        if (assembler.isExpired(this.tick, timeout * (maxRetries + 2))) {
+          log.warn(
+              "{} Dropped expired {} {}",
+              this.logPrefix,
+              assembler.getType(),
+              assembler.getTransferId());
+          this.progressMap.put(
+              assembler.getType(), assembler.getProgress(DataTransferProgress.State.FAILED));
+          assemblerIterator.remove();
+        }
+      }
+
+      DataTransfer dataTransfer = connection.outgoingTransfers.peekFirst();
+      if (dataTransfer == null) {
+        if (connection.incomingTransfers.isEmpty()) {
+          iterator.remove();
+        }
+        continue;
+      }
+
+      // Resume with the unconfirmed chunks, if there was no response within the timeout.
+      if (dataTransfer.isTimedOut(this.tick, timeout)) {
+        log.warn(
+            "{} Timeout for {} {}, resending {} chunks",
+            this.logPrefix,
+            dataTransfer.getType(),
+            dataTransfer.getTransferId(),
+            dataTransfer.getNumberOfSentChunks());
+        if (!dataTransfer.resendSentChunks(maxRetries, this.tick)) {
+          this.failTransfer(connection, dataTransfer, true);
+          continue;
+        }
+      }
+
+      // Token bucket per connection, which holds at least enough bytes for a single chunk.
+      connection.availableBytes =
+          Math.min(
+              connection.availableBytes + maxBytesPerTick,
+              Math.max(maxBytesPerTick, DataTransferConfig.MAX_CHUNK_SIZE));
+      while (dataTransfer.hasPendingChunks()
+          && dataTransfer.getNumberOfSentChunks() < maxChunksInFlight
+          && connection.availableBytes >= dataTransfer.getNextChunkSize()) {
+        connection.availableBytes -= dataTransfer.getNextChunkSize();
+        connection.sender.sendChunk(dataTransfer.sendNextChunk(this.tick));
+        this.numberOfSentChunks++;
+      }
+    }
+  }
+
+  private void failTransfer(
+      Connection connection, DataTransfer dataTransfer, boolean notifyReceiver) {
+    log.error(
+        "{} Failed {} {} after {} of {} chunks",
+        this.logPrefix,
+        dataTransfer.getType(),
+        dataTransfer.getTransferId(),
+        dataTransfer.getNumberOfReceivedChunks(),
+        dataTransfer.getNumberOfChunks());
+    connection.outgoingTransfers.remove(dataTransfer);
+    this.progressMap.put(
+        dataTransfer.getType(), dataTransfer.getProgress(DataTransferProgress.State.FAILED));
+    if (notifyReceiver) {
+      connection.sender.sendStatus(dataTransfer.getTransferId(), 0, DataTransferStatus.FAILED);
+    }
+  }
+
+  private Connection getConnection(UUID connectionId, DataTransferSender sender) {
+    Connection connection =
+        this.connections.computeIfAbsent(connectionId, key -> new Connection(sender));
+    connection.sender = sender;
+    return connection;
+  }
+
+  public DataTransferProgress getProgress(DataTransferType type) {
+    return this.progressMap.get(type);
+  }
+
+  public void clearProgress(DataTransferType type) {
+    this.progressMap.remove(type);
+  }
+
+  public void removeConnection(UUID connectionId) {
+    this.connections.remove(connectionId);
+  }
+
+  public void clear() {
+    this.connections.clear();
+    this.progressMap.clear();
+  }
+
+  public int getNumberOfPendingTransfers() {
+    int numberOfPendingTransfers = 0;
+    for (Connection connection : this.connections.values()) {
+      numberOfPendingTransfers += connection.outgoingTransfers.size();
+    }
+    return numberOfPendingTransfers;
+  }
+
+  public long getNumberOfSentChunks() {
+    return this.numberOfSentChunks;
+  }
+
+  private static final class Connection {
+    private final Deque<DataTransfer> outgoingTransfers = new ArrayDeque<>();
+    private final Map<UUID, DataTransferAssembler> incomingTransfers = new LinkedHashMap<>();
+    private DataTransferSender sender;
+    private int availableBytes = 0;
+
+    private Connection(DataTransferSender sender) {
+      this.sender = sender;
+    }
+  }
+}
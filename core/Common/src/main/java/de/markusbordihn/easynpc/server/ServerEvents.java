@@ -21,8 +21,15 @@ package de.markusbordihn.easynpc.server;
 
 import de.markusbordihn.easynpc.Constants;
 import de.markusbordihn.easynpc.backup.BackupManager;
+import de.markusbordihn.easynpc.block.entity.SpawnerRegistry;
+import de.markusbordihn.easynpc.data.preset.PresetTemplateManager;
+import de.markusbordihn.easynpc.entity.LivingEntityManager;
+import de.markusbordihn.easynpc.entity.easynpc.sound.SoundBudgetService;
 import de.markusbordihn.easynpc.io.DataFileHandler;
+import de.markusbordihn.easynpc.network.transfer.DataTransferManager;
+import de.markusbordihn.easynpc.server.skin.ServerSkinManager;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.storage.LevelResource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -45,6 +52,19 @@ public class ServerEvents {
 
     // Prepare custom data directory for server.
     DataFileHandler.registerServerDataFiles(minecraftServer);
+
+    // Remove server-side entities from a previous integrated server.
+    LivingEntityManager.clearServerEntities();
+
+    // Reset cached preset templates and pending spawns from a previous server.
+    PresetTemplateManager.clearPresetTemplates();
+    PresetTemplateManager.clearSpawnRequests();
+
+    // Remove pending skin transfers from a previous server.
+    ServerSkinManager.clearSkinTransfers();
+
+    // Remove pending data transfers from a previous server.
+    DataTransferManager.getServerManager().clear();
   }
 
   public static void handleServerTick(MinecraftServer minecraftServer) {
@@ -54,5 +74,41 @@ public class ServerEvents {
 
     // Perform backup each hour.
     BackupManager.performBackup();
+
+    // Spawn queued preset entities spread over several ticks.
+    PresetTemplateManager.handleServerTick();
+
+    // Tick spawners with players in range, dormant spawners are skipped.
+    SpawnerRegistry.handleServerTick(minecraftServer);
+
+    // Start NPC sounds within the sound budget of their cluster.
+    SoundBudgetService.handleServerTick(minecraftServer);
+
+    // Send queued server skin chunks within the chunk budget.
+    ServerSkinManager.handleServerTick(minecraftServer);
+
+    // Send queued data transfer chunks within the bandwidth of each player.
+    DataTransferManager.getServerManager().tick();
+  }
+
+  public static void handleDataPackReload(MinecraftServer minecraftServer) {
+    if (minecraftServer == null) {
+      return;
+    }
+
+    // Reload data and default preset templates from the reloaded resources.
+    PresetTemplateManager.clearResourcePresetTemplates();
+  }
+
+  public static void handlePlayerLogout(ServerPlayer serverPlayer) {
+    if (serverPlayer == null) {
+      return;
+    }
+
+    // Remove pending skin transfers of the player, if any.
+    ServerSkinManager.handlePlayerLogout(serverPlayer);
+
+    // Remove pending data transfers of the player, if any.
+    DataTransferManager.getServerManager().removeConnection(serverPlayer.getUUID());
   }
 }
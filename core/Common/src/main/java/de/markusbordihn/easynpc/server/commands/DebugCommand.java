@@ -22,13 +22,20 @@ package de.markusbordihn.easynpc.server.commands;
 import com.mojang.brigadier.arguments.BoolArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.block.entity.SpawnerRegistry;
 import de.markusbordihn.easynpc.client.renderer.manager.EntityTypeManager;
 import de.markusbordihn.easynpc.commands.Command;
+import de.markusbordihn.easynpc.config.SoundBudgetConfig;
+import de.markusbordihn.easynpc.data.sound.SoundType;
 import de.markusbordihn.easynpc.debug.DebugManager;
+import de.markusbordihn.easynpc.entity.easynpc.ai.navigation.PathService;
+import de.markusbordihn.easynpc.entity.easynpc.sound.SoundBudgetService;
+import java.util.Map;
 import java.util.Set;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 
@@ -52,7 +59,16 @@ public class DebugCommand extends Command {
             Commands.literal("info")
                 .then(
                     Commands.literal("entity_types")
-                        .executes(context -> getEntityTypes(context.getSource()))));
+                        .executes(context -> getEntityTypes(context.getSource())))
+                .then(
+                    Commands.literal("path_service")
+                        .executes(context -> getPathServiceInfo(context.getSource())))
+                .then(
+                    Commands.literal("sounds")
+                        .executes(context -> getSoundBudgetInfo(context.getSource())))
+                .then(
+                    Commands.literal("spawners")
+                        .executes(context -> getSpawnerInfo(context.getSource()))));
   }
 
   public static int setDebug(CommandSourceStack context, boolean enable) {
@@ -105,4 +121,108 @@ public class DebugCommand extends Command {
     log.info("Unknown entity types: {}", unknownEntityTypes);
     return Command.SINGLE_SUCCESS;
   }
+
+  public static int getPathServiceInfo(CommandSourceStack context) {
+    PathService pathService = PathService.get(context.getLevel());
+    sendSuccessMessage(
+        context,
+        "► Path service for "
+            + context.getLevel().dimension().location()
+            + ": "
+            + pathService.getNodesLastTick()
+            + " nodes last tick (max "
+            + pathService.getMaxNodesPerTick()
+            + "), "
+            + pathService.getNumberOfCachedPathEntries()
+            + " cached paths.",
+        ChatFormatting.GREEN);
+    sendSuccessMessage(
+        context,
+        "> "
+            + pathService.getNumberOfComputedPaths()
+            + " computed paths with "
+            + pathService.getNumberOfComputedNodes()
+            + " nodes, "
+            + pathService.getNumberOfCachedPaths()
+            + " reused and "
+            + pathService.getNumberOfDeferredPaths()
+            + " deferred path requests.",
+        ChatFormatting.WHITE);
+    return Command.SINGLE_SUCCESS;
+  }
+
+  public static int getSoundBudgetInfo(CommandSourceStack context) {
+    SoundBudgetService soundBudgetService = SoundBudgetService.get(context.getLevel());
+    sendSuccessMessage(
+        context,
+        "► Sound budget for "
+            + context.getLevel().dimension().location()
+            + ": "
+            + soundBudgetService.getNumberOfPlayedSounds()
+            + " of "
+            + soundBudgetService.getNumberOfRequestedSounds()
+            + " requested sounds played.",
+        ChatFormatting.GREEN);
+    sendSuccessMessage(
+        context,
+        "> "
+            + soundBudgetService.getNumberOfMergedSounds()
+            + " merged and "
+            + soundBudgetService.getNumberOfUnheardSounds()
+            + " sounds without listener.",
+        ChatFormatting.WHITE);
+    for (Map.Entry<SoundType, Long> entry : soundBudgetService.getSuppressedSounds().entrySet()) {
+      sendSuccessMessage(
+          context,
+          "- "
+              + entry.getKey()
+              + ": "
+              + entry.getValue()
+              + " suppressed (budget "
+              + SoundBudgetConfig.getBudget(entry.getKey())
+              + " per second)",
+          ChatFormatting.YELLOW);
+    }
+    return Command.SINGLE_SUCCESS;
+  }
+
+  public static int getSpawnerInfo(CommandSourceStack context) {
+    SpawnerRegistry spawnerRegistry = SpawnerRegistry.get(context.getLevel());
+    sendSuccessMessage(
+        context,
+        "► Spawner registry for "
+            + context.getLevel().dimension().location()
+            + ": "
+            + spawnerRegistry.getNumberOfActiveSpawners()
+            + " active and "
+            + spawnerRegistry.getNumberOfDormantSpawners()
+            + " dormant spawners, "
+            + spawnerRegistry.getNumberOfTrackedPlayers()
+            + " tracked players.",
+        ChatFormatting.GREEN);
+    sendSuccessMessage(
+        context,
+        "> "
+            + spawnerRegistry.getNumberOfActivations()
+            + " activations, "
+            + spawnerRegistry.getNumberOfDeactivations()
+            + " deactivations and "
+            + spawnerRegistry.getNumberOfSpawnerTicks()
+            + " spawner ticks.",
+        ChatFormatting.WHITE);
+    for (Map.Entry<BlockPos, Integer> entry : spawnerRegistry.getSpawners().entrySet()) {
+      BlockPos blockPos = entry.getKey();
+      boolean isActive = spawnerRegistry.isActive(blockPos);
+      sendSuccessMessage(
+          context,
+          "- "
+              + blockPos.toShortString()
+              + " (range "
+              + entry.getValue()
+              + ") "
+              + (isActive ? "active" : "dormant"),
+          isActive ? ChatFormatting.YELLOW : ChatFormatting.GRAY);
+    }
+    return Command.SINGLE_SUCCESS;
+  }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.server.commands;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import de.markusbordihn.easynpc.commands.Command;
+import de.markusbordihn.easynpc.commands.arguments.EasyNPCArgument;
+import de.markusbordihn.easynpc.commands.suggestion.FactionSuggestions;
+import de.markusbordihn.easynpc.data.faction.FactionRelationType;
+import de.markusbordihn.easynpc.data.faction.FactionSavedData;
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
+import de.markusbordihn.easynpc.data.objective.ObjectiveType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.ai.target.FactionTargetService;
+import de.markusbordihn.easynpc.entity.easynpc.data.ObjectiveData;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.server.level.ServerPlayer;
+
+public class FactionCommand extends Command {
+
+  private static final String FACTION_ARGUMENT = "faction";
+  private static final String OTHER_FACTION_ARGUMENT = "other_faction";
+  private static final String RELATION_ARGUMENT = "relation";
+  private static final String PLAYER_ARGUMENT = "player";
+
+  private FactionCommand() {}
+
+  public static ArgumentBuilder<CommandSourceStack, ?> register() {
+    return Commands.literal("faction")
+        .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
+        .then(Commands.literal("list").executes(context -> listFactions(context.getSource())))
+        .then(
+            Commands.literal("relation")
+                .then(
+                    Commands.argument(FACTION_ARGUMENT, StringArgumentType.word())
+                        .suggests(FactionSuggestions::suggestFactions)
+                        .then(
+                            Commands.argument(OTHER_FACTION_ARGUMENT, StringArgumentType.word())
+                                .suggests(FactionSuggestions::suggestFactions)
+                                .executes(
+                                    context ->
+                                        getRelation(
+                                            context.getSource(),
+                                            StringArgumentType.getString(
+                                                context, FACTION_ARGUMENT),
+                                            StringArgumentType.getString(
+                                                context, OTHER_FACTION_ARGUMENT)))
+                                .then(
+                                    Commands.argument(
+                                            RELATION_ARGUMENT, StringArgumentType.word())
+                                        .suggests(FactionSuggestions::suggestRelations)
+                                        .executes(
+                                            context ->
+                                                setRelation(
+                                                    context.getSource(),
+                                                    StringArgumentType.getString(
+                                                        context, FACTION_ARGUMENT),
+                                                    StringArgumentType.getString(
+                                                        context, OTHER_FACTION_ARGUMENT),
+                                                    StringArgumentType.getString(
+                                                        context, RELATION_ARGUMENT)))))))
+        .then(
+            Commands.literal("member")
+                .then(
+                    Commands.argument(NPC_TARGET_ARGUMENT, EasyNPCArgument.npc())
+                        .executes(
+                            context ->
+                                getMember(
+                                    context.getSource(),
+                                    EasyNPCArgument.getEntity(context, NPC_TARGET_ARGUMENT)))
+                        .then(
+                            Commands.literal("set")
+                                .then(
+                                    Commands.argument(FACTION_ARGUMENT, StringArgumentType.word())
+                                        .suggests(FactionSuggestions::suggestFactions)
+                                        .executes(
+                                            context ->
+                                                setMember(
+                                                    context.getSource(),
+                                                    EasyNPCArgument.getEntityWithAccess(
+                                                        context, NPC_TARGET_ARGUMENT),
+                                                    StringArgumentType.getString(
+                                                        context, FACTION_ARGUMENT)))))
+                        .then(
+                            Commands.literal("remove")
+                                .executes(
+                                    context ->
+                                        removeMember(
+                                            context.getSource(),
+                                            EasyNPCArgument.getEntityWithAccess(
+                                                context, NPC_TARGET_ARGUMENT))))))
+        .then(
+            Commands.literal("player")
+                .then(
+                    Commands.argument(PLAYER_ARGUMENT, EntityArgument.player())
+                        .then(
+                            Commands.literal("set")
+                                .then(
+                                    Commands.argument(FACTION_ARGUMENT, StringArgumentType.word())
+                                        .suggests(FactionSuggestions::suggestFactions)
+                                        .executes(
+                                            context ->
+                                                setPlayerMember(
+                                                    context.getSource(),
+                                                    EntityArgument.getPlayer(
+                                                        context, PLAYER_ARGUMENT),
+                                                    StringArgumentType.getString(
+                                                        context, FACTION_ARGUMENT)))))
+                        .then(
+                            Commands.literal("remove")
+                                .executes(
+                                    context ->
+                                        removePlayerMember(
+                                            context.getSource(),
+                                            EntityArgument.getPlayer(
+                                                context, PLAYER_ARGUMENT))))))
+        .then(Commands.literal("stats").executes(context -> getStats(context.getSource())));
+  }
+
+  private static int listFactions(CommandSourceStack context) {
+    FactionSavedData factionSavedData = FactionSavedData.get(context.getServer());
+    Set<String> factions = factionSavedData.getFactions();
+    if (factions.isEmpty()) {
+      return sendFailureMessage(context, "No factions found!");
+    }
+    Map<String, Integer> memberCountMap = new HashMap<>();
+    for (String faction : factionSavedData.getMembers().values()) {
+      memberCountMap.merge(faction, 1, Integer::sum);
+    }
+    sendSuccessMessage(context, "► Found " + factions.size() + " factions:", ChatFormatting.GREEN);
+    for (String faction : factions) {
+      sendSuccessMessage(
+          context,
+          "> " + faction + " with " + memberCountMap.getOrDefault(faction, 0) + " members",
+          ChatFormatting.WHITE);
+    }
+    return Command.SINGLE_SUCCESS;
+  }
+
+  private static int getRelation(
+      CommandSourceStack context, String faction, String otherFaction) {
+    FactionRelationType relation =
+        FactionSavedData.get(context.getServer())
+            .getRelation(
+                FactionSavedData.normalizeFactionName(faction),
+                FactionSavedData.normalizeFactionName(otherFaction));
+    return sendSuccessMessage(
+        context, "Relation between " + faction + " and " + otherFaction + " is " + relation);
+  }
+
+  private static int setRelation(
+      CommandSourceStack context, String faction, String otherFaction, String relationName) {
+    FactionRelationType relation = FactionRelationType.get(relationName);
+    if (!relation.name().equalsIgnoreCase(relationName)) {
+      return sendFailureMessage(context, "Unknown faction relation " + relationName);
+    }
+    if (FactionSavedData.normalizeFactionName(faction)
+        .equals(FactionSavedData.normalizeFactionName(otherFaction))) {
+      return sendFailureMessage(context, "Relation of a faction to itself can't be changed!");
+    }
+    FactionSavedData.get(context.getServer()).setRelation(faction, otherFaction, relation);
+    return sendSuccessMessage(
+        context, "Relation between " + faction + " and " + otherFaction + " set to " + relation);
+  }
+
+  private static int getMember(CommandSourceStack context, EasyNPC<?> easyNPC) {
+    if (easyNPC == null) {
+      return 0;
+    }
+    String faction = FactionSavedData.get(context.getServer()).getFaction(easyNPC.getUUID());
+    if (faction == null) {
+      return sendFailureMessage(context, easyNPC + " is not a member of any faction.");
+    }
+    return sendSuccessMessage(context, easyNPC + " is a member of faction " + faction);
+  }
+
+  private static int setMember(CommandSourceStack context, EasyNPC<?> easyNPC, String faction) {
+    if (easyNPC == null) {
+      return 0;
+    }
+    ObjectiveData<?> objectiveData = easyNPC.getEasyNPCObjectiveData();
+    if (objectiveData == null) {
+      return sendFailureMessageNoObjectiveData(context, easyNPC);
+    }
+    FactionSavedData.get(context.getServer()).setFaction(easyNPC.getUUID(), faction);
+
+    // Faction members should attack members of hostile factions.
+    if (!objectiveData.hasObjective(ObjectiveType.ATTACK_HOSTILE_FACTION)) {
+      objectiveData.addOrUpdateCustomObjective(
+          new ObjectiveDataEntry(ObjectiveType.ATTACK_HOSTILE_FACTION));
+    }
+    return sendSuccessMessage(context, easyNPC + " is now a member of faction " + faction);
+  }
+
+  private static int removeMember(CommandSourceStack context, EasyNPC<?> easyNPC) {
+    if (easyNPC == null) {
+      return 0;
+    }
+    if (!FactionSavedData.get(context.getServer()).removeFaction(easyNPC.getUUID())) {
+      return sendFailureMessage(context, easyNPC + " is not a member of any faction.");
+    }
+    ObjectiveData<?> objectiveData = easyNPC.getEasyNPCObjectiveData();
+    if (objectiveData != null && objectiveData.hasObjective(ObjectiveType.ATTACK_HOSTILE_FACTION)) {
+      objectiveData.removeCustomObjective(ObjectiveType.ATTACK_HOSTILE_FACTION);
+    }
+    return sendSuccessMessage(context, easyNPC + " was removed from its faction.");
+  }
+
+  private static int setPlayerMember(
+      CommandSourceStack context, ServerPlayer serverPlayer, String faction) {
+    FactionSavedData.get(context.getServer()).setFaction(serverPlayer.getUUID(), faction);
+    return sendSuccessMessage(
+        context, serverPlayer.getName().getString() + " is now a member of faction " + faction);
+  }
+
+  private static int removePlayerMember(CommandSourceStack context, ServerPlayer serverPlayer) {
+    UUID playerUUID = serverPlayer.getUUID();
+    if (!FactionSavedData.get(context.getServer()).removeFaction(playerUUID)) {
+      return sendFailureMessage(
+          context, serverPlayer.getName().getString() + " is not a member of any faction.");
+    }
+    return sendSuccessMessage(
+        context, serverPlayer.getName().getString() + " was removed from its faction.");
+  }
+
+  private static int getStats(CommandSourceStack context) {
+    FactionTargetService factionTargetService = FactionTargetService.get(context.getLevel());
+    return sendSuccessMessage(
+        context,
+        "► Faction targeting for "
+            + context.getLevel().dimension().location()
+            + ": "
+            + factionTargetService.getNumberOfPasses()
+            + " passes, last pass with "
+            + factionTargetService.getNumberOfMembers()
+            + " members, "
+            + factionTargetService.getNumberOfSeekers()
+            + " seekers and "
+            + factionTargetService.getNumberOfTargets()
+            + " targets.",
+        ChatFormatting.GREEN);
+  }
+}
@@ -22,9 +22,12 @@ package de.markusbordihn.easynpc.server.commands;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import de.markusbordihn.easynpc.commands.Command;
 import de.markusbordihn.easynpc.commands.arguments.EasyNPCArgument;
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
 import de.markusbordihn.easynpc.handler.OwnerHandler;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
+import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.EntityArgument;
@@ -37,9 +40,23 @@ public class OwnerCommand extends Command {
 
   public static ArgumentBuilder<CommandSourceStack, ?> register() {
     return Commands.literal("owner")
-        .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
+        .requires(cs -> cs.hasPermission(Commands.LEVEL_ALL))
+        .then(
+            Commands.literal("stats")
+                .executes(
+                    context ->
+                        showStats(context.getSource(), context.getSource().getPlayerOrException()))
+                .then(
+                    Commands.argument("player", EntityArgument.player())
+                        .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                        .executes(
+                            context ->
+                                showStats(
+                                    context.getSource(),
+                                    EntityArgument.getPlayer(context, "player")))))
         .then(
             Commands.literal("set")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
                 .then(
                     Commands.argument(NPC_TARGET_ARGUMENT, EasyNPCArgument.npc())
                         .then(
@@ -53,6 +70,7 @@ public class OwnerCommand extends Command {
                                             EntityArgument.getPlayer(context, "player"))))))
         .then(
             Commands.literal("get")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
                 .then(
                     Commands.argument(NPC_TARGET_ARGUMENT, EasyNPCArgument.npc())
                         .executes(
@@ -62,6 +80,7 @@ public class OwnerCommand extends Command {
                                     EasyNPCArgument.getEntity(context, NPC_TARGET_ARGUMENT)))))
         .then(
             Commands.literal("remove")
+                .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
                 .then(
                     Commands.argument(NPC_TARGET_ARGUMENT, EasyNPCArgument.npc())
                         .executes(
@@ -72,6 +91,30 @@ public class OwnerCommand extends Command {
                                         context, NPC_TARGET_ARGUMENT)))));
   }
 
+  private static int showStats(CommandSourceStack context, ServerPlayer serverPlayer) {
+    if (serverPlayer == null) {
+      return 0;
+    }
+
+    // Show usage and quota for each quota type.
+    sendSuccessMessage(
+        context,
+        "Owner stats for " + serverPlayer.getName().getString() + ":",
+        ChatFormatting.YELLOW);
+    for (OwnerQuotaType ownerQuotaType : OwnerQuotaType.values()) {
+      sendSuccessMessage(
+          context,
+          "- "
+              + ownerQuotaType.getDisplayName()
+              + ": "
+              + OwnerQuotaManager.getQuotaInfo(serverPlayer, ownerQuotaType));
+    }
+    if (OwnerQuotaManager.hasBypassPermission(serverPlayer)) {
+      sendSuccessMessage(context, "Quotas are not enforced for this player.", ChatFormatting.GRAY);
+    }
+    return Command.SINGLE_SUCCESS;
+  }
+
   private static int setOwner(
       CommandSourceStack context, EasyNPC<?> easyNPC, ServerPlayer serverPlayer) {
     if (easyNPC == null || serverPlayer == null) {
@@ -23,10 +23,13 @@ import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import de.markusbordihn.easynpc.commands.Command;
 import de.markusbordihn.easynpc.commands.arguments.EasyNPCArgument;
+import de.markusbordihn.easynpc.data.skin.SkinType;
 import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
 import de.markusbordihn.easynpc.handler.SkinHandler;
+import de.markusbordihn.easynpc.server.owner.OwnerQuotaManager;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.server.level.ServerPlayer;
 
 public class SkinCommand extends Command {
 
@@ -53,7 +56,24 @@ public class SkinCommand extends Command {
                                                     EasyNPCArgument.getEntityWithAccess(
                                                         context, NPC_TARGET_ARGUMENT),
                                                     StringArgumentType.getString(
-                                                        context, "variant")))))));
+                                                        context, "variant"))))))
+                .then(
+                    Commands.literal("server")
+                        .requires(
+                            commandSourceStack ->
+                                commandSourceStack.hasPermission(Commands.LEVEL_ALL))
+                        .then(
+                            Commands.argument(NPC_TARGET_ARGUMENT, EasyNPCArgument.npc())
+                                .then(
+                                    Commands.argument("url", StringArgumentType.greedyString())
+                                        .executes(
+                                            context ->
+                                                setServerSkin(
+                                                    context.getSource(),
+                                                    EasyNPCArgument.getEntityWithAccess(
+                                                        context, NPC_TARGET_ARGUMENT),
+                                                    StringArgumentType.getString(
+                                                        context, "url")))))));
   }
 
   private static int setDefaultSkinVariant(
@@ -70,4 +90,25 @@ public class SkinCommand extends Command {
     return sendSuccessMessage(
         context, "Successfully set skin variant " + variant + " for EasyNPC " + easyNPC);
   }
+
+  private static int setServerSkin(CommandSourceStack context, EasyNPC<?> easyNPC, String url) {
+    if (easyNPC == null || url == null || url.isEmpty()) {
+      return 0;
+    }
+
+    // Check URL skin quota, if the command was executed by a player.
+    ServerPlayer serverPlayer = context.getPlayer();
+    if (serverPlayer != null
+        && !OwnerQuotaManager.checkUrlSkinQuota(serverPlayer, easyNPC, SkinType.SERVER_SKIN)) {
+      return 0;
+    }
+
+    if (!SkinHandler.setServerSkin(easyNPC, url)) {
+      return sendFailureMessage(
+          context, "Failed to set server skin " + url + " for EasyNPC " + easyNPC);
+    }
+
+    return sendSuccessMessage(
+        context, "Successfully set server skin " + url + " for EasyNPC " + easyNPC);
+  }
 }
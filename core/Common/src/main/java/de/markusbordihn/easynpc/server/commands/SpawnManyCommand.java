@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.server.commands;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import de.markusbordihn.easynpc.commands.Command;
+import de.markusbordihn.easynpc.commands.suggestion.PresetSuggestions;
+import de.markusbordihn.easynpc.data.preset.PresetTemplate;
+import de.markusbordihn.easynpc.data.preset.PresetTemplateManager;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.ResourceLocationArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+
+public class SpawnManyCommand extends Command {
+
+  private static final String COMMAND_NAME = "spawn_many";
+  private static final String PRESET_ARG = "preset";
+  private static final String COUNT_ARG = "count";
+  private static final String RADIUS_ARG = "radius";
+  private static final int MAX_COUNT = 256;
+  private static final int MAX_RADIUS = 128;
+
+  private SpawnManyCommand() {}
+
+  public static ArgumentBuilder<CommandSourceStack, ?> register() {
+    return Commands.literal(COMMAND_NAME)
+        .requires(cs -> cs.hasPermission(Commands.LEVEL_GAMEMASTERS))
+        .then(
+            Commands.argument(PRESET_ARG, ResourceLocationArgument.id())
+                .suggests(PresetSuggestions::suggestAll)
+                .then(
+                    Commands.argument(COUNT_ARG, IntegerArgumentType.integer(1, MAX_COUNT))
+                        .executes(
+                            context ->
+                                spawnMany(
+                                    context.getSource(),
+                                    ResourceLocationArgument.getId(context, PRESET_ARG),
+                                    IntegerArgumentType.getInteger(context, COUNT_ARG),
+                                    0))
+                        .then(
+                            Commands.argument(
+                                    RADIUS_ARG, IntegerArgumentType.integer(0, MAX_RADIUS))
+                                .executes(
+                                    context ->
+                                        spawnMany(
+                                            context.getSource(),
+                                            ResourceLocationArgument.getId(context, PRESET_ARG),
+                                            IntegerArgumentType.getInteger(context, COUNT_ARG),
+                                            IntegerArgumentType.getInteger(
+                                                context, RADIUS_ARG))))));
+  }
+
+  private static int spawnMany(
+      CommandSourceStack context, ResourceLocation preset, int count, int radius) {
+    if (preset == null) {
+      return Command.FAILURE;
+    }
+
+    ServerLevel serverLevel = context.getLevel();
+    PresetTemplate presetTemplate =
+        PresetTemplateManager.getPresetTemplate(serverLevel.getServer(), preset);
+    if (presetTemplate == null) {
+      return sendFailureMessage(context, "Unable to load preset " + preset + " !");
+    }
+
+    BlockPos centerPosition = BlockPos.containing(context.getPosition());
+    if (!PresetTemplateManager.queueSpawn(
+        serverLevel, presetTemplate, centerPosition, count, radius, context.getPlayer())) {
+      return sendFailureMessage(context, "Unable to spawn preset " + preset + " !");
+    }
+
+    return sendSuccessMessage(
+        context,
+        "Spawning "
+            + count
+            + " x "
+            + preset
+            + " within a radius of "
+            + radius
+            + " blocks around "
+            + centerPosition.toShortString()
+            + " over the next ticks ...");
+  }
+}
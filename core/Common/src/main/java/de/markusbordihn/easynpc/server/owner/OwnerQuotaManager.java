@@ -0,0 +1,245 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.server.owner;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.OwnerQuotaConfig;
+import de.markusbordihn.easynpc.data.objective.ObjectiveDataEntry;
+import de.markusbordihn.easynpc.data.owner.OwnerQuotaType;
+import de.markusbordihn.easynpc.data.owner.OwnerSavedData;
+import de.markusbordihn.easynpc.data.skin.SkinType;
+import de.markusbordihn.easynpc.entity.LivingEntityManager;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.ObjectiveData;
+import de.markusbordihn.easynpc.entity.easynpc.data.OwnerData;
+import de.markusbordihn.easynpc.entity.easynpc.data.SkinData;
+import de.markusbordihn.easynpc.network.components.TextComponent;
+import de.markusbordihn.easynpc.utils.PlayersUtils;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import net.minecraft.ChatFormatting;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.scores.PlayerTeam;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class OwnerQuotaManager {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Owner Quota Manager]";
+
+  private OwnerQuotaManager() {}
+
+  public static boolean isWithinQuota(int usage, int amount, int quota) {
+    return quota <= 0 || usage + amount <= quota;
+  }
+
+  public static boolean isUrlSkin(SkinType skinType) {
+    return skinType == SkinType.SECURE_REMOTE_URL
+        || skinType == SkinType.INSECURE_REMOTE_URL
+        || skinType == SkinType.SERVER_SKIN;
+  }
+
+  public static boolean hasBypassPermission(ServerPlayer serverPlayer) {
+    return !OwnerQuotaConfig.isEnabled()
+        || serverPlayer.hasPermissions(OwnerQuotaConfig.getBypassPermissionLevel());
+  }
+
+  public static void updateEasyNPC(EasyNPC<?> easyNPC) {
+    MinecraftServer minecraftServer = easyNPC != null ? easyNPC.getEntity().getServer() : null;
+    if (minecraftServer == null) {
+      return;
+    }
+    OwnerData<?> ownerData = easyNPC.getEasyNPCOwnerData();
+    SkinData<?> skinData = easyNPC.getEasyNPCSkinData();
+    ObjectiveData<?> objectiveData = easyNPC.getEasyNPCObjectiveData();
+    OwnerSavedData.get(minecraftServer)
+        .updateEntity(
+            easyNPC.getUUID(),
+            ownerData != null ? ownerData.getOwnerUUID() : null,
+            skinData != null && isUrlSkin(skinData.getSkinType()),
+            getNumberOfCustomObjectives(objectiveData));
+  }
+
+  private static int getNumberOfCustomObjectives(ObjectiveData<?> objectiveData) {
+    if (objectiveData == null || objectiveData.getObjectiveDataSet() == null) {
+      return 0;
+    }
+
+    // Standard objectives are added to every NPC and are therefore not counted.
+    int numberOfObjectives = 0;
+    for (ObjectiveDataEntry objectiveDataEntry :
+        objectiveData.getObjectiveDataSet().getObjectiveEntries()) {
+      if (!ObjectiveData.STANDARD_OBJECTIVE_TYPES.contains(objectiveDataEntry.getType())) {
+        numberOfObjectives++;
+      }
+    }
+    return numberOfObjectives;
+  }
+
+  public static void removeEasyNPC(EasyNPC<?> easyNPC) {
+    MinecraftServer minecraftServer = easyNPC != null ? easyNPC.getEntity().getServer() : null;
+    if (minecraftServer != null) {
+      OwnerSavedData.get(minecraftServer).removeEntity(easyNPC.getUUID());
+    }
+  }
+
+  public static void updateSpawner(ServerLevel serverLevel, BlockPos blockPos, UUID ownerUUID) {
+    OwnerSavedData.get(serverLevel.getServer())
+        .updateSpawner(OwnerSavedData.getSpawnerKey(serverLevel.dimension(), blockPos), ownerUUID);
+  }
+
+  public static void removeSpawner(ServerLevel serverLevel, BlockPos blockPos) {
+    OwnerSavedData.get(serverLevel.getServer())
+        .removeSpawner(OwnerSavedData.getSpawnerKey(serverLevel.dimension(), blockPos));
+  }
+
+  public static int getUsage(
+      MinecraftServer minecraftServer, UUID ownerUUID, OwnerQuotaType ownerQuotaType) {
+    if (minecraftServer == null || ownerUUID == null) {
+      return 0;
+    }
+
+    // Loaded NPCs are refreshed first, unloaded NPCs are counted with their last known state.
+    if (ownerQuotaType != OwnerQuotaType.SPAWNERS) {
+      for (EasyNPC<?> easyNPC :
+          LivingEntityManager.getServerRegistry().getEntitiesByOwner(ownerUUID)) {
+        updateEasyNPC(easyNPC);
+      }
+    }
+    return OwnerSavedData.get(minecraftServer).getUsage(ownerUUID, ownerQuotaType);
+  }
+
+  public static EnumMap<OwnerQuotaType, Integer> getUsage(
+      MinecraftServer minecraftServer, UUID ownerUUID) {
+    EnumMap<OwnerQuotaType, Integer> usageMap = new EnumMap<>(OwnerQuotaType.class);
+    for (OwnerQuotaType ownerQuotaType : OwnerQuotaType.values()) {
+      usageMap.put(ownerQuotaType, getUsage(minecraftServer, ownerUUID, ownerQuotaType));
+    }
+    return usageMap;
+  }
+
+  public static int getTeamUsage(
+      MinecraftServer minecraftServer, PlayerTeam playerTeam, OwnerQuotaType ownerQuotaType) {
+    int usage = 0;
+    for (UUID memberUUID : getTeamMemberUUIDs(minecraftServer, playerTeam)) {
+      usage += getUsage(minecraftServer, memberUUID, ownerQuotaType);
+    }
+    return usage;
+  }
+
+  public static boolean canAdd(
+      ServerPlayer serverPlayer, OwnerQuotaType ownerQuotaType, int amount) {
+    if (serverPlayer == null || hasBypassPermission(serverPlayer)) {
+      return true;
+    }
+    MinecraftServer minecraftServer = serverPlayer.getServer();
+    int playerQuota = OwnerQuotaConfig.getPlayerQuota(ownerQuotaType);
+    if (playerQuota > 0
+        && !isWithinQuota(
+            getUsage(minecraftServer, serverPlayer.getUUID(), ownerQuotaType),
+            amount,
+            playerQuota)) {
+      return false;
+    }
+    int teamQuota = OwnerQuotaConfig.getTeamQuota(ownerQuotaType);
+    return teamQuota <= 0
+        || !(serverPlayer.getTeam() instanceof PlayerTeam playerTeam)
+        || isWithinQuota(
+            getTeamUsage(minecraftServer, playerTeam, ownerQuotaType), amount, teamQuota);
+  }
+
+  public static boolean checkQuota(
+      ServerPlayer serverPlayer, OwnerQuotaType ownerQuotaType, int amount) {
+    if (canAdd(serverPlayer, ownerQuotaType, amount)) {
+      return true;
+    }
+    log.debug(
+        "{} {} reached the quota for {} with {} more.",
+        LOG_PREFIX,
+        serverPlayer,
+        ownerQuotaType,
+        amount);
+    serverPlayer.sendSystemMessage(
+        TextComponent.getText(
+                "You have reached your limit of "
+                    + getQuotaInfo(serverPlayer, ownerQuotaType)
+                    + " "
+                    + ownerQuotaType.getDisplayName()
+                    + ".")
+            .withStyle(ChatFormatting.RED));
+    return false;
+  }
+
+  public static boolean checkUrlSkinQuota(
+      ServerPlayer serverPlayer, EasyNPC<?> easyNPC, SkinType skinType) {
+    // Replacing an existing URL skin does not change the number of URL skins.
+    SkinData<?> skinData = easyNPC.getEasyNPCSkinData();
+    return !isUrlSkin(skinType)
+        || (skinData != null && isUrlSkin(skinData.getSkinType()))
+        || checkQuota(serverPlayer, OwnerQuotaType.URL_SKINS, 1);
+  }
+
+  public static String getQuotaInfo(ServerPlayer serverPlayer, OwnerQuotaType ownerQuotaType) {
+    MinecraftServer minecraftServer = serverPlayer.getServer();
+    String quotaInfo =
+        getUsage(minecraftServer, serverPlayer.getUUID(), ownerQuotaType)
+            + "/"
+            + getQuotaText(OwnerQuotaConfig.getPlayerQuota(ownerQuotaType));
+    int teamQuota = OwnerQuotaConfig.getTeamQuota(ownerQuotaType);
+    if (teamQuota > 0 && serverPlayer.getTeam() instanceof PlayerTeam playerTeam) {
+      quotaInfo +=
+          " (team "
+              + playerTeam.getName()
+              + ": "
+              + getTeamUsage(minecraftServer, playerTeam, ownerQuotaType)
+              + "/"
+              + teamQuota
+              + ")";
+    }
+    return quotaInfo;
+  }
+
+  private static String getQuotaText(int quota) {
+    return quota > 0 ? String.valueOf(quota) : "unlimited";
+  }
+
+  private static Set<UUID> getTeamMemberUUIDs(
+      MinecraftServer minecraftServer, PlayerTeam playerTeam) {
+    Set<UUID> memberUUIDs = new HashSet<>();
+    if (playerTeam == null) {
+      return memberUUIDs;
+    }
+
+    // Team members are stored by name, unknown offline members are not counted.
+    for (String memberName : playerTeam.getPlayers()) {
+      UUID memberUUID = PlayersUtils.getUserUUID(minecraftServer, memberName);
+      if (memberUUID != null) {
+        memberUUIDs.add(memberUUID);
+      }
+    }
+    return memberUUIDs;
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.server.skin;
+
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.ServerSkinConfig;
+import de.markusbordihn.easynpc.data.skin.SkinChunkAssembler;
+import de.markusbordihn.easynpc.data.skin.SkinDataEntry;
+import de.markusbordihn.easynpc.data.skin.SkinType;
+import de.markusbordihn.easynpc.entity.LivingEntityManager;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import de.markusbordihn.easynpc.entity.easynpc.data.SkinData;
+import de.markusbordihn.easynpc.handler.SkinHandler;
+import de.markusbordihn.easynpc.io.DataFileHandler;
+import de.markusbordihn.easynpc.io.SkinCache;
+import de.markusbordihn.easynpc.network.NetworkMessageHandlerManager;
+import de.markusbordihn.easynpc.validator.UrlValidator;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class ServerSkinManager {
+
+  private static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Server Skin Manager]";
+  private static final String DATA_FOLDER_NAME = "server_skin";
+  private static final int MAX_CACHED_SKIN_CHUNKS = 32;
+
+  private static final Map<String, CompletableFuture<String>> pendingDownloads =
+      new ConcurrentHashMap<>();
+
+  // Skin transfers are only used from the server thread.
+  private static final Map<UUID, Deque<SkinTransfer>> playerTransfers = new LinkedHashMap<>();
+  private static final Map<String, List<byte[]>> skinChunksCache =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<byte[]>> eldest) {
+          return size() > MAX_CACHED_SKIN_CHUNKS;
+        }
+      };
+
+  private static SkinCache skinCache;
+  private static ExecutorService executor;
+  private static long numberOfSentChunks = 0;
+
+  private ServerSkinManager() {}
+
+  public static synchronized SkinCache getSkinCache() {
+    if (skinCache == null) {
+      Path cacheFolder = DataFileHandler.getOrCreateCacheFolder(DATA_FOLDER_NAME);
+      skinCache =
+          cacheFolder != null
+              ? SkinCache.fromConfig(
+                  cacheFolder,
+                  ServerSkinConfig.getAllowedHosts(),
+                  ServerSkinConfig.isAllowPrivateAddresses())
+              : null;
+    }
+    return skinCache;
+  }
+
+  private static synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      AtomicInteger threadNumber = new AtomicInteger();
+      executor =
+          Executors.newFixedThreadPool(
+              ServerSkinConfig.getMaxConcurrentDownloads(),
+              runnable -> {
+                Thread thread =
+                    new Thread(
+                        runnable, "Easy NPC Server Skin #" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return executor;
+  }
+
+  public static boolean isAllowedSkinURL(String skinURL) {
+    try {
+      return UrlValidator.isAllowedHost(
+          new URL(skinURL).getHost(), ServerSkinConfig.getAllowedHosts());
+    } catch (MalformedURLException exception) {
+      return false;
+    }
+  }
+
+  public static CompletableFuture<String> fetchSkin(String skinURL) {
+    SkinCache cache = getSkinCache();
+    if (cache == null || skinURL == null || skinURL.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Valid cached skins are used without any request.
+    if (!cache.needsRevalidation(skinURL) && cache.getCachedFile(skinURL) != null) {
+      return CompletableFuture.completedFuture(cache.getCachedContentHash(skinURL));
+    }
+
+    // Deduplicate concurrent downloads for the same source.
+    CompletableFuture<String> future = new CompletableFuture<>();
+    CompletableFuture<String> pendingDownload = pendingDownloads.putIfAbsent(skinURL, future);
+    if (pendingDownload != null) {
+      return pendingDownload;
+    }
+    try {
+      getExecutor()
+          .execute(
+              () -> {
+                String contentHash = null;
+                try {
+                  File file = cache.fetch(skinURL, skinURL);
+                  contentHash = file != null ? cache.getCachedContentHash(skinURL) : null;
+                } catch (RuntimeException exception) {
+                  log.error("{} Unable to download skin {}:", LOG_PREFIX, skinURL, exception);
+                } finally {
+                  pendingDownloads.remove(skinURL, future);
+                  future.complete(contentHash);
+                }
+              });
+    } catch (RejectedExecutionException exception) {
+      log.warn("{} Unable to schedule download for skin {}", LOG_PREFIX, skinURL);
+      pendingDownloads.remove(skinURL, future);
+      future.complete(null);
+    }
+    return future;
+  }
+
+  public static void handleSkinRequest(ServerPlayer serverPlayer, UUID uuid, String contentHash) {
+    SkinCache cache = getSkinCache();
+    if (cache == null || serverPlayer == null || !SkinCache.isValidContentHash(contentHash)) {
+      return;
+    }
+
+    // Cached skins are sent directly, regardless of the requesting NPC.
+    if (cache.getCachedFileByHash(contentHash) != null) {
+      queueSkinTransfer(serverPlayer, contentHash);
+      return;
+    }
+
+    // Unknown skins are only downloaded from the source of the requesting NPC.
+    EasyNPC<?> easyNPC = LivingEntityManager.getEasyNPCEntityByUUID(uuid, serverPlayer);
+    SkinData<?> skinData = easyNPC != null ? easyNPC.getEasyNPCSkinData() : null;
+    if (skinData == null
+        || skinData.getSkinType() != SkinType.SERVER_SKIN
+        || !contentHash.equals(skinData.getSkinContent())) {
+      log.debug("{} Unknown skin {} requested by {}", LOG_PREFIX, contentHash, serverPlayer);
+      return;
+    }
+    MinecraftServer minecraftServer = serverPlayer.getServer();
+    SkinDataEntry skinDataEntry = skinData.getSkinDataEntry();
+    fetchSkin(skinDataEntry.url())
+        .thenAcceptAsync(
+            fetchedContentHash -> {
+              if (contentHash.equals(fetchedContentHash)) {
+                queueSkinTransfer(serverPlayer, contentHash);
+              } else if (fetchedContentHash != null) {
+                // The skin was changed at the source, clients will request the new skin.
+                SkinHandler.updateServerSkinContent(
+                    easyNPC, skinDataEntry.url(), fetchedContentHash);
+              }
+            },
+            minecraftServer);
+  }
+
+  private static void queueSkinTransfer(ServerPlayer serverPlayer, String contentHash) {
+    Deque<SkinTransfer> skinTransfers =
+        playerTransfers.computeIfAbsent(serverPlayer.getUUID(), key -> new ArrayDeque<>());
+    for (SkinTransfer skinTransfer : skinTransfers) {
+      if (skinTransfer.contentHash.equals(contentHash)) {
+        return;
+      }
+    }
+    List<byte[]> chunks = getSkinChunks(contentHash);
+    if (chunks != null) {
+      skinTransfers.add(new SkinTransfer(contentHash, chunks));
+      log.debug("{} Queued skin {} for {}", LOG_PREFIX, contentHash, serverPlayer);
+    }
+  }
+
+  private static List<byte[]> getSkinChunks(String contentHash) {
+    List<byte[]> chunks = skinChunksCache.get(contentHash);
+    if (chunks != null) {
+      return chunks;
+    }
+    File file = getSkinCache().getCachedFileByHash(contentHash);
+    if (file == null) {
+      return null;
+    }
+    try {
+      chunks =
+          SkinChunkAssembler.split(
+              Files.readAllBytes(file.toPath()), ServerSkinConfig.getChunkSize());
+    } catch (IOException exception) {
+      log.error("{} Unable to read skin file {}:", LOG_PREFIX, file, exception);
+      return null;
+    }
+    skinChunksCache.put(contentHash, chunks);
+    return chunks;
+  }
+
+  public static void handleServerTick(MinecraftServer minecraftServer) {
+    if (playerTransfers.isEmpty()) {
+      return;
+    }
+
+    // Send one chunk per player in turn, until the chunk budget for this tick is used.
+    int chunkBudget = ServerSkinConfig.getMaxChunksPerTick();
+    while (chunkBudget > 0 && !playerTransfers.isEmpty()) {
+      Iterator<Map.Entry<UUID, Deque<SkinTransfer>>> iterator =
+          playerTransfers.entrySet().iterator();
+      while (chunkBudget > 0 && iterator.hasNext()) {
+        Map.Entry<UUID, Deque<SkinTransfer>> entry = iterator.next();
+        ServerPlayer serverPlayer = minecraftServer.getPlayerList().getPlayer(entry.getKey());
+        SkinTransfer skinTransfer = entry.getValue().peekFirst();
+        if (serverPlayer == null || skinTransfer == null) {
+          iterator.remove();
+          continue;
+        }
+        int chunkIndex = skinTransfer.nextChunk++;
+        NetworkMessageHandlerManager.getClientHandler()
+            .syncServerSkinData(
+                skinTransfer.contentHash,
+                chunkIndex,
+                skinTransfer.chunks.size(),
+                skinTransfer.totalSize,
+                skinTransfer.chunks.get(chunkIndex),
+                serverPlayer);
+        numberOfSentChunks++;
+        chunkBudget--;
+        if (skinTransfer.nextChunk >= skinTransfer.chunks.size()) {
+          entry.getValue().pollFirst();
+          if (entry.getValue().isEmpty()) {
+            iterator.remove();
+          }
+        }
+      }
+    }
+  }
+
+  public static void handlePlayerLogout(ServerPlayer serverPlayer) {
+    playerTransfers.remove(serverPlayer.getUUID());
+  }
+
+  public static void clearSkinTransfers() {
+    playerTransfers.clear();
+    skinChunksCache.clear();
+  }
+
+  public static int getNumberOfPendingTransfers() {
+    int numberOfPendingTransfers = 0;
+    for (Deque<SkinTransfer> skinTransfers : playerTransfers.values()) {
+      numberOfPendingTransfers += skinTransfers.size();
+    }
+    return numberOfPendingTransfers;
+  }
+
+  public static long getNumberOfSentChunks() {
+    return numberOfSentChunks;
+  }
+
+  private static final class SkinTransfer {
+    private final String contentHash;
+    private final List<byte[]> chunks;
+    private final int totalSize;
+    private int nextChunk = 0;
+
+    private SkinTransfer(String contentHash, List<byte[]> chunks) {
+      this.contentHash = contentHash;
+      this.chunks = chunks;
+      int size = 0;
+      for (byte[] chunk : chunks) {
+        size += chunk.length;
+      }
+      this.totalSize = size;
+    }
+  }
+}
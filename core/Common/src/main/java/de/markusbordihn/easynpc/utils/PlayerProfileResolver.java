@@ -0,0 +1,557 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import de.markusbordihn.easynpc.Constants;
+import de.markusbordihn.easynpc.config.PlayerProfileConfig;
+import de.markusbordihn.easynpc.validator.NameValidator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class PlayerProfileResolver {
+
+  public static final String CACHE_FILE_NAME = "player_profiles.json";
+  public static final String SERVER_PROFILE_CACHE_FILE_NAME = "usercache.json";
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+  private static final String LOG_PREFIX = "[Player Profile Resolver]";
+  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+  private static final String UUID_TAG = "uuid";
+  private static final String NAME_TAG = "name";
+  private static final String TIME_TAG = "time";
+  private static final String EXPIRES_ON_TAG = "expiresOn";
+  private static final String SERVER_PROFILE_CACHE_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss Z";
+  private static final long RATE_LIMIT_WINDOW = TimeUnit.MINUTES.toMillis(1);
+
+  private final String apiProfileUrl;
+  private final String sessionProfileUrl;
+  private final Path cacheFile;
+  private final int connectTimeout;
+  private final int readTimeout;
+  private final int maxLookupsPerMinute;
+  private final long cacheExpiration;
+  private final long negativeCacheExpiration;
+  private final ThreadPoolExecutor executor;
+  private final Map<String, CacheEntry<UUID>> userUUIDCache;
+  private final Map<UUID, CacheEntry<String>> userTextureCache;
+  private final Map<String, CompletableFuture<UUID>> pendingUserUUIDLookups =
+      new ConcurrentHashMap<>();
+  private final Map<UUID, CompletableFuture<String>> pendingUserTextureLookups =
+      new ConcurrentHashMap<>();
+  private final Deque<Long> lookupTimestamps = new ArrayDeque<>();
+  private final AtomicInteger numberOfRemoteLookups = new AtomicInteger();
+  private final Object cacheFileLock = new Object();
+  private final Object serverProfileCacheLock = new Object();
+  private Map<String, CacheEntry<UUID>> serverProfileCache = Map.of();
+  private Path serverProfileCacheFile;
+  private long serverProfileCacheLastModified;
+
+  public PlayerProfileResolver(
+      String apiProfileUrl,
+      String sessionProfileUrl,
+      Path cacheFile,
+      int connectTimeout,
+      int readTimeout,
+      int maxConcurrentLookups,
+      int maxQueuedLookups,
+      int maxLookupsPerMinute,
+      int maxCacheEntries,
+      long cacheExpiration,
+      long negativeCacheExpiration) {
+    this.apiProfileUrl = apiProfileUrl;
+    this.sessionProfileUrl = sessionProfileUrl;
+    this.cacheFile = cacheFile;
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.maxLookupsPerMinute = maxLookupsPerMinute;
+    this.cacheExpiration = cacheExpiration;
+    this.negativeCacheExpiration = negativeCacheExpiration;
+    this.userUUIDCache = createCache(maxCacheEntries);
+    this.userTextureCache = createCache(maxCacheEntries);
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            maxConcurrentLookups,
+            maxConcurrentLookups,
+            30L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(maxQueuedLookups),
+            runnable -> {
+              Thread thread =
+                  new Thread(
+                      runnable, "Easy NPC Profile Resolver #" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.executor.allowCoreThreadTimeOut(true);
+    this.loadCacheFile();
+  }
+
+  public static PlayerProfileResolver fromConfig(Path cacheFile) {
+    boolean remoteLookupsEnabled = PlayerProfileConfig.isRemoteLookupsEnabled();
+    return new PlayerProfileResolver(
+        remoteLookupsEnabled ? PlayerProfileConfig.getApiProfileUrl() : null,
+        remoteLookupsEnabled ? PlayerProfileConfig.getSessionProfileUrl() : null,
+        cacheFile,
+        PlayerProfileConfig.getConnectTimeout(),
+        PlayerProfileConfig.getReadTimeout(),
+        PlayerProfileConfig.getMaxConcurrentLookups(),
+        PlayerProfileConfig.getMaxQueuedLookups(),
+        PlayerProfileConfig.getMaxLookupsPerMinute(),
+        PlayerProfileConfig.getMaxCacheEntries(),
+        TimeUnit.DAYS.toMillis(PlayerProfileConfig.getCacheExpirationDays()),
+        TimeUnit.SECONDS.toMillis(PlayerProfileConfig.getNegativeCacheExpirationSeconds()));
+  }
+
+  private static <K, V> Map<K, CacheEntry<V>> createCache(int maxEntries) {
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  private static String getCacheKey(String username) {
+    return username.toLowerCase(Locale.ROOT);
+  }
+
+  private static UUID parseUUID(String uuidString) {
+    if (uuidString == null || uuidString.isEmpty()) {
+      return null;
+    }
+    // Format UUID string without dashes, as returned by the profile API.
+    String formattedUUID =
+        uuidString.replaceFirst("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5");
+    return PlayersUtils.getUUIDfromString(formattedUUID);
+  }
+
+  public Optional<UUID> getCachedUserUUID(MinecraftServer server, String username) {
+    if (username == null || username.isEmpty()) {
+      return Optional.empty();
+    }
+
+    // Check if username is already a valid UUID.
+    UUID uuid = PlayersUtils.getUUIDfromString(username);
+    if (uuid != null) {
+      return Optional.of(uuid);
+    }
+
+    // Check online players, which are always known to the server.
+    if (server != null) {
+      ServerPlayer serverPlayer = server.getPlayerList().getPlayerByName(username);
+      if (serverPlayer != null) {
+        return Optional.of(serverPlayer.getUUID());
+      }
+    }
+
+    // Check server profile cache, which is also able to resolve offline players.
+    if (server != null) {
+      Optional<UUID> serverCachedUUID =
+          this.getServerCachedUserUUID(
+              server.getServerDirectory().toPath().resolve(SERVER_PROFILE_CACHE_FILE_NAME),
+              username);
+      if (serverCachedUUID.isPresent()) {
+        return serverCachedUUID;
+      }
+    }
+
+    // Check local cache for positive results.
+    CacheEntry<UUID> cacheEntry = this.getCacheEntry(this.userUUIDCache, getCacheKey(username));
+    return cacheEntry != null ? Optional.ofNullable(cacheEntry.value()) : Optional.empty();
+  }
+
+  public Optional<UUID> getServerCachedUserUUID(Path serverProfileCacheFile, String username) {
+    if (serverProfileCacheFile == null || username == null || username.isEmpty()) {
+      return Optional.empty();
+    }
+
+    // GameProfileCache.get falls back to remote lookups, so the server cache file is read instead.
+    CacheEntry<UUID> cacheEntry;
+    synchronized (this.serverProfileCacheLock) {
+      this.updateServerProfileCache(serverProfileCacheFile);
+      cacheEntry = this.serverProfileCache.get(getCacheKey(username));
+    }
+    return cacheEntry != null && !cacheEntry.isExpired(System.currentTimeMillis())
+        ? Optional.ofNullable(cacheEntry.value())
+        : Optional.empty();
+  }
+
+  public CompletableFuture<UUID> resolveUserUUID(MinecraftServer server, String username) {
+    if (username == null || username.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Check local caches first, including known failures.
+    Optional<UUID> cachedUUID = this.getCachedUserUUID(server, username);
+    if (cachedUUID.isPresent()) {
+      return CompletableFuture.completedFuture(cachedUUID.get());
+    }
+    if (!NameValidator.isValidPlayerName(username)) {
+      log.error("{} Unable to get user UUID with invalid username: {}", LOG_PREFIX, username);
+      return CompletableFuture.completedFuture(null);
+    }
+    String cacheKey = getCacheKey(username);
+    if (this.getCacheEntry(this.userUUIDCache, cacheKey) != null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Deduplicate concurrent lookups for the same user.
+    return this.submitLookup(
+        this.pendingUserUUIDLookups,
+        cacheKey,
+        () -> {
+          UUID userUUID = this.lookupUserUUID(username);
+          this.putCacheEntry(this.userUUIDCache, cacheKey, userUUID);
+          if (userUUID != null) {
+            this.saveCacheFile();
+          }
+          return userUUID;
+        });
+  }
+
+  public CompletableFuture<String> resolveUserTexture(UUID userUUID) {
+    if (userUUID == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Check local cache first, including known failures.
+    CacheEntry<String> cacheEntry = this.getCacheEntry(this.userTextureCache, userUUID);
+    if (cacheEntry != null) {
+      return CompletableFuture.completedFuture(cacheEntry.value());
+    }
+
+    // Deduplicate concurrent lookups for the same user.
+    return this.submitLookup(
+        this.pendingUserTextureLookups,
+        userUUID,
+        () -> {
+          String userTexture = this.lookupUserTexture(userUUID);
+          this.putCacheEntry(this.userTextureCache, userUUID, userTexture);
+          return userTexture;
+        });
+  }
+
+  public int getNumberOfRemoteLookups() {
+    return this.numberOfRemoteLookups.get();
+  }
+
+  public int getNumberOfPendingLookups() {
+    return this.pendingUserUUIDLookups.size() + this.pendingUserTextureLookups.size();
+  }
+
+  public void shutdown() {
+    this.executor.shutdownNow();
+  }
+
+  private <K, T> CompletableFuture<T> submitLookup(
+      Map<K, CompletableFuture<T>> pendingLookups, K key, Supplier<T> lookup) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    CompletableFuture<T> pendingLookup = pendingLookups.putIfAbsent(key, future);
+    if (pendingLookup != null) {
+      return pendingLookup;
+    }
+    try {
+      this.executor.execute(
+          () -> {
+            T result = null;
+            try {
+              result = lookup.get();
+            } catch (RuntimeException exception) {
+              log.error("{} Unexpected error during lookup for {}:", LOG_PREFIX, key, exception);
+            } finally {
+              pendingLookups.remove(key, future);
+              future.complete(result);
+            }
+          });
+    } catch (RejectedExecutionException exception) {
+      log.warn("{} Too many pending lookups, skipping lookup for {}", LOG_PREFIX, key);
+      pendingLookups.remove(key, future);
+      future.complete(null);
+    }
+    return future;
+  }
+
+  private UUID lookupUserUUID(String username) {
+    // Online players, the server profile cache and the local cache were already checked, so only
+    // the rate limited lookup over the configured profile endpoint is left.
+    String data = this.request(this.apiProfileUrl, username);
+    JsonObject jsonObject = PlayersUtils.getJsonObject(data);
+    if (jsonObject == null || !jsonObject.has("id")) {
+      log.debug("{} Unable to find UUID for user {}", LOG_PREFIX, username);
+      return null;
+    }
+    UUID userUUID = parseUUID(jsonObject.get("id").getAsString());
+    log.debug("{} Found user {} with UUID {} ...", LOG_PREFIX, username, userUUID);
+    return userUUID;
+  }
+
+  private String lookupUserTexture(UUID userUUID) {
+    String data = this.request(this.sessionProfileUrl, userUUID.toString());
+    if (data == null || data.isEmpty()) {
+      return null;
+    }
+    String userTexture = PlayersUtils.getUserTextureFromSessionResponse(data);
+    return userTexture != null && !userTexture.isEmpty() ? userTexture : null;
+  }
+
+  private String request(String urlTemplate, String parameter) {
+    if (urlTemplate == null || urlTemplate.isEmpty()) {
+      return null;
+    }
+    if (!this.tryAcquireLookup()) {
+      log.warn("{} Rate limit reached, skipping lookup for {}", LOG_PREFIX, parameter);
+      return null;
+    }
+
+    String url = String.format(urlTemplate, parameter);
+    HttpURLConnection connection = null;
+    try {
+      this.numberOfRemoteLookups.incrementAndGet();
+      connection = (HttpURLConnection) new URL(url).openConnection();
+      connection.setConnectTimeout(this.connectTimeout);
+      connection.setReadTimeout(this.readTimeout);
+      connection.setRequestProperty("Accept", "application/json");
+      int responseCode = connection.getResponseCode();
+      if (responseCode != HttpURLConnection.HTTP_OK) {
+        log.debug("{} Unexpected response {} for {}", LOG_PREFIX, responseCode, url);
+        return null;
+      }
+      try (InputStream inputStream = connection.getInputStream()) {
+        return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+      }
+    } catch (IOException exception) {
+      log.error("{} Unable to request {}: {}", LOG_PREFIX, url, exception.getMessage());
+      return null;
+    } finally {
+      if (connection != null) {
+        connection.disconnect();
+      }
+    }
+  }
+
+  private boolean tryAcquireLookup() {
+    long now = System.currentTimeMillis();
+    synchronized (this.lookupTimestamps) {
+      while (!this.lookupTimestamps.isEmpty()
+          && now - this.lookupTimestamps.peekFirst() > RATE_LIMIT_WINDOW) {
+        this.lookupTimestamps.pollFirst();
+      }
+      if (this.lookupTimestamps.size() >= this.maxLookupsPerMinute) {
+        return false;
+      }
+      this.lookupTimestamps.addLast(now);
+      return true;
+    }
+  }
+
+  private <K, V> CacheEntry<V> getCacheEntry(Map<K, CacheEntry<V>> cache, K key) {
+    synchronized (cache) {
+      CacheEntry<V> cacheEntry = cache.get(key);
+      if (cacheEntry != null && cacheEntry.isExpired(System.currentTimeMillis())) {
+        cache.remove(key);
+        return null;
+      }
+      return cacheEntry;
+    }
+  }
+
+  private <K, V> void putCacheEntry(Map<K, CacheEntry<V>> cache, K key, V value) {
+    long now = System.currentTimeMillis();
+    long expiration = value != null ? this.cacheExpiration : this.negativeCacheExpiration;
+    if (expiration <= 0) {
+      return;
+    }
+    synchronized (cache) {
+      cache.put(key, new CacheEntry<>(value, now, now + expiration));
+    }
+  }
+
+  private void loadCacheFile() {
+    if (this.cacheFile == null || !Files.exists(this.cacheFile)) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    try (Reader reader = Files.newBufferedReader(this.cacheFile, StandardCharsets.UTF_8)) {
+      JsonElement jsonElement = JsonParser.parseReader(reader);
+      if (!jsonElement.isJsonObject()) {
+        return;
+      }
+      synchronized (this.userUUIDCache) {
+        for (Map.Entry<String, JsonElement> entry : jsonElement.getAsJsonObject().entrySet()) {
+          JsonObject profile = entry.getValue().getAsJsonObject();
+          UUID uuid = PlayersUtils.getUUIDfromString(profile.get(UUID_TAG).getAsString());
+          long time = profile.get(TIME_TAG).getAsLong();
+          if (uuid != null && time + this.cacheExpiration > now) {
+            this.userUUIDCache.put(
+                entry.getKey(), new CacheEntry<>(uuid, time, time + this.cacheExpiration));
+          }
+        }
+      }
+      log.debug(
+          "{} Loaded {} cached player profiles from {}",
+          LOG_PREFIX,
+          this.userUUIDCache.size(),
+          this.cacheFile);
+    } catch (IOException | JsonParseException | IllegalStateException | NullPointerException e) {
+      log.error("{} Unable to read player profile cache {}:", LOG_PREFIX, this.cacheFile, e);
+    }
+  }
+
+  private void updateServerProfileCache(Path serverProfileCacheFile) {
+    // The server profile cache is only parsed again, if the file was changed.
+    long lastModified;
+    try {
+      lastModified =
+          Files.exists(serverProfileCacheFile)
+              ? Files.getLastModifiedTime(serverProfileCacheFile).toMillis()
+              : 0L;
+    } catch (IOException exception) {
+      lastModified = 0L;
+    }
+    if (serverProfileCacheFile.equals(this.serverProfileCacheFile)
+        && lastModified == this.serverProfileCacheLastModified) {
+      return;
+    }
+    this.serverProfileCacheFile = serverProfileCacheFile;
+    this.serverProfileCacheLastModified = lastModified;
+    this.serverProfileCache =
+        lastModified > 0L ? readServerProfileCache(serverProfileCacheFile) : Map.of();
+  }
+
+  private static Map<String, CacheEntry<UUID>> readServerProfileCache(Path serverProfileCacheFile) {
+    Map<String, CacheEntry<UUID>> serverProfiles = new HashMap<>();
+    SimpleDateFormat dateFormat =
+        new SimpleDateFormat(SERVER_PROFILE_CACHE_DATE_FORMAT, Locale.ROOT);
+    try (Reader reader = Files.newBufferedReader(serverProfileCacheFile, StandardCharsets.UTF_8)) {
+      JsonElement jsonElement = JsonParser.parseReader(reader);
+      if (!jsonElement.isJsonArray()) {
+        return serverProfiles;
+      }
+      for (JsonElement profileElement : jsonElement.getAsJsonArray()) {
+        JsonObject profile = profileElement.getAsJsonObject();
+        UUID uuid = PlayersUtils.getUUIDfromString(profile.get(UUID_TAG).getAsString());
+        String name = profile.get(NAME_TAG).getAsString();
+        if (uuid == null || name.isEmpty()) {
+          continue;
+        }
+        long expires =
+            profile.has(EXPIRES_ON_TAG)
+                ? dateFormat.parse(profile.get(EXPIRES_ON_TAG).getAsString()).getTime()
+                : Long.MAX_VALUE;
+        serverProfiles.put(getCacheKey(name), new CacheEntry<>(uuid, 0L, expires));
+      }
+      log.debug(
+          "{} Loaded {} server player profiles from {}",
+          LOG_PREFIX,
+          serverProfiles.size(),
+          serverProfileCacheFile);
+    } catch (IOException
+        | JsonParseException
+        | IllegalStateException
+        | NullPointerException
+        | ParseException e) {
+      log.error(
+          "{} Unable to read server profile cache {}:", LOG_PREFIX, serverProfileCacheFile, e);
+    }
+    return serverProfiles;
+  }
+
+  private void saveCacheFile() {
+    if (this.cacheFile == null) {
+      return;
+    }
+
+    // Saves from different lookup threads share the temporary file, so they are serialized.
+    synchronized (this.cacheFileLock) {
+      this.writeCacheFile();
+    }
+  }
+
+  private void writeCacheFile() {
+    JsonObject jsonObject = new JsonObject();
+    synchronized (this.userUUIDCache) {
+      for (Map.Entry<String, CacheEntry<UUID>> entry : this.userUUIDCache.entrySet()) {
+        CacheEntry<UUID> cacheEntry = entry.getValue();
+        if (cacheEntry.value() != null) {
+          JsonObject profile = new JsonObject();
+          profile.addProperty(NAME_TAG, entry.getKey());
+          profile.addProperty(UUID_TAG, cacheEntry.value().toString());
+          profile.addProperty(TIME_TAG, cacheEntry.created());
+          jsonObject.add(entry.getKey(), profile);
+        }
+      }
+    }
+
+    // Write to a temporary file first, to avoid corrupted cache files.
+    Path temporaryFile = this.cacheFile.resolveSibling(this.cacheFile.getFileName() + ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+        GSON.toJson(jsonObject, writer);
+      }
+      Files.move(temporaryFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException exception) {
+      log.error(
+          "{} Unable to write player profile cache {}:", LOG_PREFIX, this.cacheFile, exception);
+    }
+  }
+
+  private record CacheEntry<V>(V value, long created, long expires) {
+    private boolean isExpired(long now) {
+      return now > this.expires;
+    }
+  }
+}
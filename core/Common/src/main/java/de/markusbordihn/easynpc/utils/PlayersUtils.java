@@ -26,18 +26,14 @@ import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.mojang.authlib.GameProfile;
 import de.markusbordihn.easynpc.Constants;
-import de.markusbordihn.easynpc.validator.NameValidator;
-import java.io.IOException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import de.markusbordihn.easynpc.io.DataFileHandler;
+import java.nio.file.Path;
 import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.players.GameProfileCache;
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -45,12 +41,7 @@ public class PlayersUtils {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
   private static final String TEXTURES_STRING = "textures";
-  private static final String SESSION_PROFILE_URL =
-      "https://sessionserver.mojang.com/session/minecraft/profile/%s";
-  private static final String API_PROFILE_URL =
-      "https://api.mojang.com/users/profiles/minecraft/%s";
-  private static final Map<String, UUID> userUUIDCache = new HashMap<>();
-  private static UUID lastUserUUIDForUserTexture;
+  private static PlayerProfileResolver playerProfileResolver;
 
   protected PlayersUtils() {}
 
@@ -62,88 +53,39 @@ public class PlayersUtils {
     return gameProfileCache.get(username);
   }
 
-  public static UUID getUserUUID(MinecraftServer server, String username) {
-    // Check if username is already a valid UUID.
-    UUID uuid = getUUIDfromString(username);
-    if (uuid != null) {
-      return uuid;
+  public static synchronized PlayerProfileResolver getPlayerProfileResolver() {
+    if (playerProfileResolver == null) {
+      Path cacheFolder = DataFileHandler.getCacheFolder();
+      Path cacheFile =
+          cacheFolder != null ? cacheFolder.resolve(PlayerProfileResolver.CACHE_FILE_NAME) : null;
+      playerProfileResolver = PlayerProfileResolver.fromConfig(cacheFile);
     }
-
-    return PlayersUtils.getGameProfile(server, username)
-        .map(GameProfile::getId)
-        .map(UUID::toString)
-        .map(PlayersUtils::getUUIDfromString)
-        .orElse(null);
+    return playerProfileResolver;
   }
 
-  public static UUID getUUIDfromString(String uuidString) {
-    try {
-      return UUID.fromString(uuidString);
-    } catch (IllegalArgumentException exception) {
-      // Ignore the case where string is not valid UUID
-    }
-    return null;
+  public static UUID getUserUUID(MinecraftServer server, String username) {
+    return getPlayerProfileResolver().getCachedUserUUID(server, username).orElse(null);
   }
 
-  public static UUID getUserUUID(String username) {
-    if (username == null || username.isEmpty() || !NameValidator.isValidPlayerName(username)) {
-      log.error("Unable to get user UUID with invalid username: {}", username);
-      return null;
-    }
-
-    // Check cache for already known or failed usernames.
-    if (userUUIDCache.containsKey(username)) {
-      return userUUIDCache.get(username);
-    }
-
-    // Get user UUID over API.
-    try {
-      String url = String.format(API_PROFILE_URL, username);
-      String json = IOUtils.toString(new URL(url), StandardCharsets.UTF_8);
-      JsonObject jsonObject = JsonParser.parseString(json).getAsJsonObject();
-      String uuidString = jsonObject.get("id").getAsString();
-
-      // Verify UUID string
-      if (uuidString == null || uuidString.isEmpty()) {
-        log.error("Unable to get user UUID with invalid response: {}", json);
-        return null;
-      }
+  public static CompletableFuture<UUID> getUserUUIDAsync(MinecraftServer server, String username) {
+    return getPlayerProfileResolver().resolveUserUUID(server, username);
+  }
 
-      // Format UUID string and return UUID.
-      String formattedUUID =
-          uuidString.replaceFirst("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})", "$1-$2-$3-$4-$5");
-      UUID userUUID = UUID.fromString(formattedUUID);
-      log.debug("Found user {} with UUID {} ...", username, userUUID);
-      userUUIDCache.put(username, userUUID);
-      return userUUID;
-    } catch (IOException e) {
-      log.error("Unable to get UUID from user {}:", username, e);
-      userUUIDCache.put(username, null);
-      return null;
-    }
+  public static CompletableFuture<UUID> getUserUUIDAsync(String username) {
+    return getPlayerProfileResolver().resolveUserUUID(null, username);
   }
 
-  public static String getUserTexture(UUID userUUID) {
-    // Simple reload protected to avoid spawning to the session server.
-    if (lastUserUUIDForUserTexture != null && lastUserUUIDForUserTexture.equals(userUUID)) {
-      log.error("Ignore duplicated user texture request for {}!", userUUID);
-      return null;
-    }
-    lastUserUUIDForUserTexture = userUUID;
+  public static CompletableFuture<String> getUserTextureAsync(UUID userUUID) {
+    return getPlayerProfileResolver().resolveUserTexture(userUUID);
+  }
 
-    // Create sessions request and parse result, if any.
-    String sessionURL = String.format(SESSION_PROFILE_URL, userUUID);
+  public static UUID getUUIDfromString(String uuidString) {
     try {
-      String data = IOUtils.toString(new URL(sessionURL), StandardCharsets.UTF_8);
-      if (data == null || data.isEmpty()) {
-        log.error("Unable to get user texture with {}", sessionURL);
-        return null;
-      }
-      return getUserTextureFromSessionResponse(data);
-    } catch (IOException ioException) {
-      log.error("Unable to get user texture with {}:", sessionURL, ioException);
-      return null;
+      return UUID.fromString(uuidString);
+    } catch (IllegalArgumentException exception) {
+      // Ignore the case where string is not valid UUID
     }
+    return null;
   }
 
   public static String getUserTextureFromSessionResponse(String data) {
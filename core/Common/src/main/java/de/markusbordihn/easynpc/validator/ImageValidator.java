@@ -21,9 +21,13 @@ package de.markusbordihn.easynpc.validator;
 
 import de.markusbordihn.easynpc.Constants;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Iterator;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -61,23 +65,41 @@ public class ImageValidator {
     return isValidImage(image);
   }
 
+  public static boolean isValidImage(File file) {
+    // Only the image header is read, the image data is decoded later by the texture manager.
+    try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(file)) {
+      Iterator<ImageReader> imageReaders =
+          imageInputStream != null ? ImageIO.getImageReaders(imageInputStream) : null;
+      if (imageReaders == null || !imageReaders.hasNext()) {
+        log.error("Unable to get any valid image from file {}!", file);
+        return false;
+      }
+      ImageReader imageReader = imageReaders.next();
+      try {
+        imageReader.setInput(imageInputStream, true, true);
+        return isValidImageSize(file, imageReader.getWidth(0), imageReader.getHeight(0));
+      } finally {
+        imageReader.dispose();
+      }
+    } catch (IllegalArgumentException | IOException exception) {
+      log.error("Unable to get any valid image from file {}:", file, exception);
+      return false;
+    }
+  }
+
   public static boolean isValidImage(BufferedImage image) {
     // Verify the image data to make sure we got a valid image!
     if (image == null) {
       log.error("Found no valid image data in buffer!");
       return false;
     }
+    return isValidImageSize(image, image.getWidth(), image.getHeight());
+  }
 
+  private static boolean isValidImageSize(Object image, int width, int height) {
     // Verify the image size needs to be at least 32x32 and a multiple of 32!
-    if (image.getWidth() < 32
-        || image.getHeight() < 32
-        || image.getWidth() % 32 != 0
-        || image.getHeight() % 32 != 0) {
-      log.error(
-          "Unable to get any valid texture from image {}, got {}x{}!",
-          image,
-          image.getWidth(),
-          image.getHeight());
+    if (width < 32 || height < 32 || width % 32 != 0 || height % 32 != 0) {
+      log.error("Unable to get any valid texture from image {}, got {}x{}!", image, width, height);
       return false;
     }
 
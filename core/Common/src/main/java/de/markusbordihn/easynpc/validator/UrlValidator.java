@@ -20,9 +20,14 @@
 package de.markusbordihn.easynpc.validator;
 
 import de.markusbordihn.easynpc.Constants;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Locale;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -129,4 +134,51 @@ public class UrlValidator {
     }
     return true;
   }
+
+  public static boolean isAllowedHost(String host, Set<String> allowedHosts) {
+    if (host == null || host.isEmpty()) {
+      return false;
+    }
+    if (allowedHosts == null || allowedHosts.isEmpty()) {
+      return true;
+    }
+
+    // Allowed hosts are matched case-insensitive, including their subdomains.
+    String normalizedHost = host.toLowerCase(Locale.ROOT);
+    for (String allowedHost : allowedHosts) {
+      String normalizedAllowedHost = allowedHost.trim().toLowerCase(Locale.ROOT);
+      if (!normalizedAllowedHost.isEmpty()
+          && (normalizedHost.equals(normalizedAllowedHost)
+              || normalizedHost.endsWith("." + normalizedAllowedHost))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static boolean isPublicAddress(InetAddress address) {
+    if (address == null
+        || address.isAnyLocalAddress()
+        || address.isLoopbackAddress()
+        || address.isLinkLocalAddress()
+        || address.isSiteLocalAddress()
+        || address.isMulticastAddress()) {
+      return false;
+    }
+    byte[] bytes = address.getAddress();
+    if (address instanceof Inet4Address) {
+      // Shared address space (100.64.0.0/10), benchmark (198.18.0.0/15) and reserved networks.
+      int first = bytes[0] & 0xFF;
+      int second = bytes[1] & 0xFF;
+      return first != 0
+          && !(first == 100 && second >= 64 && second <= 127)
+          && !(first == 198 && (second == 18 || second == 19))
+          && first < 240;
+    }
+    if (address instanceof Inet6Address) {
+      // Unique local addresses (fc00::/7).
+      return (bytes[0] & 0xFE) != 0xFC;
+    }
+    return true;
+  }
 }
@@ -19,8 +19,10 @@
 
 package de.markusbordihn.easynpc;
 
+import de.markusbordihn.easynpc.client.ClientEvents;
 import de.markusbordihn.easynpc.client.model.ModModelLayer;
 import de.markusbordihn.easynpc.client.renderer.ClientRenderer;
+import de.markusbordihn.easynpc.client.renderer.batch.EasyNPCRenderBatch;
 import de.markusbordihn.easynpc.client.screen.ClientScreens;
 import de.markusbordihn.easynpc.entity.LivingEntityEventHandler;
 import de.markusbordihn.easynpc.io.DataFileHandler;
@@ -30,7 +32,9 @@ import de.markusbordihn.easynpc.network.NetworkMessageHandlerManager;
 import de.markusbordihn.easynpc.network.ServerNetworkMessageHandler;
 import de.markusbordihn.easynpc.tabs.ModTabs;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -45,6 +49,10 @@ public class EasyNPCClient implements ClientModInitializer {
     log.info("{} Entity Renders ...", Constants.LOG_REGISTER_PREFIX);
     ClientRenderer.registerEntityRenderers();
 
+    log.info("{} Entity Render Batch ...", Constants.LOG_REGISTER_PREFIX);
+    WorldRenderEvents.BEFORE_ENTITIES.register(context -> EasyNPCRenderBatch.begin());
+    WorldRenderEvents.AFTER_ENTITIES.register(context -> EasyNPCRenderBatch.flush());
+
     log.info("{} Entity Layer Definitions ...", Constants.LOG_REGISTER_PREFIX);
     ModModelLayer.registerEntityLayerDefinitions();
 
@@ -61,6 +69,8 @@ public class EasyNPCClient implements ClientModInitializer {
     log.info("{} Client Screens ...", Constants.LOG_REGISTER_PREFIX);
     ClientScreens.registerScreens();
 
+    ClientTickEvents.END_CLIENT_TICK.register(client -> ClientEvents.handleClientTick());
+
     ClientLifecycleEvents.CLIENT_STARTED.register(
         client -> {
           DataFileHandler.registerClientDataFiles();
@@ -45,6 +45,7 @@ import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -99,6 +100,10 @@ public class EasyNPCMain implements ModInitializer {
     log.info("{} Server Events ...", Constants.LOG_REGISTER_PREFIX);
     ServerLifecycleEvents.SERVER_STARTING.register(ServerEvents::handleServerStarting);
     ServerTickEvents.END_SERVER_TICK.register(ServerEvents::handleServerTick);
+    ServerLifecycleEvents.END_DATA_PACK_RELOAD.register(
+        (server, resourceManager, success) -> ServerEvents.handleDataPackReload(server));
+    ServerPlayConnectionEvents.DISCONNECT.register(
+        (handler, server) -> ServerEvents.handlePlayerLogout(handler.getPlayer()));
     LivingEntityEventHandler.registerServerEntityEvents();
 
     log.info("{} Menu Handler ...", Constants.LOG_REGISTER_PREFIX);
@@ -41,11 +41,12 @@ public class EasyNPCSpawnerBlock extends BaseEasyNPCSpawnerBlock {
   @Override
   public <T extends BlockEntity> BlockEntityTicker<T> getTicker(
       Level level, BlockState blockState, BlockEntityType<T> blockEntityType) {
-    return createTickerHelper(
-        blockEntityType,
-        ModBlocks.EASY_NPC_SPAWNER_ENTITY,
-        level.isClientSide
-            ? EasyNPCSpawnerBlockEntity::clientTick
-            : EasyNPCSpawnerBlockEntity::serverTick);
+    // Server side spawners are ticked by the SpawnerRegistry, only if a player is in range.
+    return level.isClientSide
+        ? createTickerHelper(
+            blockEntityType,
+            ModBlocks.EASY_NPC_SPAWNER_ENTITY,
+            EasyNPCSpawnerBlockEntity::clientTick)
+        : null;
   }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.entity.ModEntityType;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+@SuppressWarnings("unused")
+public class EasyNPCSelectorTest {
+
+  @GameTest(template = "easy_npc:gametest.3x3x3")
+  public void testCompiledSelectorMatchesVanilla(GameTestHelper helper) {
+    EasyNPCSelectorTestHelper.testCompiledSelectorMatchesVanilla(
+        helper, ModEntityType.HUMANOID, ModEntityType.FAIRY);
+    helper.succeed();
+  }
+
+  @GameTest(template = "easy_npc:gametest.3x3x3")
+  public void testSelectorBenchmark(GameTestHelper helper) {
+    EasyNPCSelectorTestHelper.testSelectorBenchmark(helper, ModEntityType.HUMANOID);
+    helper.succeed();
+  }
+
+  @GameTest(template = "easy_npc:gametest.3x3x3")
+  public void testOwnerSelector(GameTestHelper helper) {
+    EasyNPCSelectorTestHelper.testOwnerSelector(helper, ModEntityType.HUMANOID);
+    helper.succeed();
+  }
+}
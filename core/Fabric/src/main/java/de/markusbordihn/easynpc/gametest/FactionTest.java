@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.easynpc.gametest;
+
+import de.markusbordihn.easynpc.entity.ModEntityType;
+import de.markusbordihn.easynpc.entity.easynpc.EasyNPC;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.phys.Vec3;
+
+@SuppressWarnings("unused")
+public class FactionTest {
+
+  @GameTest(template = "easy_npc:gametest.1x1x1")
+  public void testRelationMatrix(GameTestHelper helper) {
+    FactionTestHelper.testRelationMatrix(helper);
+    helper.succeed();
+  }
+
+  @GameTest(template = "easy_npc:gametest.3x3x3")
+  public void testSharedTargetAcquisition(GameTestHelper helper) {
+    EasyNPC<?> easyNPC =
+        GameTestHelpers.mockEasyNPC(helper, ModEntityType.HUMANOID, new Vec3(0, 2, 0));
+    EasyNPC<?> allyNPC =
+        GameTestHelpers.mockEasyNPC(helper, ModEntityType.HUMANOID, new Vec3(1, 2, 1));
+    EasyNPC<?> enemyNPC =
+        GameTestHelpers.mockEasyNPC(helper, ModEntityType.HUMANOID, new Vec3(2, 2, 2));
+    FactionTestHelper.testSharedTargetAcquisition(helper, easyNPC, allyNPC, enemyNPC);
+    helper.succeed();
+  }
+
+  @GameTest(template = "easy_npc:gametest.3x3x3")
+  public void testFactionMembership(GameTestHelper helper) {
+    EasyNPC<?> easyNPC =
+        GameTestHelpers.mockEasyNPC(helper, ModEntityType.HUMANOID, new Vec3(0, 2, 0));
+    EasyNPC<?> copyNPC =
+        GameTestHelpers.mockEasyNPC(helper, ModEntityType.HUMANOID, new Vec3(2, 2, 2));
+    FactionTestHelper.testFactionMembership(helper, easyNPC, copyNPC);
+    helper.succeed();
+  }
+}
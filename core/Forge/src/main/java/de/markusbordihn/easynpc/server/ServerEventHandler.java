@@ -19,8 +19,11 @@
 
 package de.markusbordihn.easynpc.server;
 
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.OnDatapackSyncEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.TickEvent.ServerTickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.server.ServerStartingEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
@@ -42,4 +45,19 @@ public class ServerEventHandler {
       ServerEvents.handleServerTick(ServerLifecycleHooks.getCurrentServer());
     }
   }
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedOutEvent(PlayerEvent.PlayerLoggedOutEvent event) {
+    if (event.getEntity() instanceof ServerPlayer serverPlayer) {
+      ServerEvents.handlePlayerLogout(serverPlayer);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleDatapackSyncEvent(OnDatapackSyncEvent event) {
+    // Without a player the data packs are synced to all players after a reload.
+    if (event.getPlayer() == null) {
+      ServerEvents.handleDataPackReload(event.getPlayerList().getServer());
+    }
+  }
 }